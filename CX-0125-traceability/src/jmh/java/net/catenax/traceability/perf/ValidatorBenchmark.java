@@ -0,0 +1,156 @@
+package net.catenax.traceability.perf;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.catenax.traceability.validator.ValidationMetrics;
+import net.catenax.traceability.validator.ValidationResult;
+import net.catenax.traceability.validator.Validator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of {@link Validator#validateReceive(byte[])} and {@link Validator#validateUpdate(byte[])}.
+ * <p>
+ * The validator is created without Spring from a local spec file, and the bodies are generated from the spec by the
+ * {@link NotificationGenerator} of the perf suite, so every body is valid and takes the full validation path. Each
+ * thread cycles through its own bodies. {@link #main(String[])} runs the benchmarks once per thread count with the
+ * GC profiler, which reports the allocation rate per operation next to the throughput, and writes one JSON result
+ * file per thread count to the output directory.
+ * <p>
+ * Run with the {@code jmh} Maven profile, e.g.
+ * {@code mvn -Pjmh compile exec:exec -Djmh.spec=notifications.yaml [-Djmh.threads=1,8,64]}.
+ * <br/><br/>
+ * <small>
+ * Copyright (c) 2025, doubleSlash Net-Business GmbH, http://www.doubleslash.de
+ * <br/><br/>
+ * </small>
+ *
+ * @author emanuel.schaeffer@doubleslash.de
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ValidatorBenchmark {
+   private static final String DEFAULT_THREADS = "1,2,4,8,16,32,64";
+   private static final int BODIES = 256;
+   private static final int AFFECTED_ITEMS = 10;
+
+   /**
+    * The validator and the generated bodies, shared by all threads like the validator bean is.
+    */
+   @State(Scope.Benchmark)
+   public static class Spec {
+      @Param("")
+      public String spec;
+
+      Validator validator;
+      byte[][] receives;
+      byte[][] updates;
+
+      @Setup(Level.Trial)
+      public void setUp() throws Exception {
+         final Path file = Path.of(spec);
+         validator = new Validator(file.toUri().toString(), "2.0", "", Duration.ZERO, 10,
+               new StandardEnvironment(), new ValidationMetrics(new SimpleMeterRegistry()));
+         final NotificationGenerator generator = NotificationGenerator.fromSpec(file);
+         receives = new byte[BODIES][];
+         updates = new byte[BODIES][];
+         for (int i = 0; i < BODIES; i++) {
+            final NotificationGenerator.Generated receive = generator.receive(AFFECTED_ITEMS);
+            receives[i] = receive.body();
+            updates[i] = generator.update(receive.notificationId(), "ACKNOWLEDGED");
+         }
+         if (!validator.validateReceive(receives[0]).isValid() || !validator.validateUpdate(updates[0]).isValid()) {
+            throw new IllegalStateException("Generated bodies are not valid against " + spec
+                                            + ", the benchmark would only measure the failure path");
+         }
+      }
+   }
+
+   /**
+    * Position of a thread in the bodies.
+    */
+   @State(Scope.Thread)
+   public static class Cursor {
+      int next;
+
+      @TearDown(Level.Iteration)
+      public void reset() {
+         next = 0;
+      }
+
+      int next() {
+         final int current = next;
+         next = current + 1 == BODIES ? 0 : current + 1;
+         return current;
+      }
+   }
+
+   @Benchmark
+   public ValidationResult validateReceive(final Spec spec, final Cursor cursor) {
+      return spec.validator.validateReceive(spec.receives[cursor.next()]);
+   }
+
+   @Benchmark
+   public ValidationResult validateUpdate(final Spec spec, final Cursor cursor) {
+      return spec.validator.validateUpdate(spec.updates[cursor.next()]);
+   }
+
+   /**
+    * Runs the benchmarks, given {@code --spec=<local OpenAPI spec file>} and optionally
+    * {@code --threads=<comma separated thread counts>} and {@code --output=<directory>}.
+    */
+   public static void main(final String[] args) throws Exception {
+      final Map<String, String> values = new HashMap<>();
+      for (final String arg : args) {
+         final int separator = arg.indexOf('=');
+         if (!arg.startsWith("--") || separator < 0) {
+            throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+         }
+         values.put(arg.substring(2, separator), arg.substring(separator + 1));
+      }
+      final String spec = values.get("spec");
+      if (spec == null || spec.isBlank()) {
+         throw new IllegalArgumentException("--spec=<local OpenAPI spec file> is required");
+      }
+      final String threads = values.getOrDefault("threads", "");
+      final Path output = Files.createDirectories(Path.of(values.getOrDefault("output", "target/jmh")));
+
+      for (final int count : Arrays.stream((threads.isBlank() ? DEFAULT_THREADS : threads).split(","))
+                                   .map(String::trim).mapToInt(Integer::parseInt).toArray()) {
+         new Runner(new OptionsBuilder()
+               .include(ValidatorBenchmark.class.getName())
+               .param("spec", Path.of(spec).toAbsolutePath().toString())
+               .threads(count)
+               .addProfiler(GCProfiler.class)
+               .result(output.resolve("validator-" + count + "-threads.json").toString())
+               .resultFormat(ResultFormatType.JSON)
+               .build()).run();
+      }
+   }
+}
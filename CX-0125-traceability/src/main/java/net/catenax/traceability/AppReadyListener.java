@@ -1,5 +1,6 @@
 package net.catenax.traceability;
 
+import net.catenax.traceability.cluster.NotificationHandoff;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
@@ -11,8 +12,16 @@ public class AppReadyListener {
    @Autowired
    private EdcSetup edcSetup;
 
+   @Autowired
+   private NotificationHandoff notificationHandoff;
+
+   /**
+    * Starts setting up the EDC offer without waiting for it, so readiness does not depend on the EDC, and starts
+    * handing off stored notifications owned by other cluster members.
+    */
    @EventListener(ApplicationReadyEvent.class)
    public void onApplicationReady() {
       edcSetup.setupTraceabilityEdcOffer();
+      notificationHandoff.start();
    }
 }
@@ -1,26 +1,49 @@
 package net.catenax.traceability;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 
-import java.io.IOException;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 @Component
 public class EdcSetup {
 
    private static final Logger log = LoggerFactory.getLogger(EdcSetup.class);
+   private static final ObjectMapper MAPPER = new ObjectMapper();
 
    private static final String ASSETS_PATH = "/v3/assets";
    private static final String POLICY_DEFINITIONS_PATH = "/v3/policydefinitions";
    private static final String CONTRACT_DEFINITIONS_PATH = "/v3/contractdefinitions";
    private static final String CONTENT_TYPE_JSON = "application/json";
    private static final String POLICY_ID = "traceability-policy";
+   private static final String USAGE_PURPOSE = "cx.core.qualityNotifications:1";
+   private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+   private static final String EDC_REQUESTS_METRIC = "traceability.edc.requests";
 
    private static final String INVESTIGATION_RECEIVE_CONTRACT_ID = "investigation-receive-contract-definition";
    private static final String ALERT_RECEIVE_CONTRACT_ID = "alert-receive-contract-definition";
@@ -42,77 +65,220 @@ public class EdcSetup {
    @Value("${app.api.key}")
    private String apiKey;
 
+   @Value("${app.traceability.openapi-spec-version:2.0}")
+   private String specVersion;
+
    @Value("${app.edc.management-url:https://cac-testbed-edc.int.catena-x.net/management}")
    private String edcManagementUrl;
 
    @Value("${app.edc.management-api-key}")
    private String edcManagementApiKey;
 
+   @Value("${app.edc.setup.max-attempts:5}")
+   private int maxAttempts;
+
+   @Value("${app.edc.setup.initial-backoff-ms:500}")
+   private long initialBackoffMillis;
+
+   @Value("${app.edc.setup.max-backoff-ms:10000}")
+   private long maxBackoffMillis;
+
    private final HttpClient httpClient;
+   private final MeterRegistry meterRegistry;
+   /**
+    * Timers of EDC requests by method, URI template and status, registered on first use.
+    */
+   private final Map<String, Timer> timers = new ConcurrentHashMap<>();
 
-   public EdcSetup() {
-      this.httpClient = HttpClient.newBuilder().build();
+   public EdcSetup(final Environment environment, final MeterRegistry meterRegistry) {
+      this.meterRegistry = meterRegistry;
+      final HttpClient.Builder builder = HttpClient.newBuilder().connectTimeout(REQUEST_TIMEOUT);
+      if (Threading.VIRTUAL.isActive(environment)) {
+         final SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("edc-setup-");
+         executor.setVirtualThreads(true);
+         builder.executor(executor);
+      }
+      this.httpClient = builder.build();
    }
 
    /**
-    * Sets up the EDC offer by creating asset, policy, and contract definitions
+    * Sets up the EDC offer by creating asset, policy, and contract definitions.
+    * Assets are created first, then the policy, then the contract definitions; the requests within a stage run
+    * concurrently. Definitions that already exist in the EDC are updated if their configured values changed, e.g.
+    * the base URL, API key or spec version after a redeploy, and left untouched otherwise.
+    *
+    * @return future that completes once the offer is set up, it never completes exceptionally
     */
-   public void setupTraceabilityEdcOffer() {
+   public CompletableFuture<Void> setupTraceabilityEdcOffer() {
       log.info("Setting up traceability EDC offer...");
+      final long start = System.nanoTime();
+
+      final String receiveUrl = baseUrl + "/api/traceability/qualitynotifications/receive";
+      final String updateUrl = baseUrl + "/api/traceability/qualitynotifications/update";
+
+      return CompletableFuture.allOf(
+                                    createAsset(INVESTIGATION_RECEIVE_ID, receiveUrl, INVESTIGATION_RECEIVE_TYPE_ID),
+                                    createAsset(ALERT_RECEIVE_ID, receiveUrl, ALERT_RECEIVE_TYPE_ID),
+                                    createAsset(INVESTIGATION_UPDATE_ID, updateUrl, INVESTIGATION_UPDATE_TYPE_ID),
+                                    createAsset(ALERT_UPDATE_ID, updateUrl, ALERT_UPDATE_TYPE_ID))
+                              .thenCompose(ignored -> createPolicyDefinition())
+                              .thenCompose(ignored -> CompletableFuture.allOf(
+                                    createContractDefinition(INVESTIGATION_RECEIVE_CONTRACT_ID,
+                                          INVESTIGATION_RECEIVE_ID),
+                                    createContractDefinition(ALERT_RECEIVE_CONTRACT_ID, ALERT_RECEIVE_ID),
+                                    createContractDefinition(INVESTIGATION_UPDATE_CONTRACT_ID,
+                                          INVESTIGATION_UPDATE_ID),
+                                    createContractDefinition(ALERT_UPDATE_CONTRACT_ID, ALERT_UPDATE_ID)))
+                              .handle((ignored, e) -> {
+                                 if (e != null) {
+                                    log.error("Error setting up traceability EDC offer: {}", e.getMessage(), e);
+                                 } else {
+                                    log.info("Traceability EDC offer set up in {} ms",
+                                          (System.nanoTime() - start) / 1_000_000);
+                                 }
+                                 return null;
+                              });
+   }
+
+   private CompletableFuture<Void> createAsset(final String assetId, final String baseUrl, final String dctTypeId) {
+      return createOrUpdate(ASSETS_PATH, ASSETS_PATH, assetId, () -> getAssetJson(assetId, baseUrl, dctTypeId),
+            List.of(baseUrl, specVersion, apiKey), "Asset");
+   }
+
+   private CompletableFuture<Void> createPolicyDefinition() {
+      return createOrUpdate(POLICY_DEFINITIONS_PATH, POLICY_DEFINITIONS_PATH + "/" + POLICY_ID, POLICY_ID,
+            this::getPolicyDefinitionJson, List.of(USAGE_PURPOSE), "Policy definition");
+   }
+
+   private CompletableFuture<Void> createContractDefinition(final String contractId, final String assetId) {
+      return createOrUpdate(CONTRACT_DEFINITIONS_PATH, CONTRACT_DEFINITIONS_PATH, contractId,
+            () -> getContractDefinitionJson(contractId, assetId), List.of(POLICY_ID, assetId), "Contract definition");
+   }
+
+   /**
+    * Creates the definition with the given ID unless the EDC already knows it, and updates a known definition
+    * that lacks one of the configured values. The EDC returns definitions in expanded JSON-LD, so they are compared
+    * by the values that depend on the configuration instead of as a whole. A conflict on creation is treated as
+    * success, as the definition was created concurrently.
+    *
+    * @param updatePath the path to PUT an updated definition to
+    * @param values     the configured values the definition has to contain
+    */
+   private CompletableFuture<Void> createOrUpdate(final String path, final String updatePath, final String id,
+         final Supplier<String> jsonBody, final List<String> values, final String description) {
+      return sendWithRetry(path + "/{id}", () -> newRequest(path + "/" + id).GET().build()).thenCompose(existing -> {
+         if (existing.statusCode() == HttpStatus.OK.value()) {
+            if (containsAll(existing.body(), values)) {
+               log.info("{} {} already exists and is up-to-date, skipping creation", description, id);
+               return CompletableFuture.completedFuture(null);
+            }
+            return sendJsonRequest(updatePath, "PUT", jsonBody.get()).thenAccept(response -> {
+               log.info("{} update response: {} - {}", description, response.statusCode(), response.body());
+               if (response.statusCode() >= 400) {
+                  throw new IllegalStateException(
+                        description + " " + id + " could not be updated: HTTP " + response.statusCode());
+               }
+            });
+         }
+         return sendJsonRequest(path, "POST", jsonBody.get()).thenAccept(response -> {
+            log.info("{} creation response: {} - {}", description, response.statusCode(), response.body());
+            if (response.statusCode() >= 400 && response.statusCode() != HttpStatus.CONFLICT.value()) {
+               throw new IllegalStateException(
+                     description + " " + id + " could not be created: HTTP " + response.statusCode());
+            }
+         });
+      });
+   }
+
+   /**
+    * Checks whether a definition returned by the EDC contains all given values, anywhere as a string value.
+    */
+   private static boolean containsAll(final String json, final List<String> values) {
+      final Set<String> found = new HashSet<>();
       try {
-         createAsset(INVESTIGATION_RECEIVE_ID, baseUrl + "/api/traceability/qualitynotifications/receive",
-               INVESTIGATION_RECEIVE_TYPE_ID);
-         createAsset(ALERT_RECEIVE_ID, baseUrl + "/api/traceability/qualitynotifications/receive",
-               ALERT_RECEIVE_TYPE_ID);
-         createAsset(INVESTIGATION_UPDATE_ID, baseUrl + "/api/traceability/qualitynotifications/update",
-               INVESTIGATION_UPDATE_TYPE_ID);
-         createAsset(ALERT_UPDATE_ID, baseUrl + "/api/traceability/qualitynotifications/update",
-               ALERT_UPDATE_TYPE_ID);
-         createPolicyDefinition();
-         createContractDefinition(INVESTIGATION_RECEIVE_CONTRACT_ID, INVESTIGATION_RECEIVE_ID);
-         createContractDefinition(ALERT_RECEIVE_CONTRACT_ID, ALERT_RECEIVE_ID);
-         createContractDefinition(INVESTIGATION_UPDATE_CONTRACT_ID, INVESTIGATION_UPDATE_ID);
-         createContractDefinition(ALERT_UPDATE_CONTRACT_ID, ALERT_UPDATE_ID);
-      } catch (final IOException e) {
-         log.error("I/O error setting up traceability EDC offer: {}", e.getMessage(), e);
-      } catch (final InterruptedException e) {
-         log.error("Process interrupted while setting traceability up EDC offer: {}", e.getMessage(), e);
-         Thread.currentThread().interrupt();
-      } catch (final Exception e) {
-         log.error("Unexpected error setting traceability up EDC offer: {}", e.getMessage(), e);
+         collectTextValues(MAPPER.readTree(json), found);
+      } catch (final JsonProcessingException e) {
+         log.warn("Could not read existing EDC definition, updating it: {}", e.getOriginalMessage());
+         return false;
+      }
+      return found.containsAll(values);
+   }
+
+   private static void collectTextValues(final JsonNode node, final Set<String> values) {
+      if (node.isTextual()) {
+         values.add(node.asText());
       }
+      node.forEach(child -> collectTextValues(child, values));
+   }
+
+   private CompletableFuture<HttpResponse<String>> sendJsonRequest(final String path, final String method,
+         final String jsonBody) {
+      log.info("Sending {} request to {}{}", method, edcManagementUrl, path);
+      return sendWithRetry(path, () -> newRequest(path).header("Content-Type", CONTENT_TYPE_JSON)
+                                                 .method(method, HttpRequest.BodyPublishers.ofString(jsonBody))
+                                                 .build());
    }
 
-   private void createAsset(final String assetId, final String baseUrl, final String dctTypeId)
-         throws IOException, InterruptedException {
-      final String assetJson = getAssetJson(assetId, baseUrl, dctTypeId);
-      final HttpResponse<String> response = sendJsonRequest(ASSETS_PATH, assetJson);
-      log.info("Asset creation response: {} - {}", response.statusCode(), response.body());
+   private HttpRequest.Builder newRequest(final String path) {
+      return HttpRequest.newBuilder()
+                        .uri(URI.create(edcManagementUrl + path))
+                        .header("X-API-KEY", edcManagementApiKey)
+                        .timeout(REQUEST_TIMEOUT);
    }
 
-   private void createPolicyDefinition() throws IOException, InterruptedException {
-      final String policyJson = getPolicyDefinitionJson();
-      final HttpResponse<String> response = sendJsonRequest(POLICY_DEFINITIONS_PATH, policyJson);
-      log.info("Policy definition response: {} - {}", response.statusCode(), response.body());
+   /**
+    * Sends a request, retrying I/O errors, 429 and 5xx responses with exponential backoff.
+    */
+   private CompletableFuture<HttpResponse<String>> sendWithRetry(final String uriTemplate,
+         final Supplier<HttpRequest> request) {
+      return sendWithRetry(uriTemplate, request, 1, initialBackoffMillis);
+   }
+
+   private CompletableFuture<HttpResponse<String>> sendWithRetry(final String uriTemplate,
+         final Supplier<HttpRequest> request, final int attempt, final long backoffMillis) {
+      final HttpRequest httpRequest;
+      try {
+         httpRequest = request.get();
+      } catch (final RuntimeException e) {
+         return CompletableFuture.failedFuture(e);
+      }
+      final long start = System.nanoTime();
+      return httpClient.sendAsync(httpRequest, HttpResponse.BodyHandlers.ofString())
+                       .handle((response, e) -> {
+                          recordEdcRequest(httpRequest.method(), uriTemplate,
+                                e != null ? "IO_ERROR" : String.valueOf(response.statusCode()), start);
+                          final boolean retryable = e != null || isRetryable(response.statusCode());
+                          if (!retryable || attempt >= maxAttempts) {
+                             return e == null ? CompletableFuture.completedFuture(response)
+                                   : CompletableFuture.<HttpResponse<String>>failedFuture(e);
+                          }
+                          log.warn("Attempt {}/{} of {} {} failed ({}), retrying in {} ms", attempt, maxAttempts,
+                                httpRequest.method(), httpRequest.uri(),
+                                e != null ? e.getMessage() : "HTTP " + response.statusCode(), backoffMillis);
+                          final Executor delayed = CompletableFuture.delayedExecutor(backoffMillis,
+                                TimeUnit.MILLISECONDS);
+                          return CompletableFuture.supplyAsync(() -> null, delayed)
+                                                  .thenCompose(ignored -> sendWithRetry(uriTemplate, request,
+                                                        attempt + 1,
+                                                        Math.min(backoffMillis * 2, maxBackoffMillis)));
+                       })
+                       .thenCompose(Function.identity());
    }
 
-   private void createContractDefinition(final String contractId, final String assetId)
-         throws IOException, InterruptedException {
-      final String contractJson = getContractDefinitionJson(contractId, assetId);
-      final HttpResponse<String> response = sendJsonRequest(CONTRACT_DEFINITIONS_PATH, contractJson);
-      log.info("Contract definition response: {} - {}", response.statusCode(), response.body());
+   private void recordEdcRequest(final String method, final String uriTemplate, final String status,
+         final long startNanos) {
+      timers.computeIfAbsent(method + " " + uriTemplate + " " + status,
+                  key -> Timer.builder(EDC_REQUESTS_METRIC)
+                              .description("Duration of EDC management API requests")
+                              .tag("method", method)
+                              .tag("uri", uriTemplate)
+                              .tag("status", status)
+                              .register(meterRegistry))
+            .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
    }
 
-   private HttpResponse<String> sendJsonRequest(final String path, final String jsonBody)
-         throws IOException, InterruptedException {
-      final HttpRequest request = HttpRequest.newBuilder()
-                                             .uri(URI.create(edcManagementUrl + path))
-                                             .header("Content-Type", CONTENT_TYPE_JSON)
-                                             .header("X-API-KEY", edcManagementApiKey)
-                                             .POST(HttpRequest.BodyPublishers.ofString(jsonBody))
-                                             .build();
-      log.info("Sending request to {}{}", edcManagementUrl, path);
-      return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+   private static boolean isRetryable(final int statusCode) {
+      return statusCode == HttpStatus.TOO_MANY_REQUESTS.value() || statusCode >= 500;
    }
 
    private String getAssetJson(final String assetId, final String baseUrl, final String dctTypeId) {
@@ -141,13 +307,13 @@ public class EdcSetup {
                  },
               "description": "CAC test asset",
               "contenttype": "application/json",
-              "cx-common:version": "2.0"
+              "cx-common:version": "%s"
              },
               "privateProperties": {
                 "header:X-API-KEY": "%s"
               }
             }
-            """.formatted(assetId, baseUrl, POLICY_ID, dctTypeId, apiKey);
+            """.formatted(assetId, baseUrl, POLICY_ID, dctTypeId, specVersion, apiKey);
    }
 
    private String getPolicyDefinitionJson() {
@@ -172,14 +338,14 @@ public class EdcSetup {
                         "odrl:operator": {
                           "@id": "odrl:eq"
                         },
-                        "odrl:rightOperand": "cx.core.qualityNotifications:1"
+                        "odrl:rightOperand": "%s"
                       }
                     ]
                   }
                 }
               }
             }
-            """.formatted(POLICY_ID);
+            """.formatted(POLICY_ID, USAGE_PURPOSE);
    }
 
    private String getContractDefinitionJson(final String contractDefinitionId, final String assetId) {
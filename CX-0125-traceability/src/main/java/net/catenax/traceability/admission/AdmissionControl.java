@@ -0,0 +1,326 @@
+package net.catenax.traceability.admission;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import net.catenax.traceability.validator.ValidationMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-sender admission control of the notification endpoints, so one sender cannot starve the others of validation
+ * capacity.
+ * <p>
+ * A notification is admitted in two steps, both without locks. First the sender's {@link TokenBucket} limits it to
+ * {@code app.admission.rate-per-weight} times its weight. Then the notification needs one of the concurrency limit's
+ * slots, of which every sender may hold a share proportional to its weight among the senders currently holding
+ * slots; a single busy sender may use them all. Senders are identified by the header sender BPN, read before the
+ * body is validated.
+ * <p>
+ * As the sender BPN is not authenticated, senders are only tracked while they send: a sender without notifications
+ * for {@code app.admission.sender-idle-timeout} is evicted, and beyond {@code app.admission.max-tracked-senders}
+ * further senders share one state. Senders with a configured weight are always tracked, so made-up BPNs cannot take
+ * their limits away.
+ * <p>
+ * The concurrency limit adapts to the measured validation time: every {@code app.admission.adjust-interval} it is
+ * lowered by a fifth if validations took longer than {@code app.admission.target-validation-time} on average, and
+ * raised by a tenth if they were fast and the limit was reached. So under CPU pressure fewer notifications are
+ * validated at once and the others are rejected cheaply instead of slowing down everyone.
+ * <p>
+ * Limits apply per replica.
+ * <br/><br/>
+ * <small>
+ * Copyright (c) 2025, doubleSlash Net-Business GmbH, http://www.doubleslash.de
+ * <br/><br/>
+ * </small>
+ *
+ * @author emanuel.schaeffer@doubleslash.de
+ */
+@Component
+@EnableConfigurationProperties(AdmissionProperties.class)
+public class AdmissionControl {
+   private static final Logger log = LoggerFactory.getLogger(AdmissionControl.class);
+   private static final String METRIC = "traceability.admission";
+   private static final String UNKNOWN_SENDER = "";
+   private static final String OTHER_SENDERS = "other";
+   private static final long NANOS_PER_SECOND = 1_000_000_000L;
+   /**
+    * Notifications in flight of an evicted sender, so admitting with a stale reference fails.
+    */
+   private static final int EVICTED = Integer.MIN_VALUE / 2;
+
+   /**
+    * Admission of a notification that may be processed.
+    */
+   public static final Admission ADMITTED = new Admission(AdmissionOutcome.ADMITTED, 0, null);
+
+   private final AdmissionProperties properties;
+   private final ValidationMetrics validationMetrics;
+   private final MeterRegistry meterRegistry;
+   private final Map<String, Sender> senders = new ConcurrentHashMap<>();
+   private final Sender sharedSender;
+   private final AtomicInteger inFlight = new AtomicInteger();
+   private final AtomicInteger peakInFlight = new AtomicInteger();
+   private final AtomicLong activeWeight = new AtomicLong();
+   private final ScheduledExecutorService adjustScheduler;
+   private final Counter overloaded;
+   private volatile int limit;
+   private volatile long averageValidationNanos;
+   private ValidationMetrics.Totals lastTotals;
+
+   public AdmissionControl(final AdmissionProperties properties, final ValidationMetrics validationMetrics,
+         final MeterRegistry meterRegistry) {
+      this.properties = properties;
+      this.validationMetrics = validationMetrics;
+      this.meterRegistry = meterRegistry;
+      this.limit = Math.max(properties.minConcurrency(),
+            Math.min(properties.maxConcurrency(), properties.initialConcurrency()));
+      this.sharedSender = new Sender(OTHER_SENDERS, 1);
+      this.lastTotals = validationMetrics.totals();
+
+      Gauge.builder(METRIC + ".limit", this, control -> control.limit)
+           .description("Notifications validated at the same time at most")
+           .register(meterRegistry);
+      Gauge.builder(METRIC + ".in.flight", inFlight, AtomicInteger::get)
+           .description("Notifications being validated and submitted")
+           .register(meterRegistry);
+      Gauge.builder(METRIC + ".validation.time", this, control -> control.averageValidationNanos / 1e6)
+           .description("Average validation time in the last adjust interval")
+           .baseUnit("milliseconds")
+           .register(meterRegistry);
+      Gauge.builder(METRIC + ".senders", senders, Map::size)
+           .description("Senders tracked with their own rate limit")
+           .register(meterRegistry);
+      this.overloaded = Counter.builder(METRIC + ".rejected")
+                               .description("Notifications rejected before validation")
+                               .tag("sender", "all")
+                               .tag("reason", AdmissionOutcome.OVERLOADED.name().toLowerCase(Locale.ROOT))
+                               .register(meterRegistry);
+
+      if (!properties.enabled()) {
+         this.adjustScheduler = null;
+         return;
+      }
+      this.adjustScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+         final Thread thread = new Thread(runnable, "admission-adjust");
+         thread.setDaemon(true);
+         return thread;
+      });
+      final long interval = properties.adjustInterval().toMillis();
+      adjustScheduler.scheduleAtFixedRate(this::adjust, interval, interval, TimeUnit.MILLISECONDS);
+      final long evictInterval = Math.max(interval, properties.senderIdleTimeout().toMillis() / 2);
+      adjustScheduler.scheduleWithFixedDelay(this::evictIdleSenders, evictInterval, evictInterval,
+            TimeUnit.MILLISECONDS);
+   }
+
+   /**
+    * Admits a notification of a sender. An admitted notification has to be {@link #release released} once it is
+    * validated and submitted, whatever the outcome. The admission holds the state the notification was charged to,
+    * so it is released there even if the sender is tracked differently by then.
+    *
+    * @param senderBpn the sender BPN from the notification header, null if it has none
+    * @return {@link #ADMITTED}, or why the notification is rejected and when the sender may retry
+    */
+   public Admission admit(final String senderBpn) {
+      if (!properties.enabled()) {
+         return ADMITTED;
+      }
+      final long now = System.nanoTime();
+      Sender sender = sender(senderBpn);
+      sender.lastUsedNanos = now;
+      final long waitNanos = sender.bucket.tryAcquire(now);
+      if (waitNanos > 0) {
+         sender.rateLimited.increment();
+         return new Admission(AdmissionOutcome.RATE_LIMITED, (waitNanos + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND,
+               null);
+      }
+
+      final int currentLimit = limit;
+      final int total = inFlight.incrementAndGet();
+      if (total > currentLimit) {
+         inFlight.decrementAndGet();
+         overloaded.increment();
+         return new Admission(AdmissionOutcome.OVERLOADED, 1, null);
+      }
+      peakInFlight.accumulateAndGet(total, Math::max);
+
+      int held = sender.inFlight.incrementAndGet();
+      while (held < 0) {
+         // evicted meanwhile, its replacement takes over
+         sender = sender(senderBpn);
+         sender.lastUsedNanos = now;
+         held = sender.inFlight.incrementAndGet();
+      }
+      if (held == 1) {
+         activeWeight.addAndGet(sender.weight);
+      }
+      final long share = Math.max(1, currentLimit * sender.weight / Math.max(sender.weight, activeWeight.get()));
+      if (held > share) {
+         release(sender);
+         sender.senderLimited.increment();
+         return new Admission(AdmissionOutcome.SENDER_LIMITED, 1, null);
+      }
+      return new Admission(AdmissionOutcome.ADMITTED, 0, sender);
+   }
+
+   /**
+    * Releases an admitted notification once it is validated and submitted.
+    *
+    * @param admission the admission returned by {@link #admit}
+    */
+   public void release(final Admission admission) {
+      if (admission.sender != null) {
+         release(admission.sender);
+      }
+   }
+
+   private void release(final Sender sender) {
+      if (sender.inFlight.decrementAndGet() == 0) {
+         activeWeight.addAndGet(-sender.weight);
+      }
+      inFlight.decrementAndGet();
+   }
+
+   /**
+    * Gets the state of a sender, tracking it on first use. Beyond {@code app.admission.max-tracked-senders} senders,
+    * e.g. when BPNs are made up, further senders without a configured weight share one state.
+    */
+   private Sender sender(final String senderBpn) {
+      final String key = senderBpn != null ? senderBpn : UNKNOWN_SENDER;
+      final Sender sender = senders.get(key);
+      if (sender != null) {
+         return sender;
+      }
+      final Integer weight = properties.weights().get(key);
+      if (weight == null && senders.size() >= properties.maxTrackedSenders()) {
+         return sharedSender;
+      }
+      return senders.computeIfAbsent(key, bpn -> new Sender(weight != null ? bpn : OTHER_SENDERS,
+            weight != null ? Math.max(1, weight) : 1));
+   }
+
+   /**
+    * Stops tracking the senders without notifications in flight that were idle for the idle timeout. A sender is
+    * marked as evicted before it is removed, so a concurrent admission retries with its replacement.
+    */
+   private void evictIdleSenders() {
+      final long idleSince = System.nanoTime() - properties.senderIdleTimeout().toNanos();
+      int evicted = 0;
+      for (final Map.Entry<String, Sender> entry : senders.entrySet()) {
+         final Sender sender = entry.getValue();
+         if (sender.lastUsedNanos - idleSince < 0 && sender.inFlight.compareAndSet(0, EVICTED)) {
+            senders.remove(entry.getKey(), sender);
+            evicted++;
+         }
+      }
+      if (evicted > 0) {
+         log.debug("Evicted {} idle senders, {} senders tracked", evicted, senders.size());
+      }
+   }
+
+   /**
+    * Adapts the concurrency limit to the validation time since the last adjustment.
+    */
+   private void adjust() {
+      final ValidationMetrics.Totals totals = validationMetrics.totals();
+      final long average = totals.averageNanosSince(lastTotals);
+      lastTotals = totals;
+      final int peak = peakInFlight.getAndSet(inFlight.get());
+      if (average < 0) {
+         return;
+      }
+      averageValidationNanos = average;
+      final int current = limit;
+      int next = current;
+      if (average > properties.targetValidationTime().toNanos()) {
+         next = Math.max(properties.minConcurrency(), current - Math.max(1, current / 5));
+      } else if (peak >= current) {
+         next = Math.min(properties.maxConcurrency(), current + Math.max(1, current / 10));
+      }
+      if (next != current) {
+         log.debug("Adjusting admission limit from {} to {}, average validation time {} us", current, next,
+               average / 1000);
+         limit = next;
+      }
+   }
+
+   @PreDestroy
+   public void stop() {
+      if (adjustScheduler != null) {
+         adjustScheduler.shutdownNow();
+      }
+   }
+
+   /**
+    * Result of admitting a notification.
+    */
+   public static final class Admission {
+      private final AdmissionOutcome outcome;
+      private final long retryAfterSeconds;
+      private final Sender sender;
+
+      /**
+       * @param outcome           whether the notification was admitted or why not
+       * @param retryAfterSeconds when the sender may retry a rejected notification
+       * @param sender            the sender state the admitted notification was charged to, null if none
+       */
+      private Admission(final AdmissionOutcome outcome, final long retryAfterSeconds, final Sender sender) {
+         this.outcome = outcome;
+         this.retryAfterSeconds = retryAfterSeconds;
+         this.sender = sender;
+      }
+
+      public AdmissionOutcome outcome() {
+         return outcome;
+      }
+
+      public long retryAfterSeconds() {
+         return retryAfterSeconds;
+      }
+
+      public boolean isAdmitted() {
+         return outcome == AdmissionOutcome.ADMITTED;
+      }
+   }
+
+   /**
+    * Rate limit and concurrency share of one sender. Senders without a configured weight are counted under one
+    * metric tag, to keep the number of meters bounded.
+    */
+   private final class Sender {
+      private final long weight;
+      private final TokenBucket bucket;
+      private final AtomicInteger inFlight = new AtomicInteger();
+      private volatile long lastUsedNanos = System.nanoTime();
+      private final Counter rateLimited;
+      private final Counter senderLimited;
+
+      Sender(final String tag, final int weight) {
+         this.weight = weight;
+         final double rate = properties.ratePerWeight() * weight;
+         this.bucket = new TokenBucket(rate, properties.burst().toNanos());
+         this.rateLimited = rejected(tag, AdmissionOutcome.RATE_LIMITED);
+         this.senderLimited = rejected(tag, AdmissionOutcome.SENDER_LIMITED);
+      }
+
+      private Counter rejected(final String tag, final AdmissionOutcome reason) {
+         return Counter.builder(METRIC + ".rejected")
+                       .description("Notifications rejected before validation")
+                       .tag("sender", tag)
+                       .tag("reason", reason.name().toLowerCase(Locale.ROOT))
+                       .register(meterRegistry);
+      }
+   }
+}
@@ -0,0 +1,30 @@
+package net.catenax.traceability.admission;
+
+/**
+ * Outcome of admitting a notification for validation and processing.
+ * <br/><br/>
+ * <small>
+ * Copyright (c) 2025, doubleSlash Net-Business GmbH, http://www.doubleslash.de
+ * <br/><br/>
+ * </small>
+ *
+ * @author emanuel.schaeffer@doubleslash.de
+ */
+public enum AdmissionOutcome {
+   /**
+    * The notification may be processed; the admission has to be released afterwards.
+    */
+   ADMITTED,
+   /**
+    * The sender exceeded its rate.
+    */
+   RATE_LIMITED,
+   /**
+    * The sender already uses its weighted share of the concurrency limit.
+    */
+   SENDER_LIMITED,
+   /**
+    * The concurrency limit is reached for all senders.
+    */
+   OVERLOADED
+}
@@ -0,0 +1,46 @@
+package net.catenax.traceability.admission;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Configuration of the admission control of the notification endpoints, bound from {@code app.admission.*}.
+ * <br/><br/>
+ * <small>
+ * Copyright (c) 2025, doubleSlash Net-Business GmbH, http://www.doubleslash.de
+ * <br/><br/>
+ * </small>
+ *
+ * @param enabled              whether notifications are admitted per sender at all
+ * @param weights              weights of senders by BPN, senders not listed have weight 1
+ * @param ratePerWeight        notifications per second a sender of weight 1 may send
+ * @param burst                notifications a sender may send at once after being idle, as a duration of its rate
+ * @param initialConcurrency   notifications validated at the same time when starting
+ * @param minConcurrency       lower bound of the adaptive concurrency limit
+ * @param maxConcurrency       upper bound of the adaptive concurrency limit
+ * @param targetValidationTime average validation time above which the concurrency limit is lowered
+ * @param adjustInterval       how often the concurrency limit is adapted
+ * @param maxTrackedSenders    senders with their own rate limit, further senders without a weight share one
+ * @param senderIdleTimeout    time without notifications after which a sender is no longer tracked
+ * @author emanuel.schaeffer@doubleslash.de
+ */
+@ConfigurationProperties("app.admission")
+public record AdmissionProperties(@DefaultValue("true") boolean enabled,
+                                  Map<String, Integer> weights,
+                                  @DefaultValue("500") double ratePerWeight,
+                                  @DefaultValue("PT1S") Duration burst,
+                                  @DefaultValue("64") int initialConcurrency,
+                                  @DefaultValue("4") int minConcurrency,
+                                  @DefaultValue("256") int maxConcurrency,
+                                  @DefaultValue("PT0.05S") Duration targetValidationTime,
+                                  @DefaultValue("PT1S") Duration adjustInterval,
+                                  @DefaultValue("10000") int maxTrackedSenders,
+                                  @DefaultValue("PT5M") Duration senderIdleTimeout) {
+
+   public AdmissionProperties {
+      weights = weights != null ? Map.copyOf(weights) : Map.of();
+   }
+}
@@ -0,0 +1,55 @@
+package net.catenax.traceability.admission;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket, implemented as a generic cell rate algorithm on a single atomic value.
+ * <p>
+ * Instead of a token count and a refill time, the bucket keeps the theoretical time at which the next permit would
+ * be due if permits were taken exactly at the rate. A permit is granted if that time is at most {@code burst} ahead
+ * of now, and taking it moves the time on by one interval. So refilling needs no timer, and a permit is one
+ * compare-and-set.
+ * <br/><br/>
+ * <small>
+ * Copyright (c) 2025, doubleSlash Net-Business GmbH, http://www.doubleslash.de
+ * <br/><br/>
+ * </small>
+ *
+ * @author emanuel.schaeffer@doubleslash.de
+ */
+final class TokenBucket {
+   private final long intervalNanos;
+   private final long burstNanos;
+   private final AtomicLong theoreticalArrival;
+
+   /**
+    * @param permitsPerSecond the sustained rate
+    * @param burstNanos       how far ahead of the rate permits may be taken, e.g. after being idle
+    */
+   TokenBucket(final double permitsPerSecond, final long burstNanos) {
+      this.intervalNanos = Math.max(1, (long) (1_000_000_000L / permitsPerSecond));
+      this.burstNanos = Math.max(intervalNanos, burstNanos);
+      this.theoreticalArrival = new AtomicLong(System.nanoTime());
+   }
+
+   /**
+    * Takes a permit if one is available.
+    *
+    * @param now the current {@link System#nanoTime()}
+    * @return 0 if a permit was taken, otherwise the nanoseconds until one will be available
+    */
+   long tryAcquire(final long now) {
+      long arrival = theoreticalArrival.get();
+      while (true) {
+         final long next = Math.max(arrival, now) + intervalNanos;
+         if (next - now > burstNanos) {
+            return next - now - burstNanos;
+         }
+         final long witness = theoreticalArrival.compareAndExchange(arrival, next);
+         if (witness == arrival) {
+            return 0;
+         }
+         arrival = witness;
+      }
+   }
+}
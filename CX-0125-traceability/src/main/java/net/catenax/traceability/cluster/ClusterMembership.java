@@ -0,0 +1,209 @@
+package net.catenax.traceability.cluster;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Members of the cluster of replicas and the notification IDs each of them owns.
+ * <p>
+ * Notification IDs are partitioned across the members with a {@link HashRing}, so all events of a notification are
+ * handled and stored by the same replica and the lifecycle, deduplication and store of each replica only cover its
+ * own share. Members are either listed statically in {@code app.cluster.members}, e.g. several instances on one
+ * machine, or discovered by resolving the Kubernetes headless service {@code app.cluster.headless-service}, which
+ * returns the addresses of all ready pods. Discovery is repeated every {@code app.cluster.refresh-interval}; when the
+ * members change, a new ring is swapped in and the listeners are notified, e.g. to hand off notifications.
+ * <p>
+ * This replica is always a member, also before it is ready and listed by the headless service. With clustering
+ * disabled, this replica owns every notification.
+ * <br/><br/>
+ * <small>
+ * Copyright (c) 2025, doubleSlash Net-Business GmbH, http://www.doubleslash.de
+ * <br/><br/>
+ * </small>
+ *
+ * @author emanuel.schaeffer@doubleslash.de
+ */
+@Component
+public class ClusterMembership {
+   /**
+    * Header marking a request forwarded by another member, it is always handled by the receiving member if the
+    * request also carries the {@link #SECRET_HEADER}.
+    */
+   public static final String FORWARDED_HEADER = "X-Traceability-Forwarded-By";
+   /**
+    * Header with the secret shared by all members, {@code app.cluster.secret}, authenticating requests between them.
+    */
+   public static final String SECRET_HEADER = "X-Traceability-Cluster-Secret";
+
+   private static final Logger log = LoggerFactory.getLogger(ClusterMembership.class);
+   private static final String METRIC = "traceability.cluster";
+
+   private final boolean enabled;
+   private final String self;
+   private final Set<String> staticMembers;
+   private final String headlessService;
+   private final int port;
+   private final int virtualNodes;
+   private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+   private final ScheduledExecutorService refreshScheduler;
+   private final Counter rebalances;
+   private volatile HashRing ring;
+
+   public ClusterMembership(@Value("${app.cluster.enabled:false}") final boolean enabled,
+         @Value("${app.cluster.self:}") final String self,
+         @Value("${app.cluster.members:}") final String[] members,
+         @Value("${app.cluster.headless-service:}") final String headlessService,
+         @Value("${app.cluster.port:${server.port:8080}}") final int port,
+         @Value("${app.cluster.refresh-interval:PT10S}") final Duration refreshInterval,
+         @Value("${app.cluster.virtual-nodes:128}") final int virtualNodes, final MeterRegistry meterRegistry) {
+      this.enabled = enabled;
+      this.self = normalize(self);
+      this.headlessService = headlessService.trim();
+      this.port = port;
+      this.virtualNodes = virtualNodes;
+      this.staticMembers = new TreeSet<>();
+      for (final String member : members) {
+         if (!member.isBlank()) {
+            staticMembers.add(normalize(member));
+         }
+      }
+      if (enabled && this.self.isEmpty()) {
+         throw new IllegalArgumentException("app.cluster.self must be set to the base URL of this replica");
+      }
+
+      this.ring = new HashRing(Set.of(this.self), virtualNodes);
+      this.rebalances = Counter.builder(METRIC + ".rebalances")
+                               .description("Changes of the cluster members")
+                               .register(meterRegistry);
+      Gauge.builder(METRIC + ".members", this, membership -> membership.ring.members().size())
+           .description("Members of the cluster")
+           .register(meterRegistry);
+
+      if (!enabled) {
+         this.refreshScheduler = null;
+         return;
+      }
+      refresh();
+      if (this.headlessService.isEmpty()) {
+         this.refreshScheduler = null;
+      } else {
+         this.refreshScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "cluster-membership");
+            thread.setDaemon(true);
+            return thread;
+         });
+         refreshScheduler.scheduleWithFixedDelay(this::refresh, refreshInterval.toMillis(),
+               refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+      }
+   }
+
+   /**
+    * Checks whether notifications are partitioned across several replicas.
+    */
+   public boolean isEnabled() {
+      return enabled;
+   }
+
+   /**
+    * Gets the base URL of this replica.
+    */
+   public String getSelf() {
+      return self;
+   }
+
+   /**
+    * Gets the base URLs of all current members, sorted.
+    */
+   public List<String> getMembers() {
+      return ring.members();
+   }
+
+   /**
+    * Gets the member owning a notification.
+    *
+    * @param notificationId the notification ID, null if the notification has none
+    * @return the base URL of the owning member, or null if this replica owns the notification or clustering is
+    * disabled
+    */
+   public String ownerOf(final String notificationId) {
+      if (!enabled || notificationId == null) {
+         return null;
+      }
+      final String owner = ring.ownerOf(notificationId);
+      return self.equals(owner) ? null : owner;
+   }
+
+   /**
+    * Registers a listener called on the membership thread whenever the members change.
+    */
+   public void addListener(final Runnable listener) {
+      listeners.add(listener);
+   }
+
+   /**
+    * Discovers the current members and swaps in a new ring if they changed. If the headless service cannot be
+    * resolved, the current members are kept.
+    */
+   private void refresh() {
+      final Set<String> members = new TreeSet<>(staticMembers);
+      members.add(self);
+      if (!headlessService.isEmpty()) {
+         try {
+            for (final InetAddress address : InetAddress.getAllByName(headlessService)) {
+               final String host = address instanceof Inet6Address ? "[" + address.getHostAddress() + "]"
+                     : address.getHostAddress();
+               members.add("http://" + host + ":" + port);
+            }
+         } catch (final UnknownHostException e) {
+            log.warn("Could not resolve cluster members from {}, keeping {}: {}", headlessService,
+                  ring.members(), e.getMessage());
+            return;
+         }
+      }
+      if (members.equals(new TreeSet<>(ring.members()))) {
+         return;
+      }
+
+      log.info("Cluster members changed from {} to {}", ring.members(), new ArrayList<>(members));
+      ring = new HashRing(members, virtualNodes);
+      rebalances.increment();
+      for (final Runnable listener : listeners) {
+         try {
+            listener.run();
+         } catch (final RuntimeException e) {
+            log.error("Cluster membership listener failed: {}", e.getMessage(), e);
+         }
+      }
+   }
+
+   private static String normalize(final String url) {
+      final String trimmed = url.trim();
+      return trimmed.endsWith("/") ? trimmed.substring(0, trimmed.length() - 1) : trimmed;
+   }
+
+   @PreDestroy
+   public void stop() {
+      if (refreshScheduler != null) {
+         refreshScheduler.shutdownNow();
+      }
+   }
+}
@@ -0,0 +1,13 @@
+package net.catenax.traceability.cluster;
+
+import java.util.List;
+
+/**
+ * Cluster members as seen by one replica.
+ *
+ * @param enabled whether notifications are partitioned across the members
+ * @param self    the base URL of the answering replica
+ * @param members the base URLs of all members, sorted
+ */
+public record ClusterView(boolean enabled, String self, List<String> members) {
+}
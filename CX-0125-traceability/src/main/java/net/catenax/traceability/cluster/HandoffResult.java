@@ -0,0 +1,12 @@
+package net.catenax.traceability.cluster;
+
+/**
+ * Result of taking over events handed off by another cluster member.
+ *
+ * @param applied  number of events applied and stored
+ * @param skipped  number of events already known or no longer legal
+ * @param rejected number of events not valid against any of the loaded spec versions
+ * @param busy     number of events that could not be queued because the processing queue was full
+ */
+public record HandoffResult(int applied, int skipped, int rejected, int busy) {
+}
@@ -0,0 +1,85 @@
+package net.catenax.traceability.cluster;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Immutable consistent hash ring mapping notification IDs to the cluster member owning them.
+ * <p>
+ * Every member is placed on the ring at {@code virtualNodes} points, and a key belongs to the member at the first
+ * point at or after the key's hash. So the keys are spread evenly, and adding or removing a member only moves the
+ * keys between it and its neighbours, about one in {@code members} keys, instead of reassigning most of them.
+ * <br/><br/>
+ * <small>
+ * Copyright (c) 2025, doubleSlash Net-Business GmbH, http://www.doubleslash.de
+ * <br/><br/>
+ * </small>
+ *
+ * @author emanuel.schaeffer@doubleslash.de
+ */
+final class HashRing {
+   private final List<String> members;
+   private final long[] points;
+   private final int[] owners;
+
+   /**
+    * @param members      the base URLs of all members, duplicates are ignored
+    * @param virtualNodes the number of points per member
+    */
+   HashRing(final Collection<String> members, final int virtualNodes) {
+      this.members = List.copyOf(new TreeSet<>(members));
+      final int count = this.members.size() * Math.max(1, virtualNodes);
+      final long[] unsortedPoints = new long[count];
+      final Integer[] order = new Integer[count];
+      for (int i = 0; i < count; i++) {
+         unsortedPoints[i] = hash(this.members.get(i % this.members.size()) + "#" + i / this.members.size());
+         order[i] = i;
+      }
+      Arrays.sort(order, (left, right) -> Long.compare(unsortedPoints[left], unsortedPoints[right]));
+
+      this.points = new long[count];
+      this.owners = new int[count];
+      for (int i = 0; i < count; i++) {
+         points[i] = unsortedPoints[order[i]];
+         owners[i] = order[i] % this.members.size();
+      }
+   }
+
+   /**
+    * Gets the member owning a key.
+    *
+    * @return the member's base URL, or null if the ring has no members
+    */
+   String ownerOf(final String key) {
+      if (points.length == 0) {
+         return null;
+      }
+      int index = Arrays.binarySearch(points, hash(key));
+      if (index < 0) {
+         index = -index - 1;
+      }
+      return members.get(owners[index == points.length ? 0 : index]);
+   }
+
+   /**
+    * Gets the base URLs of all members, sorted.
+    */
+   List<String> members() {
+      return members;
+   }
+
+   /**
+    * 64-bit FNV-1a hash of the characters, with a final avalanche step so similar IDs land far apart.
+    */
+   static long hash(final String key) {
+      long hash = 0xCBF29CE484222325L;
+      for (int i = 0; i < key.length(); i++) {
+         hash = (hash ^ key.charAt(i)) * 0x100000001B3L;
+      }
+      hash = (hash ^ (hash >>> 33)) * 0xFF51AFD7ED558CCDL;
+      hash = (hash ^ (hash >>> 33)) * 0xC4CEB9FE1A85EC53L;
+      return hash ^ (hash >>> 33);
+   }
+}
@@ -0,0 +1,306 @@
+package net.catenax.traceability.cluster;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import net.catenax.traceability.lifecycle.NotificationLifecycle;
+import net.catenax.traceability.lifecycle.NotificationStatus;
+import net.catenax.traceability.notification.NotificationStreamReader;
+import net.catenax.traceability.notification.QualityNotification;
+import net.catenax.traceability.store.NotificationEventType;
+import net.catenax.traceability.store.NotificationStore;
+import net.catenax.traceability.store.StoredNotification;
+import net.catenax.traceability.validator.ValidationResult;
+import net.catenax.traceability.validator.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Moves notifications to their new owner when the cluster members change.
+ * <p>
+ * After every change, and once more a refresh interval later to catch requests still handled under the previous
+ * members, the store is scanned for notifications owned by another member. Their events are sent to the owner in
+ * newline-delimited JSON batches, all received notifications first and then the updates in the order they were
+ * stored, so the owner rebuilds the same lifecycle. Which events a member already got is remembered, so later scans
+ * only send what was stored since. Sending is retried a refresh interval later if the owner cannot take it yet.
+ * <p>
+ * Handed off events are kept in the local store, which is append-only; this replica no longer answers for them.
+ * The owner skips events it already has, so handing off the same notification again, e.g. after a restart or when
+ * ownership moves back and forth, does not change its lifecycle. It validates the other events like the endpoints
+ * do, against any of its spec versions as the version the event was received with is not stored; the handoff
+ * endpoint itself only accepts requests from members, see {@link RequestForwarder#isFromMember}.
+ * <br/><br/>
+ * <small>
+ * Copyright (c) 2025, doubleSlash Net-Business GmbH, http://www.doubleslash.de
+ * <br/><br/>
+ * </small>
+ *
+ * @author emanuel.schaeffer@doubleslash.de
+ */
+@Component
+public class NotificationHandoff {
+   /**
+    * Path of the endpoint taking handed off events, with the event type as {@code type} query parameter.
+    */
+   public static final String HANDOFF_PATH = "/api/traceability/cluster/handoff";
+
+   private static final Logger log = LoggerFactory.getLogger(NotificationHandoff.class);
+   private static final String CONTENT_TYPE_NDJSON = "application/x-ndjson";
+   private static final String METRIC = "traceability.cluster.handoff";
+
+   private final ClusterMembership clusterMembership;
+   private final NotificationStore notificationStore;
+   private final NotificationLifecycle notificationLifecycle;
+   private final RequestForwarder requestForwarder;
+   private final Validator validator;
+   private final Duration retryInterval;
+   private final int batchSize;
+   private final Map<String, HandedOff> handedOff = new ConcurrentHashMap<>();
+   private final ScheduledExecutorService scheduler;
+   private final Counter sent;
+   private final Counter received;
+
+   public NotificationHandoff(final ClusterMembership clusterMembership, final NotificationStore notificationStore,
+         final NotificationLifecycle notificationLifecycle, final RequestForwarder requestForwarder,
+         final Validator validator, @Value("${app.cluster.refresh-interval:PT10S}") final Duration retryInterval,
+         @Value("${app.cluster.handoff-batch-size:256}") final int batchSize, final MeterRegistry meterRegistry) {
+      this.clusterMembership = clusterMembership;
+      this.notificationStore = notificationStore;
+      this.notificationLifecycle = notificationLifecycle;
+      this.requestForwarder = requestForwarder;
+      this.validator = validator;
+      this.retryInterval = retryInterval;
+      this.batchSize = Math.max(1, batchSize);
+      this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+         final Thread thread = new Thread(runnable, "cluster-handoff");
+         thread.setDaemon(true);
+         return thread;
+      });
+      this.sent = Counter.builder(METRIC)
+                         .description("Events handed off to or taken over from other cluster members")
+                         .tag("direction", "sent")
+                         .register(meterRegistry);
+      this.received = Counter.builder(METRIC)
+                             .description("Events handed off to or taken over from other cluster members")
+                             .tag("direction", "received")
+                             .register(meterRegistry);
+
+      clusterMembership.addListener(() -> {
+         schedule(Duration.ZERO);
+         schedule(retryInterval);
+      });
+   }
+
+   /**
+    * Hands off the notifications stored before this replica started that other members own by now.
+    */
+   public void start() {
+      schedule(Duration.ZERO);
+   }
+
+   /**
+    * Takes over events handed off by another member. Events this replica already has are skipped, invalid ones
+    * rejected, and the others are applied to the lifecycle like received notifications and updates, and stored
+    * before this method returns.
+    *
+    * @param type   whether the events are received notifications or updates
+    * @param ndjson the events as newline-delimited JSON, in the order they were stored by the other member
+    * @return how many events were applied, skipped, rejected, or could not be queued and have to be sent again
+    * @throws IOException if the stream could not be read or is not well-formed JSON
+    */
+   public HandoffResult accept(final NotificationEventType type, final InputStream ndjson) throws IOException {
+      final List<CompletableFuture<StoredNotification>> stored = new ArrayList<>();
+      final int[] skippedRejectedBusy = new int[3];
+      NotificationStreamReader.read(ndjson, raw -> {
+         final QualityNotification notification = QualityNotification.of(raw);
+         if (isKnown(type, notification)) {
+            skippedRejectedBusy[0]++;
+            return;
+         }
+         if (!isValid(type, notification)) {
+            skippedRejectedBusy[1]++;
+            return;
+         }
+         final NotificationLifecycle.Submission submission = notificationLifecycle.submit(type, notification);
+         switch (submission.outcome()) {
+            case APPLIED, BUFFERED -> stored.add(submission.stored());
+            case QUEUE_FULL -> skippedRejectedBusy[2]++;
+            default -> skippedRejectedBusy[0]++;
+         }
+      });
+      CompletableFuture.allOf(stored.toArray(CompletableFuture[]::new)).join();
+      received.increment(stored.size());
+      if (skippedRejectedBusy[1] > 0) {
+         log.warn("Rejected {} invalid handed off {} events", skippedRejectedBusy[1], type);
+      }
+      return new HandoffResult(stored.size(), skippedRejectedBusy[0], skippedRejectedBusy[1],
+            skippedRejectedBusy[2]);
+   }
+
+   /**
+    * Checks whether a handed off event is valid against one of the loaded spec versions, parsing it once for all.
+    */
+   private boolean isValid(final NotificationEventType type, final QualityNotification notification) {
+      final byte[] raw = notification.getRaw();
+      final JsonNode tree = notification.getTreeIfWellFormed();
+      for (final String version : validator.getVersions()) {
+         final ValidationResult result = type == NotificationEventType.RECEIVE
+               ? validator.validateReceive(raw, tree, version) : validator.validateUpdate(raw, tree, version);
+         if (!result.hasErrors()) {
+            return true;
+         }
+      }
+      return false;
+   }
+
+   /**
+    * Checks whether a handed off event is already reflected in the lifecycle: a received notification that is known,
+    * or an update to the current status.
+    */
+   private boolean isKnown(final NotificationEventType type, final QualityNotification notification) {
+      final String notificationId = notification.getNotificationId();
+      final NotificationStatus current = notificationId != null
+            ? notificationLifecycle.getStatus(notificationId) : null;
+      if (current == null) {
+         return false;
+      }
+      return type == NotificationEventType.RECEIVE || current == NotificationStatus.fromValue(notification.getStatus());
+   }
+
+   private void schedule(final Duration delay) {
+      if (!clusterMembership.isEnabled() || scheduler.isShutdown()) {
+         return;
+      }
+      scheduler.schedule(this::handOff, delay.toMillis(), TimeUnit.MILLISECONDS);
+   }
+
+   /**
+    * Scans the store and sends all events of notifications owned by other members that were not sent to them yet.
+    */
+   private void handOff() {
+      final long start = System.nanoTime();
+      final Map<String, Transfer> transfers = new HashMap<>();
+      notificationStore.replayLocations(location -> {
+         final String notificationId = notificationStore.readNotificationId(location);
+         final String owner = clusterMembership.ownerOf(notificationId);
+         final HandedOff previous = handedOff.get(notificationId);
+         if (owner == null) {
+            if (previous != null) {
+               handedOff.remove(notificationId);
+            }
+            return;
+         }
+         if (previous != null && previous.owner().equals(owner) && location <= previous.lastLocation()) {
+            return;
+         }
+         transfers.computeIfAbsent(owner, Transfer::new)
+                  .add(notificationId, notificationStore.readType(location), location);
+      });
+      if (transfers.isEmpty()) {
+         return;
+      }
+
+      boolean complete = true;
+      for (final Transfer transfer : transfers.values()) {
+         try {
+            if (send(transfer.owner, NotificationEventType.RECEIVE, transfer.receives.build().toArray())
+                && send(transfer.owner, NotificationEventType.UPDATE, transfer.updates.build().toArray())) {
+               transfer.lastLocations.forEach((notificationId, lastLocation) ->
+                     handedOff.put(notificationId, new HandedOff(transfer.owner, lastLocation)));
+               log.info("Handed off {} notifications to {}", transfer.lastLocations.size(), transfer.owner);
+            } else {
+               complete = false;
+            }
+         } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+         } catch (final RuntimeException e) {
+            log.error("Handing off notifications to {} failed: {}", transfer.owner, e.getMessage(), e);
+            complete = false;
+         }
+      }
+      log.debug("Handoff scan took {} ms", (System.nanoTime() - start) / 1_000_000);
+      if (!complete) {
+         log.warn("Not all notifications could be handed off, retrying in {}", retryInterval);
+         schedule(retryInterval);
+      }
+   }
+
+   /**
+    * Sends events to their owner in batches.
+    *
+    * @return true if the owner took all of them
+    */
+   private boolean send(final String owner, final NotificationEventType type, final long[] locations)
+         throws InterruptedException {
+      final String path = HANDOFF_PATH + "?type=" + type.name();
+      final ByteArrayOutputStream batch = new ByteArrayOutputStream();
+      for (int from = 0; from < locations.length; from += batchSize) {
+         final int to = Math.min(locations.length, from + batchSize);
+         batch.reset();
+         for (int i = from; i < to; i++) {
+            batch.writeBytes(notificationStore.read(locations[i]).payload());
+            batch.write('\n');
+         }
+         final int status = requestForwarder.postAndWait(owner, path, CONTENT_TYPE_NDJSON, batch.toByteArray());
+         if (status < 200 || status >= 300) {
+            log.warn("Member {} did not take handed off {} events, status {}", owner, type, status);
+            return false;
+         }
+         sent.increment(to - from);
+      }
+      return true;
+   }
+
+   @PreDestroy
+   public void stop() {
+      scheduler.shutdownNow();
+   }
+
+   /**
+    * Member a notification was handed off to, and the location of the last event sent.
+    */
+   private record HandedOff(String owner, long lastLocation) {
+   }
+
+   /**
+    * Events to hand off to one member.
+    */
+   private static final class Transfer {
+      private final String owner;
+      private final LongStream.Builder receives = LongStream.builder();
+      private final LongStream.Builder updates = LongStream.builder();
+      private final Map<String, Long> lastLocations = new HashMap<>();
+
+      Transfer(final String owner) {
+         this.owner = owner;
+      }
+
+      void add(final String notificationId, final NotificationEventType type, final long location) {
+         if (type == NotificationEventType.RECEIVE) {
+            receives.add(location);
+         } else {
+            updates.add(location);
+         }
+         lastLocations.put(notificationId, location);
+      }
+   }
+}
@@ -0,0 +1,312 @@
+package net.catenax.traceability.cluster;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import net.catenax.traceability.security.SharedSecret;
+import net.catenax.traceability.validator.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Forwards requests to the cluster member owning their notification.
+ * <p>
+ * Forwarded requests carry the {@link ClusterMembership#FORWARDED_HEADER}, so the owner handles them itself even if
+ * its view of the members differs for a moment, and a request is never forwarded twice. All requests between members
+ * carry the {@code app.cluster.secret} in the {@link ClusterMembership#SECRET_HEADER}; the forwarded header of a
+ * request without it is ignored, so clients cannot make a replica handle notifications it does not own.
+ * <p>
+ * The owner's response is passed on unchanged. If the owner cannot be reached, e.g. because its pod just went away,
+ * the client is answered with 503 and a Retry-After header, and by the time it retries the members have been
+ * refreshed.
+ * <p>
+ * All members share one HTTP/1.1 client keeping connections to the other members open. The request thread waits
+ * for the owner's response, which is cheap with virtual threads enabled.
+ * <br/><br/>
+ * <small>
+ * Copyright (c) 2025, doubleSlash Net-Business GmbH, http://www.doubleslash.de
+ * <br/><br/>
+ * </small>
+ *
+ * @author emanuel.schaeffer@doubleslash.de
+ */
+@Component
+public class RequestForwarder {
+   private static final Logger log = LoggerFactory.getLogger(RequestForwarder.class);
+   private static final ObjectMapper MAPPER = new ObjectMapper();
+   private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(5);
+   private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+   private static final Duration REPLICATION_TIMEOUT = Duration.ofMinutes(5);
+   private static final String RETRY_AFTER_SECONDS = "1";
+   private static final String CONTENT_TYPE_NDJSON = "application/x-ndjson";
+   private static final String BULK_RECEIVE_PATH = "/api/traceability/qualitynotifications/receive/bulk";
+   private static final String FORWARDED_METRIC = "traceability.cluster.forwarded";
+   private static final List<String> REQUEST_HEADERS = List.of(HttpHeaders.CONTENT_TYPE, HttpHeaders.ACCEPT,
+         Validator.VERSION_HEADER);
+   private static final List<String> RESPONSE_HEADERS = List.of(HttpHeaders.CONTENT_TYPE, HttpHeaders.RETRY_AFTER);
+
+   private final ClusterMembership clusterMembership;
+   private final SharedSecret secret;
+   private final HttpClient httpClient;
+   private final MeterRegistry meterRegistry;
+   /**
+    * Timers of forwarded requests by mode and status, registered on first use.
+    */
+   private final Map<String, Map<String, Timer>> timers = new ConcurrentHashMap<>();
+
+   public RequestForwarder(final ClusterMembership clusterMembership,
+         @Value("${app.cluster.secret:}") final String secret, final Environment environment,
+         final MeterRegistry meterRegistry) {
+      this.clusterMembership = clusterMembership;
+      this.secret = new SharedSecret(secret);
+      this.meterRegistry = meterRegistry;
+      if (clusterMembership.isEnabled() && !this.secret.isConfigured()) {
+         throw new IllegalArgumentException("app.cluster.secret must be set to the secret shared by all members");
+      }
+      final HttpClient.Builder builder = HttpClient.newBuilder()
+                                                   .version(HttpClient.Version.HTTP_1_1)
+                                                   .connectTimeout(CONNECT_TIMEOUT);
+      if (Threading.VIRTUAL.isActive(environment)) {
+         final SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("cluster-");
+         executor.setVirtualThreads(true);
+         builder.executor(executor);
+      }
+      this.httpClient = builder.build();
+   }
+
+   /**
+    * Checks whether a request was forwarded by another member and has to be handled here.
+    */
+   public boolean isForwarded(final HttpServletRequest request) {
+      return request.getHeader(ClusterMembership.FORWARDED_HEADER) != null && isFromMember(request);
+   }
+
+   /**
+    * Checks whether a request was sent by a cluster member, i.e. carries the shared secret.
+    */
+   public boolean isFromMember(final HttpServletRequest request) {
+      return secret.matches(request.getHeader(ClusterMembership.SECRET_HEADER));
+   }
+
+   /**
+    * Forwards a request to its owner and waits for the response.
+    *
+    * @param owner   the base URL of the owning member
+    * @param request the request to forward, with its method, path, query and relevant headers
+    * @param body    the request body, null for requests without one
+    * @return the owner's response, 503 SERVICE UNAVAILABLE if the owner could not be reached
+    */
+   public ResponseEntity<byte[]> forward(final String owner, final HttpServletRequest request, final byte[] body) {
+      final String query = request.getQueryString();
+      final HttpRequest.Builder builder = newRequest(owner, request.getRequestURI()
+                                                            + (query != null ? "?" + query : ""))
+            .method(request.getMethod(), body != null ? HttpRequest.BodyPublishers.ofByteArray(body)
+                  : HttpRequest.BodyPublishers.noBody());
+      for (final String header : REQUEST_HEADERS) {
+         final String value = request.getHeader(header);
+         if (value != null) {
+            builder.header(header, value);
+         }
+      }
+
+      final long start = System.nanoTime();
+      try {
+         final HttpResponse<byte[]> response = httpClient.send(builder.build(),
+               HttpResponse.BodyHandlers.ofByteArray());
+         record("single", String.valueOf(response.statusCode()), start);
+         final ResponseEntity.BodyBuilder forwarded = ResponseEntity.status(response.statusCode());
+         for (final String header : RESPONSE_HEADERS) {
+            response.headers().firstValue(header).ifPresent(value -> forwarded.header(header, value));
+         }
+         return forwarded.body(response.body().length > 0 ? response.body() : null);
+      } catch (final IOException e) {
+         record("single", "IO_ERROR", start);
+         log.warn("Forwarding {} to {} failed: {}", request.getRequestURI(), owner, e.getMessage());
+      } catch (final InterruptedException e) {
+         Thread.currentThread().interrupt();
+      }
+      return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                           .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                           .build();
+   }
+
+   /**
+    * Forwards notifications of a bulk receive request to their owner as one newline-delimited JSON request.
+    *
+    * @param owner         the base URL of the owning member
+    * @param notifications the raw notifications, not referenced once this method returns
+    * @param version       the spec version header of the original request, null if none
+    * @return future completed with the owner's status per notification, 503 for all of them if the owner could not
+    * be reached
+    */
+   public CompletableFuture<int[]> forwardBulk(final String owner, final List<byte[]> notifications,
+         final String version) {
+      final int count = notifications.size();
+      final HttpRequest.Builder builder = post(owner, BULK_RECEIVE_PATH, CONTENT_TYPE_NDJSON,
+            toNdjson(notifications));
+      if (version != null) {
+         builder.header(Validator.VERSION_HEADER, version);
+      }
+
+      final long start = System.nanoTime();
+      return httpClient.sendAsync(builder.build(), HttpResponse.BodyHandlers.ofByteArray())
+                       .handle((response, e) -> {
+                          record("bulk", e != null ? "IO_ERROR" : String.valueOf(response.statusCode()), start);
+                          final int[] statuses = new int[count];
+                          Arrays.fill(statuses, HttpStatus.SERVICE_UNAVAILABLE.value());
+                          if (e != null) {
+                             log.warn("Forwarding {} notification(s) to {} failed: {}", count, owner,
+                                   e.getMessage());
+                             return statuses;
+                          }
+                          JsonNode results = null;
+                          try {
+                             results = MAPPER.readTree(response.body()).path("results");
+                          } catch (final IOException parseError) {
+                             log.debug("Bulk response from {} has no per-notification results: {}", owner,
+                                   parseError.getMessage());
+                          }
+                          for (int i = 0; i < statuses.length; i++) {
+                             statuses[i] = results != null && results.path(i).isInt() ? results.get(i).asInt()
+                                   : response.statusCode();
+                          }
+                          return statuses;
+                       });
+   }
+
+   /**
+    * Sends a request body to every other member and waits for all of them, e.g. to replicate an upload. The body is
+    * streamed from its file to each member.
+    *
+    * @param path        the path to PUT the body to
+    * @param contentType the content type of the body
+    * @param body        the file holding the body
+    * @return the members that could not be reached or did not accept the body
+    */
+   public List<String> replicate(final String path, final String contentType, final Path body) {
+      final List<String> members = new ArrayList<>();
+      final List<CompletableFuture<Integer>> statuses = new ArrayList<>();
+      for (final String member : clusterMembership.getMembers()) {
+         if (member.equals(clusterMembership.getSelf())) {
+            continue;
+         }
+         final long start = System.nanoTime();
+         final HttpRequest request;
+         try {
+            request = newRequest(member, path).header(HttpHeaders.CONTENT_TYPE, contentType)
+                                              .timeout(REPLICATION_TIMEOUT)
+                                              .PUT(HttpRequest.BodyPublishers.ofFile(body))
+                                              .build();
+         } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+         }
+         members.add(member);
+         statuses.add(httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                                .handle((response, e) -> {
+                                   record("replicate", e != null ? "IO_ERROR"
+                                         : String.valueOf(response.statusCode()), start);
+                                   if (e != null) {
+                                      log.warn("Replicating {} to {} failed: {}", path, member, e.getMessage());
+                                      return 0;
+                                   }
+                                   return response.statusCode();
+                                }));
+      }
+      final List<String> failed = new ArrayList<>();
+      for (int i = 0; i < members.size(); i++) {
+         final int status = statuses.get(i).join();
+         if (status < 200 || status >= 300) {
+            failed.add(members.get(i));
+         }
+      }
+      return failed;
+   }
+
+   /**
+    * Posts a body to another member and waits for the response, e.g. to hand off notifications.
+    *
+    * @return the response status, 0 if the member could not be reached
+    */
+   int postAndWait(final String member, final String path, final String contentType, final byte[] body)
+         throws InterruptedException {
+      final long start = System.nanoTime();
+      try {
+         final int status = httpClient.send(post(member, path, contentType, body).build(),
+               HttpResponse.BodyHandlers.discarding()).statusCode();
+         record("handoff", String.valueOf(status), start);
+         return status;
+      } catch (final IOException e) {
+         record("handoff", "IO_ERROR", start);
+         log.warn("Posting to {}{} failed: {}", member, path, e.getMessage());
+         return 0;
+      }
+   }
+
+   private HttpRequest.Builder post(final String member, final String path, final String contentType,
+         final byte[] body) {
+      return newRequest(member, path).header(HttpHeaders.CONTENT_TYPE, contentType)
+                                     .POST(HttpRequest.BodyPublishers.ofByteArray(body));
+   }
+
+   private HttpRequest.Builder newRequest(final String member, final String pathAndQuery) {
+      return HttpRequest.newBuilder()
+                        .uri(URI.create(member + pathAndQuery))
+                        .header(ClusterMembership.FORWARDED_HEADER, clusterMembership.getSelf())
+                        .header(ClusterMembership.SECRET_HEADER, secret.value())
+                        .timeout(REQUEST_TIMEOUT);
+   }
+
+   private static byte[] toNdjson(final List<byte[]> notifications) {
+      int size = 0;
+      for (final byte[] notification : notifications) {
+         size += notification.length + 1;
+      }
+      final ByteArrayOutputStream out = new ByteArrayOutputStream(size);
+      for (final byte[] notification : notifications) {
+         out.writeBytes(notification);
+         out.write('\n');
+      }
+      return out.toByteArray();
+   }
+
+   private void record(final String mode, final String status, final long startNanos) {
+      final Map<String, Timer> modeTimers = timers.get(mode);
+      final Map<String, Timer> byStatus = modeTimers != null ? modeTimers
+            : timers.computeIfAbsent(mode, key -> new ConcurrentHashMap<>());
+      final Timer timer = byStatus.get(status);
+      (timer != null ? timer : byStatus.computeIfAbsent(status,
+            key -> Timer.builder(FORWARDED_METRIC)
+                        .description("Duration of requests forwarded to the owning cluster member")
+                        .tag("mode", mode)
+                        .tag("status", key)
+                        .register(meterRegistry)))
+            .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+   }
+}
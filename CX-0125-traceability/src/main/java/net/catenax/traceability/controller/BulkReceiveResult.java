@@ -0,0 +1,14 @@
+package net.catenax.traceability.controller;
+
+/**
+ * Compact result of a bulk receive request.
+ *
+ * @param accepted number of accepted notifications
+ * @param rejected number of notifications that failed validation or could not be queued
+ * @param results  HTTP status per notification in request order, 201 if accepted, 400 if invalid, 409 if it has
+ *                 no notification ID, 429 if the sender exceeded its limits, 503 if the processing queue was full
+ *                 or the service was overloaded
+ * @param error    why reading the request stopped early, null if the whole request was read
+ */
+public record BulkReceiveResult(int accepted, int rejected, int[] results, String error) {
+}
@@ -0,0 +1,89 @@
+package net.catenax.traceability.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import net.catenax.traceability.cluster.ClusterMembership;
+import net.catenax.traceability.cluster.ClusterView;
+import net.catenax.traceability.cluster.HandoffResult;
+import net.catenax.traceability.cluster.NotificationHandoff;
+import net.catenax.traceability.cluster.RequestForwarder;
+import net.catenax.traceability.store.NotificationEventType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+/**
+ * REST Controller for the cluster of replicas the notifications are partitioned across.
+ * <br/><br/>
+ * <small>
+ * Copyright (c) 2025, doubleSlash Net-Business GmbH, http://www.doubleslash.de
+ * <br/><br/>
+ * </small>
+ *
+ * @author emanuel.schaeffer@doubleslash.de
+ */
+@RestController
+@RequestMapping("/api/traceability/cluster")
+@RequiredArgsConstructor
+public class ClusterController {
+   private static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+   private static final String RETRY_AFTER_SECONDS = "1";
+
+   private final Logger logger = LoggerFactory.getLogger(ClusterController.class);
+
+   private final ClusterMembership clusterMembership;
+   private final NotificationHandoff notificationHandoff;
+   private final RequestForwarder requestForwarder;
+
+   /**
+    * Gets the cluster members as seen by this replica.
+    */
+   @GetMapping
+   public ResponseEntity<@NonNull ClusterView> getMembers() {
+      return ResponseEntity.ok(new ClusterView(clusterMembership.isEnabled(), clusterMembership.getSelf(),
+            clusterMembership.getMembers()));
+   }
+
+   /**
+    * Takes over notifications handed off by another member when the members changed. Only members may call it,
+    * authenticated by the cluster secret.
+    *
+    * @param type    whether the body holds received notifications or updates
+    * @param request the request to stream the newline-delimited events from
+    * @return 200 OK once all valid events are stored, 400 BAD REQUEST if the body is not well-formed JSON, 403
+    * FORBIDDEN if the request is not from a member, 503 SERVICE UNAVAILABLE with a Retry-After header if some events
+    * could not be queued and have to be sent again
+    */
+   @PostMapping(value = "/handoff", consumes = APPLICATION_NDJSON_VALUE)
+   public ResponseEntity<@NonNull HandoffResult> takeOver(@RequestParam final NotificationEventType type,
+         final HttpServletRequest request) throws IOException {
+      if (!requestForwarder.isFromMember(request)) {
+         logger.warn("Rejecting handoff from {}, it is not authenticated as cluster member", request.getRemoteAddr());
+         return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+      }
+      final HandoffResult result;
+      try {
+         result = notificationHandoff.accept(type, request.getInputStream());
+      } catch (final JsonProcessingException e) {
+         logger.debug("Rejecting handoff: {}", e.getOriginalMessage());
+         return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+      }
+      if (result.busy() > 0) {
+         return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                              .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                              .body(result);
+      }
+      return ResponseEntity.ok(result);
+   }
+}
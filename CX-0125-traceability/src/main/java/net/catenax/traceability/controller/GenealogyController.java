@@ -0,0 +1,131 @@
+package net.catenax.traceability.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.NonNull;
+import net.catenax.traceability.cluster.ClusterMembership;
+import net.catenax.traceability.cluster.RequestForwarder;
+import net.catenax.traceability.genealogy.GenealogySummary;
+import net.catenax.traceability.genealogy.PartGenealogy;
+import net.catenax.traceability.notification.QualityNotification;
+import net.catenax.traceability.security.SharedSecret;
+import net.catenax.traceability.store.NotificationEventType;
+import net.catenax.traceability.store.NotificationStore;
+import net.catenax.traceability.store.StoredNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * REST Controller for the parts genealogy and the parts impacted by a quality notification.
+ * <br/><br/>
+ * <small>
+ * Copyright (c) 2025, doubleSlash Net-Business GmbH, http://www.doubleslash.de
+ * <br/><br/>
+ * </small>
+ *
+ * @author emanuel.schaeffer@doubleslash.de
+ */
+@RestController
+@RequestMapping("/api/traceability")
+public class GenealogyController {
+   private static final String TEXT_CSV_VALUE = "text/csv";
+   private static final String API_KEY_HEADER = "X-API-KEY";
+
+   private final Logger logger = LoggerFactory.getLogger(GenealogyController.class);
+
+   private final PartGenealogy partGenealogy;
+   private final NotificationStore notificationStore;
+   private final ClusterMembership clusterMembership;
+   private final RequestForwarder requestForwarder;
+   private final SharedSecret apiKey;
+
+   public GenealogyController(final PartGenealogy partGenealogy, final NotificationStore notificationStore,
+         final ClusterMembership clusterMembership, final RequestForwarder requestForwarder,
+         @Value("${app.genealogy.api-key:}") final String apiKey) {
+      this.partGenealogy = partGenealogy;
+      this.notificationStore = notificationStore;
+      this.clusterMembership = clusterMembership;
+      this.requestForwarder = requestForwarder;
+      this.apiKey = new SharedSecret(apiKey);
+   }
+
+   /**
+    * Replaces the parts genealogy. The body is read as a stream of {@code childCatenaXId,parentCatenaXId[,parentBpn]}
+    * lines, so large genealogies are never held as a whole request body, and kept as {@code app.genealogy.file}.
+    * The request has to carry the {@code app.genealogy.api-key} in the X-API-KEY header; without a key configured,
+    * the genealogy can only be loaded from {@code app.genealogy.file}.
+    * <p>
+    * In a cluster every member resolves impacts of the notifications it owns, so the genealogy is sent on to all
+    * other members with the cluster secret before it is answered. A member joining later starts with its own
+    * {@code app.genealogy.file}, so the file should be on a volume shared by all members, or the genealogy uploaded
+    * again.
+    *
+    * @param request the request to stream the body from
+    * @return 200 OK with the size of the new genealogy, 400 BAD REQUEST if a line is not a relation, 403 FORBIDDEN
+    * if the API key is missing or wrong, 503 SERVICE UNAVAILABLE with a Retry-After header if another member could
+    * not be updated; the request can be repeated then
+    */
+   @PutMapping(value = "/genealogy", consumes = {TEXT_CSV_VALUE, MediaType.TEXT_PLAIN_VALUE})
+   public ResponseEntity<@NonNull GenealogySummary> loadGenealogy(final HttpServletRequest request)
+         throws IOException {
+      final boolean fromMember = requestForwarder.isForwarded(request);
+      if (!fromMember && !apiKey.matches(request.getHeader(API_KEY_HEADER))) {
+         logger.warn("Rejecting genealogy from {}, API key missing or wrong", request.getRemoteAddr());
+         return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+      }
+      try {
+         final List<String> notUpdated = new ArrayList<>();
+         final GenealogySummary summary = partGenealogy.replace(request.getInputStream(), upload -> {
+            if (clusterMembership.isEnabled() && !fromMember) {
+               notUpdated.addAll(requestForwarder.replicate(request.getRequestURI(), request.getContentType(),
+                     upload));
+            }
+         });
+         if (!notUpdated.isEmpty()) {
+            logger.warn("Genealogy replaced here, but not on members {}", notUpdated);
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").build();
+         }
+         return ResponseEntity.ok(summary);
+      } catch (final IllegalArgumentException e) {
+         logger.debug("Rejecting genealogy: {}", e.getMessage());
+         return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+      }
+   }
+
+   /**
+    * Resolves all assemblies and partners impacted by the affected parts of a received quality notification.
+    * The request is forwarded to the cluster member owning the notification, which has it stored.
+    *
+    * @param notificationId the notification ID
+    * @param request        the request, forwarded as is if another cluster member owns the notification
+    * @return 200 OK with the impacted parts and partners, 404 NOT FOUND if the notification was not received
+    */
+   @GetMapping("/qualitynotifications/{notificationId}/impact")
+   public ResponseEntity<?> findImpact(@PathVariable final String notificationId,
+         final HttpServletRequest request) {
+      final String owner = requestForwarder.isForwarded(request) ? null : clusterMembership.ownerOf(notificationId);
+      if (owner != null) {
+         return requestForwarder.forward(owner, request, null);
+      }
+      for (final StoredNotification stored : notificationStore.findByNotificationId(notificationId)) {
+         if (stored.type() == NotificationEventType.RECEIVE) {
+            final QualityNotification notification = QualityNotification.of(stored.payload());
+            return ResponseEntity.ok(partGenealogy.impactOf(notification.getAffectedCatenaXIds()));
+         }
+      }
+      return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+   }
+}
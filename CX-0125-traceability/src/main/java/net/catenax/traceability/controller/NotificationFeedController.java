@@ -0,0 +1,49 @@
+package net.catenax.traceability.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import net.catenax.traceability.feed.NotificationFeed;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+/**
+ * REST Controller for the push feed of accepted quality notifications.
+ * <br/><br/>
+ * <small>
+ * Copyright (c) 2025, doubleSlash Net-Business GmbH, http://www.doubleslash.de
+ * <br/><br/>
+ * </small>
+ *
+ * @author emanuel.schaeffer@doubleslash.de
+ */
+@RestController
+@RequestMapping("/api/traceability/qualitynotifications")
+@RequiredArgsConstructor
+public class NotificationFeedController {
+
+   private final NotificationFeed notificationFeed;
+
+   /**
+    * Streams every stored receive and update event as a Server-Sent Event named after the event type, with the
+    * store location as event ID. Clients that cannot keep up lose events or are disconnected. The response is
+    * written by the feed with non-blocking I/O after this method returned.
+    *
+    * @param request  the request, switched to asynchronous processing
+    * @param response the response, 200 OK with the event stream, 503 SERVICE UNAVAILABLE if the maximum number of
+    *                 clients is connected
+    */
+   @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+   public void streamEvents(final HttpServletRequest request, final HttpServletResponse response)
+         throws IOException {
+      if (!notificationFeed.subscribe(request, response)) {
+         response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+         response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+      }
+   }
+}
@@ -0,0 +1,125 @@
+package net.catenax.traceability.controller;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import net.catenax.traceability.query.NotificationIndex;
+import net.catenax.traceability.query.NotificationPage;
+import net.catenax.traceability.query.NotificationQuery;
+import net.catenax.traceability.query.NotificationSummary;
+import net.catenax.traceability.store.NotificationStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+/**
+ * REST Controller for looking up received quality notifications.
+ * <br/><br/>
+ * <small>
+ * Copyright (c) 2025, doubleSlash Net-Business GmbH, http://www.doubleslash.de
+ * <br/><br/>
+ * </small>
+ *
+ * @author emanuel.schaeffer@doubleslash.de
+ */
+@RestController
+@RequestMapping("/api/traceability/qualitynotifications")
+@RequiredArgsConstructor
+public class NotificationQueryController {
+   private static final int DEFAULT_LIMIT = 100;
+   private static final int MAX_LIMIT = 1000;
+   private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+   private final Logger logger = LoggerFactory.getLogger(NotificationQueryController.class);
+
+   private final NotificationIndex notificationIndex;
+   private final NotificationStore notificationStore;
+
+   /**
+    * Finds stored quality notifications. All given criteria must match; results are in store order.
+    * The page is streamed, with every notification written straight from the store as it was received.
+    *
+    * @param notificationId        the notification ID
+    * @param relatedNotificationId the ID of the notification the notifications refer to
+    * @param senderBpn             the BPN of the sending partner
+    * @param status                the current lifecycle status, e.g. ACKNOWLEDGED
+    * @param severity              the severity
+    * @param catenaXId             the catenaXId of an affected part
+    * @param from                  earliest time the notification was received, inclusive
+    * @param to                    latest time the notification was received, exclusive
+    * @param cursor                the {@code nextCursor} of the previous page
+    * @param limit                 maximum number of notifications on the page, at most 1000
+    * @return 200 OK with the notifications and the cursor of the next page, 400 BAD REQUEST if the cursor or limit
+    * is invalid
+    */
+   @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+   public ResponseEntity<@NonNull StreamingResponseBody> findQualityNotifications(
+         @RequestParam(required = false) final String notificationId,
+         @RequestParam(required = false) final String relatedNotificationId,
+         @RequestParam(required = false) final String senderBpn,
+         @RequestParam(required = false) final String status,
+         @RequestParam(required = false) final String severity,
+         @RequestParam(required = false) final String catenaXId,
+         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final Instant from,
+         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final Instant to,
+         @RequestParam(required = false) final String cursor,
+         @RequestParam(defaultValue = "" + DEFAULT_LIMIT) final int limit) {
+
+      if (limit < 1 || limit > MAX_LIMIT) {
+         return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+      }
+      final NotificationQuery query = new NotificationQuery(notificationId, relatedNotificationId, senderBpn, status,
+            severity, catenaXId, from, to);
+      final NotificationPage page;
+      try {
+         page = notificationIndex.query(query, cursor, limit);
+      } catch (final IllegalArgumentException e) {
+         logger.debug("Rejecting notification query: {}", e.getMessage());
+         return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+      }
+
+      final StreamingResponseBody body = out -> {
+         try (final JsonGenerator generator = JSON_FACTORY.createGenerator(out, JsonEncoding.UTF8)) {
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("notifications");
+            for (final NotificationSummary summary : page.notifications()) {
+               writeSummary(generator, summary);
+            }
+            generator.writeEndArray();
+            generator.writeStringField("nextCursor", page.nextCursor());
+            generator.writeEndObject();
+         }
+      };
+      return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+   }
+
+   private void writeSummary(final JsonGenerator generator, final NotificationSummary summary)
+         throws IOException {
+      generator.writeStartObject();
+      generator.writeStringField("notificationId", summary.notificationId());
+      generator.writeStringField("senderBpn", summary.senderBpn());
+      generator.writeStringField("status", summary.status());
+      generator.writeStringField("severity", summary.severity());
+      generator.writeStringField("receivedAt", Instant.ofEpochMilli(summary.receivedAt()).toString());
+      if (summary.receiveLocation() >= 0) {
+         generator.writeFieldName("notification");
+         generator.writeRawValue(new String(notificationStore.read(summary.receiveLocation()).payload(),
+               StandardCharsets.UTF_8));
+      }
+      generator.writeEndObject();
+   }
+}
@@ -0,0 +1,78 @@
+package net.catenax.traceability.controller;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import net.catenax.traceability.notification.QualityNotification;
+import net.catenax.traceability.outbound.OutboundNotificationSender;
+import net.catenax.traceability.validator.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST Controller for sending quality notifications to partners.
+ * <br/><br/>
+ * <small>
+ * Copyright (c) 2025, doubleSlash Net-Business GmbH, http://www.doubleslash.de
+ * <br/><br/>
+ * </small>
+ *
+ * @author emanuel.schaeffer@doubleslash.de
+ */
+@RestController
+@RequestMapping("/api/traceability/qualitynotifications")
+@RequiredArgsConstructor
+public class OutboundNotificationController {
+   private static final String RETRY_AFTER_SECONDS = "1";
+
+   private final Logger logger = LoggerFactory.getLogger(OutboundNotificationController.class);
+
+   private final Validator validator;
+   private final OutboundNotificationSender outboundNotificationSender;
+
+   /**
+    * Sends a quality notification to one or more partners.
+    * The notification is validated like a received one and sent to every receiver with the receiver set in its
+    * header. Sending happens in the background; failed deliveries are retried. If it could not be queued for some
+    * receivers, it may still be sent to the others, so a retry of the request may deliver it twice to those.
+    *
+    * @param receiverBpns the BPNs of the receiving partners
+    * @param body         the quality notification
+    * @return 202 ACCEPTED once the notification is written to the outbox for all receivers, 400 BAD REQUEST if it is
+    * invalid or a receiver is not a configured partner, 503 SERVICE UNAVAILABLE with a Retry-After header if too many
+    * notifications are waiting for a receiver or the notification could not be written
+    */
+   @PostMapping("/send")
+   public ResponseEntity<@NonNull Void> sendQualityNotification(
+         @RequestParam("receiverBpn") final List<String> receiverBpns, @RequestBody final byte[] body) {
+
+      final List<String> unknown = receiverBpns.stream().filter(bpn -> !outboundNotificationSender.isPartner(bpn))
+                                               .toList();
+      if (!unknown.isEmpty()) {
+         logger.debug("Not sending notification, unknown receivers {}", unknown);
+         return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+      }
+      if (validator.validateReceive(body).hasErrors()) {
+         return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+      }
+
+      final QualityNotification notification = QualityNotification.of(body);
+      for (final String receiverBpn : receiverBpns) {
+         if (!outboundNotificationSender.send(receiverBpn, notification.addressedTo(receiverBpn))) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                                 .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                                 .build();
+         }
+      }
+      return ResponseEntity.status(HttpStatus.ACCEPTED).build();
+   }
+}
@@ -1,22 +1,53 @@
 package net.catenax.traceability.controller;
 
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import net.catenax.traceability.admission.AdmissionControl;
+import net.catenax.traceability.admission.AdmissionOutcome;
+import net.catenax.traceability.cluster.ClusterMembership;
+import net.catenax.traceability.cluster.RequestForwarder;
+import net.catenax.traceability.lifecycle.LifecycleOutcome;
+import net.catenax.traceability.lifecycle.NotificationLifecycle;
+import net.catenax.traceability.notification.DeduplicationCache;
+import net.catenax.traceability.notification.NotificationStreamReader;
+import net.catenax.traceability.notification.QualityNotification;
+import net.catenax.traceability.pipeline.NotificationPipeline;
+import net.catenax.traceability.store.NotificationEventType;
 import net.catenax.traceability.validator.ValidationResult;
 import net.catenax.traceability.validator.Validator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
 /**
  * REST Controller for Quality Notification API endpoints.
  * Handles receiving and updating quality notifications with proper error handling.
+ * Notifications owned by another cluster member are forwarded to it, see {@link ClusterMembership}, the others are
+ * admitted per sender before they are validated, see {@link AdmissionControl}.
  * <br/><br/>
  * <small>
  * Copyright (c) 2025, doubleSlash Net-Business GmbH, http://www.doubleslash.de
@@ -30,39 +61,436 @@ import org.springframework.web.bind.annotation.RestController;
 @RequestMapping("/api/traceability/qualitynotifications")
 @RequiredArgsConstructor
 public class QualityNotificationController {
+   private static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+   private static final int INITIAL_BULK_RESULTS = 256;
+   private static final int FORWARDED_BATCH_SIZE = 256;
+   private static final int MAX_FORWARDED_BATCHES_IN_FLIGHT = 4;
+
    private final Logger logger = LoggerFactory.getLogger(QualityNotificationController.class);
 
    private final Validator validator;
+   private final NotificationPipeline notificationPipeline;
+   private final DeduplicationCache deduplicationCache;
+   private final NotificationLifecycle notificationLifecycle;
+   private final ClusterMembership clusterMembership;
+   private final RequestForwarder requestForwarder;
+   private final AdmissionControl admissionControl;
 
    /**
     * Receives a new quality notification.
+    * The request body is parsed once, routing, admission, validation and processing share its tree.
+    * A redelivered notification gets its original response without being validated or stored again.
     *
-    * @return 201 CREATED if successful
+    * @param version the spec version to validate against, the default version if not given
+    * @param accept  the accepted media types, with application/problem+json the validation errors are returned
+    * @param body    the quality notification request body
+    * @param request the request, forwarded as is if another cluster member owns the notification
+    * @return 201 CREATED once the notification is accepted for processing, 400 BAD REQUEST if it is invalid, 409
+    * CONFLICT if a notification with the same ID was received before, 429 TOO MANY REQUESTS with a Retry-After
+    * header if the sender exceeds its limits, 503 SERVICE UNAVAILABLE with a Retry-After header if the service is
+    * overloaded
     */
    @PostMapping("/receive")
-   public ResponseEntity<@NonNull Void> receiveQualityNotification(
-         @RequestBody final JsonNode body) {
+   public ResponseEntity<?> receiveQualityNotification(
+         @RequestHeader(value = Validator.VERSION_HEADER, required = false) final String version,
+         @RequestHeader(value = HttpHeaders.ACCEPT, required = false) final String accept,
+         @RequestBody final byte[] body, final HttpServletRequest request) {
+
+      final QualityNotification notification = QualityNotification.of(body);
+      final String owner = ownerOf(notification, request);
+      if (owner != null) {
+         return requestForwarder.forward(owner, request, body);
+      }
+
+      final AdmissionControl.Admission admission = admissionControl.admit(notification.getSenderBpn());
+      if (!admission.isAdmitted()) {
+         return rejected(admission);
+      }
+      try {
+         final long fingerprint = deduplicationCache.fingerprint(Validator.RECEIVE_PATH,
+               version != null ? version : validator.getDefaultVersion(), body);
+         final int originalStatus = deduplicationCache.lookup(fingerprint);
+         if (originalStatus != 0) {
+            return ResponseEntity.status(originalStatus).build();
+         }
+
+         final ValidationResult result = validator.validateReceive(body, notification.getTreeIfWellFormed(), version);
+         if (result.hasErrors()) {
+            deduplicationCache.remember(fingerprint, HttpStatus.BAD_REQUEST.value());
+            return badRequest(result, accept);
+         }
 
-      final ValidationResult result = validator.validateReceive(body);
-      return ResponseEntity.status(
-            result.isValid() ? HttpStatus.CREATED : HttpStatus.BAD_REQUEST
-      ).build();
+         return submit(NotificationEventType.RECEIVE, notification, fingerprint, HttpStatus.CREATED);
+      } finally {
+         admissionControl.release(admission);
+      }
    }
 
    /**
     * Updates an existing quality notification.
+    * A redelivered update gets its original response without being validated or stored again.
+    * An update arriving before its notification is accepted and applied once the notification is received.
     *
+    * @param version     the spec version to validate against, the default version if not given
+    * @param accept      the accepted media types, with application/problem+json the validation errors are returned
     * @param requestBody the quality notification update request body (validated)
-    * @return 200 OK if successful
+    * @param request     the request, forwarded as is if another cluster member owns the notification
+    * @return 200 OK once the update is accepted for processing, 400 BAD REQUEST if it is invalid, 404 NOT FOUND if
+    * the notification is unknown and no more early updates can be buffered, 409 CONFLICT if the status cannot
+    * follow the current one, 429 TOO MANY REQUESTS with a Retry-After header if the sender exceeds its limits, 503
+    * SERVICE UNAVAILABLE with a Retry-After header if the service is overloaded
     */
    @PostMapping("/update")
-   public ResponseEntity<@NonNull Void> updateQualityNotification(
-         @RequestBody final JsonNode requestBody) {
+   public ResponseEntity<?> updateQualityNotification(
+         @RequestHeader(value = Validator.VERSION_HEADER, required = false) final String version,
+         @RequestHeader(value = HttpHeaders.ACCEPT, required = false) final String accept,
+         @RequestBody final byte[] requestBody, final HttpServletRequest request) {
+
+      final QualityNotification notification = QualityNotification.of(requestBody);
+      final String owner = ownerOf(notification, request);
+      if (owner != null) {
+         return requestForwarder.forward(owner, request, requestBody);
+      }
+
+      final AdmissionControl.Admission admission = admissionControl.admit(notification.getSenderBpn());
+      if (!admission.isAdmitted()) {
+         return rejected(admission);
+      }
+      try {
+         final long fingerprint = deduplicationCache.fingerprint(Validator.UPDATE_PATH,
+               version != null ? version : validator.getDefaultVersion(), requestBody);
+         final int originalStatus = deduplicationCache.lookup(fingerprint);
+         if (originalStatus != 0) {
+            return ResponseEntity.status(originalStatus).build();
+         }
+
+         final ValidationResult result = validator.validateUpdate(requestBody, notification.getTreeIfWellFormed(),
+               version);
+         if (result.hasErrors()) {
+            deduplicationCache.remember(fingerprint, HttpStatus.BAD_REQUEST.value());
+            return badRequest(result, accept);
+         }
+
+         return submit(NotificationEventType.UPDATE, notification, fingerprint, HttpStatus.OK);
+      } finally {
+         admissionControl.release(admission);
+      }
+   }
+
+   /**
+    * Receives many quality notifications in one request, given as newline-delimited JSON or as a JSON array.
+    * The body is parsed incrementally, every notification is validated like a single receive and the valid ones
+    * are submitted for processing. A redelivered notification gets its original result, whether it was sent alone
+    * or in a bulk request before. Notifications owned by other cluster members are forwarded to them in batches
+    * while reading, and their results merged in request order. At most a few batches per request are in flight,
+    * reading waits for the oldest one beyond that, so memory stays bounded however many notifications are forwarded.
+    * Accepted notifications count as created once they are stored, see
+    * {@link NotificationPipeline#isAcknowledgeWhenStored()}; those that could not be stored get 503.
+    *
+    * @param request the request to stream the body from, with an optional spec version header
+    * @return 200 OK with the per-notification results, 400 BAD REQUEST if the body is not well-formed JSON; the
+    * results then cover the notifications read up to that point
+    */
+   @PostMapping(value = "/receive/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE})
+   public ResponseEntity<@NonNull BulkReceiveResult> receiveQualityNotifications(final HttpServletRequest request)
+         throws IOException {
+
+      final String version = request.getHeader(Validator.VERSION_HEADER);
+      final String resolvedVersion = version != null ? version : validator.getDefaultVersion();
+      final boolean routed = clusterMembership.isEnabled() && !requestForwarder.isForwarded(request);
+      final IntArrayBuilder results = new IntArrayBuilder();
+      final Map<String, ForwardedBatch> batches = new HashMap<>();
+      final Deque<ForwardedBatch> sentBatches = new ArrayDeque<>();
+      final boolean acknowledgeWhenStored = notificationPipeline.isAcknowledgeWhenStored();
+      final PendingStores pendingStores = new PendingStores();
+      String error = null;
+      try {
+         NotificationStreamReader.read(request.getInputStream(), raw -> {
+            final QualityNotification notification = QualityNotification.of(raw);
+            final String owner = routed ? clusterMembership.ownerOf(notification.getNotificationId()) : null;
+            if (owner != null) {
+               final ForwardedBatch batch = batches.computeIfAbsent(owner, key -> new ForwardedBatch());
+               batch.add(results.size(), raw);
+               results.add(HttpStatus.SERVICE_UNAVAILABLE.value());
+               if (batch.size() == FORWARDED_BATCH_SIZE) {
+                  send(batches.remove(owner), owner, version, sentBatches, results);
+               }
+               return;
+            }
+            final AdmissionControl.Admission admission = admissionControl.admit(notification.getSenderBpn());
+            if (!admission.isAdmitted()) {
+               results.add(statusOf(admission.outcome()).value());
+               return;
+            }
+            try {
+               final long fingerprint = deduplicationCache.fingerprint(Validator.RECEIVE_PATH, resolvedVersion, raw);
+               final int originalStatus = deduplicationCache.lookup(fingerprint);
+               if (originalStatus != 0) {
+                  results.add(originalStatus);
+                  return;
+               }
+               if (validator.validateReceive(raw, notification.getTreeIfWellFormed(), version).hasErrors()) {
+                  deduplicationCache.remember(fingerprint, HttpStatus.BAD_REQUEST.value());
+                  results.add(HttpStatus.BAD_REQUEST.value());
+                  return;
+               }
+               final NotificationLifecycle.Submission submission = notificationLifecycle.submit(
+                     NotificationEventType.RECEIVE, notification);
+               final int status = submission.outcome() == LifecycleOutcome.APPLIED ? HttpStatus.CREATED.value()
+                     : statusOf(submission.outcome()).value();
+               results.add(status);
+               if (submission.outcome() == LifecycleOutcome.APPLIED && acknowledgeWhenStored) {
+                  pendingStores.add(results.size() - 1, fingerprint, submission.stored(), results);
+               } else if (submission.outcome() != LifecycleOutcome.QUEUE_FULL) {
+                  deduplicationCache.remember(fingerprint, status);
+               }
+            } finally {
+               admissionControl.release(admission);
+            }
+         });
+      } catch (final JsonProcessingException e) {
+         logger.debug("Stopped reading bulk notifications: {}", e.getOriginalMessage());
+         error = e.getOriginalMessage();
+      }
+      pendingStores.awaitInto(results);
+      batches.forEach((owner, batch) -> send(batch, owner, version, sentBatches, results));
+      for (final ForwardedBatch batch : sentBatches) {
+         batch.applyTo(results);
+      }
+      final int[] statuses = results.toArray();
+      final int accepted = (int) Arrays.stream(statuses).filter(status -> status == HttpStatus.CREATED.value()).count();
+      final BulkReceiveResult result = new BulkReceiveResult(accepted, statuses.length - accepted, statuses, error);
+      return ResponseEntity.status(error == null ? HttpStatus.OK : HttpStatus.BAD_REQUEST).body(result);
+   }
+
+   /**
+    * Forwards a batch of a bulk request, first waiting for the oldest batch in flight if there are too many.
+    */
+   private static void send(final ForwardedBatch batch, final String owner, final String version,
+         final Deque<ForwardedBatch> sentBatches, final IntArrayBuilder results) {
+      if (sentBatches.size() >= MAX_FORWARDED_BATCHES_IN_FLIGHT) {
+         sentBatches.removeFirst().applyTo(results);
+      }
+      batch.send(owner, version);
+      sentBatches.addLast(batch);
+   }
+
+   /**
+    * Gets the cluster member owning the notification of a request that was not forwarded already.
+    *
+    * @return the owner's base URL, or null if the request is handled here
+    */
+   private String ownerOf(final QualityNotification notification, final HttpServletRequest request) {
+      if (!clusterMembership.isEnabled() || requestForwarder.isForwarded(request)) {
+         return null;
+      }
+      return clusterMembership.ownerOf(notification.getNotificationId());
+   }
+
+   /**
+    * Answers an invalid notification with a bare 400, or with the validation errors as problem details if the
+    * client accepts them. So the errors are only formatted for clients that read them.
+    */
+   private static ResponseEntity<@NonNull ProblemDetail> badRequest(final ValidationResult result,
+         final String accept) {
+      if (accept == null || !accept.contains(MediaType.APPLICATION_PROBLEM_JSON_VALUE)) {
+         return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+      }
+      final ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST,
+            result.getErrorMessage());
+      problem.setProperty("errors", result.getErrors());
+      return ResponseEntity.status(HttpStatus.BAD_REQUEST).contentType(MediaType.APPLICATION_PROBLEM_JSON)
+                           .body(problem);
+   }
+
+   private ResponseEntity<@NonNull ProblemDetail> submit(final NotificationEventType type,
+         final QualityNotification notification, final long fingerprint, final HttpStatus acceptedStatus) {
+      final NotificationLifecycle.Submission submission = notificationLifecycle.submit(type, notification);
+      switch (submission.outcome()) {
+         case APPLIED, BUFFERED -> {
+            if (notificationPipeline.isAcknowledgeWhenStored()
+                && !isStored(submission.stored(), storeDeadline())) {
+               logger.warn("Rejecting {} notification, it could not be stored", type);
+               return serviceUnavailable();
+            }
+            deduplicationCache.remember(fingerprint, acceptedStatus.value());
+            return ResponseEntity.status(acceptedStatus).build();
+         }
+         case QUEUE_FULL -> {
+            logger.debug("Rejecting {} notification, processing queue is full", type);
+            return serviceUnavailable();
+         }
+         case DUPLICATE -> {
+            // a notification stays received, so later deliveries get the same answer
+            deduplicationCache.remember(fingerprint, HttpStatus.CONFLICT.value());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+         }
+         default -> {
+            // not remembered, the same update may become legal once the notification state changes
+            return ResponseEntity.status(statusOf(submission.outcome())).build();
+         }
+      }
+   }
+
+   private ResponseEntity<@NonNull ProblemDetail> serviceUnavailable() {
+      return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                           .header(HttpHeaders.RETRY_AFTER, Long.toString(notificationPipeline.getRetryAfterSeconds()))
+                           .build();
+   }
+
+   /**
+    * Gets the time until which notifications submitted now are waited for to be stored.
+    */
+   private long storeDeadline() {
+      return System.nanoTime() + notificationPipeline.getStoreTimeout().toNanos();
+   }
+
+   /**
+    * Waits until a submitted notification is stored, at most until the deadline.
+    *
+    * @param deadline the {@link System#nanoTime()} to give up at
+    * @return false if it could not be stored or was not stored in time
+    */
+   private static boolean isStored(final CompletableFuture<?> stored, final long deadline) {
+      try {
+         stored.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+         return true;
+      } catch (final ExecutionException | TimeoutException e) {
+         return false;
+      } catch (final InterruptedException e) {
+         Thread.currentThread().interrupt();
+         return false;
+      }
+   }
+
+   /**
+    * Answers a notification that was not admitted, telling the sender when to retry.
+    */
+   private static ResponseEntity<?> rejected(final AdmissionControl.Admission admission) {
+      return ResponseEntity.status(statusOf(admission.outcome()))
+                           .header(HttpHeaders.RETRY_AFTER, Long.toString(admission.retryAfterSeconds()))
+                           .build();
+   }
+
+   private static HttpStatus statusOf(final AdmissionOutcome outcome) {
+      return outcome == AdmissionOutcome.OVERLOADED ? HttpStatus.SERVICE_UNAVAILABLE : HttpStatus.TOO_MANY_REQUESTS;
+   }
+
+   private static HttpStatus statusOf(final LifecycleOutcome outcome) {
+      return switch (outcome) {
+         case APPLIED, BUFFERED -> HttpStatus.OK;
+         case ILLEGAL_TRANSITION, DUPLICATE -> HttpStatus.CONFLICT;
+         case UNKNOWN_NOTIFICATION -> HttpStatus.NOT_FOUND;
+         case QUEUE_FULL -> HttpStatus.SERVICE_UNAVAILABLE;
+      };
+   }
+
+   /**
+    * Notifications of a bulk request owned by one other member, with their positions in the request.
+    */
+   private final class ForwardedBatch {
+      private final IntArrayBuilder positions = new IntArrayBuilder();
+      private List<byte[]> notifications = new ArrayList<>();
+      private CompletableFuture<int[]> statuses;
+
+      void add(final int position, final byte[] raw) {
+         positions.add(position);
+         notifications.add(raw);
+      }
+
+      int size() {
+         return notifications.size();
+      }
+
+      /**
+       * Forwards the notifications without waiting for the owner's answer, only their positions are kept.
+       */
+      void send(final String owner, final String version) {
+         statuses = requestForwarder.forwardBulk(owner, notifications, version);
+         notifications = null;
+      }
+
+      /**
+       * Waits for the owner's answer and fills in the results of the forwarded notifications.
+       */
+      void applyTo(final IntArrayBuilder results) {
+         final int[] forwardedStatuses = statuses.join();
+         for (int i = 0; i < forwardedStatuses.length; i++) {
+            results.set(positions.get(i), forwardedStatuses[i]);
+         }
+      }
+   }
+
+   /**
+    * Notifications of a bulk request accepted but not stored yet, with their positions in the request and their
+    * fingerprints. They are awaited in groups, so only the futures of one group are held at a time.
+    */
+   private final class PendingStores {
+      private final IntArrayBuilder positions = new IntArrayBuilder();
+      private final long[] fingerprints = new long[INITIAL_BULK_RESULTS];
+      private final List<CompletableFuture<?>> stored = new ArrayList<>();
+
+      void add(final int position, final long fingerprint, final CompletableFuture<?> future,
+            final IntArrayBuilder results) {
+         positions.add(position);
+         fingerprints[stored.size()] = fingerprint;
+         stored.add(future);
+         if (stored.size() == INITIAL_BULK_RESULTS) {
+            awaitInto(results);
+         }
+      }
+
+      /**
+       * Waits until the pending notifications are stored, marking those that could not be stored in time with 503.
+       * Only the stored ones are remembered as answered.
+       */
+      void awaitInto(final IntArrayBuilder results) {
+         final long deadline = storeDeadline();
+         for (int i = 0; i < stored.size(); i++) {
+            if (isStored(stored.get(i), deadline)) {
+               deduplicationCache.remember(fingerprints[i], HttpStatus.CREATED.value());
+            } else {
+               results.set(positions.get(i), HttpStatus.SERVICE_UNAVAILABLE.value());
+            }
+         }
+         stored.clear();
+         positions.clear();
+      }
+   }
+
+   /**
+    * Growable int array, keeping the per-notification results of large bulk requests compact.
+    */
+   private static final class IntArrayBuilder {
+      private int[] values = new int[INITIAL_BULK_RESULTS];
+      private int size;
+
+      void add(final int value) {
+         if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+         }
+         values[size++] = value;
+      }
+
+      int get(final int index) {
+         return values[index];
+      }
+
+      void set(final int index, final int value) {
+         values[index] = value;
+      }
+
+      int size() {
+         return size;
+      }
+
+      void clear() {
+         size = 0;
+      }
 
-      final ValidationResult result = validator.validateUpdate(requestBody);
-      return ResponseEntity.status(
-            result.isValid() ? HttpStatus.OK : HttpStatus.BAD_REQUEST
-      ).build();
+      int[] toArray() {
+         return Arrays.copyOf(values, size);
+      }
    }
 
 }
\ No newline at end of file
@@ -0,0 +1,70 @@
+package net.catenax.traceability.controller;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import net.catenax.traceability.statistics.NotificationKind;
+import net.catenax.traceability.statistics.OpenStatistics;
+import net.catenax.traceability.statistics.QualityStatistics;
+import net.catenax.traceability.statistics.StatisticsDimension;
+import net.catenax.traceability.statistics.StatisticsSeries;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST Controller for statistics of the received quality investigations and alerts.
+ * <br/><br/>
+ * <small>
+ * Copyright (c) 2025, doubleSlash Net-Business GmbH, http://www.doubleslash.de
+ * <br/><br/>
+ * </small>
+ *
+ * @author emanuel.schaeffer@doubleslash.de
+ */
+@RestController
+@RequestMapping("/api/traceability/statistics")
+@RequiredArgsConstructor
+public class StatisticsController {
+   private static final int DEFAULT_TOP = 100;
+   private static final int MAX_TOP = 1000;
+
+   private final QualityStatistics qualityStatistics;
+
+   /**
+    * Gets the open investigations and alerts by a dimension.
+    *
+    * @param dimension the dimension to roll up by
+    * @param top       maximum number of values per kind, those with the most open notifications, at most 1000
+    * @return 200 OK with the open notifications, 400 BAD REQUEST if top is invalid
+    */
+   @GetMapping("/open")
+   public ResponseEntity<@NonNull OpenStatistics> getOpen(
+         @RequestParam(defaultValue = "SEVERITY") final StatisticsDimension dimension,
+         @RequestParam(defaultValue = "" + DEFAULT_TOP) final int top) {
+      if (top < 1 || top > MAX_TOP) {
+         return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+      }
+      return ResponseEntity.ok(qualityStatistics.open(dimension, top));
+   }
+
+   /**
+    * Gets the investigations or alerts opened, closed and open per time bucket.
+    *
+    * @param kind      investigations or alerts
+    * @param dimension the dimension of the value
+    * @param value     the severity, supplier BPN or catenaXId, not needed for {@link StatisticsDimension#TOTAL}
+    * @return 200 OK with the buckets, oldest first, 400 BAD REQUEST if the value is missing
+    */
+   @GetMapping("/series")
+   public ResponseEntity<@NonNull StatisticsSeries> getSeries(@RequestParam final NotificationKind kind,
+         @RequestParam(defaultValue = "TOTAL") final StatisticsDimension dimension,
+         @RequestParam(required = false) final String value) {
+      if (dimension != StatisticsDimension.TOTAL && (value == null || value.isBlank())) {
+         return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+      }
+      return ResponseEntity.ok(qualityStatistics.series(kind, dimension, value));
+   }
+}
@@ -0,0 +1,28 @@
+package net.catenax.traceability.feed;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A stored notification event as sent to feed subscribers, encoded once as Server-Sent Event for all of them.
+ *
+ * @param frame the UTF-8 encoded event, including the blank line ending it
+ */
+record FeedEvent(byte[] frame) {
+
+   /**
+    * A heartbeat comment.
+    */
+   static final FeedEvent HEARTBEAT = new FeedEvent(":\n\n".getBytes(StandardCharsets.UTF_8));
+
+   /**
+    * Encodes a stored event.
+    *
+    * @param location position of the event in the store, sent as event ID
+    * @param type     the event type, sent as event name
+    * @param json     the single-line event data
+    */
+   static FeedEvent of(final long location, final String type, final String json) {
+      return new FeedEvent(("id:" + location + "\nevent:" + type + "\ndata:" + json + "\n\n")
+            .getBytes(StandardCharsets.UTF_8));
+   }
+}
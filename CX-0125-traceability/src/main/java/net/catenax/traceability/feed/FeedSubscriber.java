@@ -0,0 +1,202 @@
+package net.catenax.traceability.feed;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+
+import java.io.IOException;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One connected feed client with its own bounded buffer of events.
+ * <p>
+ * Publishing only offers the event to the buffer. Sending is done by a drain task on the feed executor, of which at
+ * most one runs per subscriber at a time. The response is written with non-blocking servlet I/O: once the client's
+ * connection cannot take more data, the drain task ends and the container resumes it through
+ * {@link #onWritePossible()} when the client reads again. So no thread ever waits for a client, and a client that
+ * stops reading only fills its own buffer. Such a client is disconnected once it has not taken data for the write
+ * timeout, see {@link #abortIfStalled}.
+ * <br/><br/>
+ * <small>
+ * Copyright (c) 2025, doubleSlash Net-Business GmbH, http://www.doubleslash.de
+ * <br/><br/>
+ * </small>
+ *
+ * @author emanuel.schaeffer@doubleslash.de
+ */
+final class FeedSubscriber implements WriteListener {
+   private final AsyncContext asyncContext;
+   private final ServletOutputStream out;
+   private final Queue<FeedEvent> buffer;
+   private final Executor executor;
+   /**
+    * Set while a drain task runs or waits for the container to resume it. Initially set, the container starts the
+    * first drain once the response is ready to be written.
+    */
+   private final AtomicBoolean draining = new AtomicBoolean(true);
+   private final AtomicBoolean completed = new AtomicBoolean();
+   private final AtomicInteger dropped = new AtomicInteger();
+   private volatile boolean closed;
+   /**
+    * Since when the drain task waits for the client, 0 while it is not waiting.
+    */
+   private volatile long blockedSinceNanos;
+   /**
+    * Whether data was written since the last flush, only accessed by the drain task. Initially set, so the response
+    * headers are sent right away.
+    */
+   private boolean unflushed = true;
+
+   FeedSubscriber(final AsyncContext asyncContext, final ServletOutputStream out, final int bufferSize,
+         final Executor executor) {
+      this.asyncContext = asyncContext;
+      this.out = out;
+      this.buffer = new ArrayBlockingQueue<>(bufferSize);
+      this.executor = executor;
+   }
+
+   /**
+    * Offers an event without blocking.
+    *
+    * @return false if the buffer is full and the event was dropped
+    */
+   boolean offer(final FeedEvent event) {
+      if (closed) {
+         return true;
+      }
+      if (!buffer.offer(event)) {
+         dropped.incrementAndGet();
+         return false;
+      }
+      scheduleDrain();
+      return true;
+   }
+
+   /**
+    * Gets the number of events dropped since the subscriber connected.
+    */
+   int getDropped() {
+      return dropped.get();
+   }
+
+   boolean isClosed() {
+      return closed;
+   }
+
+   /**
+    * Disconnects the client, dropping all buffered events. A running drain task disconnects it once it sees the
+    * subscriber closed; one waiting for a stalled client leaves that to {@link #abortIfStalled}.
+    */
+   void close() {
+      closed = true;
+      buffer.clear();
+      if (draining.compareAndSet(false, true)) {
+         complete();
+      }
+   }
+
+   /**
+    * Disconnects the client if the drain task waits for it for longer than the write timeout. Nothing is written
+    * while the drain task waits, so the response can be completed from here.
+    *
+    * @return true if the client was disconnected
+    */
+   boolean abortIfStalled(final long nowNanos, final long writeTimeoutNanos) {
+      final long blockedSince = blockedSinceNanos;
+      if (blockedSince == 0 || nowNanos - blockedSince < writeTimeoutNanos) {
+         return false;
+      }
+      closed = true;
+      buffer.clear();
+      return complete();
+   }
+
+   /**
+    * Sends a comment line, so connections of vanished clients fail and are removed.
+    */
+   void heartbeat() {
+      if (buffer.isEmpty()) {
+         offer(FeedEvent.HEARTBEAT);
+      }
+   }
+
+   /**
+    * Resumes the drain task, called by the container first when the response can be written and then each time the
+    * client takes data again after the drain task had to wait.
+    */
+   @Override
+   public void onWritePossible() {
+      drain();
+   }
+
+   @Override
+   public void onError(final Throwable t) {
+      closed = true;
+      buffer.clear();
+      complete();
+   }
+
+   private void scheduleDrain() {
+      if (draining.compareAndSet(false, true)) {
+         executor.execute(this::drain);
+      }
+   }
+
+   private void drain() {
+      try {
+         while (!closed) {
+            // set before asking, the container may resume the drain on another thread right after a refusal
+            blockedSinceNanos = System.nanoTime();
+            if (!out.isReady()) {
+               return;
+            }
+            blockedSinceNanos = 0;
+            final FeedEvent event = buffer.poll();
+            if (event != null) {
+               out.write(event.frame());
+               unflushed = true;
+            } else if (unflushed) {
+               unflushed = false;
+               out.flush();
+            } else {
+               break;
+            }
+         }
+      } catch (final IOException | IllegalStateException e) {
+         // the client is gone, the async listener removes the subscriber
+         closed = true;
+         buffer.clear();
+      }
+      blockedSinceNanos = 0;
+      if (closed) {
+         complete();
+         return;
+      }
+      draining.set(false);
+      // an event offered after the last poll but before the flag was reset is sent by another drain
+      if (!buffer.isEmpty()) {
+         scheduleDrain();
+      }
+   }
+
+   /**
+    * Completes the response once.
+    *
+    * @return true if this call completed it
+    */
+   private boolean complete() {
+      if (!completed.compareAndSet(false, true)) {
+         return false;
+      }
+      try {
+         asyncContext.complete();
+      } catch (final IllegalStateException e) {
+         // completed by the container meanwhile, e.g. on a timeout
+      }
+      return true;
+   }
+}
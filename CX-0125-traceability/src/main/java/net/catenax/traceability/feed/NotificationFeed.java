@@ -0,0 +1,238 @@
+package net.catenax.traceability.feed;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import net.catenax.traceability.notification.QualityNotification;
+import net.catenax.traceability.pipeline.NotificationListener;
+import net.catenax.traceability.store.StoredNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes stored notification events to connected clients as Server-Sent Events.
+ * <p>
+ * As a {@link NotificationListener} the feed serializes every event once and offers it to the bounded buffer of each
+ * {@link FeedSubscriber}, which never blocks the pipeline. A small shared executor sends the buffered events. When a
+ * client's buffer is full, the event is dropped for that client, or the client is disconnected, depending on the
+ * configured {@link SlowConsumerPolicy}. Events are written with non-blocking servlet I/O, so a client that stops
+ * reading never holds a thread; it is disconnected once it has not taken data for {@code app.feed.write-timeout}.
+ * <br/><br/>
+ * <small>
+ * Copyright (c) 2025, doubleSlash Net-Business GmbH, http://www.doubleslash.de
+ * <br/><br/>
+ * </small>
+ *
+ * @author emanuel.schaeffer@doubleslash.de
+ */
+@Component
+public class NotificationFeed implements NotificationListener {
+   private static final Logger log = LoggerFactory.getLogger(NotificationFeed.class);
+   private static final ObjectMapper MAPPER = new ObjectMapper();
+   private static final String METRIC = "traceability.feed";
+
+   /**
+    * What happens to a client whose buffer is full.
+    */
+   public enum SlowConsumerPolicy {
+      /**
+       * Events are dropped for the client until its buffer has room again.
+       */
+      DROP,
+      /**
+       * The client is disconnected and may reconnect.
+       */
+      DISCONNECT
+   }
+
+   private final Set<FeedSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+   private final AtomicInteger subscriberCount = new AtomicInteger();
+   private final int maxSubscribers;
+   private final int bufferSize;
+   private final long timeoutMillis;
+   private final SlowConsumerPolicy slowConsumerPolicy;
+   private final Executor executor;
+   private final ExecutorService platformExecutor;
+   private final ScheduledExecutorService heartbeatScheduler;
+   private final Counter dropped;
+   private final Counter disconnected;
+   private final long writeTimeoutNanos;
+
+   public NotificationFeed(@Value("${app.feed.max-subscribers:10000}") final int maxSubscribers,
+         @Value("${app.feed.buffer-size:256}") final int bufferSize,
+         @Value("${app.feed.timeout:PT30M}") final Duration timeout,
+         @Value("${app.feed.heartbeat:PT30S}") final Duration heartbeat,
+         @Value("${app.feed.slow-consumer-policy:DISCONNECT}") final SlowConsumerPolicy slowConsumerPolicy,
+         @Value("${app.feed.sender-threads:4}") final int senderThreads,
+         @Value("${app.feed.write-timeout:PT10S}") final Duration writeTimeout,
+         final Environment environment, final MeterRegistry meterRegistry) {
+      this.maxSubscribers = maxSubscribers;
+      this.bufferSize = bufferSize;
+      this.timeoutMillis = timeout.toMillis();
+      this.slowConsumerPolicy = slowConsumerPolicy;
+      this.writeTimeoutNanos = writeTimeout.toNanos();
+
+      if (Threading.VIRTUAL.isActive(environment)) {
+         final SimpleAsyncTaskExecutor virtualExecutor = new SimpleAsyncTaskExecutor("feed-");
+         virtualExecutor.setVirtualThreads(true);
+         this.executor = virtualExecutor;
+         this.platformExecutor = null;
+      } else {
+         final AtomicInteger threadNumber = new AtomicInteger();
+         this.platformExecutor = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            final Thread thread = new Thread(runnable, "feed-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+         });
+         this.executor = platformExecutor;
+      }
+
+      this.heartbeatScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+         final Thread thread = new Thread(runnable, "feed-heartbeat");
+         thread.setDaemon(true);
+         return thread;
+      });
+      heartbeatScheduler.scheduleAtFixedRate(() -> subscribers.forEach(FeedSubscriber::heartbeat),
+            heartbeat.toMillis(), heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+      final long stallCheckInterval = Math.max(1, writeTimeout.toMillis() / 2);
+      heartbeatScheduler.scheduleWithFixedDelay(this::abortStalledSends, stallCheckInterval, stallCheckInterval,
+            TimeUnit.MILLISECONDS);
+
+      Gauge.builder(METRIC + ".subscribers", subscriberCount, AtomicInteger::get)
+           .description("Connected notification feed clients")
+           .register(meterRegistry);
+      this.dropped = Counter.builder(METRIC + ".dropped")
+                            .description("Events not sent to a feed client because its buffer was full")
+                            .register(meterRegistry);
+      this.disconnected = Counter.builder(METRIC + ".disconnected")
+                                 .description("Feed clients disconnected for being too slow or stalled")
+                                 .register(meterRegistry);
+   }
+
+   /**
+    * Connects a new client, switching its request to asynchronous processing. The response stays open until the
+    * client disconnects, is disconnected or the feed timeout elapses.
+    *
+    * @return false if the maximum number of clients is connected, the response is then left untouched
+    */
+   public boolean subscribe(final HttpServletRequest request, final HttpServletResponse response)
+         throws IOException {
+      if (subscriberCount.incrementAndGet() > maxSubscribers) {
+         subscriberCount.decrementAndGet();
+         return false;
+      }
+      response.setStatus(HttpServletResponse.SC_OK);
+      response.setContentType(MediaType.TEXT_EVENT_STREAM_VALUE);
+      response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+      response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+      final AsyncContext asyncContext = request.startAsync(request, response);
+      asyncContext.setTimeout(timeoutMillis);
+      final ServletOutputStream out = response.getOutputStream();
+      final FeedSubscriber subscriber = new FeedSubscriber(asyncContext, out, bufferSize, executor);
+      asyncContext.addListener(new AsyncListener() {
+         @Override
+         public void onComplete(final AsyncEvent event) {
+            if (subscribers.remove(subscriber)) {
+               subscriberCount.decrementAndGet();
+            }
+         }
+
+         @Override
+         public void onTimeout(final AsyncEvent event) {
+            subscriber.close();
+         }
+
+         @Override
+         public void onError(final AsyncEvent event) {
+            subscriber.onError(event.getThrowable());
+         }
+
+         @Override
+         public void onStartAsync(final AsyncEvent event) {
+            // not restarted
+         }
+      });
+      // the container starts sending once the request handler returned
+      out.setWriteListener(subscriber);
+      subscribers.add(subscriber);
+      return true;
+   }
+
+   @Override
+   public void onStored(final StoredNotification stored, final QualityNotification notification) {
+      if (subscribers.isEmpty()) {
+         return;
+      }
+      final FeedEvent event = toEvent(stored, notification);
+      for (final FeedSubscriber subscriber : subscribers) {
+         if (subscriber.offer(event)) {
+            continue;
+         }
+         dropped.increment();
+         if (slowConsumerPolicy == SlowConsumerPolicy.DISCONNECT && !subscriber.isClosed()) {
+            log.debug("Disconnecting slow feed client after {} dropped events", subscriber.getDropped());
+            disconnected.increment();
+            subscriber.close();
+         }
+      }
+   }
+
+   private void abortStalledSends() {
+      final long now = System.nanoTime();
+      for (final FeedSubscriber subscriber : subscribers) {
+         if (subscriber.abortIfStalled(now, writeTimeoutNanos)) {
+            log.debug("Disconnected feed client, it took no data for longer than the write timeout");
+            disconnected.increment();
+         }
+      }
+   }
+
+   @PreDestroy
+   public void stop() {
+      heartbeatScheduler.shutdownNow();
+      subscribers.forEach(FeedSubscriber::close);
+      if (platformExecutor != null) {
+         platformExecutor.shutdown();
+      }
+   }
+
+   private static FeedEvent toEvent(final StoredNotification stored, final QualityNotification notification) {
+      final ObjectNode data = MAPPER.createObjectNode()
+                                    .put("type", stored.type().name())
+                                    .put("notificationId", stored.notificationId())
+                                    .put("storedAt", Instant.ofEpochMilli(stored.storedAt()).toString())
+                                    .put("senderBpn", notification.getSenderBpn())
+                                    .put("status", notification.getStatus())
+                                    .put("severity", notification.getSeverity());
+      return FeedEvent.of(stored.location(), stored.type().name(), data.toString());
+   }
+}
@@ -0,0 +1,17 @@
+package net.catenax.traceability.genealogy;
+
+import java.util.List;
+
+/**
+ * Parts and partners impacted by the affected parts of a notification.
+ *
+ * @param affectedParts     number of affected parts found in the genealogy
+ * @param unknownParts      the catenaXIds of affected parts not in the genealogy
+ * @param impactedPartCount number of assemblies the affected parts are built into, directly or indirectly
+ * @param impactedParts     the catenaXIds of the impacted assemblies, nearest first, possibly truncated
+ * @param impactedBpns      the BPNs of the partners holding impacted assemblies, sorted
+ * @param truncated         whether {@code impactedParts} lists fewer than {@code impactedPartCount} assemblies
+ */
+public record GenealogyImpact(int affectedParts, List<String> unknownParts, int impactedPartCount,
+                              List<String> impactedParts, List<String> impactedBpns, boolean truncated) {
+}
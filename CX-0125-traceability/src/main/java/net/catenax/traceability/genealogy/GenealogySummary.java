@@ -0,0 +1,10 @@
+package net.catenax.traceability.genealogy;
+
+/**
+ * Size of a loaded parts genealogy.
+ *
+ * @param parts     number of parts
+ * @param relations number of child-to-assembly relations
+ */
+public record GenealogySummary(int parts, int relations) {
+}
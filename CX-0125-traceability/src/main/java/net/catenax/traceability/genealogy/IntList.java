@@ -0,0 +1,53 @@
+package net.catenax.traceability.genealogy;
+
+import java.util.Arrays;
+
+/**
+ * Growable list of primitive ints, so part ordinals are never boxed.
+ * <br/><br/>
+ * <small>
+ * Copyright (c) 2025, doubleSlash Net-Business GmbH, http://www.doubleslash.de
+ * <br/><br/>
+ * </small>
+ *
+ * @author emanuel.schaeffer@doubleslash.de
+ */
+final class IntList {
+   private int[] values;
+   private int size;
+
+   IntList(final int initialCapacity) {
+      this.values = new int[Math.max(1, initialCapacity)];
+   }
+
+   void add(final int value) {
+      if (size == values.length) {
+         values = Arrays.copyOf(values, size * 2);
+      }
+      values[size++] = value;
+   }
+
+   void addAll(final int[] other) {
+      if (size + other.length > values.length) {
+         values = Arrays.copyOf(values, Math.max(size * 2, size + other.length));
+      }
+      System.arraycopy(other, 0, values, size, other.length);
+      size += other.length;
+   }
+
+   int get(final int index) {
+      return values[index];
+   }
+
+   void set(final int index, final int value) {
+      values[index] = value;
+   }
+
+   int size() {
+      return size;
+   }
+
+   int[] toArray() {
+      return Arrays.copyOf(values, size);
+   }
+}
@@ -0,0 +1,181 @@
+package net.catenax.traceability.genealogy;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * In-memory parts genealogy, resolving which assemblies and partners are impacted by affected parts.
+ * <p>
+ * The genealogy is loaded from a local file on startup and can be replaced as a whole later on. Each load builds a
+ * new immutable {@link PartGraph} that is swapped in once complete, so traversals never wait for a load and always
+ * see one consistent genealogy. Traversals share a fork-join pool sized to the available processors.
+ * <p>
+ * A replaced genealogy is kept as {@code app.genealogy.file}, so it is loaded again after a restart. Without a file
+ * configured, it only lasts until the next restart.
+ * <br/><br/>
+ * <small>
+ * Copyright (c) 2025, doubleSlash Net-Business GmbH, http://www.doubleslash.de
+ * <br/><br/>
+ * </small>
+ *
+ * @author emanuel.schaeffer@doubleslash.de
+ */
+@Component
+public class PartGenealogy {
+   private static final Logger log = LoggerFactory.getLogger(PartGenealogy.class);
+   private static final String METRIC = "traceability.genealogy";
+
+   private final Path file;
+   private final ForkJoinPool pool;
+   private final int maxImpactedParts;
+   private final ReentrantLock loadLock = new ReentrantLock();
+   private final Timer traversals;
+   private volatile PartGraph graph = PartGraph.EMPTY;
+
+   public PartGenealogy(@Value("${app.genealogy.file:}") final String file,
+         @Value("${app.genealogy.parallelism:0}") final int parallelism,
+         @Value("${app.genealogy.max-impacted-parts:100000}") final int maxImpactedParts,
+         final MeterRegistry meterRegistry) throws IOException {
+      this.file = file.isBlank() ? null : Path.of(file);
+      this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+      this.maxImpactedParts = maxImpactedParts;
+
+      Gauge.builder(METRIC + ".parts", this, genealogy -> genealogy.graph.partCount())
+           .description("Parts in the genealogy")
+           .register(meterRegistry);
+      Gauge.builder(METRIC + ".relations", this, genealogy -> genealogy.graph.relationCount())
+           .description("Part relations in the genealogy")
+           .register(meterRegistry);
+      this.traversals = Timer.builder(METRIC + ".traversals")
+                             .description("Duration of resolving the parts impacted by a notification")
+                             .register(meterRegistry);
+
+      if (this.file != null && Files.exists(this.file)) {
+         try (final Reader relations = Files.newBufferedReader(this.file, StandardCharsets.UTF_8)) {
+            load(relations);
+         }
+      } else if (this.file != null) {
+         log.info("Starting without genealogy, {} does not exist yet", this.file);
+      }
+   }
+
+   /**
+    * Replaces the genealogy with uploaded relations and keeps them as {@code app.genealogy.file}. The upload is
+    * written to a temporary file first, so it is never held in memory as a whole, and only moved into place once it
+    * was loaded. Concurrent replacements are applied one after the other.
+    *
+    * @param relations the uploaded relations
+    * @param replicate called with the file of the loaded relations before it is moved into place, e.g. to send it to
+    *                  other replicas in the same order as the replacements are applied here
+    * @return the size of the new genealogy
+    * @throws IllegalArgumentException if a line is not a relation; the current genealogy and file are kept then
+    */
+   public GenealogySummary replace(final InputStream relations, final Consumer<Path> replicate) throws IOException {
+      loadLock.lock();
+      Path upload = null;
+      try {
+         upload = file != null
+               ? Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp")
+               : Files.createTempFile("genealogy", ".tmp");
+         Files.copy(relations, upload, StandardCopyOption.REPLACE_EXISTING);
+         final GenealogySummary summary;
+         try (final Reader reader = new InputStreamReader(Files.newInputStream(upload), StandardCharsets.UTF_8)) {
+            summary = load(reader);
+         }
+         replicate.accept(upload);
+         if (file != null) {
+            Files.move(upload, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+         }
+         return summary;
+      } finally {
+         try {
+            if (upload != null) {
+               Files.deleteIfExists(upload);
+            }
+         } finally {
+            loadLock.unlock();
+         }
+      }
+   }
+
+   /**
+    * Replaces the genealogy with the given relations, see {@link PartGraphBuilder} for their format.
+    * Concurrent loads are applied one after the other.
+    *
+    * @return the size of the new genealogy
+    * @throws IllegalArgumentException if a line is not a relation; the current genealogy is kept then
+    */
+   public GenealogySummary load(final Reader relations) throws IOException {
+      loadLock.lock();
+      try {
+         final long start = System.nanoTime();
+         final PartGraph loaded = new PartGraphBuilder().read(relations).build();
+         graph = loaded;
+         log.info("Loaded genealogy of {} parts with {} relations ({} ms)", loaded.partCount(),
+               loaded.relationCount(), (System.nanoTime() - start) / 1_000_000);
+         return new GenealogySummary(loaded.partCount(), loaded.relationCount());
+      } finally {
+         loadLock.unlock();
+      }
+   }
+
+   /**
+    * Finds all assemblies the affected parts are built into, directly or through other assemblies, and the partners
+    * holding them. At most {@code app.genealogy.max-impacted-parts} impacted parts are listed, the count covers all.
+    *
+    * @param catenaXIds the catenaXIds of the affected parts
+    */
+   public GenealogyImpact impactOf(final Collection<String> catenaXIds) {
+      final long start = System.nanoTime();
+      final PartGraph current = graph;
+      final IntList affected = new IntList(catenaXIds.size());
+      final List<String> unknown = new ArrayList<>();
+      for (final String catenaXId : new LinkedHashSet<>(catenaXIds)) {
+         final int ordinal = current.ordinalOf(catenaXId);
+         if (ordinal >= 0) {
+            affected.add(ordinal);
+         } else {
+            unknown.add(catenaXId);
+         }
+      }
+
+      final PartGraph.Traversal traversal = current.traverse(affected.toArray(), pool);
+      final int listed = Math.min(traversal.parts().length, maxImpactedParts);
+      final List<String> impactedParts = new ArrayList<>(listed);
+      for (int i = 0; i < listed; i++) {
+         impactedParts.add(current.catenaXId(traversal.parts()[i]));
+      }
+      traversals.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      return new GenealogyImpact(affected.size(), unknown, traversal.parts().length, impactedParts,
+            Arrays.asList(traversal.bpns()), listed < traversal.parts().length);
+   }
+
+   @PreDestroy
+   public void stop() {
+      pool.shutdown();
+   }
+}
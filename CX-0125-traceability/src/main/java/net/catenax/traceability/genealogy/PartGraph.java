@@ -0,0 +1,190 @@
+package net.catenax.traceability.genealogy;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Immutable parts genealogy: which assemblies every part is built into, and the partner holding each part.
+ * <p>
+ * Parts are identified by ordinals, their position in the sorted array of catenaXIds, so looking up a part is a
+ * binary search and no map is kept. The assemblies of a part are stored as compressed adjacency arrays: the
+ * assemblies of part {@code p} are {@code usedIn[usedInOffsets[p]]} up to {@code usedIn[usedInOffsets[p + 1]]}.
+ * <p>
+ * {@link #traverse(int[], ForkJoinPool)} runs a breadth-first search level by level. Large levels are split across
+ * the fork-join pool, and the visited parts are marked in a shared atomic bit set, so every part is expanded once.
+ * <br/><br/>
+ * <small>
+ * Copyright (c) 2025, doubleSlash Net-Business GmbH, http://www.doubleslash.de
+ * <br/><br/>
+ * </small>
+ *
+ * @author emanuel.schaeffer@doubleslash.de
+ */
+final class PartGraph {
+   static final PartGraph EMPTY = new PartGraph(new String[0], new int[0], new String[0], new int[1], new int[0]);
+
+   /**
+    * Levels with fewer parts are expanded on the calling thread, splitting them costs more than it saves.
+    */
+   private static final int SEQUENTIAL_THRESHOLD = 2048;
+
+   private final String[] catenaXIds;
+   private final int[] holders;
+   private final String[] bpns;
+   private final int[] usedInOffsets;
+   private final int[] usedIn;
+
+   /**
+    * @param catenaXIds    the catenaXIds of all parts, sorted
+    * @param holders       the BPN ordinal of the partner holding each part, -1 if unknown
+    * @param bpns          the BPNs
+    * @param usedInOffsets the start of each part's assemblies in {@code usedIn}, followed by the total count
+    * @param usedIn        the assemblies of all parts
+    */
+   PartGraph(final String[] catenaXIds, final int[] holders, final String[] bpns, final int[] usedInOffsets,
+         final int[] usedIn) {
+      this.catenaXIds = catenaXIds;
+      this.holders = holders;
+      this.bpns = bpns;
+      this.usedInOffsets = usedInOffsets;
+      this.usedIn = usedIn;
+   }
+
+   /**
+    * Gets the ordinal of a part.
+    *
+    * @return the ordinal, or -1 if the part is unknown
+    */
+   int ordinalOf(final String catenaXId) {
+      final int ordinal = Arrays.binarySearch(catenaXIds, catenaXId);
+      return ordinal >= 0 ? ordinal : -1;
+   }
+
+   String catenaXId(final int ordinal) {
+      return catenaXIds[ordinal];
+   }
+
+   int partCount() {
+      return catenaXIds.length;
+   }
+
+   int relationCount() {
+      return usedIn.length;
+   }
+
+   /**
+    * Finds all assemblies the given parts are built into, directly or through other assemblies.
+    *
+    * @param start the ordinals of the affected parts
+    * @param pool  the pool to expand large levels in
+    * @return the impacted parts, in the order they were reached and without the affected parts themselves, and the
+    * BPNs holding them
+    */
+   Traversal traverse(final int[] start, final ForkJoinPool pool) {
+      final AtomicLongArray visited = new AtomicLongArray((catenaXIds.length + 63) >>> 6);
+      final IntList frontier = new IntList(start.length);
+      for (final int ordinal : start) {
+         if (markVisited(visited, ordinal)) {
+            frontier.add(ordinal);
+         }
+      }
+
+      final IntList impacted = new IntList(1024);
+      int[] level = frontier.toArray();
+      while (level.length > 0) {
+         level = level.length < SEQUENTIAL_THRESHOLD ? expand(level, 0, level.length, visited)
+               : pool.invoke(new ExpandTask(level, 0, level.length, visited));
+         impacted.addAll(level);
+      }
+
+      final int[] parts = impacted.toArray();
+      final BitSet bpnOrdinals = new BitSet(bpns.length);
+      for (final int ordinal : parts) {
+         if (holders[ordinal] >= 0) {
+            bpnOrdinals.set(holders[ordinal]);
+         }
+      }
+      final String[] impactedBpns = bpnOrdinals.stream().mapToObj(ordinal -> bpns[ordinal]).toArray(String[]::new);
+      return new Traversal(parts, impactedBpns);
+   }
+
+   /**
+    * Expands a range of a level to the assemblies not visited yet.
+    */
+   private int[] expand(final int[] level, final int from, final int to, final AtomicLongArray visited) {
+      final IntList next = new IntList(Math.max(16, to - from));
+      for (int i = from; i < to; i++) {
+         final int part = level[i];
+         for (int edge = usedInOffsets[part], end = usedInOffsets[part + 1]; edge < end; edge++) {
+            final int assembly = usedIn[edge];
+            if (markVisited(visited, assembly)) {
+               next.add(assembly);
+            }
+         }
+      }
+      return next.toArray();
+   }
+
+   /**
+    * Marks a part as visited.
+    *
+    * @return true if this call marked it, false if it was visited before
+    */
+   private static boolean markVisited(final AtomicLongArray visited, final int ordinal) {
+      final int word = ordinal >>> 6;
+      final long bit = 1L << ordinal;
+      long current = visited.get(word);
+      while ((current & bit) == 0) {
+         final long witness = visited.compareAndExchange(word, current, current | bit);
+         if (witness == current) {
+            return true;
+         }
+         current = witness;
+      }
+      return false;
+   }
+
+   /**
+    * Result of a traversal.
+    *
+    * @param parts the ordinals of the impacted parts
+    * @param bpns  the BPNs holding impacted parts, sorted
+    */
+   record Traversal(int[] parts, String[] bpns) {
+   }
+
+   /**
+    * Expands a range of a level, splitting it in halves until it is small enough.
+    */
+   private final class ExpandTask extends RecursiveTask<int[]> {
+      private final int[] level;
+      private final int from;
+      private final int to;
+      private final AtomicLongArray visited;
+
+      ExpandTask(final int[] level, final int from, final int to, final AtomicLongArray visited) {
+         this.level = level;
+         this.from = from;
+         this.to = to;
+         this.visited = visited;
+      }
+
+      @Override
+      protected int[] compute() {
+         if (to - from <= SEQUENTIAL_THRESHOLD) {
+            return expand(level, from, to, visited);
+         }
+         final int middle = (from + to) >>> 1;
+         final ExpandTask left = new ExpandTask(level, from, middle, visited);
+         left.fork();
+         final int[] right = new ExpandTask(level, middle, to, visited).compute();
+         final int[] leftResult = left.join();
+         final int[] merged = Arrays.copyOf(leftResult, leftResult.length + right.length);
+         System.arraycopy(right, 0, merged, leftResult.length, right.length);
+         return merged;
+      }
+   }
+}
@@ -0,0 +1,123 @@
+package net.catenax.traceability.genealogy;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Builds a {@link PartGraph} from part relations.
+ * <p>
+ * Relations are read as lines of {@code childCatenaXId,parentCatenaXId[,parentBpn]}: the child part is built into
+ * the parent assembly, which the partner with the given BPN holds. Empty lines and lines starting with {@code #} are
+ * skipped. While reading, parts get temporary ordinals in the order they appear; {@link #build()} sorts them and
+ * arranges the relations as adjacency arrays, after which the builder's maps are no longer needed.
+ * <br/><br/>
+ * <small>
+ * Copyright (c) 2025, doubleSlash Net-Business GmbH, http://www.doubleslash.de
+ * <br/><br/>
+ * </small>
+ *
+ * @author emanuel.schaeffer@doubleslash.de
+ */
+final class PartGraphBuilder {
+   private final Map<String, Integer> parts = new HashMap<>();
+   private final Map<String, Integer> bpns = new HashMap<>();
+   private final IntList holders = new IntList(1024);
+   private final IntList children = new IntList(1024);
+   private final IntList parents = new IntList(1024);
+
+   /**
+    * Reads all relations.
+    *
+    * @throws IllegalArgumentException if a line is not a relation
+    */
+   PartGraphBuilder read(final Reader relations) throws IOException {
+      final BufferedReader reader = new BufferedReader(relations);
+      String line;
+      int lineNumber = 0;
+      while ((line = reader.readLine()) != null) {
+         lineNumber++;
+         if (line.isBlank() || line.startsWith("#")) {
+            continue;
+         }
+         final String[] fields = line.split(",", -1);
+         if (fields.length < 2 || fields.length > 3 || fields[0].isBlank() || fields[1].isBlank()) {
+            throw new IllegalArgumentException("Line " + lineNumber + " is not childCatenaXId,parentCatenaXId"
+                                               + "[,parentBpn]");
+         }
+         add(fields[0].trim(), fields[1].trim(), fields.length == 3 ? fields[2].trim() : "");
+      }
+      return this;
+   }
+
+   /**
+    * Adds a relation.
+    *
+    * @param parentBpn the BPN holding the parent assembly, empty if unknown
+    */
+   void add(final String childCatenaXId, final String parentCatenaXId, final String parentBpn) {
+      final int child = part(childCatenaXId);
+      final int parent = part(parentCatenaXId);
+      if (!parentBpn.isEmpty()) {
+         final Integer bpn = bpns.computeIfAbsent(parentBpn, key -> bpns.size());
+         holders.set(parent, bpn);
+      }
+      children.add(child);
+      parents.add(parent);
+   }
+
+   /**
+    * Builds the graph.
+    */
+   PartGraph build() {
+      final int partCount = parts.size();
+      final String[] catenaXIds = new String[partCount];
+      parts.forEach((catenaXId, ordinal) -> catenaXIds[ordinal] = catenaXId);
+      final String[] sortedIds = catenaXIds.clone();
+      Arrays.parallelSort(sortedIds);
+      final int[] sortedOrdinal = new int[partCount];
+      for (int ordinal = 0; ordinal < partCount; ordinal++) {
+         sortedOrdinal[ordinal] = Arrays.binarySearch(sortedIds, catenaXIds[ordinal]);
+      }
+
+      final String[] bpnValues = new String[bpns.size()];
+      bpns.forEach((bpn, ordinal) -> bpnValues[ordinal] = bpn);
+      final String[] sortedBpns = bpnValues.clone();
+      Arrays.sort(sortedBpns);
+      final int[] holderOrdinals = new int[partCount];
+      for (int ordinal = 0; ordinal < partCount; ordinal++) {
+         final int bpn = holders.get(ordinal);
+         holderOrdinals[sortedOrdinal[ordinal]] = bpn >= 0 ? Arrays.binarySearch(sortedBpns, bpnValues[bpn]) : -1;
+      }
+
+      // counting sort of the relations by child part
+      final int relationCount = children.size();
+      final int[] offsets = new int[partCount + 1];
+      for (int i = 0; i < relationCount; i++) {
+         offsets[sortedOrdinal[children.get(i)] + 1]++;
+      }
+      for (int part = 0; part < partCount; part++) {
+         offsets[part + 1] += offsets[part];
+      }
+      final int[] next = Arrays.copyOf(offsets, partCount);
+      final int[] usedIn = new int[relationCount];
+      for (int i = 0; i < relationCount; i++) {
+         usedIn[next[sortedOrdinal[children.get(i)]]++] = sortedOrdinal[parents.get(i)];
+      }
+      return new PartGraph(sortedIds, holderOrdinals, sortedBpns, offsets, usedIn);
+   }
+
+   private int part(final String catenaXId) {
+      final Integer existing = parts.get(catenaXId);
+      if (existing != null) {
+         return existing;
+      }
+      final int ordinal = parts.size();
+      parts.put(catenaXId, ordinal);
+      holders.add(-1);
+      return ordinal;
+   }
+}
@@ -0,0 +1,39 @@
+package net.catenax.traceability.lifecycle;
+
+/**
+ * Outcome of submitting a notification event to the {@link NotificationLifecycle}.
+ * <br/><br/>
+ * <small>
+ * Copyright (c) 2025, doubleSlash Net-Business GmbH, http://www.doubleslash.de
+ * <br/><br/>
+ * </small>
+ *
+ * @author emanuel.schaeffer@doubleslash.de
+ */
+public enum LifecycleOutcome {
+   /**
+    * The event was applied and submitted for storing.
+    */
+   APPLIED,
+   /**
+    * The update arrived before its notification, it was submitted for storing and is applied once the
+    * notification is received.
+    */
+   BUFFERED,
+   /**
+    * The update has no lifecycle status or its status cannot follow the current one, nothing was submitted.
+    */
+   ILLEGAL_TRANSITION,
+   /**
+    * The notification was received before, nothing was submitted.
+    */
+   DUPLICATE,
+   /**
+    * The update arrived before its notification and the buffer of such updates is full, nothing was submitted.
+    */
+   UNKNOWN_NOTIFICATION,
+   /**
+    * The processing queue is full, nothing was submitted.
+    */
+   QUEUE_FULL
+}
@@ -0,0 +1,344 @@
+package net.catenax.traceability.lifecycle;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import net.catenax.traceability.notification.QualityNotification;
+import net.catenax.traceability.pipeline.NotificationPipeline;
+import net.catenax.traceability.store.NotificationEventType;
+import net.catenax.traceability.store.NotificationStore;
+import net.catenax.traceability.store.StoredNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Tracks the lifecycle status of every notification and only lets legal status updates through to the
+ * {@link NotificationPipeline}.
+ * <p>
+ * Events of the same notification are serialized by one of a fixed number of striped locks, chosen by the
+ * notification ID, so events of different notifications are applied in parallel. The event is submitted to the
+ * pipeline while the lock is held, so the store keeps the events of a notification in the order they were applied.
+ * <p>
+ * A notification is received once; receiving it again is rejected without storing it, whatever its content.
+ * <p>
+ * An update arriving before its notification is stored and buffered, and applied once the notification is received.
+ * The buffer is bounded; updates beyond it are rejected so the sender retries them later. Buffered updates expire
+ * after a time to live, as their notification may never arrive; they are then evicted and not applied anymore, also
+ * when the notification arrives later. On startup the statuses are rebuilt by applying all stored events again, with
+ * the times they were stored, so expired updates are dropped the same way.
+ * <p>
+ * An event is applied when it is submitted, before it is stored. If it then cannot be stored, it is undone again,
+ * unless a later event of the notification was applied meanwhile, so the statuses match the store.
+ * <br/><br/>
+ * <small>
+ * Copyright (c) 2025, doubleSlash Net-Business GmbH, http://www.doubleslash.de
+ * <br/><br/>
+ * </small>
+ *
+ * @author emanuel.schaeffer@doubleslash.de
+ */
+@Component
+public class NotificationLifecycle {
+   private static final Logger log = LoggerFactory.getLogger(NotificationLifecycle.class);
+   private static final String METRIC = "traceability.lifecycle";
+   private static final long MIN_EVICTION_INTERVAL_MILLIS = 1000;
+
+   private final NotificationPipeline notificationPipeline;
+   private final Map<String, NotificationStatus> statuses = new ConcurrentHashMap<>();
+   private final Map<String, List<PendingUpdate>> pendingUpdates = new ConcurrentHashMap<>();
+   private final AtomicInteger pendingCount = new AtomicInteger();
+   private final int maxPendingUpdates;
+   private final long pendingUpdateTtlMillis;
+   private final Counter evictions;
+   private final ReentrantLock[] stripes;
+   private final int stripeMask;
+   private final ScheduledExecutorService evictionScheduler;
+
+   public NotificationLifecycle(final NotificationStore notificationStore,
+         final NotificationPipeline notificationPipeline,
+         @Value("${app.lifecycle.lock-stripes:256}") final int lockStripes,
+         @Value("${app.lifecycle.max-pending-updates:10000}") final int maxPendingUpdates,
+         @Value("${app.lifecycle.pending-update-ttl:PT1H}") final Duration pendingUpdateTtl,
+         final MeterRegistry meterRegistry) {
+      this.notificationPipeline = notificationPipeline;
+      this.maxPendingUpdates = maxPendingUpdates;
+      this.pendingUpdateTtlMillis = pendingUpdateTtl.toMillis();
+
+      final int stripeCount = Integer.highestOneBit(Math.max(1, lockStripes - 1)) << 1;
+      this.stripes = new ReentrantLock[stripeCount];
+      for (int i = 0; i < stripeCount; i++) {
+         stripes[i] = new ReentrantLock();
+      }
+      this.stripeMask = stripeCount - 1;
+
+      Gauge.builder(METRIC + ".notifications", statuses, Map::size)
+           .description("Notifications with a tracked lifecycle status")
+           .register(meterRegistry);
+      Gauge.builder(METRIC + ".pending.updates", pendingCount, AtomicInteger::get)
+           .description("Updates waiting for their notification to be received")
+           .register(meterRegistry);
+      this.evictions = Counter.builder(METRIC + ".pending.evictions")
+                              .description("Buffered updates evicted because their notification did not arrive in time")
+                              .register(meterRegistry);
+
+      final long start = System.nanoTime();
+      // only the status of updates is needed, read it without decoding the payloads
+      notificationStore.replayLocations(location -> {
+         final NotificationEventType type = notificationStore.readType(location);
+         final String status = type == NotificationEventType.UPDATE
+               ? notificationStore.readText(location, QualityNotification.STATUS) : null;
+         apply(type, notificationStore.readNotificationId(location), status, null,
+               notificationStore.readStoredAt(location));
+      });
+      log.info("Restored lifecycle of {} notifications with {} pending updates ({} ms)", statuses.size(),
+            pendingCount.get(), (System.nanoTime() - start) / 1_000_000);
+
+      this.evictionScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+         final Thread thread = new Thread(runnable, "lifecycle-eviction");
+         thread.setDaemon(true);
+         return thread;
+      });
+      // checked a few times per time to live, so updates are evicted at most a tenth of it late
+      final long evictionInterval = Math.max(MIN_EVICTION_INTERVAL_MILLIS, pendingUpdateTtlMillis / 10);
+      evictionScheduler.scheduleWithFixedDelay(this::evictExpiredUpdates, 0, evictionInterval,
+            TimeUnit.MILLISECONDS);
+   }
+
+   /**
+    * Applies a received notification or an update and submits it to the pipeline if it is legal.
+    *
+    * @param type         whether the notification was received or is an update
+    * @param notification the validated notification
+    * @return the outcome, with the future completed once the notification is stored if it was submitted
+    */
+   public Submission submit(final NotificationEventType type, final QualityNotification notification) {
+      final String notificationId = notification.getNotificationId();
+      if (notificationId == null) {
+         return new Submission(LifecycleOutcome.ILLEGAL_TRANSITION, null);
+      }
+      return apply(type, notificationId, type == NotificationEventType.UPDATE ? notification.getStatus() : null,
+            notification, System.currentTimeMillis());
+   }
+
+   /**
+    * Gets the current lifecycle status of a notification.
+    *
+    * @return the status, or null if the notification was not received yet
+    */
+   public NotificationStatus getStatus(final String notificationId) {
+      return statuses.get(notificationId);
+   }
+
+   @PreDestroy
+   public void stop() {
+      evictionScheduler.shutdownNow();
+   }
+
+   /**
+    * Applies an event under the lock of its notification.
+    *
+    * @param notification the notification to submit to the pipeline, null to only apply the event, e.g. on replay
+    * @param at           epoch milliseconds at which the event arrived, or was stored on replay
+    */
+   private Submission apply(final NotificationEventType type, final String notificationId, final String statusValue,
+         final QualityNotification notification, final long at) {
+      final ReentrantLock lock = lockOf(notificationId);
+      lock.lock();
+      try {
+         final NotificationStatus current = statuses.get(notificationId);
+         if (type == NotificationEventType.RECEIVE) {
+            if (current != null) {
+               log.debug("Rejecting notification {}, it was received before", notificationId);
+               return new Submission(LifecycleOutcome.DUPLICATE, null);
+            }
+            final Submission submission = submitToPipeline(type, notification, LifecycleOutcome.APPLIED);
+            if (submission.outcome() == LifecycleOutcome.APPLIED) {
+               statuses.put(notificationId, NotificationStatus.RECEIVED);
+               final List<PendingUpdate> appliedUpdates = applyPendingUpdates(notificationId, at);
+               final NotificationStatus applied = statuses.get(notificationId);
+               undoOnFailure(submission, notificationId, () -> {
+                  if (statuses.remove(notificationId, applied) && appliedUpdates != null) {
+                     pendingUpdates.put(notificationId, appliedUpdates);
+                     pendingCount.addAndGet(appliedUpdates.size());
+                  }
+               });
+            }
+            return submission;
+         }
+
+         final NotificationStatus target = NotificationStatus.fromValue(statusValue);
+         if (target == null || target == NotificationStatus.RECEIVED) {
+            return new Submission(LifecycleOutcome.ILLEGAL_TRANSITION, null);
+         }
+         if (current == null) {
+            // checked before and counted after the submit, so concurrent stripes may slightly exceed the limit
+            if (pendingCount.get() >= maxPendingUpdates) {
+               return new Submission(LifecycleOutcome.UNKNOWN_NOTIFICATION, null);
+            }
+            final Submission submission = submitToPipeline(type, notification, LifecycleOutcome.BUFFERED);
+            if (submission.outcome() == LifecycleOutcome.BUFFERED) {
+               final List<PendingUpdate> pending = pendingUpdates.computeIfAbsent(notificationId,
+                     id -> new ArrayList<>(2));
+               final PendingUpdate update = new PendingUpdate(target, at);
+               pending.add(update);
+               pendingCount.incrementAndGet();
+               undoOnFailure(submission, notificationId, () -> {
+                  // still buffered unless the notification was received or the update evicted meanwhile
+                  if (pendingUpdates.get(notificationId) == pending && pending.remove(update)) {
+                     pendingCount.decrementAndGet();
+                     if (pending.isEmpty()) {
+                        pendingUpdates.remove(notificationId);
+                     }
+                  }
+               });
+            }
+            return submission;
+         }
+         if (!current.canMoveTo(target)) {
+            log.debug("Rejecting update of notification {} from {} to {}", notificationId, current, target);
+            return new Submission(LifecycleOutcome.ILLEGAL_TRANSITION, null);
+         }
+         final Submission submission = submitToPipeline(type, notification, LifecycleOutcome.APPLIED);
+         if (submission.outcome() == LifecycleOutcome.APPLIED) {
+            statuses.put(notificationId, target);
+            undoOnFailure(submission, notificationId, () -> statuses.replace(notificationId, target, current));
+         }
+         return submission;
+      } finally {
+         lock.unlock();
+      }
+   }
+
+   private Submission submitToPipeline(final NotificationEventType type, final QualityNotification notification,
+         final LifecycleOutcome outcome) {
+      if (notification == null) {
+         return new Submission(outcome, null);
+      }
+      final CompletableFuture<StoredNotification> stored = notificationPipeline.submit(type, notification);
+      return stored != null ? new Submission(outcome, stored) : new Submission(LifecycleOutcome.QUEUE_FULL, null);
+   }
+
+   /**
+    * Undoes an applied event under the lock of its notification if it cannot be stored. The undo runs on the
+    * pipeline worker, or right away if storing already failed.
+    */
+   private void undoOnFailure(final Submission submission, final String notificationId, final Runnable undo) {
+      submission.stored().whenComplete((stored, e) -> {
+         if (e == null) {
+            return;
+         }
+         final ReentrantLock lock = lockOf(notificationId);
+         lock.lock();
+         try {
+            undo.run();
+            log.warn("Undid event of notification {}, it could not be stored", notificationId);
+         } finally {
+            lock.unlock();
+         }
+      });
+   }
+
+   /**
+    * Applies the buffered updates of a notification that was just received, in the order they arrived.
+    * Updates that are not legal at that point, or expired before the notification was received, are dropped.
+    *
+    * @param receivedAt epoch milliseconds at which the notification was received
+    * @return the buffered updates, null if there were none
+    */
+   private List<PendingUpdate> applyPendingUpdates(final String notificationId, final long receivedAt) {
+      final List<PendingUpdate> updates = pendingUpdates.remove(notificationId);
+      if (updates == null) {
+         return null;
+      }
+      pendingCount.addAndGet(-updates.size());
+      NotificationStatus current = statuses.get(notificationId);
+      for (final PendingUpdate update : updates) {
+         if (update.isExpired(receivedAt - pendingUpdateTtlMillis)) {
+            log.warn("Dropping expired buffered update of notification {} to {}", notificationId, update.status());
+            evictions.increment();
+         } else if (current.canMoveTo(update.status())) {
+            current = update.status();
+         } else {
+            log.warn("Dropping buffered update of notification {} from {} to {}", notificationId, current,
+                  update.status());
+         }
+      }
+      statuses.put(notificationId, current);
+      return updates;
+   }
+
+   /**
+    * Evicts the buffered updates whose time to live elapsed.
+    */
+   private void evictExpiredUpdates() {
+      final long expiredBefore = System.currentTimeMillis() - pendingUpdateTtlMillis;
+      pendingUpdates.forEach((notificationId, pending) -> {
+         final ReentrantLock lock = lockOf(notificationId);
+         lock.lock();
+         try {
+            // the list may have been applied and replaced since it was iterated
+            if (pendingUpdates.get(notificationId) != pending) {
+               return;
+            }
+            final int before = pending.size();
+            pending.removeIf(update -> update.isExpired(expiredBefore));
+            final int evicted = before - pending.size();
+            if (evicted > 0) {
+               pendingCount.addAndGet(-evicted);
+               evictions.increment(evicted);
+               log.info("Evicted {} buffered updates of notification {}, it was not received in time", evicted,
+                     notificationId);
+            }
+            if (pending.isEmpty()) {
+               pendingUpdates.remove(notificationId);
+            }
+         } finally {
+            lock.unlock();
+         }
+      });
+   }
+
+   private ReentrantLock lockOf(final String notificationId) {
+      return stripes[spread(notificationId.hashCode()) & stripeMask];
+   }
+
+   private static int spread(final int hash) {
+      return hash ^ (hash >>> 16);
+   }
+
+   /**
+    * Result of submitting an event.
+    *
+    * @param outcome whether the event was applied
+    * @param stored  completed once the event is stored, null if it was not submitted
+    */
+   public record Submission(LifecycleOutcome outcome, CompletableFuture<StoredNotification> stored) {
+   }
+
+   /**
+    * Update buffered until its notification is received.
+    *
+    * @param status     the status to move the notification to
+    * @param bufferedAt epoch milliseconds at which the update arrived
+    */
+   private record PendingUpdate(NotificationStatus status, long bufferedAt) {
+      boolean isExpired(final long expiredBefore) {
+         return bufferedAt < expiredBefore;
+      }
+   }
+}
@@ -0,0 +1,69 @@
+package net.catenax.traceability.lifecycle;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Lifecycle status of a received quality notification.
+ * <p>
+ * A received notification starts as {@link #RECEIVED}, whatever status the sender gave it. The receiver may
+ * acknowledge it, accept or decline it and finally close it; the sender may cancel or close it. Repeating the
+ * current status is allowed, so a redelivered update with a new message ID is not rejected.
+ * <br/><br/>
+ * <small>
+ * Copyright (c) 2025, doubleSlash Net-Business GmbH, http://www.doubleslash.de
+ * <br/><br/>
+ * </small>
+ *
+ * @author emanuel.schaeffer@doubleslash.de
+ */
+public enum NotificationStatus {
+   RECEIVED,
+   ACKNOWLEDGED,
+   ACCEPTED,
+   DECLINED,
+   CANCELED,
+   CLOSED;
+
+   private Set<NotificationStatus> next;
+
+   static {
+      RECEIVED.next = EnumSet.of(ACKNOWLEDGED, ACCEPTED, DECLINED, CANCELED, CLOSED);
+      ACKNOWLEDGED.next = EnumSet.of(ACCEPTED, DECLINED, CANCELED, CLOSED);
+      ACCEPTED.next = EnumSet.of(CLOSED);
+      DECLINED.next = EnumSet.of(CLOSED);
+      CANCELED.next = EnumSet.noneOf(NotificationStatus.class);
+      CLOSED.next = EnumSet.noneOf(NotificationStatus.class);
+   }
+
+   /**
+    * Checks whether a notification in this status may move to the given one.
+    */
+   public boolean canMoveTo(final NotificationStatus status) {
+      return status == this || next.contains(status);
+   }
+
+   /**
+    * Checks whether no other status may follow, so the notification is no longer open.
+    */
+   public boolean isFinal() {
+      return next.isEmpty();
+   }
+
+   /**
+    * Gets the status with the given name, as used in the notification content.
+    *
+    * @return the status, or null if the name is not a lifecycle status, e.g. SENT
+    */
+   public static NotificationStatus fromValue(final String value) {
+      if (value == null) {
+         return null;
+      }
+      for (final NotificationStatus status : values()) {
+         if (status.name().equalsIgnoreCase(value)) {
+            return status;
+         }
+      }
+      return null;
+   }
+}
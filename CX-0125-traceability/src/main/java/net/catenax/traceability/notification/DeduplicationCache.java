@@ -0,0 +1,168 @@
+package net.catenax.traceability.notification;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * Bounded cache of recently answered notifications, so redelivered notifications get their original response
+ * without being validated or processed again.
+ * <p>
+ * Notifications are identified by a 64-bit fingerprint of the endpoint, the spec version they were validated
+ * against and the body, which includes the header message ID, so a body rejected under one version is validated
+ * again under another.
+ * Entries live in primitive arrays organised as a set-associative table: a fingerprint maps to a set of
+ * {@value #WAYS} slots, and an insert into a full set replaces the entry closest to expiry. So the cache never grows
+ * beyond its capacity and creates no garbage per entry.
+ * <br/><br/>
+ * <small>
+ * Copyright (c) 2025, doubleSlash Net-Business GmbH, http://www.doubleslash.de
+ * <br/><br/>
+ * </small>
+ *
+ * @author emanuel.schaeffer@doubleslash.de
+ */
+@Component
+public class DeduplicationCache {
+   private static final int WAYS = 8;
+   private static final long EMPTY = 0L;
+   private static final String METRIC = "traceability.deduplication";
+   private static final VarHandle LONG_VIEW = MethodHandles.byteArrayViewVarHandle(long[].class,
+         ByteOrder.LITTLE_ENDIAN);
+
+   private final boolean enabled;
+   private final long ttlMillis;
+   private final int setMask;
+   private final long[] fingerprints;
+   private final long[] expiresAt;
+   private final int[] statuses;
+   private final Object[] setLocks;
+   private final Counter hits;
+   private final Counter misses;
+
+   public DeduplicationCache(@Value("${app.deduplication.enabled:true}") final boolean enabled,
+         @Value("${app.deduplication.capacity:65536}") final int capacity,
+         @Value("${app.deduplication.ttl:PT10M}") final Duration ttl, final MeterRegistry meterRegistry) {
+      this.enabled = enabled;
+      this.ttlMillis = ttl.toMillis();
+
+      final int sets = Integer.highestOneBit(Math.max(1, capacity / WAYS));
+      this.setMask = sets - 1;
+      this.fingerprints = new long[sets * WAYS];
+      this.expiresAt = new long[sets * WAYS];
+      this.statuses = new int[sets * WAYS];
+      this.setLocks = new Object[sets];
+      for (int i = 0; i < sets; i++) {
+         setLocks[i] = new Object();
+      }
+
+      this.hits = Counter.builder(METRIC)
+                         .description("Lookups of redelivered notifications")
+                         .tag("result", "hit")
+                         .register(meterRegistry);
+      this.misses = Counter.builder(METRIC)
+                           .description("Lookups of redelivered notifications")
+                           .tag("result", "miss")
+                           .register(meterRegistry);
+      Gauge.builder(METRIC + ".capacity", fingerprints, array -> array.length)
+           .description("Maximum number of remembered notifications")
+           .register(meterRegistry);
+   }
+
+   /**
+    * Computes the fingerprint identifying a notification sent to an endpoint.
+    *
+    * @param endpoint the endpoint path
+    * @param version  the spec version the notification is validated against, resolved to the default version if
+    *                 the request did not name one
+    * @param body     the raw notification
+    */
+   public long fingerprint(final String endpoint, final String version, final byte[] body) {
+      long hash = hash(endpoint.getBytes(StandardCharsets.UTF_8), 0x9E3779B97F4A7C15L);
+      hash = hash(version.getBytes(StandardCharsets.UTF_8), hash);
+      hash = hash(body, hash);
+      return hash == EMPTY ? 1L : hash;
+   }
+
+   /**
+    * Looks up the response status of an already answered notification.
+    *
+    * @param fingerprint the notification fingerprint
+    * @return the original response status, or 0 if the notification was not answered within the TTL
+    */
+   public int lookup(final long fingerprint) {
+      if (!enabled) {
+         return 0;
+      }
+      final int set = (int) (fingerprint ^ (fingerprint >>> 32)) & setMask;
+      final long now = System.currentTimeMillis();
+      synchronized (setLocks[set]) {
+         final int base = set * WAYS;
+         for (int slot = base; slot < base + WAYS; slot++) {
+            if (fingerprints[slot] == fingerprint && expiresAt[slot] > now) {
+               hits.increment();
+               return statuses[slot];
+            }
+         }
+      }
+      misses.increment();
+      return 0;
+   }
+
+   /**
+    * Remembers the response status of an answered notification.
+    */
+   public void remember(final long fingerprint, final int status) {
+      if (!enabled) {
+         return;
+      }
+      final int set = (int) (fingerprint ^ (fingerprint >>> 32)) & setMask;
+      final long now = System.currentTimeMillis();
+      synchronized (setLocks[set]) {
+         final int base = set * WAYS;
+         int victim = base;
+         for (int slot = base; slot < base + WAYS; slot++) {
+            if (fingerprints[slot] == fingerprint || fingerprints[slot] == EMPTY) {
+               victim = slot;
+               break;
+            }
+            if (expiresAt[slot] < expiresAt[victim]) {
+               victim = slot;
+            }
+         }
+         fingerprints[victim] = fingerprint;
+         expiresAt[victim] = now + ttlMillis;
+         statuses[victim] = status;
+      }
+   }
+
+   /**
+    * 64-bit hash reading eight bytes at a time, with a final avalanche step.
+    */
+   private static long hash(final byte[] data, final long seed) {
+      long hash = seed ^ (data.length * 0xC2B2AE3D27D4EB4FL);
+      int i = 0;
+      for (; i + Long.BYTES <= data.length; i += Long.BYTES) {
+         hash = Long.rotateLeft(hash ^ mix((long) LONG_VIEW.get(data, i)), 27) * 0x9E3779B97F4A7C15L;
+      }
+      for (; i < data.length; i++) {
+         hash = Long.rotateLeft(hash ^ (data[i] & 0xFFL) * 0x27D4EB2F165667C5L, 11) * 0x9E3779B97F4A7C15L;
+      }
+      hash ^= hash >>> 33;
+      hash *= 0xFF51AFD7ED558CCDL;
+      hash ^= hash >>> 33;
+      return hash;
+   }
+
+   private static long mix(final long value) {
+      return Long.rotateLeft(value * 0xC2B2AE3D27D4EB4FL, 31) * 0x9E3779B97F4A7C15L;
+   }
+}
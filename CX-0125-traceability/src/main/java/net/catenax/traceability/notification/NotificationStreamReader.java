@@ -0,0 +1,65 @@
+package net.catenax.traceability.notification;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+/**
+ * Incrementally reads a stream of quality notifications, given either as newline-delimited JSON or as one JSON array.
+ * Only the notification currently handed to the consumer is held in memory, independent of the stream size.
+ * <br/><br/>
+ * <small>
+ * Copyright (c) 2025, doubleSlash Net-Business GmbH, http://www.doubleslash.de
+ * <br/><br/>
+ * </small>
+ *
+ * @author emanuel.schaeffer@doubleslash.de
+ */
+public final class NotificationStreamReader {
+   private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+   private NotificationStreamReader() {
+   }
+
+   /**
+    * Reads all notifications from the stream.
+    *
+    * @param in       the NDJSON or JSON array stream, closed when done
+    * @param consumer receives the raw UTF-8 JSON of each notification in stream order
+    * @return the number of notifications read
+    * @throws IOException if the stream could not be read or is not well-formed JSON
+    */
+   public static int read(final InputStream in, final Consumer<byte[]> consumer) throws IOException {
+      try (final JsonParser parser = JSON_FACTORY.createParser(in)) {
+         JsonToken token = parser.nextToken();
+         final boolean array = token == JsonToken.START_ARRAY;
+         if (array) {
+            token = parser.nextToken();
+         }
+
+         final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+         int count = 0;
+         while (token != null && !(array && token == JsonToken.END_ARRAY)) {
+            buffer.reset();
+            try (final JsonGenerator generator = JSON_FACTORY.createGenerator(buffer)) {
+               generator.copyCurrentStructure(parser);
+            }
+            consumer.accept(buffer.toByteArray());
+            count++;
+            token = parser.nextToken();
+         }
+
+         if (array && (token == null || parser.nextToken() != null)) {
+            throw new JsonParseException(parser, "Notification array is not terminated or followed by more content");
+         }
+         return count;
+      }
+   }
+}
@@ -0,0 +1,190 @@
+package net.catenax.traceability.notification;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A received quality notification, kept as the raw request body.
+ * The JSON tree is only parsed when a field is first accessed and is then shared by all later processing steps,
+ * from routing and admitting the request over validating it to storing it. A body that is not well-formed is only
+ * parsed once as well, its fields are then null. Instances are meant to be handed from thread to thread, not
+ * accessed concurrently.
+ * <br/><br/>
+ * <small>
+ * Copyright (c) 2025, doubleSlash Net-Business GmbH, http://www.doubleslash.de
+ * <br/><br/>
+ * </small>
+ *
+ * @author emanuel.schaeffer@doubleslash.de
+ */
+public final class QualityNotification {
+   private static final ObjectMapper MAPPER = new ObjectMapper();
+   private static final ObjectReader READER = MAPPER.reader().with(DeserializationFeature.FAIL_ON_TRAILING_TOKENS);
+
+   private static final String MESSAGE_ID = "/header/messageId";
+   private static final String NOTIFICATION_ID = "/content/notificationId";
+   private static final String RELATED_NOTIFICATION_ID = "/content/relatedNotificationId";
+   private static final String SENDER_BPN = "/header/senderBpn";
+   /**
+    * JSON pointer of the notification status.
+    */
+   public static final String STATUS = "/content/status";
+   private static final String SEVERITY = "/content/severity";
+   private static final String AFFECTED_ITEMS = "/content/listOfAffectedItems";
+
+   private final byte[] raw;
+   private JsonNode tree;
+   private IOException parseError;
+
+   private QualityNotification(final byte[] raw) {
+      this.raw = raw;
+   }
+
+   /**
+    * Wraps a raw notification body.
+    */
+   public static QualityNotification of(final byte[] raw) {
+      return new QualityNotification(raw);
+   }
+
+   /**
+    * Gets the raw UTF-8 encoded notification body.
+    */
+   public byte[] getRaw() {
+      return raw;
+   }
+
+   /**
+    * Gets the parsed JSON tree, parsing the raw body on first access.
+    *
+    * @throws UncheckedIOException if the body is not well-formed
+    */
+   public JsonNode getTree() {
+      if (!isWellFormed()) {
+         throw new UncheckedIOException("Could not parse quality notification", parseError);
+      }
+      return tree;
+   }
+
+   /**
+    * Checks whether the body is a single well-formed JSON document, parsing it on first access.
+    */
+   public boolean isWellFormed() {
+      if (tree == null && parseError == null) {
+         try {
+            final JsonNode parsed = READER.readTree(raw);
+            if (parsed == null || parsed.isMissingNode()) {
+               throw new IOException("Quality notification is empty");
+            }
+            tree = parsed;
+         } catch (final IOException e) {
+            parseError = e;
+         }
+      }
+      return tree != null;
+   }
+
+   /**
+    * Gets the parsed JSON tree if the body is well-formed, e.g. to validate it without parsing it again.
+    *
+    * @return the tree, or null if the body is not well-formed
+    */
+   public JsonNode getTreeIfWellFormed() {
+      return isWellFormed() ? tree : null;
+   }
+
+   /**
+    * Gets the message ID from the notification header. Like the other fields, null if the body has none or is not
+    * well-formed.
+    */
+   public String getMessageId() {
+      return text(MESSAGE_ID);
+   }
+
+   /**
+    * Gets the notification ID. Falls back to the message ID for notifications without a content notification ID.
+    */
+   public String getNotificationId() {
+      final String notificationId = text(NOTIFICATION_ID);
+      return notificationId != null ? notificationId : getMessageId();
+   }
+
+   /**
+    * Gets the ID of the notification this one refers to, if any.
+    */
+   public String getRelatedNotificationId() {
+      return text(RELATED_NOTIFICATION_ID);
+   }
+
+   /**
+    * Gets the BPN of the sending partner from the notification header.
+    */
+   public String getSenderBpn() {
+      return text(SENDER_BPN);
+   }
+
+   /**
+    * Gets the notification status, e.g. SENT or ACKNOWLEDGED.
+    */
+   public String getStatus() {
+      return text(STATUS);
+   }
+
+   /**
+    * Gets the notification severity, e.g. MINOR or CRITICAL.
+    */
+   public String getSeverity() {
+      return text(SEVERITY);
+   }
+
+   /**
+    * Gets the catenaXIds of all affected items. Items may be given as objects with a catenaXId or as plain IDs.
+    */
+   public List<String> getAffectedCatenaXIds() {
+      final JsonNode items = isWellFormed() ? tree.at(AFFECTED_ITEMS) : null;
+      if (items == null || !items.isArray()) {
+         return List.of();
+      }
+      final List<String> catenaXIds = new ArrayList<>(items.size());
+      for (final JsonNode item : items) {
+         final JsonNode catenaXId = item.isObject() ? item.get("catenaXId") : item;
+         if (catenaXId != null && catenaXId.isTextual()) {
+            catenaXIds.add(catenaXId.asText());
+         }
+      }
+      return catenaXIds;
+   }
+
+   /**
+    * Gets a copy of the notification body addressed to another receiver, for sending one notification to many
+    * partners.
+    *
+    * @param receiverBpn the BPN to set as header receiver
+    * @return the UTF-8 encoded body
+    */
+   public byte[] addressedTo(final String receiverBpn) {
+      final ObjectNode copy = getTree().deepCopy();
+      copy.withObject("/header").put("receiverBpn", receiverBpn);
+      try {
+         return MAPPER.writeValueAsBytes(copy);
+      } catch (final IOException e) {
+         throw new UncheckedIOException("Could not write quality notification", e);
+      }
+   }
+
+   private String text(final String pointer) {
+      if (!isWellFormed()) {
+         return null;
+      }
+      final JsonNode node = tree.at(pointer);
+      return node.isValueNode() ? node.asText() : null;
+   }
+}
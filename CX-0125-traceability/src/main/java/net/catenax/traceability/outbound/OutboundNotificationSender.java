@@ -0,0 +1,228 @@
+package net.catenax.traceability.outbound;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends quality notifications to partners.
+ * <p>
+ * All partners share one HTTP/2 client, which keeps a single multiplexed connection per partner endpoint. Each
+ * partner gets a {@link PartnerChannel} limiting its concurrent requests and batching its notifications. So fanning
+ * out a notification to many partners runs in parallel across partners without overloading any single one.
+ * <p>
+ * Every notification is written to the {@link Outbox} before it is accepted for sending, so an accepted notification
+ * survives a crash. Notifications that could not be delivered because of an I/O error, 429 or 5xx response are
+ * retried with exponential backoff, also across restarts. Other responses are final. A partner with too many
+ * notifications waiting refuses new ones until it caught up.
+ * <br/><br/>
+ * <small>
+ * Copyright (c) 2025, doubleSlash Net-Business GmbH, http://www.doubleslash.de
+ * <br/><br/>
+ * </small>
+ *
+ * @author emanuel.schaeffer@doubleslash.de
+ */
+@Component
+@EnableConfigurationProperties(OutboundProperties.class)
+public class OutboundNotificationSender {
+   private static final Logger log = LoggerFactory.getLogger(OutboundNotificationSender.class);
+   private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(30);
+   private static final String OUTBOUND_METRIC = "traceability.outbound.notifications";
+
+   private final OutboundProperties properties;
+   private final Outbox outbox;
+   private final Map<String, PartnerChannel> channels;
+   private final ScheduledExecutorService retryScheduler;
+   private final Counter delivered;
+   private final Counter rejected;
+   private final Counter retried;
+   private final Counter abandoned;
+   private final Counter refused;
+
+   public OutboundNotificationSender(final OutboundProperties properties, final Environment environment,
+         final MeterRegistry meterRegistry) throws IOException {
+      this.properties = properties;
+      this.outbox = new Outbox(Path.of(properties.outboxDirectory()));
+
+      final HttpClient.Builder builder = HttpClient.newBuilder()
+                                                   .version(HttpClient.Version.HTTP_2)
+                                                   .connectTimeout(CONNECT_TIMEOUT);
+      if (Threading.VIRTUAL.isActive(environment)) {
+         final SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("outbound-");
+         executor.setVirtualThreads(true);
+         builder.executor(executor);
+      }
+      final HttpClient httpClient = builder.build();
+
+      final Map<String, PartnerChannel> partnerChannels = new HashMap<>();
+      properties.partners().forEach((receiverBpn, partner) -> partnerChannels.put(receiverBpn,
+            new PartnerChannel(receiverBpn, partner, properties.maxConcurrentRequestsPerPartner(),
+                  properties.batchSize(), properties.maxPendingPerPartner(), httpClient, meterRegistry,
+                  this::complete)));
+      this.channels = Map.copyOf(partnerChannels);
+
+      this.retryScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+         final Thread thread = new Thread(runnable, "outbound-retry");
+         thread.setDaemon(true);
+         return thread;
+      });
+
+      this.delivered = counter(meterRegistry, "delivered");
+      this.rejected = counter(meterRegistry, "rejected");
+      this.retried = counter(meterRegistry, "retried");
+      this.abandoned = counter(meterRegistry, "abandoned");
+      this.refused = counter(meterRegistry, "refused");
+
+      for (final OutboxEntry entry : outbox.load()) {
+         final PartnerChannel channel = channels.get(entry.receiverBpn);
+         if (channel == null) {
+            log.warn("Keeping outbox entry {} of unconfigured partner {}", entry.file, entry.receiverBpn);
+            continue;
+         }
+         channel.enqueue(entry);
+      }
+   }
+
+   /**
+    * Gets the BPNs of all configured partners.
+    */
+   public Set<String> getPartners() {
+      return channels.keySet();
+   }
+
+   /**
+    * Checks whether a partner is configured.
+    */
+   public boolean isPartner(final String receiverBpn) {
+      return channels.containsKey(receiverBpn);
+   }
+
+   /**
+    * Writes a notification to the outbox and queues it for sending without waiting for it.
+    *
+    * @param receiverBpn the BPN of a configured partner
+    * @param body        the notification body
+    * @return true if the notification is written and will be sent, false if too many notifications are waiting for
+    * the partner or it could not be written
+    * @throws IllegalArgumentException if the partner is not configured
+    */
+   public boolean send(final String receiverBpn, final byte[] body) {
+      final PartnerChannel channel = channels.get(receiverBpn);
+      if (channel == null) {
+         throw new IllegalArgumentException("Unknown partner: " + receiverBpn);
+      }
+      if (!channel.reserve()) {
+         log.debug("Refusing notification for partner {}, too many notifications are waiting", receiverBpn);
+         refused.increment();
+         return false;
+      }
+      final OutboxEntry entry = new OutboxEntry(receiverBpn, body);
+      try {
+         outbox.persist(entry);
+      } catch (final IOException | RuntimeException e) {
+         channel.release();
+         log.error("Could not write notification for partner {} to the outbox: {}", receiverBpn, e.getMessage(), e);
+         refused.increment();
+         return false;
+      }
+      channel.enqueueReserved(entry);
+      return true;
+   }
+
+   /**
+    * Stops retrying. The notifications not sent yet stay in the outbox and are sent after a restart; those that
+    * could not be written before are written now.
+    */
+   @PreDestroy
+   public void stop() {
+      retryScheduler.shutdownNow();
+      int persisted = 0;
+      for (final PartnerChannel channel : channels.values()) {
+         for (final OutboxEntry entry : channel.drain()) {
+            if (entry.file != null) {
+               persisted++;
+               continue;
+            }
+            try {
+               outbox.persist(entry);
+               persisted++;
+            } catch (final IOException | RuntimeException e) {
+               log.error("Could not keep notification for partner {}, it is lost: {}", entry.receiverBpn,
+                     e.getMessage(), e);
+            }
+         }
+      }
+      log.info("Outbound notification sender stopped, {} pending notification(s) kept in the outbox", persisted);
+   }
+
+   /**
+    * Handles the outcome of a sent entry: done on success and on final failures, retried otherwise.
+    */
+   private void complete(final OutboxEntry entry, final int status) {
+      if (status >= 200 && status < 300) {
+         delivered.increment();
+         outbox.remove(entry);
+         return;
+      }
+      final boolean retryable = status == PartnerChannel.NO_RESPONSE
+                                || status == HttpStatus.TOO_MANY_REQUESTS.value() || status >= 500;
+      if (!retryable) {
+         log.warn("Partner {} rejected notification with HTTP {}", entry.receiverBpn, status);
+         rejected.increment();
+         outbox.remove(entry);
+         return;
+      }
+
+      entry.attempts++;
+      if (entry.attempts >= properties.maxAttempts()) {
+         log.error("Giving up notification for partner {} after {} attempts, last status {}", entry.receiverBpn,
+               entry.attempts, status == PartnerChannel.NO_RESPONSE ? "no response" : "HTTP " + status);
+         abandoned.increment();
+         outbox.remove(entry);
+         return;
+      }
+      try {
+         outbox.persist(entry);
+      } catch (final IOException | RuntimeException e) {
+         log.error("Could not write notification for partner {} to the outbox, retrying in memory only: {}",
+               entry.receiverBpn, e.getMessage(), e);
+      }
+      retried.increment();
+      final long backoffMillis = Math.min(properties.initialBackoff().toMillis() << Math.min(entry.attempts - 1, 30),
+            properties.maxBackoff().toMillis());
+      try {
+         retryScheduler.schedule(() -> channels.get(entry.receiverBpn).enqueue(entry), backoffMillis,
+               TimeUnit.MILLISECONDS);
+      } catch (final RuntimeException e) {
+         // shutting down, the entry is kept in the outbox
+         log.debug("Not scheduling retry for partner {}: {}", entry.receiverBpn, e.getMessage());
+      }
+   }
+
+   private static Counter counter(final MeterRegistry meterRegistry, final String outcome) {
+      return Counter.builder(OUTBOUND_METRIC)
+                    .description("Notifications sent to partners by outcome")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry);
+   }
+}
@@ -0,0 +1,51 @@
+package net.catenax.traceability.outbound;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Configuration of the outbound notification sender, bound from {@code app.outbound.*}.
+ * <br/><br/>
+ * <small>
+ * Copyright (c) 2025, doubleSlash Net-Business GmbH, http://www.doubleslash.de
+ * <br/><br/>
+ * </small>
+ *
+ * @param partners                       receiving partners by BPN
+ * @param maxConcurrentRequestsPerPartner default limit of concurrent requests to one partner
+ * @param batchSize                      maximum notifications sent in one bulk request
+ * @param maxPendingPerPartner           notifications waiting to be sent to one partner before new ones are refused
+ * @param outboxDirectory                directory of the durable retry queue
+ * @param maxAttempts                    attempts before a notification is given up
+ * @param initialBackoff                 delay before the first retry, doubled for every further retry
+ * @param maxBackoff                     upper bound of the retry delay
+ * @author emanuel.schaeffer@doubleslash.de
+ */
+@ConfigurationProperties("app.outbound")
+public record OutboundProperties(Map<String, Partner> partners,
+                                 @DefaultValue("16") int maxConcurrentRequestsPerPartner,
+                                 @DefaultValue("50") int batchSize,
+                                 @DefaultValue("10000") int maxPendingPerPartner,
+                                 @DefaultValue("data/outbox") String outboxDirectory,
+                                 @DefaultValue("10") int maxAttempts,
+                                 @DefaultValue("PT1S") Duration initialBackoff,
+                                 @DefaultValue("PT5M") Duration maxBackoff) {
+
+   public OutboundProperties {
+      partners = partners != null ? Map.copyOf(partners) : Map.of();
+   }
+
+   /**
+    * A partner receiving quality notifications.
+    *
+    * @param url                   the partner's receive endpoint
+    * @param bulkUrl               the partner's bulk receive endpoint, if it accepts NDJSON batches
+    * @param apiKey                value of the X-API-KEY header, if the partner requires one
+    * @param maxConcurrentRequests limit of concurrent requests to this partner, overriding the default
+    */
+   public record Partner(String url, String bulkUrl, String apiKey, Integer maxConcurrentRequests) {
+   }
+}
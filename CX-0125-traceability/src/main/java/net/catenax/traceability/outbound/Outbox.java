@@ -0,0 +1,127 @@
+package net.catenax.traceability.outbound;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Durable retry queue of outbound notifications.
+ * <p>
+ * Every entry is one file {@code <receiverBpn>/<id>-<attempts>.json} holding the notification body. Files are
+ * written to a temporary name, synced and then moved into place, so a crash never leaves a partial entry behind.
+ * An entry is written before it is first sent, and a further failed attempt only renames the file.
+ * <br/><br/>
+ * <small>
+ * Copyright (c) 2025, doubleSlash Net-Business GmbH, http://www.doubleslash.de
+ * <br/><br/>
+ * </small>
+ *
+ * @author emanuel.schaeffer@doubleslash.de
+ */
+final class Outbox {
+   private static final Logger log = LoggerFactory.getLogger(Outbox.class);
+   private static final Pattern SAFE_NAME = Pattern.compile("[A-Za-z0-9_-]+");
+   private static final Pattern ENTRY_NAME = Pattern.compile("([0-9a-f-]+)-(\\d+)\\.json");
+
+   private final Path directory;
+
+   Outbox(final Path directory) throws IOException {
+      this.directory = Files.createDirectories(directory);
+   }
+
+   /**
+    * Writes an entry, or records its new attempt count if it is already written.
+    *
+    * @throws IOException if the entry could not be written
+    */
+   void persist(final OutboxEntry entry) throws IOException {
+      if (!SAFE_NAME.matcher(entry.receiverBpn).matches()) {
+         throw new IllegalArgumentException("Receiver BPN is not usable as a file name: " + entry.receiverBpn);
+      }
+      final Path partnerDirectory = Files.createDirectories(directory.resolve(entry.receiverBpn));
+      final String id = entry.file != null ? idOf(entry.file) : UUID.randomUUID().toString();
+      final Path target = partnerDirectory.resolve(id + "-" + entry.attempts + ".json");
+
+      if (entry.file != null) {
+         Files.move(entry.file, target, StandardCopyOption.ATOMIC_MOVE);
+      } else {
+         final Path temporary = partnerDirectory.resolve(id + ".tmp");
+         try (final FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+               StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            final ByteBuffer buffer = ByteBuffer.wrap(entry.body);
+            while (buffer.hasRemaining()) {
+               channel.write(buffer);
+            }
+            channel.force(true);
+         }
+         Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+      }
+      entry.file = target;
+   }
+
+   /**
+    * Removes a written entry. Entries that were never written are ignored.
+    */
+   void remove(final OutboxEntry entry) {
+      if (entry.file == null) {
+         return;
+      }
+      try {
+         Files.deleteIfExists(entry.file);
+         entry.file = null;
+      } catch (final IOException e) {
+         log.warn("Could not remove outbox entry {}, it will be sent again after a restart: {}", entry.file,
+               e.getMessage());
+      }
+   }
+
+   /**
+    * Loads all written entries, e.g. to resume retrying them after a restart.
+    * Temporary files of interrupted writes are deleted.
+    */
+   List<OutboxEntry> load() throws IOException {
+      final List<OutboxEntry> entries = new ArrayList<>();
+      try (final DirectoryStream<Path> partners = Files.newDirectoryStream(directory, Files::isDirectory)) {
+         for (final Path partnerDirectory : partners) {
+            final String receiverBpn = partnerDirectory.getFileName().toString();
+            try (final DirectoryStream<Path> files = Files.newDirectoryStream(partnerDirectory)) {
+               for (final Path file : files) {
+                  final Matcher name = ENTRY_NAME.matcher(file.getFileName().toString());
+                  if (!name.matches()) {
+                     if (file.getFileName().toString().endsWith(".tmp")) {
+                        Files.delete(file);
+                     }
+                     continue;
+                  }
+                  final OutboxEntry entry = new OutboxEntry(receiverBpn, Files.readAllBytes(file));
+                  entry.attempts = Integer.parseInt(name.group(2));
+                  entry.file = file;
+                  entries.add(entry);
+               }
+            }
+         }
+      }
+      return entries;
+   }
+
+   private static String idOf(final Path file) {
+      final Matcher name = ENTRY_NAME.matcher(file.getFileName().toString());
+      if (!name.matches()) {
+         throw new IllegalStateException("Unexpected outbox file name: " + file);
+      }
+      return name.group(1);
+   }
+}
@@ -0,0 +1,25 @@
+package net.catenax.traceability.outbound;
+
+import java.nio.file.Path;
+
+/**
+ * A notification waiting to be sent to a partner, written to the {@link Outbox} until it is done.
+ * <br/><br/>
+ * <small>
+ * Copyright (c) 2025, doubleSlash Net-Business GmbH, http://www.doubleslash.de
+ * <br/><br/>
+ * </small>
+ *
+ * @author emanuel.schaeffer@doubleslash.de
+ */
+final class OutboxEntry {
+   final String receiverBpn;
+   final byte[] body;
+   int attempts;
+   Path file;
+
+   OutboxEntry(final String receiverBpn, final byte[] body) {
+      this.receiverBpn = receiverBpn;
+      this.body = body;
+   }
+}
@@ -0,0 +1,265 @@
+package net.catenax.traceability.outbound;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Sends queued notifications to one partner.
+ * <p>
+ * At most {@code maxConcurrentRequests} requests are in flight at a time; with HTTP/2 they are multiplexed over the
+ * single connection the shared client keeps to the partner. Whenever a request completes, the next pending
+ * notifications are sent right away. If the partner accepts bulk requests, pending notifications are combined into
+ * newline-delimited JSON batches of up to {@code batchSize} notifications.
+ * <p>
+ * At most {@code maxPending} new entries wait to be sent; a new entry first reserves its place with
+ * {@link #reserve()}, so it is only written to the {@link Outbox} if it can be queued. Retried entries are always
+ * queued, they are already in the outbox and count against the limit of new ones.
+ * <br/><br/>
+ * <small>
+ * Copyright (c) 2025, doubleSlash Net-Business GmbH, http://www.doubleslash.de
+ * <br/><br/>
+ * </small>
+ *
+ * @author emanuel.schaeffer@doubleslash.de
+ */
+final class PartnerChannel {
+   private static final Logger log = LoggerFactory.getLogger(PartnerChannel.class);
+   private static final ObjectMapper MAPPER = new ObjectMapper();
+   private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+   private static final String CONTENT_TYPE_JSON = "application/json";
+   private static final String CONTENT_TYPE_NDJSON = "application/x-ndjson";
+   private static final String OUTBOUND_REQUESTS_METRIC = "traceability.outbound.requests";
+
+   /**
+    * Status passed to the result consumer when no response was received.
+    */
+   static final int NO_RESPONSE = 0;
+
+   private final String receiverBpn;
+   private final URI url;
+   private final URI bulkUrl;
+   private final String apiKey;
+   private final int maxConcurrentRequests;
+   private final int batchSize;
+   private final int maxPending;
+   private final HttpClient httpClient;
+   private final MeterRegistry meterRegistry;
+   private final Map<String, Timer> singleTimers = new ConcurrentHashMap<>();
+   private final Map<String, Timer> bulkTimers = new ConcurrentHashMap<>();
+   private final ObjIntConsumer<OutboxEntry> onResult;
+   private final Queue<OutboxEntry> pending = new ConcurrentLinkedQueue<>();
+   private final AtomicInteger queued = new AtomicInteger();
+   private final AtomicInteger inFlight = new AtomicInteger();
+
+   /**
+    * @param onResult receives every sent entry with the response status, or {@link #NO_RESPONSE}
+    */
+   PartnerChannel(final String receiverBpn, final OutboundProperties.Partner partner,
+         final int defaultMaxConcurrentRequests, final int batchSize, final int maxPending,
+         final HttpClient httpClient,
+         final MeterRegistry meterRegistry, final ObjIntConsumer<OutboxEntry> onResult) {
+      if (partner.url() == null || partner.url().isBlank()) {
+         throw new IllegalArgumentException("No URL configured for partner " + receiverBpn);
+      }
+      this.receiverBpn = receiverBpn;
+      this.url = URI.create(partner.url());
+      this.bulkUrl = partner.bulkUrl() == null || partner.bulkUrl().isBlank() ? null : URI.create(partner.bulkUrl());
+      this.apiKey = partner.apiKey();
+      this.maxConcurrentRequests = Math.max(1, partner.maxConcurrentRequests() != null
+            ? partner.maxConcurrentRequests() : defaultMaxConcurrentRequests);
+      this.batchSize = bulkUrl != null ? Math.max(1, batchSize) : 1;
+      this.maxPending = Math.max(1, maxPending);
+      this.httpClient = httpClient;
+      this.meterRegistry = meterRegistry;
+      this.onResult = onResult;
+   }
+
+   /**
+    * Reserves the place of a new entry in the queue.
+    *
+    * @return false if {@code maxPending} entries are queued already
+    */
+   boolean reserve() {
+      int current;
+      do {
+         current = queued.get();
+         if (current >= maxPending) {
+            return false;
+         }
+      } while (!queued.compareAndSet(current, current + 1));
+      return true;
+   }
+
+   /**
+    * Releases a place reserved for an entry that is not queued after all.
+    */
+   void release() {
+      queued.decrementAndGet();
+   }
+
+   /**
+    * Queues a new entry into its reserved place and sends it as soon as the concurrency limit allows.
+    */
+   void enqueueReserved(final OutboxEntry entry) {
+      pending.add(entry);
+      dispatch();
+   }
+
+   /**
+    * Queues an entry to retry regardless of the limit and sends it as soon as the concurrency limit allows.
+    */
+   void enqueue(final OutboxEntry entry) {
+      queued.incrementAndGet();
+      enqueueReserved(entry);
+   }
+
+   /**
+    * Removes all entries that are not sent yet.
+    */
+   List<OutboxEntry> drain() {
+      final List<OutboxEntry> drained = new ArrayList<>();
+      OutboxEntry entry;
+      while ((entry = pending.poll()) != null) {
+         queued.decrementAndGet();
+         drained.add(entry);
+      }
+      return drained;
+   }
+
+   private void dispatch() {
+      while (!pending.isEmpty()) {
+         final int current = inFlight.get();
+         if (current >= maxConcurrentRequests) {
+            // the completing request dispatches again
+            return;
+         }
+         if (!inFlight.compareAndSet(current, current + 1)) {
+            continue;
+         }
+         final List<OutboxEntry> batch = new ArrayList<>(Math.min(batchSize, pending.size()));
+         OutboxEntry entry;
+         while (batch.size() < batchSize && (entry = pending.poll()) != null) {
+            queued.decrementAndGet();
+            batch.add(entry);
+         }
+         if (batch.isEmpty()) {
+            inFlight.decrementAndGet();
+            continue;
+         }
+         send(batch).whenComplete((ignored, e) -> {
+            inFlight.decrementAndGet();
+            dispatch();
+         });
+      }
+   }
+
+   private CompletableFuture<Void> send(final List<OutboxEntry> batch) {
+      final boolean bulk = batch.size() > 1;
+      final HttpRequest request;
+      try {
+         request = newRequest(bulk ? bulkUrl : url, bulk ? CONTENT_TYPE_NDJSON : CONTENT_TYPE_JSON,
+               bulk ? toNdjson(batch) : batch.get(0).body);
+      } catch (final RuntimeException e) {
+         log.error("Could not create request to partner {}: {}", receiverBpn, e.getMessage(), e);
+         batch.forEach(entry -> onResult.accept(entry, NO_RESPONSE));
+         return CompletableFuture.completedFuture(null);
+      }
+
+      final long start = System.nanoTime();
+      return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                       .handle((response, e) -> {
+                          recordRequest(bulk, e != null ? "IO_ERROR" : String.valueOf(response.statusCode()),
+                                start);
+                          if (e != null) {
+                             log.warn("Sending {} notification(s) to partner {} failed: {}", batch.size(),
+                                   receiverBpn, e.getMessage());
+                             batch.forEach(entry -> onResult.accept(entry, NO_RESPONSE));
+                          } else if (bulk) {
+                             completeBulk(batch, response);
+                          } else {
+                             onResult.accept(batch.get(0), response.statusCode());
+                          }
+                          return null;
+                       });
+   }
+
+   /**
+    * Completes the entries of a bulk request with their per-notification status from the response, or with the
+    * response status if the partner did not answer with per-notification results.
+    */
+   private void completeBulk(final List<OutboxEntry> batch, final HttpResponse<byte[]> response) {
+      JsonNode results = null;
+      if (response.statusCode() < 300) {
+         try {
+            results = MAPPER.readTree(response.body()).path("results");
+         } catch (final IOException e) {
+            log.debug("Bulk response from partner {} has no per-notification results: {}", receiverBpn,
+                  e.getMessage());
+         }
+      }
+      for (int i = 0; i < batch.size(); i++) {
+         final int status = results != null && results.path(i).isInt() ? results.get(i).asInt()
+               : response.statusCode();
+         onResult.accept(batch.get(i), status);
+      }
+   }
+
+   private HttpRequest newRequest(final URI uri, final String contentType, final byte[] body) {
+      final HttpRequest.Builder builder = HttpRequest.newBuilder()
+                                                     .uri(uri)
+                                                     .header("Content-Type", contentType)
+                                                     .timeout(REQUEST_TIMEOUT)
+                                                     .POST(HttpRequest.BodyPublishers.ofByteArray(body));
+      if (apiKey != null && !apiKey.isBlank()) {
+         builder.header("X-API-KEY", apiKey);
+      }
+      return builder.build();
+   }
+
+   private static byte[] toNdjson(final List<OutboxEntry> batch) {
+      int size = 0;
+      for (final OutboxEntry entry : batch) {
+         size += entry.body.length + 1;
+      }
+      final ByteArrayOutputStream out = new ByteArrayOutputStream(size);
+      for (final OutboxEntry entry : batch) {
+         out.writeBytes(entry.body);
+         out.write('\n');
+      }
+      return out.toByteArray();
+   }
+
+   private void recordRequest(final boolean bulk, final String status, final long startNanos) {
+      final Map<String, Timer> byStatus = bulk ? bulkTimers : singleTimers;
+      final Timer timer = byStatus.get(status);
+      (timer != null ? timer : byStatus.computeIfAbsent(status,
+            key -> Timer.builder(OUTBOUND_REQUESTS_METRIC)
+                        .description("Duration of requests sending notifications to partners")
+                        .tag("mode", bulk ? "bulk" : "single")
+                        .tag("status", key)
+                        .register(meterRegistry)))
+            .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+   }
+}
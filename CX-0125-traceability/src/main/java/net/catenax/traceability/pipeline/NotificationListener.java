@@ -0,0 +1,26 @@
+package net.catenax.traceability.pipeline;
+
+import net.catenax.traceability.notification.QualityNotification;
+import net.catenax.traceability.store.StoredNotification;
+
+/**
+ * Follow-up action of the {@link NotificationPipeline}, called for every notification once it is stored.
+ * Listeners run on the pipeline worker in store order and should not block for long.
+ * <br/><br/>
+ * <small>
+ * Copyright (c) 2025, doubleSlash Net-Business GmbH, http://www.doubleslash.de
+ * <br/><br/>
+ * </small>
+ *
+ * @author emanuel.schaeffer@doubleslash.de
+ */
+public interface NotificationListener {
+
+   /**
+    * Handles a stored notification.
+    *
+    * @param stored       the stored event
+    * @param notification the notification, with its JSON tree shared between all listeners
+    */
+   void onStored(StoredNotification stored, QualityNotification notification);
+}
@@ -0,0 +1,275 @@
+package net.catenax.traceability.pipeline;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import net.catenax.traceability.notification.QualityNotification;
+import net.catenax.traceability.store.NotificationEventType;
+import net.catenax.traceability.store.NotificationStore;
+import net.catenax.traceability.store.StoredNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Staged processing of validated notifications outside the request thread.
+ * <p>
+ * Endpoints {@link #submit submit} notifications into a bounded queue. A worker drains the queue in batches, stores
+ * each batch with a single sync to disk and then hands every stored notification to the {@link NotificationListener}s.
+ * When the queue is full, submitting fails immediately, so the endpoints can reject the request instead of piling up
+ * threads.
+ * <p>
+ * By default endpoints acknowledge a notification only once it is stored, so an acknowledged notification survives a
+ * crash; {@code app.pipeline.acknowledge-when-stored=false} acknowledges it right away instead. A notification that
+ * cannot be stored is retried {@code app.pipeline.store-attempts} times, then its future completes exceptionally, so
+ * the endpoint answers 503 and the lifecycle undoes the event. Endpoints wait at most
+ * {@code app.pipeline.store-timeout} for a notification to be stored.
+ * <p>
+ * On shutdown no more notifications are accepted, the queued ones are still stored. Submitting and stopping exclude
+ * each other, so no notification is queued after the queue was drained for the last time.
+ * <br/><br/>
+ * <small>
+ * Copyright (c) 2025, doubleSlash Net-Business GmbH, http://www.doubleslash.de
+ * <br/><br/>
+ * </small>
+ *
+ * @author emanuel.schaeffer@doubleslash.de
+ */
+@Component
+public class NotificationPipeline {
+   private static final Logger log = LoggerFactory.getLogger(NotificationPipeline.class);
+   private static final long POLL_TIMEOUT_MILLIS = 100;
+   private static final long STORE_RETRY_BACKOFF_MILLIS = 50;
+
+   private final NotificationStore notificationStore;
+   private final List<NotificationListener> listeners;
+   private final BlockingQueue<Task> queue;
+   private final int batchSize;
+   private final boolean acknowledgeWhenStored;
+   private final int storeAttempts;
+   private final long retryAfterSeconds;
+   private final Duration storeTimeout;
+   private final ReadWriteLock shutdownLock = new ReentrantReadWriteLock();
+   private final Counter rejected;
+   private final Counter storeFailures;
+   private final Thread worker;
+   private volatile boolean running = true;
+
+   public NotificationPipeline(final NotificationStore notificationStore, final List<NotificationListener> listeners,
+         @Value("${app.pipeline.capacity:10000}") final int capacity,
+         @Value("${app.pipeline.batch-size:256}") final int batchSize,
+         @Value("${app.pipeline.acknowledge-when-stored:true}") final boolean acknowledgeWhenStored,
+         @Value("${app.pipeline.store-attempts:3}") final int storeAttempts,
+         @Value("${app.pipeline.retry-after-seconds:1}") final long retryAfterSeconds,
+         @Value("${app.pipeline.store-timeout:PT30S}") final Duration storeTimeout,
+         final MeterRegistry meterRegistry) {
+      this.notificationStore = notificationStore;
+      this.listeners = List.copyOf(listeners);
+      this.queue = new ArrayBlockingQueue<>(capacity);
+      this.batchSize = batchSize;
+      this.acknowledgeWhenStored = acknowledgeWhenStored;
+      this.storeAttempts = Math.max(1, storeAttempts);
+      this.retryAfterSeconds = retryAfterSeconds;
+      this.storeTimeout = storeTimeout;
+
+      Gauge.builder("traceability.pipeline.queue.size", queue, BlockingQueue::size)
+           .description("Notifications waiting to be stored")
+           .register(meterRegistry);
+      this.rejected = Counter.builder("traceability.pipeline.rejected")
+                             .description("Notifications rejected because the pipeline queue was full")
+                             .register(meterRegistry);
+      this.storeFailures = Counter.builder("traceability.pipeline.store.failures")
+                                  .description("Notifications that could not be stored after all attempts")
+                                  .register(meterRegistry);
+
+      this.worker = new Thread(this::run, "notification-pipeline");
+      this.worker.setDaemon(true);
+      this.worker.start();
+   }
+
+   /**
+    * Submits a validated notification for processing without waiting for it.
+    *
+    * @param type         whether the notification was received or is an update
+    * @param notification the validated notification
+    * @return future completed once the notification is stored, or exceptionally if it could not be stored; null if
+    * the queue is full or the pipeline is stopped
+    */
+   public CompletableFuture<StoredNotification> submit(final NotificationEventType type,
+         final QualityNotification notification) {
+      final Task task = new Task(type, notification, new CompletableFuture<>());
+      final boolean queued;
+      shutdownLock.readLock().lock();
+      try {
+         queued = running && queue.offer(task);
+      } finally {
+         shutdownLock.readLock().unlock();
+      }
+      if (!queued) {
+         rejected.increment();
+         return null;
+      }
+      return task.stored;
+   }
+
+   /**
+    * Checks whether endpoints should wait until a submitted notification is stored before acknowledging it.
+    */
+   public boolean isAcknowledgeWhenStored() {
+      return acknowledgeWhenStored;
+   }
+
+   /**
+    * Gets the number of seconds a rejected sender should wait before retrying.
+    */
+   public long getRetryAfterSeconds() {
+      return retryAfterSeconds;
+   }
+
+   /**
+    * Gets how long endpoints wait for a submitted notification to be stored before answering 503.
+    */
+   public Duration getStoreTimeout() {
+      return storeTimeout;
+   }
+
+   @PreDestroy
+   public void stop() throws InterruptedException {
+      shutdownLock.writeLock().lock();
+      try {
+         running = false;
+      } finally {
+         shutdownLock.writeLock().unlock();
+      }
+      worker.join();
+
+      final List<Task> remaining = new ArrayList<>();
+      queue.drainTo(remaining);
+      process(remaining);
+      // nothing is queued once stopped, but a future left incomplete would block its endpoint
+      remaining.clear();
+      queue.drainTo(remaining);
+      remaining.forEach(task -> task.stored.completeExceptionally(
+            new IllegalStateException("Notification pipeline is stopped")));
+      log.info("Notification pipeline stopped");
+   }
+
+   private void run() {
+      final List<Task> batch = new ArrayList<>(batchSize);
+      while (running) {
+         // polling instead of interrupting the worker on shutdown, an interrupt would close the store's channels
+         try {
+            final Task first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            if (first == null) {
+               continue;
+            }
+            batch.add(first);
+         } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+         }
+         queue.drainTo(batch, batchSize - 1);
+         process(batch);
+         batch.clear();
+      }
+   }
+
+   private void process(final List<Task> batch) {
+      int start = 0;
+      while (start < batch.size()) {
+         // store consecutive tasks of the same type together, keeping the submission order
+         int end = start + 1;
+         while (end < batch.size() && batch.get(end).type == batch.get(start).type) {
+            end++;
+         }
+         store(batch.subList(start, end));
+         start = end;
+      }
+
+      for (final Task task : batch) {
+         if (task.stored.isCompletedExceptionally()) {
+            continue;
+         }
+         final StoredNotification stored = task.stored.join();
+         for (final NotificationListener listener : listeners) {
+            try {
+               listener.onStored(stored, task.notification);
+            } catch (final RuntimeException e) {
+               log.error("Listener {} failed for notification {}: {}", listener.getClass().getSimpleName(),
+                     stored.notificationId(), e.getMessage(), e);
+            }
+         }
+      }
+   }
+
+   private void store(final List<Task> tasks) {
+      final List<QualityNotification> notifications = new ArrayList<>(tasks.size());
+      tasks.forEach(task -> notifications.add(task.notification));
+      try {
+         final List<StoredNotification> stored = notificationStore.appendAll(tasks.get(0).type, notifications);
+         for (int i = 0; i < tasks.size(); i++) {
+            tasks.get(i).stored.complete(stored.get(i));
+         }
+      } catch (final RuntimeException batchFailure) {
+         // isolate the notification that cannot be stored from the rest of the batch
+         for (final Task task : tasks) {
+            if (!task.stored.isDone()) {
+               storeWithRetry(task);
+            }
+         }
+      }
+   }
+
+   /**
+    * Stores a single notification, retrying transient failures, e.g. a full disk being cleaned up, in place so the
+    * order of the stored events is kept.
+    */
+   private void storeWithRetry(final Task task) {
+      for (int attempt = 1; ; attempt++) {
+         try {
+            task.stored.complete(notificationStore.append(task.type, task.notification));
+            return;
+         } catch (final RuntimeException e) {
+            if (attempt >= storeAttempts) {
+               log.error("Could not store {} notification after {} attempts: {}", task.type, attempt,
+                     e.getMessage(), e);
+               storeFailures.increment();
+               task.stored.completeExceptionally(e);
+               return;
+            }
+            log.warn("Attempt {}/{} to store {} notification failed: {}", attempt, storeAttempts, task.type,
+                  e.getMessage());
+            if (!sleep(STORE_RETRY_BACKOFF_MILLIS * attempt)) {
+               task.stored.completeExceptionally(e);
+               return;
+            }
+         }
+      }
+   }
+
+   private static boolean sleep(final long millis) {
+      try {
+         Thread.sleep(millis);
+         return true;
+      } catch (final InterruptedException e) {
+         Thread.currentThread().interrupt();
+         return false;
+      }
+   }
+
+   private record Task(NotificationEventType type, QualityNotification notification,
+                       CompletableFuture<StoredNotification> stored) {
+   }
+}
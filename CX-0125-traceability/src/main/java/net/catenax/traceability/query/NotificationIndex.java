@@ -0,0 +1,486 @@
+package net.catenax.traceability.query;
+
+import jakarta.annotation.PreDestroy;
+import net.catenax.traceability.lifecycle.NotificationLifecycle;
+import net.catenax.traceability.lifecycle.NotificationStatus;
+import net.catenax.traceability.notification.QualityNotification;
+import net.catenax.traceability.pipeline.NotificationListener;
+import net.catenax.traceability.store.NotificationEventType;
+import net.catenax.traceability.store.NotificationStore;
+import net.catenax.traceability.store.StoredNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory secondary indexes over the stored notifications.
+ * <p>
+ * Every distinct notification gets an ordinal in store order. Single-valued fields are kept in per-ordinal arrays,
+ * high-cardinality fields (sender BPN, related notification ID, affected catenaXId) map to sorted
+ * {@link PostingList}s of ordinals and low-cardinality fields (status, severity) to bit sets. Since ordinals follow
+ * the store order, a time range is a range of ordinals found by binary search. A query iterates the smallest
+ * matching set and checks the other criteria per ordinal, so its cost depends on the result, not the store size.
+ * <p>
+ * The status is the {@link NotificationLifecycle} status, read whenever an event of the notification is stored, not
+ * the status the sender put into the notification, which is not validated against the lifecycle.
+ * <p>
+ * The index is kept up to date as a {@link NotificationListener} of the pipeline. On shutdown it is written to a
+ * snapshot together with the store location of the last indexed event, so on startup only the events stored after
+ * it are read from the {@link NotificationStore}. The statuses are not part of the snapshot but taken from the
+ * lifecycle, which is rebuilt from the store anyway. Without a usable snapshot all events are replayed. The index is
+ * built once all beans are created, as the lifecycle in turn depends on the pipeline and so on this listener.
+ * <br/><br/>
+ * <small>
+ * Copyright (c) 2025, doubleSlash Net-Business GmbH, http://www.doubleslash.de
+ * <br/><br/>
+ * </small>
+ *
+ * @author emanuel.schaeffer@doubleslash.de
+ */
+@Component
+public class NotificationIndex implements NotificationListener, SmartInitializingSingleton {
+   private static final Logger log = LoggerFactory.getLogger(NotificationIndex.class);
+   private static final int INITIAL_CAPACITY = 1024;
+   private static final int SNAPSHOT_VERSION = 1;
+
+   private final NotificationStore notificationStore;
+   private final ObjectProvider<NotificationLifecycle> lifecycleProvider;
+   private final Path snapshotFile;
+   private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+   private final Map<String, Integer> ordinals = new HashMap<>();
+   private final Map<String, PostingList> bySenderBpn = new HashMap<>();
+   private final Map<String, PostingList> byRelatedNotificationId = new HashMap<>();
+   private final Map<String, PostingList> byCatenaXId = new HashMap<>();
+   private final Map<String, BitSet> byStatus = new HashMap<>();
+   private final Map<String, BitSet> bySeverity = new HashMap<>();
+
+   private String[] notificationIds = new String[INITIAL_CAPACITY];
+   private String[] senderBpns = new String[INITIAL_CAPACITY];
+   private String[] statuses = new String[INITIAL_CAPACITY];
+   private String[] severities = new String[INITIAL_CAPACITY];
+   private long[] receivedAt = new long[INITIAL_CAPACITY];
+   private long[] receiveLocations = new long[INITIAL_CAPACITY];
+   private int size;
+   private long lastLocation = -1;
+   private volatile NotificationLifecycle lifecycle;
+
+   /**
+    * @param snapshotFile file the index is written to on shutdown, blank to always replay all events
+    */
+   public NotificationIndex(final NotificationStore notificationStore,
+         final ObjectProvider<NotificationLifecycle> lifecycleProvider,
+         @Value("${app.query.snapshot-file:}") final String snapshotFile) {
+      this.notificationStore = notificationStore;
+      this.lifecycleProvider = lifecycleProvider;
+      this.snapshotFile = snapshotFile.isBlank() ? null : Path.of(snapshotFile);
+   }
+
+   @Override
+   public void afterSingletonsInstantiated() {
+      final long start = System.nanoTime();
+      readSnapshot();
+      final int fromSnapshot = size;
+      final long after = lastLocation;
+      notificationStore.replayLocations(location -> {
+         if (location > after) {
+            final StoredNotification stored = notificationStore.read(location);
+            add(stored, QualityNotification.of(stored.payload()));
+         }
+      });
+      log.info("Indexed {} notifications, {} of them from the snapshot ({} ms)", size, fromSnapshot,
+            (System.nanoTime() - start) / 1_000_000);
+   }
+
+   @Override
+   public void onStored(final StoredNotification stored, final QualityNotification notification) {
+      add(stored, notification);
+   }
+
+   /**
+    * Finds the notifications matching a query in store order.
+    *
+    * @param query  the criteria
+    * @param cursor the cursor of the previous page, null for the first page
+    * @param limit  maximum number of notifications on the page
+    * @return the page
+    * @throws IllegalArgumentException if the cursor is invalid
+    */
+   public NotificationPage query(final NotificationQuery query, final String cursor, final int limit) {
+      final int fromOrdinal = parseCursor(cursor);
+      lock.readLock().lock();
+      try {
+         final List<OrdinalSet> criteria = criteria(query);
+         OrdinalSet driver = criteria.get(0);
+         for (final OrdinalSet criterion : criteria) {
+            if (criterion.size() < driver.size()) {
+               driver = criterion;
+            }
+         }
+
+         final List<NotificationSummary> page = new ArrayList<>(Math.min(limit, driver.size()));
+         int ordinal = driver.next(fromOrdinal);
+         while (ordinal >= 0) {
+            if (matchesAll(criteria, driver, ordinal)) {
+               if (page.size() == limit) {
+                  return new NotificationPage(page, Integer.toString(ordinal));
+               }
+               page.add(summary(ordinal));
+            }
+            ordinal = ordinal + 1 < size ? driver.next(ordinal + 1) : -1;
+         }
+         return new NotificationPage(page, null);
+      } finally {
+         lock.readLock().unlock();
+      }
+   }
+
+   /**
+    * Gets the number of indexed notifications.
+    */
+   public int size() {
+      lock.readLock().lock();
+      try {
+         return size;
+      } finally {
+         lock.readLock().unlock();
+      }
+   }
+
+   /**
+    * Writes the index to the snapshot file, so the next start only replays the events stored after now.
+    */
+   @PreDestroy
+   public void writeSnapshot() {
+      if (snapshotFile == null) {
+         return;
+      }
+      final Path temporary = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+      lock.readLock().lock();
+      try (final FileOutputStream file = new FileOutputStream(temporary.toFile());
+           final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+         out.writeInt(SNAPSHOT_VERSION);
+         out.writeLong(lastLocation);
+         out.writeInt(size);
+         for (int ordinal = 0; ordinal < size; ordinal++) {
+            out.writeUTF(notificationIds[ordinal]);
+            writeNullable(out, senderBpns[ordinal]);
+            writeNullable(out, severities[ordinal]);
+            out.writeLong(receivedAt[ordinal]);
+            out.writeLong(receiveLocations[ordinal]);
+         }
+         writePostings(out, byRelatedNotificationId);
+         writePostings(out, byCatenaXId);
+         out.flush();
+         file.getFD().sync();
+      } catch (final IOException e) {
+         log.warn("Could not write query index snapshot, the next start replays all events: {}", e.getMessage());
+         return;
+      } finally {
+         lock.readLock().unlock();
+      }
+      try {
+         Files.move(temporary, snapshotFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+         log.info("Wrote query index snapshot of {} notifications", size);
+      } catch (final IOException e) {
+         log.warn("Could not replace query index snapshot, the next start replays all events: {}", e.getMessage());
+      }
+   }
+
+   /**
+    * Reads the index from the snapshot file, if there is one. Leaves the index empty if the snapshot is unusable.
+    */
+   private void readSnapshot() {
+      if (snapshotFile == null || !Files.isRegularFile(snapshotFile)) {
+         return;
+      }
+      lock.writeLock().lock();
+      try (final DataInputStream in = new DataInputStream(
+            new BufferedInputStream(Files.newInputStream(snapshotFile)))) {
+         if (size > 0) {
+            // events were indexed before startup completed, so the snapshot cannot be added to them
+            return;
+         }
+         if (in.readInt() != SNAPSHOT_VERSION) {
+            throw new IOException("Unsupported snapshot version");
+         }
+         final long location = in.readLong();
+         final int count = in.readInt();
+         if (count > notificationStore.size()) {
+            throw new IOException("Snapshot does not match the store");
+         }
+         for (int i = 0; i < count; i++) {
+            final int ordinal = newOrdinal(in.readUTF(), 0);
+            final String senderBpn = readNullable(in);
+            final NotificationStatus status = lifecycle().getStatus(notificationIds[ordinal]);
+            final String severity = readNullable(in);
+            receivedAt[ordinal] = in.readLong();
+            receiveLocations[ordinal] = in.readLong();
+            if (senderBpn != null) {
+               senderBpns[ordinal] = post(bySenderBpn, senderBpn, ordinal);
+            }
+            if (status != null) {
+               statuses[ordinal] = replace(byStatus, null, status.name(), ordinal);
+            }
+            if (severity != null) {
+               severities[ordinal] = replace(bySeverity, null, severity, ordinal);
+            }
+         }
+         readPostings(in, byRelatedNotificationId);
+         readPostings(in, byCatenaXId);
+         if (location >= 0 && !ordinals.containsKey(notificationStore.readNotificationId(location))) {
+            throw new IOException("Snapshot does not match the store");
+         }
+         lastLocation = location;
+      } catch (final IOException | RuntimeException e) {
+         log.warn("Could not read query index snapshot {}, replaying all events: {}", snapshotFile, e.getMessage());
+         clear();
+      } finally {
+         lock.writeLock().unlock();
+      }
+   }
+
+   private NotificationLifecycle lifecycle() {
+      if (lifecycle == null) {
+         lifecycle = lifecycleProvider.getObject();
+      }
+      return lifecycle;
+   }
+
+   private void clear() {
+      ordinals.clear();
+      bySenderBpn.clear();
+      byRelatedNotificationId.clear();
+      byCatenaXId.clear();
+      byStatus.clear();
+      bySeverity.clear();
+      Arrays.fill(notificationIds, 0, size, null);
+      Arrays.fill(senderBpns, 0, size, null);
+      Arrays.fill(statuses, 0, size, null);
+      Arrays.fill(severities, 0, size, null);
+      size = 0;
+      lastLocation = -1;
+   }
+
+   private static void writeNullable(final DataOutputStream out, final String value) throws IOException {
+      out.writeBoolean(value != null);
+      if (value != null) {
+         out.writeUTF(value);
+      }
+   }
+
+   private static String readNullable(final DataInputStream in) throws IOException {
+      return in.readBoolean() ? in.readUTF() : null;
+   }
+
+   private static void writePostings(final DataOutputStream out, final Map<String, PostingList> index)
+         throws IOException {
+      out.writeInt(index.size());
+      for (final PostingList postings : index.values()) {
+         out.writeUTF(postings.getKey());
+         out.writeInt(postings.size());
+         for (int ordinal = postings.next(0); ordinal >= 0; ordinal = postings.next(ordinal + 1)) {
+            out.writeInt(ordinal);
+         }
+      }
+   }
+
+   private void readPostings(final DataInputStream in, final Map<String, PostingList> index) throws IOException {
+      final int keys = in.readInt();
+      for (int i = 0; i < keys; i++) {
+         final String key = in.readUTF();
+         final int count = in.readInt();
+         for (int j = 0; j < count; j++) {
+            final int ordinal = in.readInt();
+            if (ordinal < 0 || ordinal >= size) {
+               throw new IOException("Snapshot refers to unknown ordinal " + ordinal);
+            }
+            post(index, key, ordinal);
+         }
+      }
+   }
+
+   private void add(final StoredNotification stored, final QualityNotification notification) {
+      final String notificationId = stored.notificationId();
+      final NotificationStatus lifecycleStatus = lifecycle().getStatus(notificationId);
+      final String status = lifecycleStatus != null ? lifecycleStatus.name() : null;
+      final boolean received = stored.type() == NotificationEventType.RECEIVE;
+      final String senderBpn = received ? notification.getSenderBpn() : null;
+      final String severity = received ? notification.getSeverity() : null;
+      final String relatedNotificationId = received ? notification.getRelatedNotificationId() : null;
+      final List<String> catenaXIds = received ? notification.getAffectedCatenaXIds() : List.of();
+
+      lock.writeLock().lock();
+      try {
+         lastLocation = Math.max(lastLocation, stored.location());
+         final Integer existing = ordinals.get(notificationId);
+         final int ordinal = existing != null ? existing : newOrdinal(notificationId, stored.storedAt());
+         if (status != null && !status.equals(statuses[ordinal])) {
+            statuses[ordinal] = replace(byStatus, statuses[ordinal], status, ordinal);
+         }
+         if (!received || receiveLocations[ordinal] >= 0) {
+            return;
+         }
+         receiveLocations[ordinal] = stored.location();
+         if (severity != null) {
+            severities[ordinal] = replace(bySeverity, severities[ordinal], severity, ordinal);
+         }
+         if (senderBpn != null) {
+            senderBpns[ordinal] = post(bySenderBpn, senderBpn, ordinal);
+         }
+         if (relatedNotificationId != null) {
+            post(byRelatedNotificationId, relatedNotificationId, ordinal);
+         }
+         for (final String catenaXId : catenaXIds) {
+            post(byCatenaXId, catenaXId, ordinal);
+         }
+      } finally {
+         lock.writeLock().unlock();
+      }
+   }
+
+   private int newOrdinal(final String notificationId, final long storedAt) {
+      if (size == notificationIds.length) {
+         final int capacity = size + (size >> 1);
+         notificationIds = Arrays.copyOf(notificationIds, capacity);
+         senderBpns = Arrays.copyOf(senderBpns, capacity);
+         statuses = Arrays.copyOf(statuses, capacity);
+         severities = Arrays.copyOf(severities, capacity);
+         receivedAt = Arrays.copyOf(receivedAt, capacity);
+         receiveLocations = Arrays.copyOf(receiveLocations, capacity);
+      }
+      final int ordinal = size++;
+      ordinals.put(notificationId, ordinal);
+      notificationIds[ordinal] = notificationId;
+      // keep the times sorted for binary search, even if the clock goes back
+      receivedAt[ordinal] = ordinal > 0 ? Math.max(storedAt, receivedAt[ordinal - 1]) : storedAt;
+      receiveLocations[ordinal] = -1;
+      return ordinal;
+   }
+
+   /**
+    * Moves an ordinal to the bit set of a new value and returns the value to keep per ordinal. Status and severity
+    * are enumerations in the spec, so interning them keeps a single instance of each value.
+    */
+   private static String replace(final Map<String, BitSet> index, final String previous, final String value,
+         final int ordinal) {
+      if (previous != null) {
+         index.get(previous).clear(ordinal);
+      }
+      index.computeIfAbsent(value, key -> new BitSet()).set(ordinal);
+      return value.intern();
+   }
+
+   /**
+    * Adds an ordinal to the posting list of a value and returns the value instance shared by all its ordinals.
+    */
+   private static String post(final Map<String, PostingList> index, final String value, final int ordinal) {
+      final PostingList postings = index.computeIfAbsent(value, PostingList::new);
+      postings.add(ordinal);
+      return postings.getKey();
+   }
+
+   private List<OrdinalSet> criteria(final NotificationQuery query) {
+      final List<OrdinalSet> criteria = new ArrayList<>(8);
+      criteria.add(timeRange(query));
+      if (query.notificationId() != null) {
+         final Integer ordinal = ordinals.get(query.notificationId());
+         criteria.add(ordinal != null ? OrdinalSet.range(ordinal, ordinal + 1) : OrdinalSet.EMPTY);
+      }
+      if (query.relatedNotificationId() != null) {
+         criteria.add(postings(byRelatedNotificationId, query.relatedNotificationId()));
+      }
+      if (query.senderBpn() != null) {
+         criteria.add(postings(bySenderBpn, query.senderBpn()));
+      }
+      if (query.catenaXId() != null) {
+         criteria.add(postings(byCatenaXId, query.catenaXId()));
+      }
+      if (query.status() != null) {
+         final NotificationStatus status = NotificationStatus.fromValue(query.status());
+         criteria.add(status != null ? bits(byStatus, status.name()) : OrdinalSet.EMPTY);
+      }
+      if (query.severity() != null) {
+         criteria.add(bits(bySeverity, query.severity()));
+      }
+      return criteria;
+   }
+
+   private OrdinalSet timeRange(final NotificationQuery query) {
+      final int from = query.receivedFrom() != null ? firstReceivedAtOrAfter(query.receivedFrom().toEpochMilli()) : 0;
+      final int to = query.receivedTo() != null ? firstReceivedAtOrAfter(query.receivedTo().toEpochMilli()) : size;
+      return OrdinalSet.range(from, to);
+   }
+
+   private int firstReceivedAtOrAfter(final long epochMillis) {
+      int low = 0;
+      int high = size;
+      while (low < high) {
+         final int middle = (low + high) >>> 1;
+         if (receivedAt[middle] < epochMillis) {
+            low = middle + 1;
+         } else {
+            high = middle;
+         }
+      }
+      return low;
+   }
+
+   private static OrdinalSet postings(final Map<String, PostingList> index, final String value) {
+      final PostingList postings = index.get(value);
+      return postings != null ? postings : OrdinalSet.EMPTY;
+   }
+
+   private static OrdinalSet bits(final Map<String, BitSet> index, final String value) {
+      final BitSet bits = index.get(value);
+      return bits != null ? OrdinalSet.of(bits) : OrdinalSet.EMPTY;
+   }
+
+   private static boolean matchesAll(final List<OrdinalSet> criteria, final OrdinalSet driver, final int ordinal) {
+      for (final OrdinalSet criterion : criteria) {
+         if (criterion != driver && !criterion.contains(ordinal)) {
+            return false;
+         }
+      }
+      return true;
+   }
+
+   private NotificationSummary summary(final int ordinal) {
+      return new NotificationSummary(notificationIds[ordinal], senderBpns[ordinal], statuses[ordinal],
+            severities[ordinal], receivedAt[ordinal], receiveLocations[ordinal]);
+   }
+
+   private static int parseCursor(final String cursor) {
+      if (cursor == null || cursor.isEmpty()) {
+         return 0;
+      }
+      try {
+         final int ordinal = Integer.parseInt(cursor);
+         if (ordinal < 0) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+         }
+         return ordinal;
+      } catch (final NumberFormatException e) {
+         throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+      }
+   }
+}
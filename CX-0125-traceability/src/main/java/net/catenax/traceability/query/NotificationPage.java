@@ -0,0 +1,12 @@
+package net.catenax.traceability.query;
+
+import java.util.List;
+
+/**
+ * One page of query results in store order.
+ *
+ * @param notifications the matching notifications
+ * @param nextCursor    cursor to get the next page with, null if this is the last page
+ */
+public record NotificationPage(List<NotificationSummary> notifications, String nextCursor) {
+}
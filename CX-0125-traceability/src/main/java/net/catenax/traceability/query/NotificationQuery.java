@@ -0,0 +1,20 @@
+package net.catenax.traceability.query;
+
+import java.time.Instant;
+
+/**
+ * Criteria of a notification query. Criteria that are null are not applied, all others must match.
+ *
+ * @param notificationId        the notification ID
+ * @param relatedNotificationId the ID of the notification the notifications refer to
+ * @param senderBpn             the BPN of the sending partner
+ * @param status                the current lifecycle status, e.g. ACKNOWLEDGED
+ * @param severity              the severity
+ * @param catenaXId             the catenaXId of an affected part
+ * @param receivedFrom          earliest time the notification was first stored, inclusive
+ * @param receivedTo            latest time the notification was first stored, exclusive
+ */
+public record NotificationQuery(String notificationId, String relatedNotificationId, String senderBpn,
+                                String status, String severity, String catenaXId, Instant receivedFrom,
+                                Instant receivedTo) {
+}
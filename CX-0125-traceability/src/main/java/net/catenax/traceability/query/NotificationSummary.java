@@ -0,0 +1,15 @@
+package net.catenax.traceability.query;
+
+/**
+ * Indexed state of a stored notification.
+ *
+ * @param notificationId  the notification ID
+ * @param senderBpn       the BPN of the sending partner, null if the notification was not received yet
+ * @param status          the lifecycle status, null if the notification was not received yet
+ * @param severity        the severity, null if unknown
+ * @param receivedAt      epoch milliseconds at which the first event of the notification was stored
+ * @param receiveLocation store location of the received notification, -1 if only updates were stored so far
+ */
+public record NotificationSummary(String notificationId, String senderBpn, String status, String severity,
+                                  long receivedAt, long receiveLocation) {
+}
@@ -0,0 +1,82 @@
+package net.catenax.traceability.query;
+
+import java.util.BitSet;
+
+/**
+ * Set of notification ordinals matching one query criterion.
+ * A query iterates the smallest set of its criteria and checks the other sets per ordinal, so no criterion needs
+ * to be materialized.
+ * <br/><br/>
+ * <small>
+ * Copyright (c) 2025, doubleSlash Net-Business GmbH, http://www.doubleslash.de
+ * <br/><br/>
+ * </small>
+ *
+ * @author emanuel.schaeffer@doubleslash.de
+ */
+interface OrdinalSet {
+
+   OrdinalSet EMPTY = range(0, 0);
+
+   /**
+    * Gets the smallest ordinal in the set that is greater than or equal to the given one.
+    *
+    * @return the ordinal, or -1 if there is none
+    */
+   int next(int fromOrdinal);
+
+   /**
+    * Checks whether the set contains the given ordinal.
+    */
+   boolean contains(int ordinal);
+
+   /**
+    * Gets the number of ordinals in the set, used to pick the cheapest set to iterate.
+    */
+   int size();
+
+   /**
+    * Gets the ordinals from {@code fromOrdinal} inclusive to {@code toOrdinal} exclusive.
+    */
+   static OrdinalSet range(final int fromOrdinal, final int toOrdinal) {
+      return new OrdinalSet() {
+         @Override
+         public int next(final int ordinal) {
+            final int next = Math.max(ordinal, fromOrdinal);
+            return next < toOrdinal ? next : -1;
+         }
+
+         @Override
+         public boolean contains(final int ordinal) {
+            return ordinal >= fromOrdinal && ordinal < toOrdinal;
+         }
+
+         @Override
+         public int size() {
+            return Math.max(0, toOrdinal - fromOrdinal);
+         }
+      };
+   }
+
+   /**
+    * Gets a view of the set bits of a bit set.
+    */
+   static OrdinalSet of(final BitSet bits) {
+      return new OrdinalSet() {
+         @Override
+         public int next(final int ordinal) {
+            return bits.nextSetBit(ordinal);
+         }
+
+         @Override
+         public boolean contains(final int ordinal) {
+            return bits.get(ordinal);
+         }
+
+         @Override
+         public int size() {
+            return bits.cardinality();
+         }
+      };
+   }
+}
@@ -0,0 +1,71 @@
+package net.catenax.traceability.query;
+
+import java.util.Arrays;
+
+/**
+ * Sorted, duplicate-free list of the ordinals of all notifications with a certain field value.
+ * Ordinals are usually added in ascending order, which only appends; older ordinals are inserted in place.
+ * <br/><br/>
+ * <small>
+ * Copyright (c) 2025, doubleSlash Net-Business GmbH, http://www.doubleslash.de
+ * <br/><br/>
+ * </small>
+ *
+ * @author emanuel.schaeffer@doubleslash.de
+ */
+final class PostingList implements OrdinalSet {
+   private final String key;
+   private int[] ordinals = new int[2];
+   private int size;
+
+   PostingList(final String key) {
+      this.key = key;
+   }
+
+   /**
+    * Gets the field value of the listed notifications.
+    */
+   String getKey() {
+      return key;
+   }
+
+   void add(final int ordinal) {
+      if (size > 0 && ordinals[size - 1] >= ordinal) {
+         final int position = Arrays.binarySearch(ordinals, 0, size, ordinal);
+         if (position >= 0) {
+            return;
+         }
+         insert(-position - 1, ordinal);
+         return;
+      }
+      insert(size, ordinal);
+   }
+
+   @Override
+   public int next(final int fromOrdinal) {
+      if (size == 0 || ordinals[size - 1] < fromOrdinal) {
+         return -1;
+      }
+      final int position = Arrays.binarySearch(ordinals, 0, size, fromOrdinal);
+      return ordinals[position >= 0 ? position : -position - 1];
+   }
+
+   @Override
+   public boolean contains(final int ordinal) {
+      return Arrays.binarySearch(ordinals, 0, size, ordinal) >= 0;
+   }
+
+   @Override
+   public int size() {
+      return size;
+   }
+
+   private void insert(final int position, final int ordinal) {
+      if (size == ordinals.length) {
+         ordinals = Arrays.copyOf(ordinals, size + (size >> 1) + 1);
+      }
+      System.arraycopy(ordinals, position, ordinals, position + 1, size - position);
+      ordinals[position] = ordinal;
+      size++;
+   }
+}
@@ -0,0 +1,57 @@
+package net.catenax.traceability.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Secret shared with the callers of an internal endpoint, e.g. the other cluster members, and presented by them in a
+ * request header. Presented values are compared in constant time, so the secret cannot be guessed from response
+ * times. An unset secret matches nothing, so an endpoint protected by it is closed until the secret is configured.
+ * <br/><br/>
+ * <small>
+ * Copyright (c) 2025, doubleSlash Net-Business GmbH, http://www.doubleslash.de
+ * <br/><br/>
+ * </small>
+ *
+ * @author emanuel.schaeffer@doubleslash.de
+ */
+public final class SharedSecret {
+   private final byte[] secret;
+
+   /**
+    * @param secret the secret, null or blank if none is configured
+    */
+   public SharedSecret(final String secret) {
+      this.secret = secret == null || secret.isBlank() ? null : secret.getBytes(StandardCharsets.UTF_8);
+   }
+
+   /**
+    * Checks whether a secret is configured.
+    */
+   public boolean isConfigured() {
+      return secret != null;
+   }
+
+   /**
+    * Checks whether a presented value is the secret.
+    *
+    * @param presented the value of the request header, null if the request has none
+    * @return true if a secret is configured and the value matches it
+    */
+   public boolean matches(final String presented) {
+      return secret != null && presented != null
+             && MessageDigest.isEqual(secret, presented.getBytes(StandardCharsets.UTF_8));
+   }
+
+   /**
+    * Gets the secret to present to another member.
+    */
+   public String value() {
+      return secret != null ? new String(secret, StandardCharsets.UTF_8) : "";
+   }
+
+   @Override
+   public String toString() {
+      return isConfigured() ? "SharedSecret[****]" : "SharedSecret[unset]";
+   }
+}
@@ -0,0 +1,34 @@
+package net.catenax.traceability.statistics;
+
+import net.catenax.traceability.notification.QualityNotification;
+
+import java.util.Locale;
+
+/**
+ * Kind of a quality notification, counted separately in the statistics.
+ * <br/><br/>
+ * <small>
+ * Copyright (c) 2025, doubleSlash Net-Business GmbH, http://www.doubleslash.de
+ * <br/><br/>
+ * </small>
+ *
+ * @author emanuel.schaeffer@doubleslash.de
+ */
+public enum NotificationKind {
+   INVESTIGATION,
+   ALERT;
+
+   private static final String CONTEXT = "/header/context";
+   private static final String CLASSIFICATION = "/content/classification";
+
+   /**
+    * Gets the kind of a received notification. Notifications whose header context or classification names an alert
+    * are alerts, all others investigations.
+    */
+   public static NotificationKind of(final QualityNotification notification) {
+      final String context = notification.getTree().at(CONTEXT).asText("");
+      final String classification = notification.getTree().at(CLASSIFICATION).asText("");
+      return context.toLowerCase(Locale.ROOT).contains("alert")
+             || classification.toLowerCase(Locale.ROOT).contains("alert") ? ALERT : INVESTIGATION;
+   }
+}
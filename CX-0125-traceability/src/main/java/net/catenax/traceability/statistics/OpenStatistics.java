@@ -0,0 +1,15 @@
+package net.catenax.traceability.statistics;
+
+import java.util.Map;
+
+/**
+ * Open notifications by kind, rolled up by one dimension.
+ *
+ * @param dimension the dimension
+ * @param totals    open notifications per kind
+ * @param open      open notifications per kind and value of the dimension, most first, possibly limited to the
+ *                  values with the most open notifications
+ */
+public record OpenStatistics(StatisticsDimension dimension, Map<NotificationKind, Long> totals,
+                             Map<NotificationKind, Map<String, Long>> open) {
+}
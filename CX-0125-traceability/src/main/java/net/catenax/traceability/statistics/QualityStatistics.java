@@ -0,0 +1,338 @@
+package net.catenax.traceability.statistics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.catenax.traceability.lifecycle.NotificationStatus;
+import net.catenax.traceability.notification.QualityNotification;
+import net.catenax.traceability.pipeline.NotificationListener;
+import net.catenax.traceability.store.NotificationEventType;
+import net.catenax.traceability.store.NotificationStore;
+import net.catenax.traceability.store.StoredNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Quality statistics rolled up incrementally as notifications are stored: how many investigations and alerts are
+ * open, and how many were opened and closed over time, by severity, supplier and affected part.
+ * <p>
+ * Every accepted notification updates a few {@link LongAdder} counters instead of being scanned later, so reading
+ * the statistics costs the same however many notifications were received. Open notifications are counted per kind,
+ * dimension and value; notifications opened and closed are counted in a ring of {@code app.statistics.buckets} time
+ * buckets of {@code app.statistics.bucket-size}, and a bucket is reused once it is older than the ring. The number of
+ * distinct values per dimension is bounded by {@code app.statistics.max-values}, further values are counted as
+ * {@value #OTHER}.
+ * <p>
+ * A notification is open from being received until it is closed or canceled. To count it only once, also when it is
+ * redelivered, the kind and dimension values of every notification are remembered until it is closed, and closed
+ * notifications keep a marker for as long as the ring covers, after which a redelivery would no longer show up in
+ * the buckets anyway. The statistics are rebuilt from the {@link NotificationStore} on startup and kept up to date as
+ * a {@link NotificationListener} of the pipeline, whose single worker is the only writer.
+ * <br/><br/>
+ * <small>
+ * Copyright (c) 2025, doubleSlash Net-Business GmbH, http://www.doubleslash.de
+ * <br/><br/>
+ * </small>
+ *
+ * @author emanuel.schaeffer@doubleslash.de
+ */
+@Component
+public class QualityStatistics implements NotificationListener {
+   private static final Logger log = LoggerFactory.getLogger(QualityStatistics.class);
+   private static final String METRIC = "traceability.statistics";
+   private static final String TOTAL = "total";
+   private static final String UNKNOWN = "unknown";
+   private static final String OTHER = "other";
+   private static final NotificationKind[] KINDS = NotificationKind.values();
+   private static final StatisticsDimension[] DIMENSIONS = StatisticsDimension.values();
+
+   private final long bucketMillis;
+   private final int maxValues;
+   private final AtomicReferenceArray<Window> windows;
+   private final Map<String, LongAdder>[][] open;
+   private final Map<String, Tracked> notifications = new HashMap<>();
+   /**
+    * Markers of closed notifications, so a redelivery does not open them again, in the order they were closed.
+    */
+   private final Map<String, Closed> closed = new LinkedHashMap<>();
+   private final MeterRegistry meterRegistry;
+
+   @SuppressWarnings("unchecked")
+   public QualityStatistics(final NotificationStore notificationStore,
+         @Value("${app.statistics.bucket-size:PT1H}") final Duration bucketSize,
+         @Value("${app.statistics.buckets:168}") final int buckets,
+         @Value("${app.statistics.max-values:10000}") final int maxValues, final MeterRegistry meterRegistry) {
+      this.bucketMillis = Math.max(1, bucketSize.toMillis());
+      this.maxValues = maxValues;
+      this.windows = new AtomicReferenceArray<>(Math.max(1, buckets));
+      this.meterRegistry = meterRegistry;
+      this.open = new Map[KINDS.length][DIMENSIONS.length];
+      for (final NotificationKind kind : KINDS) {
+         for (final StatisticsDimension dimension : DIMENSIONS) {
+            open[kind.ordinal()][dimension.ordinal()] = new ConcurrentHashMap<>();
+         }
+      }
+
+      final long start = System.nanoTime();
+      notificationStore.replay(stored -> add(stored, QualityNotification.of(stored.payload())));
+      log.info("Rolled up statistics of {} open and {} recently closed notifications ({} ms)", notifications.size(),
+            closed.size(), (System.nanoTime() - start) / 1_000_000);
+   }
+
+   @Override
+   public void onStored(final StoredNotification stored, final QualityNotification notification) {
+      add(stored, notification);
+   }
+
+   /**
+    * Gets the open notifications rolled up by a dimension.
+    *
+    * @param dimension the dimension
+    * @param top       the maximum number of values per kind, those with the most open notifications
+    */
+   public OpenStatistics open(final StatisticsDimension dimension, final int top) {
+      final Map<NotificationKind, Long> totals = new EnumMap<>(NotificationKind.class);
+      final Map<NotificationKind, Map<String, Long>> byValue = new EnumMap<>(NotificationKind.class);
+      for (final NotificationKind kind : KINDS) {
+         totals.put(kind, openCount(kind, StatisticsDimension.TOTAL, TOTAL));
+         final List<Map.Entry<String, Long>> values = new ArrayList<>();
+         open[kind.ordinal()][dimension.ordinal()].forEach((value, counter) -> {
+            final long count = counter.sum();
+            if (count > 0) {
+               values.add(Map.entry(value, count));
+            }
+         });
+         values.sort(Map.Entry.<String, Long>comparingByValue().reversed());
+         final Map<String, Long> topValues = new LinkedHashMap<>();
+         for (final Map.Entry<String, Long> entry : values.subList(0, Math.min(top, values.size()))) {
+            topValues.put(entry.getKey(), entry.getValue());
+         }
+         byValue.put(kind, topValues);
+      }
+      return new OpenStatistics(dimension, totals, byValue);
+   }
+
+   /**
+    * Gets the notifications of one kind and value of a dimension opened, closed and open over all time buckets.
+    *
+    * @param value the value of the dimension, ignored for {@link StatisticsDimension#TOTAL}
+    */
+   public StatisticsSeries series(final NotificationKind kind, final StatisticsDimension dimension,
+         final String value) {
+      final String key = dimension == StatisticsDimension.TOTAL ? TOTAL : value;
+      final long currentBucket = System.currentTimeMillis() / bucketMillis;
+      final List<StatisticsSeries.Bucket> buckets = new ArrayList<>(windows.length());
+      long openAtEnd = openCount(kind, dimension, key);
+      for (long bucket = currentBucket; bucket > currentBucket - windows.length() && bucket >= 0; bucket--) {
+         final Window window = windows.get((int) (bucket % windows.length()));
+         final Counts counts = window != null && window.bucket == bucket ? window.counts(kind, dimension, key) : null;
+         final long opened = counts != null ? counts.opened.sum() : 0;
+         final long closed = counts != null ? counts.closed.sum() : 0;
+         buckets.add(new StatisticsSeries.Bucket(bucket * bucketMillis, opened, closed, openAtEnd));
+         openAtEnd = openAtEnd - opened + closed;
+      }
+      Collections.reverse(buckets);
+      return new StatisticsSeries(kind, dimension, key, bucketMillis, buckets);
+   }
+
+   private long openCount(final NotificationKind kind, final StatisticsDimension dimension, final String value) {
+      final LongAdder counter = open[kind.ordinal()][dimension.ordinal()].get(value);
+      return counter != null ? counter.sum() : 0;
+   }
+
+   private void add(final StoredNotification stored, final QualityNotification notification) {
+      final String notificationId = stored.notificationId();
+      final Closed marker = closed.get(notificationId);
+      if (stored.type() == NotificationEventType.RECEIVE) {
+         if (notifications.containsKey(notificationId) || marker != null && !marker.beforeReceived()) {
+            return;
+         }
+         final Tracked opened = track(notification);
+         count(opened, stored.storedAt(), 1);
+         if (marker != null) {
+            count(opened, stored.storedAt(), -1);
+            close(notificationId, stored.storedAt(), false);
+         } else {
+            notifications.put(notificationId, opened);
+         }
+         return;
+      }
+
+      final NotificationStatus status = NotificationStatus.fromValue(notification.getStatus());
+      if (status == null || !status.isFinal() || marker != null) {
+         return;
+      }
+      final Tracked tracked = notifications.remove(notificationId);
+      if (tracked != null) {
+         count(tracked, stored.storedAt(), -1);
+      }
+      close(notificationId, stored.storedAt(), tracked == null);
+   }
+
+   /**
+    * Marks a notification as closed and evicts the markers of notifications closed before the ring.
+    *
+    * @param beforeReceived whether the notification was closed by an update stored before the notification itself
+    */
+   private void close(final String notificationId, final long at, final boolean beforeReceived) {
+      closed.remove(notificationId);
+      closed.put(notificationId, new Closed(at, beforeReceived));
+      final long horizon = at - windows.length() * bucketMillis;
+      final Iterator<Closed> oldest = closed.values().iterator();
+      while (oldest.hasNext() && oldest.next().closedAt() < horizon) {
+         oldest.remove();
+      }
+   }
+
+   /**
+    * Resolves the kind and the values of every dimension of a received notification.
+    */
+   private Tracked track(final QualityNotification notification) {
+      final NotificationKind kind = NotificationKind.of(notification);
+      final String[][] values = new String[DIMENSIONS.length][];
+      values[StatisticsDimension.TOTAL.ordinal()] = new String[] {TOTAL};
+      values[StatisticsDimension.SEVERITY.ordinal()] = new String[] {
+            value(kind, StatisticsDimension.SEVERITY, notification.getSeverity())};
+      values[StatisticsDimension.SUPPLIER.ordinal()] = new String[] {
+            value(kind, StatisticsDimension.SUPPLIER, notification.getSenderBpn())};
+      final Set<String> parts = new LinkedHashSet<>();
+      for (final String catenaXId : notification.getAffectedCatenaXIds()) {
+         parts.add(value(kind, StatisticsDimension.PART, catenaXId));
+      }
+      values[StatisticsDimension.PART.ordinal()] = parts.toArray(String[]::new);
+      return new Tracked(kind, values);
+   }
+
+   /**
+    * Gets the value to count under, {@value #OTHER} once the dimension has too many distinct values.
+    */
+   private String value(final NotificationKind kind, final StatisticsDimension dimension, final String value) {
+      final String key = value != null ? value : UNKNOWN;
+      final Map<String, LongAdder> counters = open[kind.ordinal()][dimension.ordinal()];
+      return counters.containsKey(key) || counters.size() < maxValues ? key : OTHER;
+   }
+
+   /**
+    * Counts a notification as opened ({@code delta} 1) or closed ({@code delta} -1) at the given time.
+    */
+   private void count(final Tracked tracked, final long at, final int delta) {
+      final Window window = window(at / bucketMillis);
+      for (final StatisticsDimension dimension : DIMENSIONS) {
+         for (final String value : tracked.values[dimension.ordinal()]) {
+            open[tracked.kind.ordinal()][dimension.ordinal()]
+                  .computeIfAbsent(value, key -> newOpenCounter(tracked.kind, dimension, key))
+                  .add(delta);
+            if (window != null) {
+               final Counts counts = window.countsFor(tracked.kind, dimension, value);
+               (delta > 0 ? counts.opened : counts.closed).increment();
+            }
+         }
+      }
+   }
+
+   /**
+    * Creates the counter of open notifications for a new value, exported as gauge for the totals and severities.
+    */
+   private LongAdder newOpenCounter(final NotificationKind kind, final StatisticsDimension dimension,
+         final String value) {
+      final LongAdder counter = new LongAdder();
+      if (dimension == StatisticsDimension.TOTAL || dimension == StatisticsDimension.SEVERITY) {
+         Gauge.builder(METRIC + ".open", counter, LongAdder::sum)
+              .description("Open quality notifications")
+              .tag("kind", kind.name().toLowerCase(Locale.ROOT))
+              .tag("severity", dimension == StatisticsDimension.TOTAL ? "all" : value)
+              .register(meterRegistry);
+      }
+      return counter;
+   }
+
+   /**
+    * Gets the window of a time bucket, replacing the window of a bucket that left the ring.
+    *
+    * @return the window, or null if the bucket is older than the ring
+    */
+   private Window window(final long bucket) {
+      final int slot = (int) (bucket % windows.length());
+      final Window window = windows.get(slot);
+      if (window != null && window.bucket == bucket) {
+         return window;
+      }
+      if (window != null && window.bucket > bucket) {
+         return null;
+      }
+      final long currentBucket = System.currentTimeMillis() / bucketMillis;
+      if (bucket <= currentBucket - windows.length()) {
+         return null;
+      }
+      final Window replacement = new Window(bucket);
+      windows.set(slot, replacement);
+      return replacement;
+   }
+
+   /**
+    * Kind and dimension values of an open notification.
+    */
+   private record Tracked(NotificationKind kind, String[][] values) {
+   }
+
+   /**
+    * Marker of a closed notification.
+    *
+    * @param closedAt       epoch milliseconds at which the closing update was stored
+    * @param beforeReceived whether the update was stored before the notification itself
+    */
+   private record Closed(long closedAt, boolean beforeReceived) {
+   }
+
+   /**
+    * Notifications opened and closed within a time bucket.
+    */
+   private static final class Counts {
+      private final LongAdder opened = new LongAdder();
+      private final LongAdder closed = new LongAdder();
+   }
+
+   /**
+    * Counts of one time bucket per kind, dimension and value.
+    */
+   private static final class Window {
+      private final long bucket;
+      private final Map<String, Counts>[][] counts;
+
+      @SuppressWarnings("unchecked")
+      Window(final long bucket) {
+         this.bucket = bucket;
+         this.counts = new Map[KINDS.length][DIMENSIONS.length];
+         for (final NotificationKind kind : KINDS) {
+            for (final StatisticsDimension dimension : DIMENSIONS) {
+               counts[kind.ordinal()][dimension.ordinal()] = new ConcurrentHashMap<>();
+            }
+         }
+      }
+
+      Counts counts(final NotificationKind kind, final StatisticsDimension dimension, final String value) {
+         return counts[kind.ordinal()][dimension.ordinal()].get(value);
+      }
+
+      Counts countsFor(final NotificationKind kind, final StatisticsDimension dimension, final String value) {
+         return counts[kind.ordinal()][dimension.ordinal()].computeIfAbsent(value, key -> new Counts());
+      }
+   }
+}
@@ -0,0 +1,30 @@
+package net.catenax.traceability.statistics;
+
+/**
+ * Dimension the quality statistics are rolled up by.
+ * <br/><br/>
+ * <small>
+ * Copyright (c) 2025, doubleSlash Net-Business GmbH, http://www.doubleslash.de
+ * <br/><br/>
+ * </small>
+ *
+ * @author emanuel.schaeffer@doubleslash.de
+ */
+public enum StatisticsDimension {
+   /**
+    * All notifications of a kind, under the single value {@code total}.
+    */
+   TOTAL,
+   /**
+    * The notification severity, e.g. MINOR or CRITICAL.
+    */
+   SEVERITY,
+   /**
+    * The BPN of the sending supplier.
+    */
+   SUPPLIER,
+   /**
+    * The catenaXId of an affected part; a notification counts once for each of its parts.
+    */
+   PART
+}
@@ -0,0 +1,37 @@
+package net.catenax.traceability.statistics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint {@code /actuator/qualitystatistics} with the open investigations and alerts, by severity or by
+ * the dimension given as path segment.
+ * <br/><br/>
+ * <small>
+ * Copyright (c) 2025, doubleSlash Net-Business GmbH, http://www.doubleslash.de
+ * <br/><br/>
+ * </small>
+ *
+ * @author emanuel.schaeffer@doubleslash.de
+ */
+@Component
+@Endpoint(id = "qualitystatistics")
+@RequiredArgsConstructor
+public class StatisticsEndpoint {
+   private static final int TOP = 100;
+
+   private final QualityStatistics qualityStatistics;
+
+   @ReadOperation
+   public OpenStatistics open() {
+      return qualityStatistics.open(StatisticsDimension.SEVERITY, TOP);
+   }
+
+   @ReadOperation
+   public OpenStatistics open(@Selector final StatisticsDimension dimension) {
+      return qualityStatistics.open(dimension, TOP);
+   }
+}
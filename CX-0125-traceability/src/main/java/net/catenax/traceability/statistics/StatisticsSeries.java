@@ -0,0 +1,27 @@
+package net.catenax.traceability.statistics;
+
+import java.util.List;
+
+/**
+ * Notifications of one kind and value of a dimension over time.
+ *
+ * @param kind         the notification kind
+ * @param dimension    the dimension
+ * @param value        the value of the dimension
+ * @param bucketMillis length of each time bucket in milliseconds
+ * @param buckets      the time buckets, oldest first and ending with the current one
+ */
+public record StatisticsSeries(NotificationKind kind, StatisticsDimension dimension, String value, long bucketMillis,
+                               List<Bucket> buckets) {
+
+   /**
+    * Counts of one time bucket.
+    *
+    * @param start  epoch milliseconds at which the bucket starts
+    * @param opened notifications received within the bucket
+    * @param closed notifications closed or canceled within the bucket
+    * @param open   notifications open at the end of the bucket
+    */
+   public record Bucket(long start, long opened, long closed, long open) {
+   }
+}
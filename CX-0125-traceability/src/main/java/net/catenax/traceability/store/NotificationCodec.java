@@ -0,0 +1,487 @@
+package net.catenax.traceability.store;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Compact binary encoding of notification payloads.
+ * <p>
+ * The encoding mirrors the JSON document and is written while it is parsed. Field names and the values of fields
+ * that repeat across notifications (BPNs, status, severity, part IDs, ...) are replaced by {@link StringDictionary}
+ * IDs, integers and timestamps are stored as varints and UUIDs as 16 bytes. Other numbers keep their original text,
+ * e.g. {@code 1.50} or {@code 1e3}. Objects and arrays are prefixed with their encoded length, so a single field can
+ * be read by skipping over its siblings without decoding the document. Decoding produces the same JSON value that
+ * was encoded, only insignificant whitespace is not kept.
+ * <p>
+ * Layout: {@code [version][value]}, where a value is a tag byte followed by its data. Object entries are
+ * {@code [key][value]} with the key as varint {@code id << 1} or {@code length << 1 | 1} followed by UTF-8 bytes.
+ * <br/><br/>
+ * <small>
+ * Copyright (c) 2025, doubleSlash Net-Business GmbH, http://www.doubleslash.de
+ * <br/><br/>
+ * </small>
+ *
+ * @author emanuel.schaeffer@doubleslash.de
+ */
+final class NotificationCodec {
+   private static final byte VERSION = 1;
+
+   private static final byte NULL = 0;
+   private static final byte FALSE = 1;
+   private static final byte TRUE = 2;
+   private static final byte INTEGER = 3;
+   private static final byte NUMBER = 4;
+   private static final byte STRING = 5;
+   private static final byte STRING_REF = 6;
+   private static final byte TIMESTAMP = 7;
+   private static final byte UUID_VALUE = 8;
+   private static final byte URN_UUID = 9;
+   private static final byte OBJECT = 10;
+   private static final byte ARRAY = 11;
+
+   private static final String URN_UUID_PREFIX = "urn:uuid:";
+   private static final int UUID_LENGTH = 36;
+   private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+   /**
+    * Fields whose values are taken from the dictionary, all other strings are stored inline.
+    */
+   private static final Set<String> DICTIONARY_FIELDS = Set.of("context", "version", "senderBpn", "receiverBpn",
+         "senderAddress", "receiverAddress", "status", "severity", "classification", "partId", "manufacturerPartId",
+         "customerPartId", "nameAtManufacturer", "nameAtCustomer", "manufacturerId");
+
+   private final StringDictionary dictionary;
+
+   NotificationCodec(final StringDictionary dictionary) {
+      this.dictionary = dictionary;
+   }
+
+   /**
+    * Encodes a notification.
+    *
+    * @param json the UTF-8 encoded JSON of the notification
+    */
+   byte[] encode(final byte[] json) {
+      final Output out = new Output(256);
+      out.write(VERSION);
+      try (final JsonParser parser = JSON_FACTORY.createParser(json)) {
+         parser.nextToken();
+         encodeValue(parser, null, out);
+      } catch (final IOException e) {
+         throw new UncheckedIOException("Could not encode notification", e);
+      }
+      return out.toByteArray();
+   }
+
+   /**
+    * Decodes an encoded notification into UTF-8 encoded JSON.
+    */
+   byte[] decode(final ByteBuffer encoded) {
+      final ByteBuffer in = encoded.duplicate();
+      checkVersion(in);
+      final ByteArrayOutputStream json = new ByteArrayOutputStream(in.remaining() * 3);
+      try (final JsonGenerator generator = JSON_FACTORY.createGenerator(json, JsonEncoding.UTF8)) {
+         decodeValue(in, generator);
+      } catch (final IOException e) {
+         throw new UncheckedIOException("Could not decode notification", e);
+      }
+      return json.toByteArray();
+   }
+
+   /**
+    * Reads a single scalar value without decoding the rest of the notification.
+    *
+    * @param pointer JSON pointer of the value, e.g. {@code /content/status}
+    * @return the value as text, or null if there is no scalar value at the pointer
+    */
+   String text(final ByteBuffer encoded, final String pointer) {
+      final ByteBuffer in = encoded.duplicate();
+      checkVersion(in);
+      if (!pointer.isEmpty()) {
+         for (final String segment : pointer.substring(1).split("/", -1)) {
+            if (!seek(in, segment.replace("~1", "/").replace("~0", "~"))) {
+               return null;
+            }
+         }
+      }
+      final byte tag = in.get();
+      return switch (tag) {
+         case FALSE -> "false";
+         case TRUE -> "true";
+         case INTEGER -> Long.toString(readZigZag(in));
+         case NUMBER, STRING -> readString(in);
+         case STRING_REF -> dictionary.get(readVarint(in));
+         case TIMESTAMP -> Instant.ofEpochMilli(readZigZag(in)).toString();
+         case UUID_VALUE -> readUuid(in).toString();
+         case URN_UUID -> URN_UUID_PREFIX + readUuid(in);
+         default -> null;
+      };
+   }
+
+   /**
+    * Encodes the value at the current token of the parser, leaving the parser at its last token.
+    */
+   private void encodeValue(final JsonParser parser, final String fieldName, final Output out) throws IOException {
+      final JsonToken token = parser.currentToken();
+      if (token == null) {
+         throw new IllegalArgumentException("Notification is not a complete JSON document");
+      }
+      switch (token) {
+         case START_OBJECT -> {
+            final Output entries = new Output(64);
+            int count = 0;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+               final String key = parser.currentName();
+               writeKey(key, entries);
+               parser.nextToken();
+               encodeValue(parser, key, entries);
+               count++;
+            }
+            writeContainer(OBJECT, count, entries, out);
+         }
+         case START_ARRAY -> {
+            final Output elements = new Output(64);
+            int count = 0;
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+               // elements inherit the field name, so e.g. a list of BPNs is dictionary encoded as well
+               encodeValue(parser, fieldName, elements);
+               count++;
+            }
+            writeContainer(ARRAY, count, elements, out);
+         }
+         case VALUE_STRING -> encodeString(parser.getText(), fieldName, out);
+         case VALUE_NUMBER_INT -> {
+            // -0 is the only integer text that does not come back from its value
+            if (parser.getNumberType() != JsonParser.NumberType.BIG_INTEGER && !"-0".equals(parser.getText())) {
+               out.write(INTEGER);
+               out.writeZigZag(parser.getLongValue());
+            } else {
+               out.write(NUMBER);
+               out.writeString(parser.getText());
+            }
+         }
+         case VALUE_NUMBER_FLOAT -> {
+            out.write(NUMBER);
+            out.writeString(parser.getText());
+         }
+         case VALUE_TRUE -> out.write(TRUE);
+         case VALUE_FALSE -> out.write(FALSE);
+         case VALUE_NULL -> out.write(NULL);
+         default -> throw new IllegalArgumentException("Unsupported JSON token " + token);
+      }
+   }
+
+   /**
+    * Writes an object or array as {@code [tag][length][count][entries]}, the length covering count and entries.
+    */
+   private static void writeContainer(final byte tag, final int count, final Output entries, final Output out) {
+      out.write(tag);
+      out.writeVarint(varintSize(count) + entries.size());
+      out.writeVarint(count);
+      out.write(entries);
+   }
+
+   private static int varintSize(long value) {
+      int size = 1;
+      while ((value & ~0x7FL) != 0) {
+         value >>>= 7;
+         size++;
+      }
+      return size;
+   }
+
+   private void encodeString(final String value, final String fieldName, final Output out) {
+      if (fieldName != null && DICTIONARY_FIELDS.contains(fieldName)) {
+         final int id = dictionary.idOf(value);
+         if (id != StringDictionary.NONE) {
+            out.write(STRING_REF);
+            out.writeVarint(id);
+            return;
+         }
+      }
+      final long timestamp = canonicalTimestamp(value);
+      if (timestamp != Long.MIN_VALUE) {
+         out.write(TIMESTAMP);
+         out.writeZigZag(timestamp);
+         return;
+      }
+      final boolean urn = value.startsWith(URN_UUID_PREFIX);
+      final UUID uuid = canonicalUuid(urn ? value.substring(URN_UUID_PREFIX.length()) : value);
+      if (uuid != null) {
+         out.write(urn ? URN_UUID : UUID_VALUE);
+         out.writeLong(uuid.getMostSignificantBits());
+         out.writeLong(uuid.getLeastSignificantBits());
+         return;
+      }
+      out.write(STRING);
+      out.writeString(value);
+   }
+
+   private void writeKey(final String key, final Output out) {
+      final int id = dictionary.idOf(key);
+      if (id != StringDictionary.NONE) {
+         out.writeVarint((long) id << 1);
+         return;
+      }
+      final byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+      out.writeVarint(((long) bytes.length << 1) | 1);
+      out.write(bytes);
+   }
+
+   private void decodeValue(final ByteBuffer in, final JsonGenerator generator) throws IOException {
+      final byte tag = in.get();
+      switch (tag) {
+         case NULL -> generator.writeNull();
+         case FALSE -> generator.writeBoolean(false);
+         case TRUE -> generator.writeBoolean(true);
+         case INTEGER -> generator.writeNumber(readZigZag(in));
+         case NUMBER -> generator.writeNumber(readString(in));
+         case STRING -> generator.writeString(readString(in));
+         case STRING_REF -> generator.writeString(dictionary.get(readVarint(in)));
+         case TIMESTAMP -> generator.writeString(Instant.ofEpochMilli(readZigZag(in)).toString());
+         case UUID_VALUE -> generator.writeString(readUuid(in).toString());
+         case URN_UUID -> generator.writeString(URN_UUID_PREFIX + readUuid(in));
+         case OBJECT -> {
+            readVarint(in);
+            final int count = readVarint(in);
+            generator.writeStartObject();
+            for (int i = 0; i < count; i++) {
+               generator.writeFieldName(readKey(in));
+               decodeValue(in, generator);
+            }
+            generator.writeEndObject();
+         }
+         case ARRAY -> {
+            readVarint(in);
+            final int count = readVarint(in);
+            generator.writeStartArray();
+            for (int i = 0; i < count; i++) {
+               decodeValue(in, generator);
+            }
+            generator.writeEndArray();
+         }
+         default -> throw new IllegalStateException("Unknown tag " + tag + " in encoded notification");
+      }
+   }
+
+   /**
+    * Moves the buffer from the start of a container to the value of the given field or index.
+    *
+    * @return false if there is no such value
+    */
+   private boolean seek(final ByteBuffer in, final String segment) {
+      final byte tag = in.get();
+      if (tag == OBJECT) {
+         readVarint(in);
+         final int count = readVarint(in);
+         for (int i = 0; i < count; i++) {
+            if (readKey(in).equals(segment)) {
+               return true;
+            }
+            skip(in);
+         }
+         return false;
+      }
+      if (tag == ARRAY) {
+         readVarint(in);
+         final int count = readVarint(in);
+         final int index;
+         try {
+            index = Integer.parseInt(segment);
+         } catch (final NumberFormatException e) {
+            return false;
+         }
+         if (index < 0 || index >= count) {
+            return false;
+         }
+         for (int i = 0; i < index; i++) {
+            skip(in);
+         }
+         return true;
+      }
+      return false;
+   }
+
+   private static void skip(final ByteBuffer in) {
+      final byte tag = in.get();
+      switch (tag) {
+         case NULL, FALSE, TRUE -> {
+         }
+         case INTEGER, TIMESTAMP, STRING_REF -> readVarint64(in);
+         case UUID_VALUE, URN_UUID -> in.position(in.position() + 16);
+         case NUMBER, STRING, OBJECT, ARRAY -> {
+            final int length = readVarint(in);
+            in.position(in.position() + length);
+         }
+         default -> throw new IllegalStateException("Unknown tag " + tag + " in encoded notification");
+      }
+   }
+
+   private String readKey(final ByteBuffer in) {
+      final long key = readVarint64(in);
+      if ((key & 1) == 0) {
+         return dictionary.get((int) (key >>> 1));
+      }
+      final byte[] bytes = new byte[(int) (key >>> 1)];
+      in.get(bytes);
+      return new String(bytes, StandardCharsets.UTF_8);
+   }
+
+   private static void checkVersion(final ByteBuffer in) {
+      final byte version = in.get();
+      if (version != VERSION) {
+         throw new IllegalStateException("Unsupported notification encoding version " + version);
+      }
+   }
+
+   /**
+    * Gets the epoch milliseconds of a timestamp that {@link Instant#toString()} reproduces exactly.
+    *
+    * @return the epoch milliseconds, or {@link Long#MIN_VALUE} if the value is no such timestamp
+    */
+   private static long canonicalTimestamp(final String value) {
+      if (value.length() < 20 || value.length() > 24 || value.charAt(10) != 'T' || !value.endsWith("Z")) {
+         return Long.MIN_VALUE;
+      }
+      try {
+         final Instant instant = Instant.parse(value);
+         if (instant.getNano() % 1_000_000 != 0 || !instant.toString().equals(value)) {
+            return Long.MIN_VALUE;
+         }
+         return instant.toEpochMilli();
+      } catch (final DateTimeParseException e) {
+         return Long.MIN_VALUE;
+      }
+   }
+
+   /**
+    * Gets the UUID of a value in the lower-case form {@link UUID#toString()} reproduces exactly.
+    *
+    * @return the UUID, or null if the value is no such UUID
+    */
+   private static UUID canonicalUuid(final String value) {
+      if (value.length() != UUID_LENGTH || value.charAt(8) != '-') {
+         return null;
+      }
+      try {
+         final UUID uuid = UUID.fromString(value);
+         return uuid.toString().equals(value) ? uuid : null;
+      } catch (final IllegalArgumentException e) {
+         return null;
+      }
+   }
+
+   private static UUID readUuid(final ByteBuffer in) {
+      return new UUID(in.getLong(), in.getLong());
+   }
+
+   private static String readString(final ByteBuffer in) {
+      final byte[] bytes = new byte[readVarint(in)];
+      in.get(bytes);
+      return new String(bytes, StandardCharsets.UTF_8);
+   }
+
+   private static long readZigZag(final ByteBuffer in) {
+      final long value = readVarint64(in);
+      return (value >>> 1) ^ -(value & 1);
+   }
+
+   private static int readVarint(final ByteBuffer in) {
+      return (int) readVarint64(in);
+   }
+
+   private static long readVarint64(final ByteBuffer in) {
+      long value = 0;
+      int shift = 0;
+      byte b;
+      do {
+         b = in.get();
+         value |= (long) (b & 0x7F) << shift;
+         shift += 7;
+      } while (b < 0);
+      return value;
+   }
+
+   /**
+    * Growable byte array with varint writers.
+    */
+   private static final class Output {
+      private byte[] bytes;
+      private int size;
+
+      Output(final int capacity) {
+         this.bytes = new byte[capacity];
+      }
+
+      void write(final byte value) {
+         ensure(1);
+         bytes[size++] = value;
+      }
+
+      void write(final byte[] values) {
+         ensure(values.length);
+         System.arraycopy(values, 0, bytes, size, values.length);
+         size += values.length;
+      }
+
+      void write(final Output other) {
+         ensure(other.size);
+         System.arraycopy(other.bytes, 0, bytes, size, other.size);
+         size += other.size;
+      }
+
+      void writeVarint(long value) {
+         ensure(10);
+         while ((value & ~0x7FL) != 0) {
+            bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+         }
+         bytes[size++] = (byte) value;
+      }
+
+      void writeZigZag(final long value) {
+         writeVarint((value << 1) ^ (value >> 63));
+      }
+
+      void writeLong(final long value) {
+         ensure(8);
+         for (int shift = 56; shift >= 0; shift -= 8) {
+            bytes[size++] = (byte) (value >>> shift);
+         }
+      }
+
+      void writeString(final String value) {
+         final byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+         writeVarint(utf8.length);
+         write(utf8);
+      }
+
+      int size() {
+         return size;
+      }
+
+      byte[] toByteArray() {
+         return Arrays.copyOf(bytes, size);
+      }
+
+      private void ensure(final int additional) {
+         if (size + additional > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + additional));
+         }
+      }
+   }
+}
@@ -0,0 +1,22 @@
+package net.catenax.traceability.store;
+
+/**
+ * Kind of quality notification event kept in the {@link NotificationStore}.
+ * <br/><br/>
+ * <small>
+ * Copyright (c) 2025, doubleSlash Net-Business GmbH, http://www.doubleslash.de
+ * <br/><br/>
+ * </small>
+ *
+ * @author emanuel.schaeffer@doubleslash.de
+ */
+public enum NotificationEventType {
+   /**
+    * A new notification accepted by the receive endpoint.
+    */
+   RECEIVE,
+   /**
+    * A status update accepted by the update endpoint.
+    */
+   UPDATE
+}
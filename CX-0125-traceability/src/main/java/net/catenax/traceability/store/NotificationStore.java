@@ -0,0 +1,330 @@
+package net.catenax.traceability.store;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import net.catenax.traceability.notification.QualityNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+/**
+ * Embedded, durable store for received quality notifications and their updates.
+ * <p>
+ * Events are appended to a memory-mapped {@link SegmentLog} and are on disk when {@link #append} returns.
+ * An in-memory index maps every notification ID to the locations of its events and is rebuilt from the
+ * log on startup, reading only the small per-event header.
+ * <p>
+ * Payloads are stored in the compact binary {@link NotificationCodec} encoding unless it is disabled, and are
+ * decoded back to JSON when read. Single fields can be read with {@link #readText} without decoding the payload.
+ * Events stored before the encoding was enabled are kept as raw JSON and stay readable.
+ * <br/><br/>
+ * <small>
+ * Copyright (c) 2025, doubleSlash Net-Business GmbH, http://www.doubleslash.de
+ * <br/><br/>
+ * </small>
+ *
+ * @author emanuel.schaeffer@doubleslash.de
+ */
+@Component
+public class NotificationStore {
+   private static final Logger log = LoggerFactory.getLogger(NotificationStore.class);
+
+   private static final NotificationEventType[] EVENT_TYPES = NotificationEventType.values();
+   private static final int EVENT_HEADER_SIZE = 1 + 8 + 2;
+   private static final int MAX_ID_LENGTH = 0xFFFF;
+   private static final int TYPE_MASK = 0x3F;
+   private static final int BINARY_PAYLOAD = 0x40;
+   private static final String DICTIONARY_FILE = "dictionary.dat";
+   private static final String PAYLOAD_METRIC = "traceability.store.payload.bytes";
+
+   private final Map<String, long[]> index = new ConcurrentHashMap<>();
+   private final SegmentLog segmentLog;
+   private final StringDictionary dictionary;
+   private final NotificationCodec codec;
+   private final boolean binaryEncoding;
+   private final Counter jsonBytes;
+   private final Counter storedBytes;
+
+   public NotificationStore(@Value("${app.store.directory}") final String directory,
+         @Value("${app.store.segment-size-bytes}") final int segmentSize,
+         @Value("${app.store.binary-encoding:true}") final boolean binaryEncoding,
+         @Value("${app.store.dictionary-max-size:1048576}") final int dictionaryMaxSize,
+         final MeterRegistry meterRegistry) throws IOException {
+      final long start = System.nanoTime();
+      this.segmentLog = SegmentLog.open(Path.of(directory), segmentSize,
+            (location, body) -> addToIndex(readNotificationId(body), location));
+      this.dictionary = StringDictionary.open(Path.of(directory, DICTIONARY_FILE), dictionaryMaxSize);
+      this.codec = new NotificationCodec(dictionary);
+      this.binaryEncoding = binaryEncoding;
+
+      this.jsonBytes = Counter.builder(PAYLOAD_METRIC)
+                              .description("Size of stored notification payloads")
+                              .tag("encoding", "json")
+                              .register(meterRegistry);
+      this.storedBytes = Counter.builder(PAYLOAD_METRIC)
+                                .description("Size of stored notification payloads")
+                                .tag("encoding", "stored")
+                                .register(meterRegistry);
+      Gauge.builder("traceability.store.dictionary.size", dictionary, StringDictionary::size)
+           .description("Strings in the notification store dictionary")
+           .register(meterRegistry);
+
+      log.info("Opened notification store in {} with {} notifications ({} ms)", directory, index.size(),
+            (System.nanoTime() - start) / 1_000_000);
+   }
+
+   /**
+    * Durably appends a notification event.
+    *
+    * @param type         whether the notification was received or is an update
+    * @param notification the validated notification
+    * @return the stored event
+    */
+   public StoredNotification append(final NotificationEventType type, final QualityNotification notification) {
+      return appendAll(type, List.of(notification)).get(0);
+   }
+
+   /**
+    * Durably appends several notification events of the same type with a single sync to disk.
+    *
+    * @param type          whether the notifications were received or are updates
+    * @param notifications the validated notifications
+    * @return the stored events in the given order
+    * @throws UncheckedIOException if the events could not be written, none of them is stored then
+    */
+   public List<StoredNotification> appendAll(final NotificationEventType type,
+         final List<QualityNotification> notifications) {
+      // encode everything first, so an invalid notification fails the batch before anything is written
+      final List<Event> events = new ArrayList<>(notifications.size());
+      for (final QualityNotification notification : notifications) {
+         events.add(encode(type, notification));
+      }
+      // the strings added to the dictionary while encoding are durable before any event refers to them
+      if (binaryEncoding) {
+         dictionary.sync();
+      }
+
+      // appended as a unit, so a failed batch leaves no events behind that recovery would bring back
+      final List<byte[]> bodies = new ArrayList<>(events.size());
+      for (final Event event : events) {
+         bodies.add(event.body());
+      }
+      final long[] locations;
+      try {
+         locations = segmentLog.appendAll(bodies);
+      } catch (final IOException e) {
+         throw new UncheckedIOException("Could not store " + events.size() + " notifications", e);
+      }
+      final List<StoredNotification> stored = new ArrayList<>(events.size());
+      for (int i = 0; i < events.size(); i++) {
+         final Event event = events.get(i);
+         stored.add(new StoredNotification(locations[i], event.type(), event.storedAt(), event.notificationId(),
+               event.payload()));
+      }
+      if (!stored.isEmpty()) {
+         segmentLog.sync(stored.get(stored.size() - 1).location());
+      }
+      for (final StoredNotification event : stored) {
+         addToIndex(event.notificationId(), event.location());
+      }
+      return stored;
+   }
+
+   private Event encode(final NotificationEventType type, final QualityNotification notification) {
+      final String notificationId = notification.getNotificationId();
+      if (notificationId == null) {
+         throw new IllegalArgumentException("Notification without notification or message ID");
+      }
+
+      final long storedAt = System.currentTimeMillis();
+      final byte[] id = notificationId.getBytes(StandardCharsets.UTF_8);
+      if (id.length > MAX_ID_LENGTH) {
+         throw new IllegalArgumentException("Notification ID exceeds " + MAX_ID_LENGTH + " bytes");
+      }
+      final byte[] payload = notification.getRaw();
+      final byte[] stored = binaryEncoding ? codec.encode(payload) : payload;
+      final ByteBuffer body = ByteBuffer.allocate(EVENT_HEADER_SIZE + id.length + stored.length)
+                                        .put((byte) (type.ordinal() | (binaryEncoding ? BINARY_PAYLOAD : 0)))
+                                        .putLong(storedAt)
+                                        .putShort((short) id.length)
+                                        .put(id)
+                                        .put(stored);
+      jsonBytes.increment(payload.length);
+      storedBytes.increment(stored.length);
+      return new Event(type, storedAt, notificationId, payload, body.array());
+   }
+
+   /**
+    * Finds all events of a notification in the order they were stored.
+    *
+    * @param notificationId the notification ID
+    * @return the stored events, empty if the notification is unknown
+    */
+   public List<StoredNotification> findByNotificationId(final String notificationId) {
+      final long[] locations = index.get(notificationId);
+      if (locations == null) {
+         return List.of();
+      }
+      final List<StoredNotification> events = new ArrayList<>(locations.length);
+      for (final long location : locations) {
+         events.add(read(location));
+      }
+      return events;
+   }
+
+   /**
+    * Reads the event stored at the given location.
+    */
+   public StoredNotification read(final long location) {
+      final ByteBuffer body = segmentLog.read(location);
+      final int typeAndFlags = body.get();
+      final NotificationEventType type = EVENT_TYPES[typeAndFlags & TYPE_MASK];
+      final long storedAt = body.getLong();
+      final byte[] id = new byte[Short.toUnsignedInt(body.getShort())];
+      body.get(id);
+      final byte[] payload;
+      if ((typeAndFlags & BINARY_PAYLOAD) != 0) {
+         payload = codec.decode(body);
+      } else {
+         payload = new byte[body.remaining()];
+         body.get(payload);
+      }
+      return new StoredNotification(location, type, storedAt, new String(id, StandardCharsets.UTF_8), payload);
+   }
+
+   /**
+    * Reads a single scalar field of the event stored at the given location, without decoding the whole payload.
+    *
+    * @param pointer JSON pointer of the field, e.g. {@link QualityNotification#STATUS}
+    * @return the field value as text, or null if there is no scalar value at the pointer
+    */
+   public String readText(final long location, final String pointer) {
+      final ByteBuffer body = segmentLog.read(location);
+      final int typeAndFlags = body.get(0);
+      body.position(EVENT_HEADER_SIZE + Short.toUnsignedInt(body.getShort(1 + 8)));
+      if ((typeAndFlags & BINARY_PAYLOAD) != 0) {
+         return codec.text(body, pointer);
+      }
+      final byte[] payload = new byte[body.remaining()];
+      body.get(payload);
+      final JsonNode node = QualityNotification.of(payload).getTree().at(pointer);
+      return node.isValueNode() && !node.isNull() ? node.asText() : null;
+   }
+
+   /**
+    * Gets the notification ID of the event stored at the given location.
+    */
+   public String readNotificationId(final long location) {
+      return readNotificationId(segmentLog.read(location));
+   }
+
+   /**
+    * Gets the epoch milliseconds at which the event at the given location was stored.
+    */
+   public long readStoredAt(final long location) {
+      return segmentLog.read(location).getLong(1);
+   }
+
+   /**
+    * Gets the type of the event stored at the given location.
+    */
+   public NotificationEventType readType(final long location) {
+      return EVENT_TYPES[segmentLog.read(location).get(0) & TYPE_MASK];
+   }
+
+   /**
+    * Reads all stored events in the order they were stored, e.g. to rebuild a derived index on startup.
+    * Events appended while replaying may or may not be included.
+    *
+    * @param consumer receives every event
+    */
+   public void replay(final Consumer<StoredNotification> consumer) {
+      replayLocations(location -> consumer.accept(read(location)));
+   }
+
+   /**
+    * Gets the locations of all stored events in the order they were stored, for replaying them without reading
+    * the full events. Events appended while replaying may or may not be included.
+    *
+    * @param consumer receives every location
+    */
+   public void replayLocations(final LongConsumer consumer) {
+      int count = 0;
+      for (final long[] locations : index.values()) {
+         count += locations.length;
+      }
+      long[] all = new long[count];
+      int size = 0;
+      for (final long[] locations : index.values()) {
+         if (size + locations.length > all.length) {
+            all = Arrays.copyOf(all, Math.max(all.length * 2, size + locations.length));
+         }
+         System.arraycopy(locations, 0, all, size, locations.length);
+         size += locations.length;
+      }
+      Arrays.sort(all, 0, size);
+      for (int i = 0; i < size; i++) {
+         consumer.accept(all[i]);
+      }
+   }
+
+   /**
+    * Gets the number of distinct notifications in the store.
+    */
+   public int size() {
+      return index.size();
+   }
+
+   @PreDestroy
+   public void close() {
+      segmentLog.close();
+      try {
+         dictionary.close();
+      } catch (final IOException e) {
+         log.warn("Could not close string dictionary: {}", e.getMessage());
+      }
+   }
+
+   private void addToIndex(final String notificationId, final long location) {
+      index.merge(notificationId, new long[] {location}, (existing, added) -> {
+         // concurrent appends for the same notification may arrive out of order, keep locations sorted
+         int insertAt = existing.length;
+         while (insertAt > 0 && existing[insertAt - 1] > added[0]) {
+            insertAt--;
+         }
+         final long[] merged = new long[existing.length + 1];
+         System.arraycopy(existing, 0, merged, 0, insertAt);
+         merged[insertAt] = added[0];
+         System.arraycopy(existing, insertAt, merged, insertAt + 1, existing.length - insertAt);
+         return merged;
+      });
+   }
+
+   private static String readNotificationId(final ByteBuffer body) {
+      final int idLength = Short.toUnsignedInt(body.getShort(1 + 8));
+      final byte[] id = new byte[idLength];
+      body.get(1 + 8 + 2, id);
+      return new String(id, StandardCharsets.UTF_8);
+   }
+
+   private record Event(NotificationEventType type, long storedAt, String notificationId, byte[] payload,
+                        byte[] body) {
+   }
+}
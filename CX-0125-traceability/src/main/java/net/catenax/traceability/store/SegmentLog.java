@@ -0,0 +1,289 @@
+package net.catenax.traceability.store;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only log of memory-mapped, fixed-size segment files.
+ * <p>
+ * Every entry is stored as {@code [int length][int crc32c][body]}. A zero length marks the end of the written
+ * data in a segment. Entries are addressed by a location that packs the segment number into the upper and the
+ * offset into the lower 32 bits, so locations grow monotonically with the append order.
+ * <p>
+ * Appends only copy into the mapped segment. Durability is established by {@link #sync(long)}, which uses group
+ * commit: the first caller forces everything appended so far, concurrent callers waiting for older locations
+ * return without forcing again. Locks are {@link ReentrantLock}s rather than monitors, so a virtual thread waiting
+ * for the disk does not pin its carrier thread.
+ * <br/><br/>
+ * <small>
+ * Copyright (c) 2025, doubleSlash Net-Business GmbH, http://www.doubleslash.de
+ * <br/><br/>
+ * </small>
+ *
+ * @author emanuel.schaeffer@doubleslash.de
+ */
+final class SegmentLog implements Closeable {
+   private static final Logger log = LoggerFactory.getLogger(SegmentLog.class);
+
+   static final int ENTRY_HEADER_SIZE = 8;
+
+   private static final String SEGMENT_PREFIX = "segment-";
+   private static final String SEGMENT_SUFFIX = ".log";
+
+   /**
+    * Receives every valid entry found while recovering the log.
+    */
+   @FunctionalInterface
+   interface EntryVisitor {
+      void visit(long location, ByteBuffer body);
+   }
+
+   private final Path directory;
+   private final int segmentSize;
+   private final List<MappedByteBuffer> segments = new CopyOnWriteArrayList<>();
+   private final ReentrantLock appendLock = new ReentrantLock();
+   private final ReentrantLock syncLock = new ReentrantLock();
+
+   private MappedByteBuffer current;
+   private int writeOffset;
+   private volatile long lastAppended = -1;
+   private volatile long durable = -1;
+
+   private SegmentLog(final Path directory, final int segmentSize) {
+      this.directory = directory;
+      this.segmentSize = segmentSize;
+   }
+
+   /**
+    * Opens the log in the given directory, handing every valid entry to the visitor in append order.
+    * A torn or corrupted tail of the last segment is discarded.
+    */
+   static SegmentLog open(final Path directory, final int segmentSize, final EntryVisitor visitor)
+         throws IOException {
+      Files.createDirectories(directory);
+      final SegmentLog segmentLog = new SegmentLog(directory, segmentSize);
+      segmentLog.recover(visitor);
+      return segmentLog;
+   }
+
+   /**
+    * Appends an entry. The entry is visible to {@link #read(long)} right away, but only durable after
+    * {@link #sync(long)} has been called with the returned location.
+    *
+    * @return the location of the entry
+    */
+   long append(final byte[] body) throws IOException {
+      final int entrySize = ENTRY_HEADER_SIZE + body.length;
+      if (entrySize > segmentSize) {
+         throw new IllegalArgumentException(
+               "Entry of " + body.length + " bytes exceeds segment size of " + segmentSize + " bytes");
+      }
+
+      final CRC32C crc = new CRC32C();
+      crc.update(body);
+
+      appendLock.lock();
+      try {
+         if (writeOffset + entrySize > segmentSize) {
+            current.force();
+            openSegment(segments.size(), StandardOpenOption.CREATE_NEW);
+         }
+
+         current.put(writeOffset + ENTRY_HEADER_SIZE, body);
+         current.putInt(writeOffset + 4, (int) crc.getValue());
+         current.putInt(writeOffset, body.length);
+
+         final long location = location(segments.size() - 1, writeOffset);
+         writeOffset += entrySize;
+         lastAppended = location;
+         return location;
+      } finally {
+         appendLock.unlock();
+      }
+   }
+
+   /**
+    * Appends several entries as a unit. If one of them cannot be appended, the entries of the batch appended before
+    * it are discarded again, so the log holds either all of them or none.
+    *
+    * @return the locations of the entries in the given order
+    */
+   long[] appendAll(final List<byte[]> bodies) throws IOException {
+      appendLock.lock();
+      try {
+         final long previous = lastAppended;
+         final long[] locations = new long[bodies.size()];
+         int appended = 0;
+         try {
+            for (final byte[] body : bodies) {
+               locations[appended] = append(body);
+               appended++;
+            }
+            return locations;
+         } catch (final IOException | RuntimeException e) {
+            discard(locations, appended, previous);
+            throw e;
+         }
+      } finally {
+         appendLock.unlock();
+      }
+   }
+
+   /**
+    * Blocks until the entry at the given location, and every entry before it, is on disk.
+    */
+   void sync(final long location) {
+      if (durable >= location) {
+         return;
+      }
+      syncLock.lock();
+      try {
+         if (durable >= location) {
+            return;
+         }
+         final long target = lastAppended;
+         segments.get(segmentOf(target)).force();
+         durable = target;
+      } finally {
+         syncLock.unlock();
+      }
+   }
+
+   /**
+    * Reads the body of the entry at the given location. The returned buffer is a read-only view into the segment.
+    */
+   ByteBuffer read(final long location) {
+      final MappedByteBuffer segment = segments.get(segmentOf(location));
+      final int offset = offsetOf(location);
+      final int length = segment.getInt(offset);
+      return segment.slice(offset + ENTRY_HEADER_SIZE, length).asReadOnlyBuffer();
+   }
+
+   @Override
+   public void close() {
+      syncLock.lock();
+      try {
+         if (current != null && lastAppended >= 0) {
+            current.force();
+            durable = lastAppended;
+         }
+      } finally {
+         syncLock.unlock();
+      }
+   }
+
+   /**
+    * Discards the last appended entries by clearing their lengths, so recovery stops before them and later appends
+    * overwrite them. Appending goes on at the first discarded entry, or at the start of a segment opened since, so
+    * locations keep growing.
+    *
+    * @param locations the locations of the entries to discard, in append order
+    * @param count     the number of entries to discard
+    * @param previous  the location of the last entry appended before them
+    */
+   private void discard(final long[] locations, final int count, final long previous) {
+      if (count == 0) {
+         return;
+      }
+      for (int i = 0; i < count; i++) {
+         segments.get(segmentOf(locations[i])).putInt(offsetOf(locations[i]), 0);
+      }
+      for (int segmentNumber = segmentOf(locations[0]); segmentNumber < segments.size(); segmentNumber++) {
+         segments.get(segmentNumber).force();
+      }
+      writeOffset = segmentOf(locations[0]) == segments.size() - 1 ? offsetOf(locations[0]) : 0;
+      lastAppended = previous;
+      log.warn("Discarded {} entries of a batch that could not be appended completely", count);
+   }
+
+   private void recover(final EntryVisitor visitor) throws IOException {
+      final List<Path> files;
+      try (final Stream<Path> list = Files.list(directory)) {
+         files = list.filter(file -> file.getFileName().toString().startsWith(SEGMENT_PREFIX))
+                     .sorted()
+                     .toList();
+      }
+
+      if (files.isEmpty()) {
+         openSegment(0, StandardOpenOption.CREATE_NEW);
+         return;
+      }
+
+      long entries = 0;
+      for (int segmentNumber = 0; segmentNumber < files.size(); segmentNumber++) {
+         if (!files.get(segmentNumber).equals(segmentPath(segmentNumber))) {
+            throw new IOException("Missing segment " + segmentPath(segmentNumber));
+         }
+         openSegment(segmentNumber, StandardOpenOption.CREATE);
+
+         int offset = 0;
+         while (offset + ENTRY_HEADER_SIZE <= segmentSize) {
+            final int length = current.getInt(offset);
+            if (length <= 0 || offset + ENTRY_HEADER_SIZE + length > segmentSize) {
+               break;
+            }
+            final ByteBuffer body = current.slice(offset + ENTRY_HEADER_SIZE, length);
+            final CRC32C crc = new CRC32C();
+            crc.update(body.duplicate());
+            if ((int) crc.getValue() != current.getInt(offset + 4)) {
+               break;
+            }
+            visitor.visit(location(segmentNumber, offset), body.asReadOnlyBuffer());
+            lastAppended = location(segmentNumber, offset);
+            offset += ENTRY_HEADER_SIZE + length;
+            entries++;
+         }
+         writeOffset = offset;
+
+         if (offset + 4 <= segmentSize && current.getInt(offset) != 0) {
+            log.warn("Discarding corrupted tail of {} at offset {}", segmentPath(segmentNumber), offset);
+            for (int i = offset; i < segmentSize; i++) {
+               current.put(i, (byte) 0);
+            }
+            current.force();
+         }
+      }
+      durable = lastAppended;
+      log.info("Recovered {} entries from {} segment(s) in {}", entries, files.size(), directory);
+   }
+
+   private void openSegment(final int segmentNumber, final StandardOpenOption createOption) throws IOException {
+      try (final FileChannel channel = FileChannel.open(segmentPath(segmentNumber), createOption,
+            StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+         current = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+         channel.force(true);
+      }
+      segments.add(current);
+      writeOffset = 0;
+   }
+
+   private Path segmentPath(final int segmentNumber) {
+      return directory.resolve(SEGMENT_PREFIX + String.format("%08d", segmentNumber) + SEGMENT_SUFFIX);
+   }
+
+   private static long location(final int segmentNumber, final int offset) {
+      return ((long) segmentNumber << 32) | offset;
+   }
+
+   private static int segmentOf(final long location) {
+      return (int) (location >>> 32);
+   }
+
+   private static int offsetOf(final long location) {
+      return (int) location;
+   }
+}
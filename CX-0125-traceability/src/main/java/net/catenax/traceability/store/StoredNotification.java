@@ -0,0 +1,14 @@
+package net.catenax.traceability.store;
+
+/**
+ * A quality notification event read back from the {@link NotificationStore}.
+ *
+ * @param location       position of the event in the store
+ * @param type           whether the event was received or an update
+ * @param storedAt       epoch milliseconds at which the event was stored
+ * @param notificationId the notification ID the event belongs to
+ * @param payload        the raw notification body
+ */
+public record StoredNotification(long location, NotificationEventType type, long storedAt, String notificationId,
+                                 byte[] payload) {
+}
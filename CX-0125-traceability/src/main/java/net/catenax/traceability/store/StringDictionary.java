@@ -0,0 +1,181 @@
+package net.catenax.traceability.store;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Durable dictionary of strings repeated across notifications, such as field names, BPNs and status values.
+ * <p>
+ * Strings get consecutive IDs and are appended to a file as {@code [int length][UTF-8 bytes]}. New strings are forced
+ * to disk by {@link #sync()}, which the store calls once per batch after encoding and before writing the events, so
+ * no stored event can refer to a string that is lost in a crash. A torn entry at the end of the file is discarded on
+ * startup. Once the dictionary holds {@code maxSize} strings,
+ * no more are added and callers store strings inline.
+ * <br/><br/>
+ * <small>
+ * Copyright (c) 2025, doubleSlash Net-Business GmbH, http://www.doubleslash.de
+ * <br/><br/>
+ * </small>
+ *
+ * @author emanuel.schaeffer@doubleslash.de
+ */
+final class StringDictionary implements Closeable {
+   private static final Logger log = LoggerFactory.getLogger(StringDictionary.class);
+
+   /**
+    * Returned by {@link #idOf(String)} if the dictionary is full.
+    */
+   static final int NONE = -1;
+
+   private final FileChannel channel;
+   private final int maxSize;
+   private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+   private final ReentrantLock appendLock = new ReentrantLock();
+   private volatile String[] strings = new String[256];
+   private int size;
+   private boolean unsynced;
+
+   private StringDictionary(final FileChannel channel, final int maxSize) {
+      this.channel = channel;
+      this.maxSize = maxSize;
+   }
+
+   /**
+    * Opens the dictionary file, creating it if it does not exist.
+    */
+   static StringDictionary open(final Path file, final int maxSize) throws IOException {
+      final FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+      final StringDictionary dictionary = new StringDictionary(channel, maxSize);
+      dictionary.load();
+      return dictionary;
+   }
+
+   /**
+    * Gets the ID of a string, adding the string if it is new. An added string is only durable after {@link #sync()}.
+    *
+    * @return the ID, or {@link #NONE} if the string is new and the dictionary is full
+    */
+   int idOf(final String value) {
+      final Integer id = ids.get(value);
+      if (id != null) {
+         return id;
+      }
+      appendLock.lock();
+      try {
+         final Integer added = ids.get(value);
+         if (added != null) {
+            return added;
+         }
+         if (size >= maxSize) {
+            return NONE;
+         }
+         final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+         final ByteBuffer entry = ByteBuffer.allocate(4 + bytes.length).putInt(bytes.length).put(bytes).flip();
+         while (entry.hasRemaining()) {
+            channel.write(entry, channel.size());
+         }
+         unsynced = true;
+         return add(value);
+      } catch (final IOException e) {
+         throw new UncheckedIOException("Could not add to string dictionary", e);
+      } finally {
+         appendLock.unlock();
+      }
+   }
+
+   /**
+    * Forces all strings added so far to disk, if there are any that are not yet.
+    *
+    * @throws UncheckedIOException if the strings could not be forced
+    */
+   void sync() {
+      appendLock.lock();
+      try {
+         if (unsynced) {
+            channel.force(false);
+            unsynced = false;
+         }
+      } catch (final IOException e) {
+         throw new UncheckedIOException("Could not sync string dictionary", e);
+      } finally {
+         appendLock.unlock();
+      }
+   }
+
+   /**
+    * Gets the string with the given ID.
+    *
+    * @throws IllegalStateException if the ID is unknown
+    */
+   String get(final int id) {
+      final String[] current = strings;
+      if (id < 0 || id >= current.length || current[id] == null) {
+         throw new IllegalStateException("Unknown string dictionary ID " + id);
+      }
+      return current[id];
+   }
+
+   /**
+    * Gets the number of strings in the dictionary.
+    */
+   int size() {
+      return ids.size();
+   }
+
+   @Override
+   public void close() throws IOException {
+      channel.close();
+   }
+
+   private void load() throws IOException {
+      final ByteBuffer content = ByteBuffer.allocate((int) channel.size());
+      while (content.hasRemaining()) {
+         if (channel.read(content, content.position()) < 0) {
+            break;
+         }
+      }
+      content.flip();
+      while (content.remaining() >= 4) {
+         final int length = content.getInt(content.position());
+         if (length < 0 || length > content.remaining() - 4) {
+            break;
+         }
+         content.getInt();
+         final byte[] bytes = new byte[length];
+         content.get(bytes);
+         add(new String(bytes, StandardCharsets.UTF_8));
+      }
+      if (content.hasRemaining()) {
+         log.warn("Discarding {} bytes of a torn string dictionary entry", content.remaining());
+         channel.truncate(content.position());
+         channel.force(true);
+      }
+   }
+
+   private int add(final String value) {
+      final int id = size++;
+      String[] current = strings;
+      if (id == current.length) {
+         current = Arrays.copyOf(current, current.length * 2);
+      }
+      current[id] = value;
+      // publish the string before its ID, readers only look up IDs they got from ids or from stored events
+      strings = current;
+      ids.put(value, id);
+      return id;
+   }
+}
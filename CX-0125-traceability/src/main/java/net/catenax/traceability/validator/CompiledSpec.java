@@ -0,0 +1,152 @@
+package net.catenax.traceability.validator;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.erosb.kappa.core.exception.ResolutionException;
+import com.github.erosb.kappa.core.validation.ValidationException;
+import com.github.erosb.kappa.operation.validator.model.Request;
+import com.github.erosb.kappa.operation.validator.validation.OperationValidator;
+import com.github.erosb.kappa.parser.OpenApi3Parser;
+import com.github.erosb.kappa.parser.model.v3.OpenApi3;
+import com.github.erosb.kappa.parser.model.v3.Operation;
+import com.github.erosb.kappa.parser.model.v3.Path;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
+
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * An OpenAPI spec compiled for validation: the Kappa operation validators and the structural pre-validators of
+ * every operation. Instances are immutable, so request threads read them without locking and a reload simply
+ * swaps the whole instance.
+ * <br/><br/>
+ * <small>
+ * Copyright (c) 2025, doubleSlash Net-Business GmbH, http://www.doubleslash.de
+ * <br/><br/>
+ * </small>
+ *
+ * @author emanuel.schaeffer@doubleslash.de
+ */
+final class CompiledSpec {
+   private static final Logger log = LoggerFactory.getLogger(CompiledSpec.class);
+   private static final ObjectMapper MAPPER = new ObjectMapper();
+
+   private final Map<String, Map<Request.Method, Operations>> operations;
+
+   private CompiledSpec(final Map<String, Map<Request.Method, Operations>> operations) {
+      this.operations = operations;
+   }
+
+   /**
+    * Parses and compiles the spec at the given URL.
+    *
+    * @param content the spec document already read from the URL, the pre-validators are derived from it; Kappa
+    *                reads the spec from the URL itself to resolve references relative to it
+    */
+   static CompiledSpec compile(final URL url, final byte[] content) throws ResolutionException, ValidationException {
+      final OpenApi3 spec = new OpenApi3Parser().parse(url, false);
+      final JsonNode document = readDocument(url, content);
+
+      final Map<String, Map<Request.Method, Operations>> operations = new HashMap<>();
+      if (spec.getPaths() == null) {
+         return new CompiledSpec(Map.of());
+      }
+
+      spec.getPaths().forEach((pathPattern, path) -> {
+         final Map<Request.Method, Operations> pathOperations = new EnumMap<>(Request.Method.class);
+         for (final Request.Method method : Request.Method.values()) {
+            final Operation operation = getOperation(path, method);
+            if (operation != null) {
+               final StructuralPreValidator preValidator = document == null ? null
+                     : StructuralPreValidator.forOperation(document, pathPattern,
+                           method.name().toLowerCase(Locale.ROOT));
+               pathOperations.put(method,
+                     new Operations(new OperationValidator(spec, path, operation), preValidator));
+            }
+         }
+         if (!pathOperations.isEmpty()) {
+            operations.put(pathPattern, Collections.unmodifiableMap(pathOperations));
+         }
+      });
+
+      return new CompiledSpec(Map.copyOf(operations));
+   }
+
+   /**
+    * Gets the number of paths with at least one compiled operation.
+    */
+   int pathCount() {
+      return operations.size();
+   }
+
+   /**
+    * Gets the Kappa validator of an operation.
+    *
+    * @throws IllegalArgumentException if the spec does not declare the operation
+    */
+   OperationValidator operationValidator(final String pathPattern, final Request.Method method) {
+      return get(pathPattern, method).validator();
+   }
+
+   /**
+    * Gets the structural pre-validator of an operation.
+    *
+    * @return the pre-validator, or null if none could be derived for the operation
+    * @throws IllegalArgumentException if the spec does not declare the operation
+    */
+   StructuralPreValidator preValidator(final String pathPattern, final Request.Method method) {
+      return get(pathPattern, method).preValidator();
+   }
+
+   private Operations get(final String pathPattern, final Request.Method method) {
+      final Map<Request.Method, Operations> pathOperations = operations.get(pathPattern);
+      if (pathOperations == null) {
+         throw new IllegalArgumentException("Path not found in OpenAPI spec: " + pathPattern);
+      }
+
+      final Operations compiled = pathOperations.get(method);
+      if (compiled == null) {
+         throw new IllegalArgumentException("Operation not found for " + method + " " + pathPattern);
+      }
+      return compiled;
+   }
+
+   /**
+    * Reads the raw spec document the pre-validators are derived from.
+    * YAML is a superset of JSON, so both spec formats are read the same way.
+    */
+   private static JsonNode readDocument(final URL url, final byte[] content) {
+      try {
+         final Object document = new Yaml(new SafeConstructor(new LoaderOptions())).load(
+               new String(content, StandardCharsets.UTF_8));
+         return MAPPER.valueToTree(document);
+      } catch (final RuntimeException e) {
+         log.warn("Could not read OpenAPI document from {}, structural pre-validation is disabled: {}", url,
+               e.getMessage());
+         return null;
+      }
+   }
+
+   private static Operation getOperation(final Path path, final Request.Method method) {
+      return switch (method) {
+         case GET -> path.getGet();
+         case POST -> path.getPost();
+         case PUT -> path.getPut();
+         case DELETE -> path.getDelete();
+         case PATCH -> path.getPatch();
+         default -> null;
+      };
+   }
+
+   private record Operations(OperationValidator validator, StructuralPreValidator preValidator) {
+   }
+}
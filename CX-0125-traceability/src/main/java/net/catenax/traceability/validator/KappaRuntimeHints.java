@@ -0,0 +1,57 @@
+package net.catenax.traceability.validator;
+
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.io.DefaultResourceLoader;
+
+/**
+ * Reflection and resource hints for running the validator in a GraalVM native image.
+ * <p>
+ * Kappa binds the OpenAPI document to its model classes with Jackson, which the AOT processing cannot see. So every
+ * Kappa class is registered for reflection; the classes are listed by scanning the class path while the hints are
+ * generated at build time. The validation errors are serialized into problem details as a generic property and get
+ * Jackson binding hints.
+ * <br/><br/>
+ * <small>
+ * Copyright (c) 2025, doubleSlash Net-Business GmbH, http://www.doubleslash.de
+ * <br/><br/>
+ * </small>
+ *
+ * @author emanuel.schaeffer@doubleslash.de
+ */
+class KappaRuntimeHints implements RuntimeHintsRegistrar {
+   private static final String[] KAPPA_PACKAGES = {"com.github.erosb.kappa", "com.github.erosb.jsonsKema"};
+
+   @Override
+   public void registerHints(final RuntimeHints hints, final ClassLoader classLoader) {
+      final ClassPathScanningCandidateComponentProvider scanner =
+            new ClassPathScanningCandidateComponentProvider(false) {
+               @Override
+               protected boolean isCandidateComponent(final AnnotatedBeanDefinition beanDefinition) {
+                  return true;
+               }
+            };
+      scanner.addIncludeFilter((metadataReader, metadataReaderFactory) -> true);
+      if (classLoader != null) {
+         scanner.setResourceLoader(new DefaultResourceLoader(classLoader));
+      }
+      for (final String kappaPackage : KAPPA_PACKAGES) {
+         for (final BeanDefinition candidate : scanner.findCandidateComponents(kappaPackage)) {
+            hints.reflection().registerType(TypeReference.of(candidate.getBeanClassName()),
+                  MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_DECLARED_METHODS,
+                  MemberCategory.DECLARED_FIELDS);
+         }
+      }
+      // meta-schemas and other documents bundled with Kappa
+      hints.resources().registerPattern("com/github/erosb/**/*.json");
+
+      new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+            ValidationResult.ValidationError.class);
+   }
+}
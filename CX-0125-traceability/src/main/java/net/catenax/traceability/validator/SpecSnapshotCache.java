@@ -0,0 +1,237 @@
+package net.catenax.traceability.validator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * Local snapshot of the OpenAPI spec, so the validator can start without downloading the spec.
+ * <p>
+ * The snapshot consists of the spec file and a properties file with the source URL, the format version and the
+ * ETag/Last-Modified validators of the download. A snapshot is only used for the URL it was downloaded from.
+ * {@link #refresh()} uses those validators for a conditional request and only rewrites the snapshot if the spec
+ * has changed.
+ * <p>
+ * Only the spec document itself is stored. A spec referencing other documents by relative {@code $ref}s could not
+ * be resolved from the snapshot, so such a spec is not snapshotted: the snapshot is removed and
+ * {@link #isBypassed()} tells to load the spec from its URL instead.
+ * <br/><br/>
+ * <small>
+ * Copyright (c) 2025, doubleSlash Net-Business GmbH, http://www.doubleslash.de
+ * <br/><br/>
+ * </small>
+ *
+ * @author emanuel.schaeffer@doubleslash.de
+ */
+class SpecSnapshotCache {
+   private static final Logger log = LoggerFactory.getLogger(SpecSnapshotCache.class);
+
+   private static final String FORMAT_VERSION = "2";
+   private static final String SPEC_FILE = "spec.yaml";
+   private static final String METADATA_FILE = "snapshot.properties";
+   private static final String KEY_FORMAT = "format";
+   private static final String KEY_SOURCE_URL = "source-url";
+   private static final String KEY_ETAG = "etag";
+   private static final String KEY_LAST_MODIFIED = "last-modified";
+   private static final String KEY_FETCHED_AT = "fetched-at";
+   private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+   private final String sourceUrl;
+   private final Path directory;
+   private final HttpClient httpClient;
+   private volatile boolean bypassed;
+
+   SpecSnapshotCache(final String sourceUrl, final Path directory) {
+      this.sourceUrl = sourceUrl;
+      this.directory = directory;
+      this.httpClient = HttpClient.newBuilder()
+                                  .connectTimeout(REQUEST_TIMEOUT)
+                                  .followRedirects(HttpClient.Redirect.NORMAL)
+                                  .build();
+   }
+
+   /**
+    * Checks whether the spec source can be cached, i.e. is fetched over HTTP(S).
+    */
+   static boolean isCacheable(final String sourceUrl) {
+      return sourceUrl.startsWith("http://") || sourceUrl.startsWith("https://");
+   }
+
+   /**
+    * Checks whether the spec was found to reference other documents, so it has to be loaded from its URL.
+    */
+   boolean isBypassed() {
+      return bypassed;
+   }
+
+   /**
+    * Gets the URL of the local snapshot, if a snapshot of the configured source URL exists.
+    */
+   Optional<URL> snapshotUrl() {
+      final Properties metadata = readMetadata();
+      if (bypassed || !FORMAT_VERSION.equals(metadata.getProperty(KEY_FORMAT))
+          || !sourceUrl.equals(metadata.getProperty(KEY_SOURCE_URL))
+          || !Files.isRegularFile(directory.resolve(SPEC_FILE))) {
+         return Optional.empty();
+      }
+      try {
+         return Optional.of(directory.resolve(SPEC_FILE).toUri().toURL());
+      } catch (final MalformedURLException e) {
+         return Optional.empty();
+      }
+   }
+
+   /**
+    * Fetches the spec if it has changed since the snapshot was taken and replaces the snapshot.
+    *
+    * @return true if a new snapshot was written, false if the snapshot is up-to-date or the spec references other
+    *       documents
+    * @throws IOException if the spec could not be fetched or the snapshot could not be written
+    */
+   boolean refresh() throws IOException, InterruptedException {
+      final Properties metadata = snapshotUrl().isPresent() ? readMetadata() : new Properties();
+      final HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(sourceUrl)).timeout(REQUEST_TIMEOUT).GET();
+      Optional.ofNullable(metadata.getProperty(KEY_ETAG)).ifPresent(etag -> request.header("If-None-Match", etag));
+      Optional.ofNullable(metadata.getProperty(KEY_LAST_MODIFIED))
+              .ifPresent(lastModified -> request.header("If-Modified-Since", lastModified));
+
+      final HttpResponse<InputStream> response = httpClient.send(request.build(),
+            HttpResponse.BodyHandlers.ofInputStream());
+      try (final InputStream body = response.body()) {
+         if (response.statusCode() == 304) {
+            log.debug("OpenAPI spec snapshot of {} is up-to-date", sourceUrl);
+            return false;
+         }
+         if (response.statusCode() != 200) {
+            throw new IOException("Fetching OpenAPI spec from " + sourceUrl + " failed: HTTP " + response.statusCode());
+         }
+
+         Files.createDirectories(directory);
+         final Path specFile = Files.createTempFile(directory, SPEC_FILE, ".tmp");
+         Path metadataFile = null;
+         try {
+            Files.copy(body, specFile, StandardCopyOption.REPLACE_EXISTING);
+            final String externalRef = findExternalRef(specFile);
+            if (externalRef != null) {
+               log.warn("Not taking a snapshot of OpenAPI spec {}, it references other documents, e.g. {}",
+                     sourceUrl, externalRef);
+               bypassed = true;
+               Files.deleteIfExists(directory.resolve(METADATA_FILE));
+               Files.deleteIfExists(directory.resolve(SPEC_FILE));
+               return false;
+            }
+
+            final Properties updated = new Properties();
+            updated.setProperty(KEY_FORMAT, FORMAT_VERSION);
+            updated.setProperty(KEY_SOURCE_URL, sourceUrl);
+            updated.setProperty(KEY_FETCHED_AT, Instant.now().toString());
+            response.headers().firstValue("ETag").ifPresent(etag -> updated.setProperty(KEY_ETAG, etag));
+            response.headers()
+                    .firstValue("Last-Modified")
+                    .ifPresent(lastModified -> updated.setProperty(KEY_LAST_MODIFIED, lastModified));
+            metadataFile = Files.createTempFile(directory, METADATA_FILE, ".tmp");
+            try (final OutputStream out = Files.newOutputStream(metadataFile)) {
+               updated.store(out, "OpenAPI spec snapshot");
+            }
+
+            // the metadata is moved last, so a crash in between leaves a snapshot that is re-fetched next time
+            Files.move(specFile, directory.resolve(SPEC_FILE), StandardCopyOption.REPLACE_EXISTING,
+                  StandardCopyOption.ATOMIC_MOVE);
+            Files.move(metadataFile, directory.resolve(METADATA_FILE), StandardCopyOption.REPLACE_EXISTING,
+                  StandardCopyOption.ATOMIC_MOVE);
+            log.info("Stored OpenAPI spec snapshot of {} in {}", sourceUrl, directory);
+            return true;
+         } finally {
+            // no-ops once the files were moved into place
+            Files.deleteIfExists(specFile);
+            if (metadataFile != null) {
+               Files.deleteIfExists(metadataFile);
+            }
+         }
+      }
+   }
+
+   /**
+    * Finds a {@code $ref} to another document, i.e. one that is not a fragment of the spec itself.
+    * YAML is a superset of JSON, so both spec formats are read the same way.
+    *
+    * @return the first such reference, or null if the spec only references itself
+    */
+   private static String findExternalRef(final Path specFile) throws IOException {
+      final Object document;
+      try (final Reader reader = Files.newBufferedReader(specFile, StandardCharsets.UTF_8)) {
+         document = new Yaml(new SafeConstructor(new LoaderOptions())).load(reader);
+      } catch (final RuntimeException e) {
+         throw new IOException("OpenAPI spec from " + specFile + " is not valid YAML or JSON: " + e.getMessage(), e);
+      }
+      // YAML aliases may share nodes or even form cycles
+      final Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+      final Deque<Object> pending = new ArrayDeque<>();
+      pending.push(document != null ? document : List.of());
+      while (!pending.isEmpty()) {
+         final Object node = pending.pop();
+         if (!visited.add(node)) {
+            continue;
+         }
+         if (node instanceof Map<?, ?> map) {
+            if (map.get("$ref") instanceof String ref && !ref.startsWith("#")) {
+               return ref;
+            }
+            map.values().forEach(value -> {
+               if (value != null) {
+                  pending.push(value);
+               }
+            });
+         } else if (node instanceof List<?> list) {
+            list.forEach(value -> {
+               if (value != null) {
+                  pending.push(value);
+               }
+            });
+         }
+      }
+      return null;
+   }
+
+   private Properties readMetadata() {
+      final Properties metadata = new Properties();
+      final Path metadataFile = directory.resolve(METADATA_FILE);
+      if (Files.isRegularFile(metadataFile)) {
+         try (final InputStream in = Files.newInputStream(metadataFile)) {
+            metadata.load(in);
+         } catch (final IOException e) {
+            log.warn("Ignoring unreadable OpenAPI spec snapshot metadata {}: {}", metadataFile, e.getMessage());
+            return new Properties();
+         }
+      }
+      return metadata;
+   }
+}
@@ -0,0 +1,348 @@
+package net.catenax.traceability.validator;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.MissingNode;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Cheap structural check of a request body, run before the full schema validation.
+ * <p>
+ * The check is derived from the request body schema of an operation in the OpenAPI document. It covers types,
+ * required properties and string enums, follows local {@code $ref}s and merges {@code allOf}; schemas using
+ * {@code oneOf}, {@code anyOf} or {@code not} are not checked. So it only rejects bodies the full validation would
+ * reject as well. The body is checked in a single streaming pass that stops at the first violation, over the raw
+ * bytes or over an already parsed tree.
+ * <br/><br/>
+ * <small>
+ * Copyright (c) 2025, doubleSlash Net-Business GmbH, http://www.doubleslash.de
+ * <br/><br/>
+ * </small>
+ *
+ * @author emanuel.schaeffer@doubleslash.de
+ */
+final class StructuralPreValidator {
+   private static final JsonFactory JSON_FACTORY = new JsonFactory();
+   private static final String APPLICATION_JSON = "application/json";
+   private static final int MAX_DEPTH = 16;
+   private static final int MAX_TRACKED_REQUIRED = Long.SIZE;
+
+   private final Rule root;
+
+   private StructuralPreValidator(final Rule root) {
+      this.root = root;
+   }
+
+   /**
+    * Derives the pre-validator for the JSON request body of an operation.
+    *
+    * @param document the OpenAPI document
+    * @param path     the OpenAPI path
+    * @param method   the lower case HTTP method
+    * @return the pre-validator, or null if the operation has no JSON request body schema
+    */
+   static StructuralPreValidator forOperation(final JsonNode document, final String path, final String method) {
+      JsonNode requestBody = document.path("paths").path(path).path(method).path("requestBody");
+      requestBody = resolve(document, requestBody);
+      final JsonNode schema = requestBody.path("content").path(APPLICATION_JSON).path("schema");
+      if (schema.isMissingNode()) {
+         return null;
+      }
+      return new StructuralPreValidator(compile(document, schema, "#/paths" + escape(path) + "/" + method, 0));
+   }
+
+   /**
+    * Checks the structure of a UTF-8 encoded JSON body.
+    *
+    * @return success if the structure matches, otherwise a failure with the first violation found
+    */
+   ValidationResult check(final byte[] body) {
+      try (final JsonParser parser = JSON_FACTORY.createParser(body)) {
+         return check(parser);
+      } catch (final IOException e) {
+         return ValidationResult.error("Validation error: " + e.getMessage());
+      }
+   }
+
+   /**
+    * Checks the structure of an already parsed JSON body, walking the tree instead of parsing the body again.
+    *
+    * @return success if the structure matches, otherwise a failure with the first violation found
+    */
+   ValidationResult check(final JsonNode body) {
+      try (final JsonParser parser = body.traverse()) {
+         return check(parser);
+      } catch (final IOException e) {
+         return ValidationResult.error("Validation error: " + e.getMessage());
+      }
+   }
+
+   private ValidationResult check(final JsonParser parser) throws IOException {
+      try {
+         if (parser.nextToken() == null) {
+            return failure(new Violation("", "body is empty", root.schemaLocation));
+         }
+         final Violation violation = check(parser, root);
+         if (violation != null) {
+            return failure(violation);
+         }
+         if (parser.nextToken() != null) {
+            return failure(new Violation("", "unexpected content after the JSON document", root.schemaLocation));
+         }
+         return ValidationResult.success();
+      } catch (final JsonProcessingException e) {
+         return failure(new Violation("", "body is not well-formed JSON: " + e.getOriginalMessage(),
+               root.schemaLocation));
+      }
+   }
+
+   private static Violation check(final JsonParser parser, final Rule rule) throws IOException {
+      final JsonToken token = parser.currentToken();
+      if (rule == null || rule.any) {
+         parser.skipChildren();
+         return null;
+      }
+      if (token == JsonToken.VALUE_NULL && rule.nullable) {
+         return null;
+      }
+      if (rule.types != null && !rule.types.contains(token)
+          || rule.integral && token == JsonToken.VALUE_NUMBER_FLOAT && !isIntegral(parser)) {
+         parser.skipChildren();
+         return new Violation("", "expected " + rule.typeNames + " but found " + describe(token),
+               rule.schemaLocation + "/type");
+      }
+      if (rule.enumValues != null && token == JsonToken.VALUE_STRING && !rule.enumValues.contains(parser.getText())) {
+         return new Violation("", "value '" + parser.getText() + "' is not one of " + rule.enumValues,
+               rule.schemaLocation + "/enum");
+      }
+      if (token == JsonToken.START_OBJECT) {
+         return checkObject(parser, rule);
+      }
+      if (token == JsonToken.START_ARRAY) {
+         return checkArray(parser, rule);
+      }
+      return null;
+   }
+
+   private static Violation checkObject(final JsonParser parser, final Rule rule) throws IOException {
+      long seenRequired = 0;
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+         final String name = parser.currentName();
+         parser.nextToken();
+         final Property property = rule.properties.get(name);
+         if (property == null) {
+            parser.skipChildren();
+            continue;
+         }
+         final Violation violation = check(parser, property.rule);
+         if (violation != null) {
+            return violation.under(name);
+         }
+         seenRequired |= property.requiredBit;
+      }
+      if (seenRequired != rule.requiredMask) {
+         for (final Map.Entry<String, Property> entry : rule.properties.entrySet()) {
+            if (entry.getValue().requiredBit != 0 && (seenRequired & entry.getValue().requiredBit) == 0) {
+               return new Violation("", "required property '" + entry.getKey() + "' not found",
+                     rule.schemaLocation + "/required");
+            }
+         }
+      }
+      return null;
+   }
+
+   private static Violation checkArray(final JsonParser parser, final Rule rule) throws IOException {
+      int index = 0;
+      while (parser.nextToken() != JsonToken.END_ARRAY) {
+         final Violation violation = check(parser, rule.items);
+         if (violation != null) {
+            return violation.under(Integer.toString(index));
+         }
+         index++;
+      }
+      return null;
+   }
+
+   /**
+    * Whether a number is an integer as JSON Schema defines it, which includes e.g. {@code 1.0} and {@code 1e2}.
+    */
+   private static boolean isIntegral(final JsonParser parser) throws IOException {
+      final BigDecimal value = parser.getDecimalValue();
+      return value.signum() == 0 || value.stripTrailingZeros().scale() <= 0;
+   }
+
+   private static ValidationResult failure(final Violation violation) {
+      return ValidationResult.failure(List.of(new ValidationResult.ValidationError("#" + violation.path,
+            violation.message, violation.schemaLocation)));
+   }
+
+   private static String describe(final JsonToken token) {
+      return switch (token) {
+         case START_OBJECT -> "object";
+         case START_ARRAY -> "array";
+         case VALUE_STRING -> "string";
+         case VALUE_NUMBER_INT -> "integer";
+         case VALUE_NUMBER_FLOAT -> "number";
+         case VALUE_TRUE, VALUE_FALSE -> "boolean";
+         case VALUE_NULL -> "null";
+         default -> token.name();
+      };
+   }
+
+   private static Rule compile(final JsonNode document, final JsonNode schemaOrRef, final String location,
+         final int depth) {
+      final String schemaLocation = schemaOrRef.has("$ref") ? schemaOrRef.get("$ref").asText() : location;
+      final JsonNode schema = resolve(document, schemaOrRef);
+      if (depth > MAX_DEPTH || schema.isMissingNode() || schema.has("oneOf") || schema.has("anyOf")
+          || schema.has("not")) {
+         return Rule.ANY;
+      }
+
+      final Rule rule = new Rule(schemaLocation);
+      merge(document, rule, schema, schemaLocation, depth);
+      return rule;
+   }
+
+   private static void merge(final JsonNode document, final Rule rule, final JsonNode schema, final String location,
+         final int depth) {
+      for (int i = 0; i < schema.path("allOf").size(); i++) {
+         final JsonNode part = schema.path("allOf").get(i);
+         final JsonNode resolved = resolve(document, part);
+         if (resolved.has("oneOf") || resolved.has("anyOf") || resolved.has("not")) {
+            continue;
+         }
+         merge(document, rule, resolved, part.has("$ref") ? part.get("$ref").asText() : location + "/allOf/" + i,
+               depth + 1);
+      }
+
+      if (schema.path("nullable").asBoolean(false)) {
+         rule.nullable = true;
+      }
+      final List<String> typeNames = new ArrayList<>();
+      if (schema.path("type").isTextual()) {
+         typeNames.add(schema.get("type").asText());
+      } else if (schema.path("type").isArray()) {
+         schema.get("type").forEach(type -> typeNames.add(type.asText()));
+      }
+      if (!typeNames.isEmpty() && rule.types == null) {
+         rule.types = EnumSet.noneOf(JsonToken.class);
+         for (final String typeName : typeNames) {
+            switch (typeName) {
+               case "object" -> rule.types.add(JsonToken.START_OBJECT);
+               case "array" -> rule.types.add(JsonToken.START_ARRAY);
+               case "string" -> rule.types.add(JsonToken.VALUE_STRING);
+               case "integer" -> rule.types.addAll(EnumSet.of(JsonToken.VALUE_NUMBER_INT,
+                     JsonToken.VALUE_NUMBER_FLOAT));
+               case "number" -> rule.types.addAll(EnumSet.of(JsonToken.VALUE_NUMBER_INT,
+                     JsonToken.VALUE_NUMBER_FLOAT));
+               case "boolean" -> rule.types.addAll(EnumSet.of(JsonToken.VALUE_TRUE, JsonToken.VALUE_FALSE));
+               case "null" -> rule.nullable = true;
+               default -> rule.types = null;
+            }
+            if (rule.types == null) {
+               break;
+            }
+         }
+         rule.integral = typeNames.contains("integer") && !typeNames.contains("number");
+         rule.typeNames = typeNames.toString();
+      }
+
+      if (schema.path("enum").isArray() && rule.enumValues == null) {
+         final Set<String> values = new HashSet<>();
+         boolean onlyStrings = true;
+         for (final JsonNode value : schema.get("enum")) {
+            onlyStrings &= value.isTextual();
+            values.add(value.asText());
+         }
+         rule.enumValues = onlyStrings ? Set.copyOf(values) : null;
+      }
+
+      schema.path("properties").fields().forEachRemaining(property -> {
+         final Rule propertyRule = compile(document, property.getValue(),
+               location + "/properties/" + escape(property.getKey()), depth + 1);
+         final Property existing = rule.properties.get(property.getKey());
+         rule.properties.put(property.getKey(),
+               new Property(propertyRule, existing != null ? existing.requiredBit : 0));
+      });
+
+      for (final JsonNode required : schema.path("required")) {
+         final Property existing = rule.properties.get(required.asText());
+         final JsonNode propertySchema = resolve(document, schema.path("properties").path(required.asText()));
+         if (existing != null && existing.requiredBit != 0 || propertySchema.path("readOnly").asBoolean(false)) {
+            continue;
+         }
+         final int index = Long.bitCount(rule.requiredMask);
+         final long bit = index < MAX_TRACKED_REQUIRED ? 1L << index : 0;
+         rule.requiredMask |= bit;
+         rule.properties.put(required.asText(), new Property(existing != null ? existing.rule : Rule.ANY, bit));
+      }
+
+      if (schema.has("items") && rule.items == null) {
+         rule.items = compile(document, schema.get("items"), location + "/items", depth + 1);
+      }
+   }
+
+   private static JsonNode resolve(final JsonNode document, final JsonNode node) {
+      JsonNode resolved = node;
+      for (int hops = 0; hops < MAX_DEPTH && resolved.has("$ref"); hops++) {
+         final String ref = resolved.get("$ref").asText();
+         if (!ref.startsWith("#/")) {
+            return MissingNode.getInstance();
+         }
+         resolved = document.at(ref.substring(1));
+      }
+      return resolved;
+   }
+
+   private static String escape(final String pointerSegment) {
+      return pointerSegment.replace("~", "~0").replace("/", "~1");
+   }
+
+   /**
+    * Precompiled constraints of one schema.
+    */
+   private static final class Rule {
+      static final Rule ANY = new Rule(null, true);
+
+      final String schemaLocation;
+      final boolean any;
+      final Map<String, Property> properties = new LinkedHashMap<>();
+      EnumSet<JsonToken> types;
+      String typeNames;
+      Set<String> enumValues;
+      boolean nullable;
+      boolean integral;
+      long requiredMask;
+      Rule items;
+
+      Rule(final String schemaLocation) {
+         this(schemaLocation, false);
+      }
+
+      private Rule(final String schemaLocation, final boolean any) {
+         this.schemaLocation = schemaLocation;
+         this.any = any;
+      }
+   }
+
+   private record Property(Rule rule, long requiredBit) {
+   }
+
+   private record Violation(String path, String message, String schemaLocation) {
+      Violation under(final String segment) {
+         return new Violation("/" + segment + path, message, schemaLocation);
+      }
+   }
+}
@@ -0,0 +1,137 @@
+package net.catenax.traceability.validator;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer meters for request validation.
+ * Meters are registered once per path and looked up without allocation, so recording on the hot path is cheap.
+ * <br/><br/>
+ * <small>
+ * Copyright (c) 2025, doubleSlash Net-Business GmbH, http://www.doubleslash.de
+ * <br/><br/>
+ * </small>
+ *
+ * @author emanuel.schaeffer@doubleslash.de
+ */
+@Component
+public class ValidationMetrics {
+   private static final String VALIDATION_DURATION = "traceability.validation.duration";
+   private static final String VALIDATION_FAILURES = "traceability.validation.failures";
+   private static final String BODY_SIZE = "traceability.notification.body.size";
+
+   /**
+    * Outcome of a single validation.
+    */
+   public enum Outcome {
+      VALID, INVALID, ERROR
+   }
+
+   private final MeterRegistry registry;
+   private final Map<String, PathMeters> pathMeters = new ConcurrentHashMap<>();
+
+   public ValidationMetrics(final MeterRegistry registry) {
+      this.registry = registry;
+   }
+
+   /**
+    * Records the duration and outcome of a validation.
+    */
+   public void recordValidation(final String path, final Outcome outcome, final long durationNanos) {
+      meters(path).durations[outcome.ordinal()].record(durationNanos, TimeUnit.NANOSECONDS);
+   }
+
+   /**
+    * Sums the validation timers of all paths and outcomes. The average duration over a period is the difference of
+    * two totals, e.g. to adapt limits to the current load.
+    */
+   public Totals totals() {
+      long count = 0;
+      double nanos = 0;
+      for (final PathMeters meters : pathMeters.values()) {
+         for (final Timer timer : meters.durations) {
+            count += timer.count();
+            nanos += timer.totalTime(TimeUnit.NANOSECONDS);
+         }
+      }
+      return new Totals(count, nanos);
+   }
+
+   /**
+    * Records the size of a validated request body.
+    */
+   public void recordBodySize(final String path, final int bytes) {
+      meters(path).bodySize.record(bytes);
+   }
+
+   /**
+    * Counts a validation failure by the schema location of the first error that rejected the body.
+    */
+   public void recordFailure(final String path, final String schemaLocation) {
+      final Map<String, Counter> failures = meters(path).failures;
+      final Counter counter = failures.get(schemaLocation);
+      (counter != null ? counter : failures.computeIfAbsent(schemaLocation,
+            location -> Counter.builder(VALIDATION_FAILURES)
+                               .description("Validation failures by violated schema location")
+                               .tag("path", path)
+                               .tag("schema_location", location)
+                               .register(registry))).increment();
+   }
+
+   private PathMeters meters(final String path) {
+      final PathMeters meters = pathMeters.get(path);
+      return meters != null ? meters : pathMeters.computeIfAbsent(path, this::createMeters);
+   }
+
+   private PathMeters createMeters(final String path) {
+      final Outcome[] outcomes = Outcome.values();
+      final Timer[] durations = new Timer[outcomes.length];
+      for (final Outcome outcome : outcomes) {
+         durations[outcome.ordinal()] = Timer.builder(VALIDATION_DURATION)
+                                             .description("Duration of OpenAPI request body validation")
+                                             .tag("path", path)
+                                             .tag("outcome", outcome.name().toLowerCase(Locale.ROOT))
+                                             .publishPercentileHistogram()
+                                             .register(registry);
+      }
+      final DistributionSummary bodySize = DistributionSummary.builder(BODY_SIZE)
+                                                              .description("Size of validated request bodies")
+                                                              .baseUnit("bytes")
+                                                              .tag("path", path)
+                                                              .register(registry);
+      return new PathMeters(durations, bodySize, new ConcurrentHashMap<>());
+   }
+
+   /**
+    * Number and duration of the validations recorded so far.
+    *
+    * @param count validations recorded
+    * @param nanos total duration of the validations in nanoseconds
+    */
+   public record Totals(long count, double nanos) {
+
+      /**
+       * Gets the average duration of the validations recorded since an earlier total.
+       *
+       * @return the average duration in nanoseconds, or -1 if nothing was validated since then
+       */
+      public long averageNanosSince(final Totals earlier) {
+         final long validations = count - earlier.count;
+         return validations > 0 ? (long) ((nanos - earlier.nanos) / validations) : -1;
+      }
+   }
+
+   /**
+    * @param failures failure counters by schema location, registered on the first failure at a location
+    */
+   private record PathMeters(Timer[] durations, DistributionSummary bodySize, Map<String, Counter> failures) {
+   }
+}
@@ -1,6 +1,7 @@
 package net.catenax.traceability.validator;
 
 import com.github.erosb.kappa.schema.validator.ValidationData;
+import lombok.AccessLevel;
 import lombok.Getter;
 
 import java.util.ArrayList;
@@ -8,10 +9,12 @@ import java.util.List;
 import java.util.Optional;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.IntFunction;
 
 /**
  * Result of an OpenAPI validation operation.
  * Provides methods for handling validation failures in a flexible way.
+ * Error details of a failure are only formatted when they are first asked for, and at most a given number of them.
  * <br/><br/>
  * <small>
  * Copyright (c) 2025, doubleSlash Net-Business GmbH, http://www.doubleslash.de
@@ -23,13 +26,29 @@ import java.util.function.Function;
 @Getter
 public class ValidationResult {
    private final boolean valid;
-   private final List<ValidationError> errors;
    private final String errorMessage;
+   @Getter(AccessLevel.NONE)
+   private final int maxErrors;
+   @Getter(AccessLevel.NONE)
+   private IntFunction<List<ValidationError>> errorFormatter;
+   private List<ValidationError> errors;
 
    private ValidationResult(final boolean valid, final List<ValidationError> errors, final String errorMessage) {
       this.valid = valid;
       this.errors = errors != null ? errors : new ArrayList<>();
       this.errorMessage = errorMessage;
+      this.maxErrors = this.errors.size();
+   }
+
+   /**
+    * @param errorFormatter formats at most the given number of errors
+    */
+   private ValidationResult(final IntFunction<List<ValidationError>> errorFormatter, final int maxErrors,
+         final String errorMessage) {
+      this.valid = false;
+      this.errorFormatter = errorFormatter;
+      this.maxErrors = maxErrors;
+      this.errorMessage = errorMessage;
    }
 
    /**
@@ -43,19 +62,40 @@ public class ValidationResult {
     * Creates a failed validation result from Kappa ValidationData.
     */
    public static ValidationResult failure(final ValidationData<?> validationData) {
-      final List<ValidationError> errors = new ArrayList<>();
-
-      if (!validationData.isValid()) {
-         validationData.results().forEach(error -> {
-            final String location = error.getInstanceLocation() != null ? error.describeInstanceLocation() : "unknown";
-            final String message = error.getMessage();
-            final String schemaLocation =
-                  error.getSchemaLocation() != null ? error.describeSchemaLocation() : "unknown";
+      return failure(validationData, Integer.MAX_VALUE);
+   }
 
-            errors.add(new ValidationError(location, message, schemaLocation));
-         });
-      }
+   /**
+    * Creates a failed validation result from Kappa ValidationData, keeping only the first errors.
+    * The errors are formatted when they are first asked for.
+    *
+    * @param maxErrors maximum number of errors to keep
+    */
+   public static ValidationResult failure(final ValidationData<?> validationData, final int maxErrors) {
+      return new ValidationResult(limit -> {
+         final List<ValidationError> errors = new ArrayList<>(Math.min(limit, 16));
+         if (!validationData.isValid()) {
+            validationData.results().forEach(error -> {
+               if (errors.size() >= limit) {
+                  return;
+               }
+               final String location =
+                     error.getInstanceLocation() != null ? error.describeInstanceLocation() : "unknown";
+               final String message = error.getMessage();
+               final String schemaLocation =
+                     error.getSchemaLocation() != null ? error.describeSchemaLocation() : "unknown";
+
+               errors.add(new ValidationError(location, message, schemaLocation));
+            });
+         }
+         return errors;
+      }, maxErrors, "Validation failed");
+   }
 
+   /**
+    * Creates a failed validation result from already collected errors.
+    */
+   public static ValidationResult failure(final List<ValidationError> errors) {
       return new ValidationResult(false, errors, "Validation failed");
    }
 
@@ -66,6 +106,25 @@ public class ValidationResult {
       return new ValidationResult(false, null, errorMessage);
    }
 
+   /**
+    * Gets the validation errors, formatting them on first access.
+    */
+   public List<ValidationError> getErrors() {
+      if (errors == null) {
+         errors = errorFormatter.apply(maxErrors);
+         errorFormatter = null;
+      }
+      return errors;
+   }
+
+   /**
+    * Gets the first validation error, formatting only that one if the errors were not formatted yet.
+    */
+   public Optional<ValidationError> getFirstError() {
+      final List<ValidationError> first = errors != null ? errors : errorFormatter.apply(1);
+      return first.isEmpty() ? Optional.empty() : Optional.of(first.get(0));
+   }
+
    /**
     * Checks if validation was successful.
     */
@@ -101,7 +160,7 @@ public class ValidationResult {
     */
    public ValidationResult ifInvalid(final Consumer<List<ValidationError>> action) {
       if (!valid) {
-         action.accept(errors);
+         action.accept(getErrors());
       }
       return this;
    }
@@ -125,8 +184,9 @@ public class ValidationResult {
     * Gets the first error message if validation failed.
     */
    public Optional<String> getFirstErrorMessage() {
-      if (!errors.isEmpty()) {
-         return Optional.of(errors.get(0).message());
+      final Optional<ValidationError> firstError = getFirstError();
+      if (firstError.isPresent()) {
+         return Optional.of(firstError.get().message());
       }
       return Optional.ofNullable(errorMessage);
    }
@@ -139,7 +199,7 @@ public class ValidationResult {
          return "No errors";
       }
 
-      if (errorMessage != null && errors.isEmpty()) {
+      if (errorMessage != null && getErrors().isEmpty()) {
          return errorMessage;
       }
 
@@ -1,29 +1,53 @@
 package net.catenax.traceability.validator;
 
+import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.github.erosb.kappa.core.exception.ResolutionException;
 import com.github.erosb.kappa.core.validation.ValidationException;
 import com.github.erosb.kappa.operation.validator.model.Request;
 import com.github.erosb.kappa.operation.validator.model.impl.Body;
 import com.github.erosb.kappa.operation.validator.model.impl.DefaultRequest;
 import com.github.erosb.kappa.operation.validator.validation.OperationValidator;
-import com.github.erosb.kappa.parser.OpenApi3Parser;
-import com.github.erosb.kappa.parser.model.v3.OpenApi3;
-import com.github.erosb.kappa.parser.model.v3.Operation;
-import com.github.erosb.kappa.parser.model.v3.Path;
 import com.github.erosb.kappa.schema.validator.ValidationData;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Component;
 
-import java.net.MalformedURLException;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
- * TODO
+ * Validates notification requests against the OpenAPI specs of all supported notification API versions.
+ * <p>
+ * Compiled specs are kept in an immutable map by version that a reload replaces as a whole, so validations read it
+ * without locking and never wait for a reload. Versions whose specs have the same content share one compiled spec.
+ * Every {@code app.traceability.openapi-spec-refresh-interval} the specs are fetched again, conditionally if they
+ * have a local snapshot, and versions whose spec changed are recompiled and swapped in.
  * <br/><br/>
  * <small>
  * Copyright (c) 2025, doubleSlash Net-Business GmbH, http://www.doubleSlash.de
@@ -34,18 +58,193 @@ import java.util.Map;
  * @version : Validator.java eschaeffer $
  */
 @Component
+@ImportRuntimeHints(KappaRuntimeHints.class)
 public class Validator {
-   private final OpenApi3 spec;
-   private final Map<String, OperationValidator> validatorCache;
+   public static final String RECEIVE_PATH = "/qualitynotifications/receive";
+   public static final String UPDATE_PATH = "/qualitynotifications/update";
+   /**
+    * Request header selecting the spec version to validate against, the default version is used without it.
+    */
+   public static final String VERSION_HEADER = "X-Notification-Api-Version";
+
    private static final Logger log = LoggerFactory.getLogger(Validator.class);
+   private static final String ADDITIONAL_SPECS_PROPERTY = "app.traceability.openapi-specs";
+   private static final ObjectReader BODY_READER = new ObjectMapper().reader()
+         .with(DeserializationFeature.FAIL_ON_TRAILING_TOKENS);
+
+   private final String defaultVersion;
+   private final int maxErrors;
+   private final Map<String, SpecSource> sources;
+   private final ValidationMetrics metrics;
+   private final ReentrantLock reloadLock = new ReentrantLock();
+   private final ScheduledExecutorService refreshScheduler;
+   private volatile Map<String, LoadedSpec> specs = Map.of();
+
+   public Validator(@Value("${app.traceability.openapi-spec-url}") final String openApiUrl,
+         @Value("${app.traceability.openapi-spec-version:2.0}") final String defaultVersion,
+         @Value("${app.traceability.openapi-spec-cache-dir:}") final String snapshotDirectory,
+         @Value("${app.traceability.openapi-spec-refresh-interval:PT1H}") final Duration refreshInterval,
+         @Value("${app.validation.max-errors:10}") final int maxErrors,
+         final Environment environment, final ValidationMetrics metrics)
+         throws ResolutionException, ValidationException, IOException {
+      this.defaultVersion = defaultVersion;
+      this.maxErrors = maxErrors;
+      this.metrics = metrics;
+
+      final Map<String, String> urls = new LinkedHashMap<>();
+      urls.put(defaultVersion, openApiUrl);
+      Binder.get(environment)
+            .bind(ADDITIONAL_SPECS_PROPERTY, Bindable.mapOf(String.class, String.class))
+            .ifBound(additional -> additional.forEach(urls::putIfAbsent));
+
+      final Map<String, SpecSource> specSources = new LinkedHashMap<>();
+      urls.forEach((version, url) -> specSources.put(version, new SpecSource(url,
+            snapshotDirectory.isBlank() || !SpecSnapshotCache.isCacheable(url) ? null
+                  : new SpecSnapshotCache(url, Path.of(snapshotDirectory, version)))));
+      this.sources = Map.copyOf(specSources);
+
+      boolean startedFromSnapshot = false;
+      for (final Map.Entry<String, SpecSource> source : specSources.entrySet()) {
+         final long start = System.nanoTime();
+         final SpecSource spec = source.getValue();
+         final Optional<URL> snapshot = spec.snapshotCache() != null ? spec.snapshotCache().snapshotUrl()
+               : Optional.empty();
+         if (snapshot.isPresent()) {
+            load(source.getKey(), snapshot.get());
+            startedFromSnapshot = true;
+         } else {
+            @SuppressWarnings("deprecation") final URL url = new URL(spec.url());
+            load(source.getKey(), fetchSnapshot(spec).orElse(url));
+         }
+         log.info("Initialized validator for version {} with OpenAPI spec from: {} ({} paths compiled, {}, {} ms)",
+               source.getKey(), spec.url(), specs.get(source.getKey()).compiledSpec().pathCount(),
+               snapshot.isPresent() ? "local snapshot" : "downloaded", (System.nanoTime() - start) / 1_000_000);
+      }
+
+      if (refreshInterval.isZero() || refreshInterval.isNegative()) {
+         this.refreshScheduler = null;
+         if (startedFromSnapshot) {
+            CompletableFuture.runAsync(this::refresh);
+         }
+         return;
+      }
+      this.refreshScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+         final Thread thread = new Thread(runnable, "openapi-refresh");
+         thread.setDaemon(true);
+         return thread;
+      });
+      // started from a snapshot, check right away whether the spec changed meanwhile
+      refreshScheduler.scheduleWithFixedDelay(this::refresh, startedFromSnapshot ? 0 : refreshInterval.toMillis(),
+            refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+   }
+
+   /**
+    * Gets the spec version used for requests without a version header.
+    */
+   public String getDefaultVersion() {
+      return defaultVersion;
+   }
 
-   public Validator(@Value("${app.traceability.openapi-spec-url}") final String openApiUrl)
-         throws ResolutionException, ValidationException, MalformedURLException {
-      @SuppressWarnings("deprecation") final URL url = new URL(openApiUrl);
-      this.spec = new OpenApi3Parser().parse(url, false);
-      this.validatorCache = new HashMap<>();
+   /**
+    * Gets all spec versions requests can be validated against.
+    */
+   public Set<String> getVersions() {
+      return specs.keySet();
+   }
 
-      log.info("Initialized validator with OpenAPI spec from: {}", openApiUrl);
+   /**
+    * Compiles the spec at the given URL and swaps it in for the given version, adding the version if it is new.
+    * A spec with the same content as an already loaded one shares its compiled validators. Validations never wait
+    * for a reload; in-flight validations keep using the validators they started with.
+    *
+    * @return true if the version was added or its spec changed, false if it already had a spec with that content
+    * @throws IOException if the spec could not be read
+    */
+   public boolean load(final String version, final URL url) throws ResolutionException, ValidationException,
+         IOException {
+      final byte[] content;
+      try (final InputStream in = url.openStream()) {
+         content = in.readAllBytes();
+      }
+      final String digest = digest(content);
+      reloadLock.lock();
+      try {
+         final Map<String, LoadedSpec> current = specs;
+         final LoadedSpec loaded = current.get(version);
+         if (loaded != null && loaded.digest().equals(digest)) {
+            return false;
+         }
+         final CompiledSpec shared = current.values().stream()
+                                            .filter(other -> other.digest().equals(digest))
+                                            .map(LoadedSpec::compiledSpec)
+                                            .findFirst()
+                                            .orElse(null);
+         final Map<String, LoadedSpec> updated = new HashMap<>(current);
+         updated.put(version, new LoadedSpec(shared != null ? shared : CompiledSpec.compile(url, content), digest));
+         specs = Map.copyOf(updated);
+         return true;
+      } finally {
+         reloadLock.unlock();
+      }
+   }
+
+   /**
+    * Fetches the OpenAPI specs again and swaps in the recompiled validators of those that changed. Specs with a
+    * local snapshot are only fetched if they have changed since the snapshot was taken. In-flight validations keep
+    * using the validators they started with. Called every refresh interval, it may also be called to reload the
+    * specs right away.
+    */
+   public void refresh() {
+      sources.forEach((version, source) -> {
+         try {
+            final boolean changed;
+            if (source.snapshotCache() == null || source.snapshotCache().isBypassed()) {
+               @SuppressWarnings("deprecation") final URL url = new URL(source.url());
+               changed = load(version, url);
+            } else {
+               changed = source.snapshotCache().refresh()
+                         && load(version, source.snapshotCache().snapshotUrl().orElseThrow());
+            }
+            if (changed) {
+               log.info("Reloaded validator for version {} with updated OpenAPI spec from: {}", version,
+                     source.url());
+            }
+         } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+         } catch (final Exception e) {
+            log.warn("Could not refresh OpenAPI spec of {}: {}", source.url(), e.getMessage());
+         }
+      });
+   }
+
+   @PreDestroy
+   public void stop() {
+      if (refreshScheduler != null) {
+         refreshScheduler.shutdownNow();
+      }
+   }
+
+   private Optional<URL> fetchSnapshot(final SpecSource source) {
+      if (source.snapshotCache() == null) {
+         return Optional.empty();
+      }
+      try {
+         source.snapshotCache().refresh();
+         return source.snapshotCache().snapshotUrl();
+      } catch (final InterruptedException e) {
+         Thread.currentThread().interrupt();
+      } catch (final Exception e) {
+         log.warn("Could not store OpenAPI spec snapshot of {}: {}", source.url(), e.getMessage());
+      }
+      return Optional.empty();
+   }
+
+   private static String digest(final byte[] content) {
+      try {
+         return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+      } catch (final NoSuchAlgorithmException e) {
+         throw new IllegalStateException("SHA-256 is not available", e);
+      }
    }
 
    /**
@@ -53,14 +252,129 @@ public class Validator {
     *
     * @param pathPattern the OpenAPI path (e.g., "/qualitynotifications/receive")
     * @param method      the HTTP method (e.g., POST)
-    * @param body        the request body object
+    * @param body        the request body object, handed to Kappa as is
     * @return ValidationResult containing validation status and any errors
     */
    public ValidationResult validate(final String pathPattern, final Request.Method method, final JsonNode body) {
+      return validate(null, pathPattern, method, null, body);
+   }
+
+   /**
+    * Validates the raw request body bytes against the OpenAPI specification for a given endpoint.
+    * The body is parsed once into a tree that both the structural pre-check and Kappa work on. Structurally broken
+    * bodies are rejected by the pre-check without the full schema validation.
+    *
+    * @param pathPattern the OpenAPI path (e.g., "/qualitynotifications/receive")
+    * @param method      the HTTP method (e.g., POST)
+    * @param body        the UTF-8 encoded request body
+    * @return ValidationResult containing validation status and any errors
+    */
+   public ValidationResult validate(final String pathPattern, final Request.Method method, final byte[] body) {
+      return validate(null, pathPattern, method, body);
+   }
+
+   /**
+    * Validates the raw request body bytes against the OpenAPI specification of a spec version.
+    *
+    * @param version     the spec version, null for the default version
+    * @param pathPattern the OpenAPI path (e.g., "/qualitynotifications/receive")
+    * @param method      the HTTP method (e.g., POST)
+    * @param body        the UTF-8 encoded request body
+    * @return ValidationResult containing validation status and any errors, an error if the version is unknown
+    */
+   public ValidationResult validate(final String version, final String pathPattern, final Request.Method method,
+         final byte[] body) {
+      return validate(version, pathPattern, method, body, null);
+   }
+
+   /**
+    * Validates a request body against the OpenAPI specification of a spec version, reusing the body's tree if the
+    * caller parsed it already, e.g. to route and admit the request.
+    *
+    * @param version     the spec version, null for the default version
+    * @param pathPattern the OpenAPI path (e.g., "/qualitynotifications/receive")
+    * @param method      the HTTP method (e.g., POST)
+    * @param body        the UTF-8 encoded request body, null if only the tree is given
+    * @param tree        the parsed request body, null to parse the body here
+    * @return ValidationResult containing validation status and any errors, an error if the version is unknown
+    */
+   public ValidationResult validate(final String version, final String pathPattern, final Request.Method method,
+         final byte[] body, final JsonNode tree) {
+      // read once, so the whole validation uses the same spec even if it is reloaded meanwhile
+      final LoadedSpec loaded = specs.get(version != null ? version : defaultVersion);
+      if (loaded == null) {
+         log.debug("Rejecting request for unknown spec version {}", version);
+         return ValidationResult.error("Unsupported spec version: " + version);
+      }
+      final CompiledSpec compiledSpec = loaded.compiledSpec();
+
+      if (body != null) {
+         metrics.recordBodySize(pathPattern, body.length);
+      }
+      final long start = System.nanoTime();
+      final StructuralPreValidator preValidator;
+      try {
+         preValidator = compiledSpec.preValidator(pathPattern, method);
+      } catch (final IllegalArgumentException e) {
+         log.error("Unexpected validation error", e);
+         metrics.recordValidation(pathPattern, ValidationMetrics.Outcome.ERROR, System.nanoTime() - start);
+         return ValidationResult.error("Validation error: " + e.getMessage());
+      }
+
+      // a body that cannot be parsed is left to the pre-check and Kappa to describe
+      final JsonNode parsed = tree != null ? tree : parse(body);
+      if (preValidator != null) {
+         final ValidationResult preResult = parsed != null ? preValidator.check(parsed) : preValidator.check(body);
+         if (preResult.hasErrors()) {
+            log.debug("Structural pre-validation failed for {} {}: {}", method, pathPattern,
+                  preResult.getFirstErrorMessage().orElse(""));
+            metrics.recordValidation(pathPattern, ValidationMetrics.Outcome.INVALID, System.nanoTime() - start);
+            preResult.getFirstError().ifPresent(error -> metrics.recordFailure(pathPattern, error.schemaLocation()));
+            return preResult;
+         }
+      }
+      return validate(compiledSpec, pathPattern, method,
+            parsed != null ? Body.from(parsed) : Body.from(new String(body, StandardCharsets.UTF_8)));
+   }
+
+   /**
+    * Parses a request body once for all validation steps.
+    *
+    * @return the tree, or null if the body is empty or not well-formed
+    */
+   private static JsonNode parse(final byte[] body) {
       try {
-         final OperationValidator validator = getOrCreateValidator(pathPattern, method);
+         final JsonNode tree = BODY_READER.readTree(body);
+         return tree == null || tree.isMissingNode() ? null : tree;
+      } catch (final IOException e) {
+         return null;
+      }
+   }
 
-         final Request request = new DefaultRequest.Builder(pathPattern, method).body(Body.from(body.toString()))
+   /**
+    * Validates a request body read from the given stream against the OpenAPI specification for a given endpoint.
+    *
+    * @param pathPattern the OpenAPI path (e.g., "/qualitynotifications/receive")
+    * @param method      the HTTP method (e.g., POST)
+    * @param body        stream of the UTF-8 encoded request body, not closed by this method
+    * @return ValidationResult containing validation status and any errors
+    */
+   public ValidationResult validate(final String pathPattern, final Request.Method method, final InputStream body) {
+      try {
+         return validate(pathPattern, method, body.readAllBytes());
+      } catch (final IOException e) {
+         log.error("Could not read request body", e);
+         return ValidationResult.error("Validation error: " + e.getMessage());
+      }
+   }
+
+   private ValidationResult validate(final CompiledSpec compiledSpec, final String pathPattern,
+         final Request.Method method, final Body body) {
+      final long start = System.nanoTime();
+      try {
+         final OperationValidator validator = compiledSpec.operationValidator(pathPattern, method);
+
+         final Request request = new DefaultRequest.Builder(pathPattern, method).body(body)
                                                                                 .header("Content-Type",
                                                                                       "application/json")
                                                                                 .build();
@@ -69,15 +383,23 @@ public class Validator {
          validator.validateBody(request, validationData);
 
          if (!validationData.isValid()) {
-            log.warn("Validation failed for {} {}: {}", method, pathPattern, validationData.results());
-            return ValidationResult.failure(validationData);
+            // error details are only formatted for the first error here, the rest is left to whoever asks for them
+            final ValidationResult result = ValidationResult.failure(validationData, maxErrors);
+            metrics.recordValidation(pathPattern, ValidationMetrics.Outcome.INVALID, System.nanoTime() - start);
+            result.getFirstError().ifPresent(error -> metrics.recordFailure(pathPattern, error.schemaLocation()));
+            if (log.isDebugEnabled()) {
+               log.debug("Validation failed for {} {}: {}", method, pathPattern, result.getErrorSummary());
+            }
+            return result;
          }
 
          log.debug("Validation successful for {} {}", method, pathPattern);
+         metrics.recordValidation(pathPattern, ValidationMetrics.Outcome.VALID, System.nanoTime() - start);
          return ValidationResult.success();
 
       } catch (final Exception e) {
          log.error("Unexpected validation error", e);
+         metrics.recordValidation(pathPattern, ValidationMetrics.Outcome.ERROR, System.nanoTime() - start);
          return ValidationResult.error("Validation error: " + e.getMessage());
       }
    }
@@ -86,43 +408,68 @@ public class Validator {
     * Convenience method for validating POST requests to /qualitynotifications/receive
     */
    public ValidationResult validateReceive(final JsonNode body) {
-      return validate("/qualitynotifications/receive", Request.Method.POST, body);
+      return validate(RECEIVE_PATH, Request.Method.POST, body);
+   }
+
+   /**
+    * Convenience method for validating raw POST request bodies to /qualitynotifications/receive
+    */
+   public ValidationResult validateReceive(final byte[] body) {
+      return validate(RECEIVE_PATH, Request.Method.POST, body);
+   }
+
+   /**
+    * Convenience method for validating raw POST request bodies to /qualitynotifications/receive against a spec
+    * version, null for the default version
+    */
+   public ValidationResult validateReceive(final byte[] body, final String version) {
+      return validate(version, RECEIVE_PATH, Request.Method.POST, body);
+   }
+
+   /**
+    * Convenience method for validating POST request bodies to /qualitynotifications/receive against a spec version,
+    * null for the default version, reusing the body's tree if already parsed, otherwise null
+    */
+   public ValidationResult validateReceive(final byte[] body, final JsonNode tree, final String version) {
+      return validate(version, RECEIVE_PATH, Request.Method.POST, body, tree);
    }
 
    /**
     * Convenience method for validating POST requests to /qualitynotifications/update
     */
    public ValidationResult validateUpdate(final JsonNode body) {
-      return validate("/qualitynotifications/update", Request.Method.POST, body);
+      return validate(UPDATE_PATH, Request.Method.POST, body);
    }
 
    /**
-    * Gets or creates an OperationValidator for the given path and method.
-    * Validators are cached for performance.
+    * Convenience method for validating raw POST request bodies to /qualitynotifications/update
     */
-   private OperationValidator getOrCreateValidator(final String pathPattern, final Request.Method method) {
-      final String cacheKey = method + ":" + pathPattern;
+   public ValidationResult validateUpdate(final byte[] body) {
+      return validate(UPDATE_PATH, Request.Method.POST, body);
+   }
 
-      return validatorCache.computeIfAbsent(cacheKey, k -> {
-         final Path path = spec.getPath(pathPattern);
-         if (path == null) {
-            throw new IllegalArgumentException("Path not found in OpenAPI spec: " + pathPattern);
-         }
+   /**
+    * Convenience method for validating raw POST request bodies to /qualitynotifications/update against a spec
+    * version, null for the default version
+    */
+   public ValidationResult validateUpdate(final byte[] body, final String version) {
+      return validate(version, UPDATE_PATH, Request.Method.POST, body);
+   }
 
-         final Operation operation = switch (method) {
-            case GET -> path.getGet();
-            case POST -> path.getPost();
-            case PUT -> path.getPut();
-            case DELETE -> path.getDelete();
-            case PATCH -> path.getPatch();
-            default -> throw new IllegalArgumentException("Unsupported HTTP method: " + method);
-         };
-
-         if (operation == null) {
-            throw new IllegalArgumentException("Operation not found for " + method + " " + pathPattern);
-         }
+   /**
+    * Convenience method for validating POST request bodies to /qualitynotifications/update against a spec version,
+    * null for the default version, reusing the body's tree if already parsed, otherwise null
+    */
+   public ValidationResult validateUpdate(final byte[] body, final JsonNode tree, final String version) {
+      return validate(version, UPDATE_PATH, Request.Method.POST, body, tree);
+   }
 
-         return new OperationValidator(spec, path, operation);
-      });
+   private record SpecSource(String url, SpecSnapshotCache snapshotCache) {
+   }
+
+   /**
+    * A compiled spec with the digest of its content, to share it between versions with the same content.
+    */
+   private record LoadedSpec(CompiledSpec compiledSpec, String digest) {
    }
 }
\ No newline at end of file
@@ -0,0 +1,90 @@
+package net.catenax.traceability.perf;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Latencies and response statuses of the requests one client sent to one endpoint.
+ * Each client records into its own instance without synchronization; the instances are merged after the run.
+ * <br/><br/>
+ * <small>
+ * Copyright (c) 2025, doubleSlash Net-Business GmbH, http://www.doubleslash.de
+ * <br/><br/>
+ * </small>
+ *
+ * @author emanuel.schaeffer@doubleslash.de
+ */
+final class EndpointStats {
+   private long[] latencies = new long[1024];
+   private int size;
+   private final Map<Integer, Long> statuses = new TreeMap<>();
+
+   /**
+    * Records a request.
+    *
+    * @param latencyNanos the latency, measured from when the request was due to be sent
+    * @param status       the response status, 0 for an I/O error
+    */
+   void record(final long latencyNanos, final int status) {
+      if (size == latencies.length) {
+         latencies = Arrays.copyOf(latencies, size * 2);
+      }
+      latencies[size++] = latencyNanos;
+      statuses.merge(status, 1L, Long::sum);
+   }
+
+   /**
+    * Adds the requests recorded by another client.
+    */
+   void merge(final EndpointStats other) {
+      if (size + other.size > latencies.length) {
+         latencies = Arrays.copyOf(latencies, size + other.size);
+      }
+      System.arraycopy(other.latencies, 0, latencies, size, other.size);
+      size += other.size;
+      other.statuses.forEach((status, count) -> statuses.merge(status, count, Long::sum));
+   }
+
+   /**
+    * Summarizes the recorded requests.
+    *
+    * @param durationNanos the duration of the measured phase
+    */
+   EndpointResult summarize(final long durationNanos) {
+      final long[] sorted = Arrays.copyOf(latencies, size);
+      Arrays.sort(sorted);
+      final long errors = statuses.entrySet().stream()
+                                  .filter(entry -> entry.getKey() < 200 || entry.getKey() >= 300)
+                                  .mapToLong(Map.Entry::getValue)
+                                  .sum();
+      final Map<String, Long> byStatus = new TreeMap<>();
+      statuses.forEach((status, count) -> byStatus.put(status == 0 ? "IO_ERROR" : status.toString(), count));
+      return new EndpointResult(size, errors, size * 1e9 / durationNanos, percentile(sorted, 0.5),
+            percentile(sorted, 0.99), percentile(sorted, 0.999), size == 0 ? 0 : sorted[size - 1] / 1e6, byStatus);
+   }
+
+   private static double percentile(final long[] sorted, final double quantile) {
+      if (sorted.length == 0) {
+         return 0;
+      }
+      final int index = (int) Math.ceil(quantile * sorted.length) - 1;
+      return sorted[Math.max(0, index)] / 1e6;
+   }
+
+   /**
+    * Measured results of one endpoint, latencies in milliseconds.
+    *
+    * @param requests          requests sent in the measured phase
+    * @param errors            requests not answered with a 2xx status
+    * @param requestsPerSecond throughput of the measured phase
+    * @param p50               median latency
+    * @param p99               99th percentile latency
+    * @param p999              99.9th percentile latency
+    * @param max               maximum latency
+    * @param statuses          number of responses by status
+    */
+   record EndpointResult(long requests, long errors, double requestsPerSecond, double p50, double p99, double p999,
+                         double max, Map<String, Long> statuses) {
+   }
+}
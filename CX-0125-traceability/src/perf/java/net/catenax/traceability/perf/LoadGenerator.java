@@ -0,0 +1,160 @@
+package net.catenax.traceability.perf;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends a mix of receive and update notifications to the service from a number of concurrent clients.
+ * <p>
+ * Updates refer to recently received notifications and move them on through ACKNOWLEDGED and ACCEPTED to CLOSED.
+ * Without a rate, each client sends its next request as soon as it got the previous response. With a rate, the
+ * requests are due at fixed intervals and latencies are measured from when a request was due, so a stalled service
+ * shows in the latencies instead of slowing down the load.
+ * <br/><br/>
+ * <small>
+ * Copyright (c) 2025, doubleSlash Net-Business GmbH, http://www.doubleslash.de
+ * <br/><br/>
+ * </small>
+ *
+ * @author emanuel.schaeffer@doubleslash.de
+ */
+final class LoadGenerator {
+   static final String RECEIVE = "receive";
+   static final String UPDATE = "update";
+
+   private static final String[] UPDATE_STATUSES = {"ACKNOWLEDGED", "ACCEPTED", "CLOSED"};
+   private static final int RECENT_NOTIFICATIONS = 4096;
+   private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+   private final PerfOptions options;
+   private final NotificationGenerator generator;
+   private final URI receiveUri;
+   private final URI updateUri;
+   private final HttpClient httpClient;
+   private final AtomicReferenceArray<Received> recent = new AtomicReferenceArray<>(RECENT_NOTIFICATIONS);
+   private final AtomicLong receivedCount = new AtomicLong();
+
+   LoadGenerator(final PerfOptions options, final NotificationGenerator generator, final String baseUrl) {
+      this.options = options;
+      this.generator = generator;
+      this.receiveUri = URI.create(baseUrl + "/api/traceability/qualitynotifications/receive");
+      this.updateUri = URI.create(baseUrl + "/api/traceability/qualitynotifications/update");
+      this.httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1)
+                                  .connectTimeout(REQUEST_TIMEOUT).build();
+   }
+
+   /**
+    * Sends requests for the given duration.
+    *
+    * @return the receive and update statistics of all clients
+    */
+   EndpointStats[] run(final Duration duration) throws InterruptedException {
+      final int concurrency = options.concurrency();
+      final long startNanos = System.nanoTime();
+      final long endNanos = startNanos + duration.toNanos();
+      final long intervalNanos = options.rate() > 0 ? 1_000_000_000L * concurrency / options.rate() : 0;
+      final List<Thread> clients = new ArrayList<>(concurrency);
+      final List<EndpointStats[]> results = new ArrayList<>(concurrency);
+      for (int i = 0; i < concurrency; i++) {
+         final EndpointStats[] stats = {new EndpointStats(), new EndpointStats()};
+         results.add(stats);
+         // clients are offset by a share of the interval, so they do not send in lock step
+         final long firstDue = startNanos + intervalNanos * i / concurrency;
+         final Thread client = new Thread(() -> sendUntil(endNanos, firstDue, intervalNanos, stats), "perf-" + i);
+         client.start();
+         clients.add(client);
+      }
+      for (final Thread client : clients) {
+         client.join();
+      }
+      final EndpointStats[] merged = {new EndpointStats(), new EndpointStats()};
+      for (final EndpointStats[] stats : results) {
+         merged[0].merge(stats[0]);
+         merged[1].merge(stats[1]);
+      }
+      return merged;
+   }
+
+   private void sendUntil(final long endNanos, final long firstDue, final long intervalNanos,
+         final EndpointStats[] stats) {
+      final ThreadLocalRandom random = ThreadLocalRandom.current();
+      long due = firstDue;
+      while (true) {
+         if (intervalNanos > 0) {
+            final long wait = due - System.nanoTime();
+            if (wait > 0) {
+               LockSupport.parkNanos(wait);
+            }
+         } else {
+            due = System.nanoTime();
+         }
+         if (due >= endNanos) {
+            return;
+         }
+
+         final Received target = random.nextDouble() < options.updateRatio() ? pickReceived(random) : null;
+         final URI uri;
+         final byte[] body;
+         if (target != null) {
+            final int step = Math.min(target.updates().getAndIncrement(), UPDATE_STATUSES.length - 1);
+            uri = updateUri;
+            body = generator.update(target.notificationId(), UPDATE_STATUSES[step]);
+         } else {
+            final boolean large = random.nextDouble() < options.largeRatio();
+            final NotificationGenerator.Generated generated = generator.receive(
+                  large ? options.largeItems() : 1 + random.nextInt(Math.max(1, options.maxItems())));
+            uri = receiveUri;
+            body = generated.body();
+            recent.set((int) (receivedCount.getAndIncrement() % RECENT_NOTIFICATIONS),
+                  new Received(generated.notificationId(), new AtomicInteger()));
+         }
+
+         final int status = send(uri, body);
+         stats[target != null ? 1 : 0].record(System.nanoTime() - due, status);
+         due += intervalNanos;
+      }
+   }
+
+   private Received pickReceived(final ThreadLocalRandom random) {
+      final long received = receivedCount.get();
+      if (received == 0) {
+         return null;
+      }
+      return recent.get(random.nextInt((int) Math.min(received, RECENT_NOTIFICATIONS)));
+   }
+
+   private int send(final URI uri, final byte[] body) {
+      final HttpRequest request = HttpRequest.newBuilder(uri).timeout(REQUEST_TIMEOUT)
+                                             .header("Content-Type", "application/json")
+                                             .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                                             .build();
+      try {
+         return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+      } catch (final IOException e) {
+         return 0;
+      } catch (final InterruptedException e) {
+         Thread.currentThread().interrupt();
+         return 0;
+      }
+   }
+
+   /**
+    * A received notification updates may refer to.
+    *
+    * @param notificationId the notification ID
+    * @param updates        number of updates sent for it, choosing the next status
+    */
+   private record Received(String notificationId, AtomicInteger updates) {
+   }
+}
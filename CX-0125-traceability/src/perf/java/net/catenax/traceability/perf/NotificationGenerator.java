@@ -0,0 +1,265 @@
+package net.catenax.traceability.perf;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import net.catenax.traceability.notification.QualityNotification;
+import net.catenax.traceability.validator.Validator;
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Generates receive and update notifications from the request body schemas of the OpenAPI spec.
+ * <p>
+ * One example body is derived per operation, with every declared property, taking {@code example}, {@code enum},
+ * {@code format} and length constraints into account. Each generated notification is a copy of it with fresh IDs,
+ * timestamps and a given number of affected items. The spec's patterns are not interpreted, so a spec constraining
+ * fields by pattern only may reject generated values; the run reports them as 400 responses.
+ * <br/><br/>
+ * <small>
+ * Copyright (c) 2025, doubleSlash Net-Business GmbH, http://www.doubleslash.de
+ * <br/><br/>
+ * </small>
+ *
+ * @author emanuel.schaeffer@doubleslash.de
+ */
+final class NotificationGenerator {
+   private static final ObjectMapper MAPPER = new ObjectMapper();
+   private static final JsonNodeFactory NODES = JsonNodeFactory.instance;
+   private static final int MAX_DEPTH = 16;
+   private static final String[] SEVERITIES = {"MINOR", "MAJOR", "CRITICAL", "LIFE-THREATENING"};
+
+   private final ObjectNode receiveExample;
+   private final ObjectNode updateExample;
+   private final JsonNode itemExample;
+
+   private NotificationGenerator(final ObjectNode receiveExample, final ObjectNode updateExample) {
+      this.receiveExample = receiveExample;
+      this.updateExample = updateExample;
+      final JsonNode items = receiveExample.at("/content/listOfAffectedItems");
+      this.itemExample = items.isArray() && !items.isEmpty() ? items.get(0) : null;
+   }
+
+   /**
+    * Derives the generator from a local OpenAPI spec in YAML or JSON.
+    *
+    * @throws IllegalArgumentException if the spec has no JSON request body for the receive or update operation
+    */
+   static NotificationGenerator fromSpec(final Path spec) throws IOException {
+      final JsonNode document;
+      try (final InputStream in = Files.newInputStream(spec)) {
+         document = MAPPER.valueToTree(new Yaml(new SafeConstructor(new LoaderOptions())).load(in));
+      }
+      return new NotificationGenerator(example(document, Validator.RECEIVE_PATH),
+            example(document, Validator.UPDATE_PATH));
+   }
+
+   /**
+    * Generates a receive with the given number of affected items.
+    *
+    * @return the notification ID and the UTF-8 encoded body
+    */
+   Generated receive(final int affectedItems) {
+      final ThreadLocalRandom random = ThreadLocalRandom.current();
+      final ObjectNode body = receiveExample.deepCopy();
+      final String notificationId = newId();
+      fill(body, notificationId);
+      set(body, "/content/severity", SEVERITIES[random.nextInt(SEVERITIES.length)]);
+      final JsonNode items = body.at("/content/listOfAffectedItems");
+      if (items.isArray() && itemExample != null) {
+         final ArrayNode list = (ArrayNode) items;
+         list.removeAll();
+         for (int i = 0; i < affectedItems; i++) {
+            list.add(newItem());
+         }
+      }
+      return new Generated(notificationId, toBytes(body));
+   }
+
+   /**
+    * Generates an update of a received notification.
+    *
+    * @param notificationId the ID of the received notification
+    * @param status         the status to move the notification to
+    */
+   byte[] update(final String notificationId, final String status) {
+      final ObjectNode body = updateExample.deepCopy();
+      fill(body, notificationId);
+      set(body, "/content/relatedNotificationId", notificationId);
+      set(body, QualityNotification.STATUS, status);
+      return toBytes(body);
+   }
+
+   private static void fill(final ObjectNode body, final String notificationId) {
+      set(body, "/header/messageId", newId());
+      set(body, "/header/sentDateTime", Instant.now().toString());
+      set(body, "/content/notificationId", notificationId);
+   }
+
+   private JsonNode newItem() {
+      if (itemExample.isTextual()) {
+         return NODES.textNode(newId());
+      }
+      final JsonNode item = itemExample.deepCopy();
+      if (item.isObject() && item.has("catenaXId")) {
+         ((ObjectNode) item).put("catenaXId", newId());
+      }
+      return item;
+   }
+
+   /**
+    * Replaces the value at the pointer if the example has it, so fields the spec does not declare are not added.
+    */
+   private static void set(final ObjectNode body, final String pointer, final String value) {
+      final int separator = pointer.lastIndexOf('/');
+      final JsonNode parent = body.at(pointer.substring(0, separator));
+      final String field = pointer.substring(separator + 1);
+      if (parent.isObject() && parent.has(field)) {
+         ((ObjectNode) parent).put(field, value);
+      }
+   }
+
+   private static String newId() {
+      return "urn:uuid:" + UUID.randomUUID();
+   }
+
+   private static byte[] toBytes(final JsonNode body) {
+      try {
+         return MAPPER.writeValueAsBytes(body);
+      } catch (final IOException e) {
+         throw new UncheckedIOException("Could not write notification", e);
+      }
+   }
+
+   private static ObjectNode example(final JsonNode document, final String path) {
+      final Iterator<Map.Entry<String, JsonNode>> paths = document.path("paths").fields();
+      while (paths.hasNext()) {
+         final Map.Entry<String, JsonNode> entry = paths.next();
+         if (!entry.getKey().endsWith(path)) {
+            continue;
+         }
+         final JsonNode requestBody = resolve(document, entry.getValue().path("post").path("requestBody"));
+         final JsonNode example = example(document, requestBody.path("content").path("application/json")
+                                                                .path("schema"), 0);
+         if (example.isObject()) {
+            return (ObjectNode) example;
+         }
+      }
+      throw new IllegalArgumentException("No JSON object request body found for POST " + path);
+   }
+
+   private static JsonNode example(final JsonNode document, final JsonNode schemaOrRef, final int depth) {
+      final JsonNode schema = resolve(document, schemaOrRef);
+      if (depth > MAX_DEPTH || schema.isMissingNode()) {
+         return NODES.nullNode();
+      }
+      if (schema.has("example")) {
+         return schema.get("example");
+      }
+      if (schema.path("examples").isArray() && !schema.get("examples").isEmpty()) {
+         return schema.get("examples").get(0);
+      }
+      if (schema.path("enum").isArray() && !schema.get("enum").isEmpty()) {
+         return schema.get("enum").get(0);
+      }
+      for (final String alternatives : new String[]{"oneOf", "anyOf"}) {
+         if (schema.path(alternatives).isArray() && !schema.get(alternatives).isEmpty()) {
+            return example(document, schema.get(alternatives).get(0), depth + 1);
+         }
+      }
+      if (schema.has("allOf")) {
+         final ObjectNode merged = NODES.objectNode();
+         for (final JsonNode part : schema.get("allOf")) {
+            final JsonNode partExample = example(document, part, depth + 1);
+            if (partExample.isObject()) {
+               merged.setAll((ObjectNode) partExample);
+            }
+         }
+         if (schema.has("properties")) {
+            merged.setAll(properties(document, schema, depth));
+         }
+         return merged;
+      }
+
+      final String type = schema.path("type").isArray() ? schema.get("type").get(0).asText()
+            : schema.path("type").asText(schema.has("properties") ? "object" : "string");
+      return switch (type) {
+         case "object" -> properties(document, schema, depth);
+         case "array" -> {
+            final ArrayNode array = NODES.arrayNode();
+            final int size = Math.max(1, schema.path("minItems").asInt(1));
+            for (int i = 0; i < size; i++) {
+               array.add(example(document, schema.path("items"), depth + 1));
+            }
+            yield array;
+         }
+         case "integer" -> NODES.numberNode(schema.path("minimum").asLong(1));
+         case "number" -> NODES.numberNode(schema.path("minimum").asDouble(1));
+         case "boolean" -> NODES.booleanNode(true);
+         case "null" -> NODES.nullNode();
+         default -> NODES.textNode(string(schema));
+      };
+   }
+
+   private static ObjectNode properties(final JsonNode document, final JsonNode schema, final int depth) {
+      final ObjectNode object = NODES.objectNode();
+      schema.path("properties").fields().forEachRemaining(property -> {
+         final JsonNode propertySchema = resolve(document, property.getValue());
+         if (!propertySchema.path("readOnly").asBoolean(false)) {
+            object.set(property.getKey(), example(document, property.getValue(), depth + 1));
+         }
+      });
+      return object;
+   }
+
+   private static String string(final JsonNode schema) {
+      final String value = switch (schema.path("format").asText("")) {
+         case "uuid" -> UUID.randomUUID().toString();
+         case "date-time" -> Instant.now().toString();
+         case "date" -> LocalDate.now().toString();
+         case "uri" -> "https://example.org/notification";
+         default -> schema.path("pattern").asText("").contains("BPN") ? "BPNL000000000001" : "perf";
+      };
+      final int minLength = schema.path("minLength").asInt(0);
+      final int maxLength = schema.path("maxLength").asInt(Integer.MAX_VALUE);
+      final String padded = value.length() < minLength ? value + "x".repeat(minLength - value.length()) : value;
+      return padded.length() > maxLength ? padded.substring(0, maxLength) : padded;
+   }
+
+   private static JsonNode resolve(final JsonNode document, final JsonNode node) {
+      JsonNode resolved = node;
+      for (int hops = 0; hops < MAX_DEPTH && resolved.has("$ref"); hops++) {
+         final String ref = resolved.get("$ref").asText();
+         if (!ref.startsWith("#/")) {
+            return MissingNode.getInstance();
+         }
+         resolved = document.at(ref.substring(1));
+      }
+      return resolved;
+   }
+
+   /**
+    * A generated receive.
+    *
+    * @param notificationId the notification ID, for later updates
+    * @param body           the UTF-8 encoded body
+    */
+   record Generated(String notificationId, byte[] body) {
+   }
+}
@@ -0,0 +1,76 @@
+package net.catenax.traceability.perf;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Options of a performance run, given as {@code --name=value} arguments.
+ * <br/><br/>
+ * <small>
+ * Copyright (c) 2025, doubleSlash Net-Business GmbH, http://www.doubleslash.de
+ * <br/><br/>
+ * </small>
+ *
+ * @param spec             local OpenAPI spec file the service validates against and payloads are generated from
+ * @param output           directory for the results, service logs and the service's data
+ * @param baseline         results of an earlier run to compare with, null to skip the comparison
+ * @param label            label of the measured release, stored with the results
+ * @param warmupSeconds    duration of the warm-up phase, whose requests are not measured
+ * @param durationSeconds  duration of the measured phase
+ * @param concurrency      number of concurrent clients
+ * @param rate             total requests per second, 0 to send as fast as the clients get responses
+ * @param updateRatio      share of update requests, the rest are receives
+ * @param maxItems         maximum number of affected items of a usual notification
+ * @param largeItems       number of affected items of a large notification
+ * @param largeRatio       share of large notifications among the receives
+ * @param edcLatencyMillis latency of the stub EDC management API
+ * @param serviceJvmArgs   JVM arguments of the service, separated by spaces
+ * @param serviceCommand   command starting the service instead of a JVM on the class path, e.g. a native
+ *                         executable, separated by spaces; empty to use the class path
+ * @author emanuel.schaeffer@doubleslash.de
+ */
+record PerfOptions(Path spec, Path output, Path baseline, String label, int warmupSeconds, int durationSeconds,
+                   int concurrency, int rate, double updateRatio, int maxItems, int largeItems, double largeRatio,
+                   int edcLatencyMillis, String serviceJvmArgs,
+                   String serviceCommand) {
+
+   /**
+    * Parses the arguments, using defaults for those not given. An argument may hold several options separated by
+    * spaces.
+    *
+    * @throws IllegalArgumentException if an argument is malformed or the spec is missing
+    */
+   static PerfOptions parse(final String[] args) {
+      final Map<String, String> values = new HashMap<>();
+      for (final String arg : Arrays.stream(args).flatMap(value -> Arrays.stream(value.split("\\s+(?=--)")))
+                                    .filter(value -> !value.isBlank()).toList()) {
+         final int separator = arg.indexOf('=');
+         if (!arg.startsWith("--") || separator < 0) {
+            throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+         }
+         values.put(arg.substring(2, separator), arg.substring(separator + 1));
+      }
+      final String spec = values.get("spec");
+      if (spec == null || spec.isBlank()) {
+         throw new IllegalArgumentException("--spec=<local OpenAPI spec file> is required");
+      }
+      final String baseline = values.getOrDefault("baseline", "");
+      return new PerfOptions(Path.of(spec),
+            Path.of(values.getOrDefault("output", "target/perf")),
+            baseline.isBlank() ? null : Path.of(baseline),
+            values.getOrDefault("label", "unlabeled"),
+            Integer.parseInt(values.getOrDefault("warmup-seconds", "20")),
+            Integer.parseInt(values.getOrDefault("duration-seconds", "60")),
+            Integer.parseInt(values.getOrDefault("concurrency", "32")),
+            Integer.parseInt(values.getOrDefault("rate", "0")),
+            Double.parseDouble(values.getOrDefault("update-ratio", "0.3")),
+            Integer.parseInt(values.getOrDefault("max-items", "10")),
+            Integer.parseInt(values.getOrDefault("large-items", "5000")),
+            Double.parseDouble(values.getOrDefault("large-ratio", "0.02")),
+            Integer.parseInt(values.getOrDefault("edc-latency-ms", "20")),
+            values.getOrDefault("service-jvm-args", "-Xmx512m"),
+            values.getOrDefault("service-command", ""));
+   }
+}
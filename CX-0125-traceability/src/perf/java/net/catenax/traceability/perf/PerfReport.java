@@ -0,0 +1,135 @@
+package net.catenax.traceability.perf;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Results of a performance run, written as JSON so runs of different releases can be compared.
+ * Latencies and durations are in milliseconds.
+ * <br/><br/>
+ * <small>
+ * Copyright (c) 2025, doubleSlash Net-Business GmbH, http://www.doubleslash.de
+ * <br/><br/>
+ * </small>
+ *
+ * @param label           label of the measured release
+ * @param startedAt       start of the run, ISO-8601
+ * @param javaVersion     Java version the service ran on
+ * @param options         the options of the run
+ * @param startupMillis   time from starting the service process until it was ready
+ * @param startupRssMb    resident set size of the service once it was ready, 0 if not available
+ * @param loadedRssMb     resident set size of the service after the measured phase, 0 if not available
+ * @param edcProvisioning provisioning of the EDC offer after startup, null if the service sent no EDC request
+ * @param endpoints       results of the measured phase by endpoint
+ * @param gc              GC and allocation figures of the service during the measured phase
+ * @author emanuel.schaeffer@doubleslash.de
+ */
+record PerfReport(String label, String startedAt, String javaVersion, Map<String, Object> options,
+                  double startupMillis, double startupRssMb, double loadedRssMb,
+                  StubEdcServer.Provisioning edcProvisioning,
+                  Map<String, EndpointStats.EndpointResult> endpoints, Gc gc) {
+
+   private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+   /**
+    * Writes the results to a JSON file.
+    */
+   void write(final Path file) throws IOException {
+      MAPPER.writeValue(file.toFile(), this);
+   }
+
+   /**
+    * Reads results written by {@link #write(Path)}.
+    */
+   static PerfReport read(final Path file) throws IOException {
+      return MAPPER.readValue(file.toFile(), PerfReport.class);
+   }
+
+   /**
+    * Gets the headline figures, in a stable order for printing and comparing.
+    */
+   Map<String, Double> figures() {
+      final Map<String, Double> figures = new LinkedHashMap<>();
+      figures.put("startup ms", startupMillis);
+      figures.put("startup RSS MB", startupRssMb);
+      figures.put("loaded RSS MB", loadedRssMb);
+      if (edcProvisioning != null) {
+         figures.put("edc provisioning ms", edcProvisioning.durationMillis());
+      }
+      endpoints.forEach((endpoint, result) -> {
+         figures.put(endpoint + " req/s", result.requestsPerSecond());
+         figures.put(endpoint + " p50 ms", result.p50());
+         figures.put(endpoint + " p99 ms", result.p99());
+         figures.put(endpoint + " p999 ms", result.p999());
+         figures.put(endpoint + " errors", (double) result.errors());
+      });
+      figures.put("gc pauses", (double) gc.pauses());
+      figures.put("gc pause total ms", gc.pauseTotalMillis());
+      figures.put("gc pause max ms", gc.pauseMaxMillis());
+      figures.put("allocation MB/s", gc.allocationMegabytesPerSecond());
+      return figures;
+   }
+
+   /**
+    * Formats the headline figures, with the change against a baseline if one is given.
+    */
+   String format(final PerfReport baseline) {
+      final StringBuilder text = new StringBuilder(String.format("%-24s %14s", "", label));
+      if (baseline != null) {
+         text.append(String.format(" %14s %9s", baseline.label(), "change"));
+      }
+      text.append(System.lineSeparator());
+      final Map<String, Double> before = baseline != null ? baseline.figures() : Map.of();
+      figures().forEach((name, value) -> {
+         text.append(String.format("%-24s %14.2f", name, value));
+         final Double previous = before.get(name);
+         if (previous != null) {
+            text.append(String.format(" %14.2f", previous));
+            if (previous != 0) {
+               text.append(String.format(" %+8.1f%%", (value - previous) * 100 / previous));
+            }
+         }
+         text.append(System.lineSeparator());
+      });
+      return text.toString();
+   }
+
+   /**
+    * GC and allocation figures of the service, from its Micrometer JVM metrics.
+    *
+    * @param pauses                       GC pauses during the measured phase
+    * @param pauseTotalMillis             total GC pause time during the measured phase
+    * @param pauseMaxMillis               longest GC pause of the recent past, as reported at the end of the phase
+    * @param allocatedMegabytes           heap allocated during the measured phase
+    * @param allocationMegabytesPerSecond allocation rate during the measured phase
+    */
+   record Gc(long pauses, double pauseTotalMillis, double pauseMaxMillis, double allocatedMegabytes,
+             double allocationMegabytesPerSecond) {
+
+      private static final String PAUSE_COUNT = "jvm_gc_pause_seconds_count";
+      private static final String PAUSE_SUM = "jvm_gc_pause_seconds_sum";
+      private static final String PAUSE_MAX = "jvm_gc_pause_seconds_max";
+      private static final String ALLOCATED = "jvm_gc_memory_allocated_bytes_total";
+
+      /**
+       * Computes the figures from the service's metrics before and after the measured phase.
+       */
+      static Gc between(final Map<String, Double> before, final Map<String, Double> after,
+            final long durationNanos) {
+         final double allocatedMegabytes = delta(before, after, ALLOCATED) / (1024 * 1024);
+         return new Gc((long) delta(before, after, PAUSE_COUNT), delta(before, after, PAUSE_SUM) * 1000,
+               after.getOrDefault(PAUSE_MAX, 0d) * 1000, allocatedMegabytes,
+               allocatedMegabytes * 1e9 / durationNanos);
+      }
+
+      private static double delta(final Map<String, Double> before, final Map<String, Double> after,
+            final String name) {
+         return after.getOrDefault(name, 0d) - before.getOrDefault(name, 0d);
+      }
+   }
+}
@@ -0,0 +1,97 @@
+package net.catenax.traceability.perf;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * End-to-end performance run of the notification endpoints.
+ * <p>
+ * Starts a stub EDC management API and the service in its own process, with the spec served from a local file, and
+ * measures the startup and the provisioning of the EDC offer. It then sends a mix of receives and updates generated
+ * from the spec, first for a warm-up phase and then for the measured phase, and records throughput and latency
+ * percentiles per endpoint as well as the service's GC pauses and allocation rate. The results are written to
+ * {@code perf-<label>-<time>.json} in the output directory and compared with a baseline if one is given.
+ * <p>
+ * To compare builds, e.g. the native executable or the CDS image against the plain jar, run the suite once per
+ * build with {@code --service-command} and the earlier results as baseline; startup time and resident set size are
+ * part of the results.
+ * <p>
+ * Run with the {@code perf} Maven profile, e.g.
+ * {@code mvn -Pperf compile exec:exec -Dperf.spec=notifications.yaml -Dperf.baseline=target/perf/perf-1.0.json}.
+ * All options are described in {@link PerfOptions}.
+ * <br/><br/>
+ * <small>
+ * Copyright (c) 2025, doubleSlash Net-Business GmbH, http://www.doubleslash.de
+ * <br/><br/>
+ * </small>
+ *
+ * @author emanuel.schaeffer@doubleslash.de
+ */
+public final class PerfSuite {
+   private static final Logger log = LoggerFactory.getLogger(PerfSuite.class);
+   private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+   private static final long EDC_QUIET_MILLIS = 2000;
+   private static final long EDC_TIMEOUT_MILLIS = 60_000;
+
+   private PerfSuite() {
+   }
+
+   public static void main(final String[] args) throws Exception {
+      final PerfOptions options = PerfOptions.parse(args);
+      final Instant startedAt = Instant.now();
+      final String runName = "perf-" + options.label() + "-"
+                             + DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC)
+                                                .format(startedAt);
+      final Path runDirectory = Files.createDirectories(options.output().resolve(runName));
+      final NotificationGenerator generator = NotificationGenerator.fromSpec(options.spec());
+
+      final PerfReport report;
+      try (final StubEdcServer edc = StubEdcServer.start(options.edcLatencyMillis());
+           final ServiceProcess service = ServiceProcess.start(options, runDirectory, edc.getUrl())) {
+         final double startupMillis = service.awaitReady(STARTUP_TIMEOUT);
+         final double startupRssMb = service.residentMegabytes();
+         log.info("Service ready after {} ms with {} MB RSS", Math.round(startupMillis), Math.round(startupRssMb));
+         final StubEdcServer.Provisioning provisioning = edc.awaitProvisioning(EDC_QUIET_MILLIS,
+               EDC_TIMEOUT_MILLIS);
+         if (provisioning == null) {
+            log.warn("Service sent no EDC request within {} ms", EDC_TIMEOUT_MILLIS);
+         }
+
+         final LoadGenerator load = new LoadGenerator(options, generator, service.getBaseUrl());
+         log.info("Warming up for {} s", options.warmupSeconds());
+         load.run(Duration.ofSeconds(options.warmupSeconds()));
+
+         log.info("Measuring for {} s with {} clients", options.durationSeconds(), options.concurrency());
+         final Map<String, Double> before = service.scrapeMetrics();
+         final long phaseStart = System.nanoTime();
+         final EndpointStats[] stats = load.run(Duration.ofSeconds(options.durationSeconds()));
+         final long phaseNanos = System.nanoTime() - phaseStart;
+         final Map<String, Double> after = service.scrapeMetrics();
+         final double loadedRssMb = service.residentMegabytes();
+
+         final Map<String, EndpointStats.EndpointResult> endpoints = new LinkedHashMap<>();
+         endpoints.put(LoadGenerator.RECEIVE, stats[0].summarize(phaseNanos));
+         endpoints.put(LoadGenerator.UPDATE, stats[1].summarize(phaseNanos));
+         report = new PerfReport(options.label(), startedAt.toString(), System.getProperty("java.version"),
+               new ObjectMapper().convertValue(options, new TypeReference<>() {
+               }), startupMillis, startupRssMb, loadedRssMb, provisioning, endpoints,
+               PerfReport.Gc.between(before, after, phaseNanos));
+      }
+
+      final Path resultFile = options.output().resolve(runName + ".json");
+      report.write(resultFile);
+      final PerfReport baseline = options.baseline() != null ? PerfReport.read(options.baseline()) : null;
+      log.info("Results written to {}{}{}", resultFile, System.lineSeparator(), report.format(baseline));
+   }
+}
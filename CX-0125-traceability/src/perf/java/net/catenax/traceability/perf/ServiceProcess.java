@@ -0,0 +1,195 @@
+package net.catenax.traceability.perf;
+
+import net.catenax.traceability.CxTraceabilityUsecaseApplication;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * The service under test, run in its own process so its GC pauses, allocations and memory are not mixed with the
+ * load generator's.
+ * <p>
+ * The service is started from the load generator's class path, or with a given command to measure another build
+ * such as a native executable or a jar with a CDS archive. Its data is kept in the run directory, the spec is read
+ * from a local file and the EDC management API is pointed at the stub. GC and allocation figures are read from its
+ * Prometheus endpoint.
+ * <br/><br/>
+ * <small>
+ * Copyright (c) 2025, doubleSlash Net-Business GmbH, http://www.doubleslash.de
+ * <br/><br/>
+ * </small>
+ *
+ * @author emanuel.schaeffer@doubleslash.de
+ */
+final class ServiceProcess implements AutoCloseable {
+   private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(5);
+
+   private final Process process;
+   private final String baseUrl;
+   private final long startNanos;
+   private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(REQUEST_TIMEOUT).build();
+
+   private ServiceProcess(final Process process, final String baseUrl, final long startNanos) {
+      this.process = process;
+      this.baseUrl = baseUrl;
+      this.startNanos = startNanos;
+   }
+
+   /**
+    * Starts the service on a free local port.
+    *
+    * @param options          the run options
+    * @param runDirectory     directory for the service's data and log
+    * @param edcManagementUrl URL of the stub EDC management API
+    */
+   static ServiceProcess start(final PerfOptions options, final Path runDirectory, final String edcManagementUrl)
+         throws IOException {
+      final int port;
+      try (final ServerSocket socket = new ServerSocket(0)) {
+         port = socket.getLocalPort();
+      }
+      final String baseUrl = "http://localhost:" + port;
+
+      // all generated notifications come from one sender, so its rate limit would cap the measured throughput
+      final List<String> properties = List.of(
+            "-Dserver.port=" + port,
+            "-Dapp.base-url=" + baseUrl,
+            "-Dapp.traceability.openapi-spec-url=" + options.spec().toAbsolutePath().toUri(),
+            "-Dapp.traceability.openapi-spec-cache-dir=",
+            "-Dapp.edc.management-url=" + edcManagementUrl,
+            "-Dapp.edc.management-api-key=perf",
+            "-Dapp.store.directory=" + runDirectory.resolve("notifications"),
+            "-Dapp.outbound.outbox-directory=" + runDirectory.resolve("outbox"),
+            "-Dapp.admission.rate-per-weight=1000000",
+            "-Dmanagement.endpoints.web.exposure.include=health,prometheus");
+
+      final List<String> command = new ArrayList<>();
+      if (options.serviceCommand().isBlank()) {
+         command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+         command.addAll(split(options.serviceJvmArgs()));
+         command.addAll(properties);
+         command.add("-cp");
+         command.add(System.getProperty("java.class.path"));
+         command.add(CxTraceabilityUsecaseApplication.class.getName());
+      } else {
+         // the properties go right after the executable, where both java and native executables take them
+         final List<String> serviceCommand = split(options.serviceCommand());
+         command.add(serviceCommand.get(0));
+         command.addAll(properties);
+         command.addAll(serviceCommand.subList(1, serviceCommand.size()));
+      }
+
+      final long startNanos = System.nanoTime();
+      final Process process = new ProcessBuilder(command).redirectErrorStream(true)
+                                                         .redirectOutput(runDirectory.resolve("service.log").toFile())
+                                                         .start();
+      return new ServiceProcess(process, baseUrl, startNanos);
+   }
+
+   /**
+    * Gets the base URL of the service.
+    */
+   String getBaseUrl() {
+      return baseUrl;
+   }
+
+   /**
+    * Waits until the readiness probe of the service reports it ready.
+    *
+    * @return the time from starting the process until it was ready, in milliseconds
+    * @throws IllegalStateException if the service exited or was not ready within the timeout
+    */
+   double awaitReady(final Duration timeout) throws InterruptedException {
+      final long deadline = System.nanoTime() + timeout.toNanos();
+      while (System.nanoTime() < deadline) {
+         if (!process.isAlive()) {
+            throw new IllegalStateException("Service exited with " + process.exitValue() + ", see service.log");
+         }
+         try {
+            if (get("/actuator/health/readiness").statusCode() == 200) {
+               return (System.nanoTime() - startNanos) / 1e6;
+            }
+         } catch (final IOException e) {
+            // not listening yet
+         }
+         Thread.sleep(100);
+      }
+      throw new IllegalStateException("Service was not ready within " + timeout + ", see service.log");
+   }
+
+   /**
+    * Gets the resident set size of the service process. Only available on Linux.
+    *
+    * @return the resident set size in megabytes, 0 if it is not available
+    */
+   double residentMegabytes() {
+      final Path status = Path.of("/proc", Long.toString(process.pid()), "status");
+      try (final Stream<String> lines = Files.lines(status)) {
+         return lines.filter(line -> line.startsWith("VmRSS:"))
+                     .mapToDouble(line -> Long.parseLong(line.replaceAll("\\D", "")) / 1024d)
+                     .findFirst()
+                     .orElse(0);
+      } catch (final IOException | UncheckedIOException e) {
+         return 0;
+      }
+   }
+
+   /**
+    * Reads the current metrics of the service from its Prometheus endpoint.
+    * Series of the same metric are summed up, except maximums, of which the largest is taken.
+    *
+    * @return the metrics by Prometheus name
+    */
+   Map<String, Double> scrapeMetrics() throws IOException, InterruptedException {
+      final HttpResponse<String> response = get("/actuator/prometheus");
+      if (response.statusCode() != 200) {
+         throw new IOException("Prometheus endpoint answered " + response.statusCode());
+      }
+      final Map<String, Double> metrics = new HashMap<>();
+      response.body().lines().filter(line -> !line.isBlank() && !line.startsWith("#")).forEach(line -> {
+         final int labels = line.indexOf('{');
+         final int valueStart = line.lastIndexOf(' ');
+         final String name = line.substring(0, labels >= 0 ? labels : valueStart);
+         final double value;
+         try {
+            value = Double.parseDouble(line.substring(valueStart + 1));
+         } catch (final NumberFormatException e) {
+            return;
+         }
+         metrics.merge(name, value, name.endsWith("_max") ? Math::max : Double::sum);
+      });
+      return metrics;
+   }
+
+   @Override
+   public void close() throws InterruptedException {
+      process.destroy();
+      if (!process.waitFor(30, TimeUnit.SECONDS)) {
+         process.destroyForcibly().waitFor();
+      }
+   }
+
+   private static List<String> split(final String arguments) {
+      return Arrays.stream(arguments.trim().split("\\s+")).filter(argument -> !argument.isEmpty()).toList();
+   }
+
+   private HttpResponse<String> get(final String path) throws IOException, InterruptedException {
+      return httpClient.send(HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(REQUEST_TIMEOUT).GET()
+                                        .build(), HttpResponse.BodyHandlers.ofString());
+   }
+}
@@ -0,0 +1,120 @@
+package net.catenax.traceability.perf;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Stub of the EDC management API the service provisions its offer with.
+ * <p>
+ * Every definition is unknown, so the service looks each one up and then creates it. Responses are delayed by a
+ * fixed latency. The stub records when the first request arrived and the last response was sent, which is the
+ * duration of the provisioning.
+ * <br/><br/>
+ * <small>
+ * Copyright (c) 2025, doubleSlash Net-Business GmbH, http://www.doubleslash.de
+ * <br/><br/>
+ * </small>
+ *
+ * @author emanuel.schaeffer@doubleslash.de
+ */
+final class StubEdcServer implements AutoCloseable {
+   private static final byte[] CREATED = "{}".getBytes(StandardCharsets.UTF_8);
+
+   private final HttpServer server;
+   private final ExecutorService executor;
+   private final long latencyMillis;
+   private final AtomicInteger requests = new AtomicInteger();
+   private final AtomicLong firstRequestNanos = new AtomicLong();
+   private final AtomicLong lastResponseNanos = new AtomicLong();
+
+   private StubEdcServer(final HttpServer server, final ExecutorService executor, final long latencyMillis) {
+      this.server = server;
+      this.executor = executor;
+      this.latencyMillis = latencyMillis;
+   }
+
+   /**
+    * Starts the stub on a free local port.
+    */
+   static StubEdcServer start(final long latencyMillis) throws IOException {
+      final HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+      final ExecutorService executor = Executors.newCachedThreadPool();
+      final StubEdcServer stub = new StubEdcServer(server, executor, latencyMillis);
+      server.createContext("/", stub::handle);
+      server.setExecutor(executor);
+      server.start();
+      return stub;
+   }
+
+   /**
+    * Gets the management API base URL to configure the service with.
+    */
+   String getUrl() {
+      return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+   }
+
+   /**
+    * Waits until the service has sent its first request and then sent none for the given quiet period.
+    *
+    * @return the provisioning, or null if the service sent no request within the timeout
+    */
+   Provisioning awaitProvisioning(final long quietMillis, final long timeoutMillis) throws InterruptedException {
+      final long deadline = System.nanoTime() + timeoutMillis * 1_000_000;
+      while (System.nanoTime() < deadline) {
+         final long last = lastResponseNanos.get();
+         if (last != 0 && System.nanoTime() - last > quietMillis * 1_000_000) {
+            final double durationMillis = (last - firstRequestNanos.get()) / 1e6;
+            return new Provisioning(requests.get(), durationMillis,
+                  durationMillis > 0 ? requests.get() * 1000 / durationMillis : 0);
+         }
+         Thread.sleep(50);
+      }
+      return null;
+   }
+
+   @Override
+   public void close() {
+      server.stop(0);
+      executor.shutdownNow();
+   }
+
+   private void handle(final HttpExchange exchange) throws IOException {
+      firstRequestNanos.compareAndSet(0, System.nanoTime());
+      requests.incrementAndGet();
+      try {
+         exchange.getRequestBody().readAllBytes();
+         Thread.sleep(latencyMillis);
+         if ("GET".equals(exchange.getRequestMethod())) {
+            exchange.sendResponseHeaders(404, -1);
+         } else {
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, CREATED.length);
+            exchange.getResponseBody().write(CREATED);
+         }
+      } catch (final InterruptedException e) {
+         Thread.currentThread().interrupt();
+      } finally {
+         exchange.close();
+         lastResponseNanos.set(System.nanoTime());
+      }
+   }
+
+   /**
+    * Provisioning of the EDC offer as seen by the stub.
+    *
+    * @param requests          requests the service sent
+    * @param durationMillis    time from the first request to the last response
+    * @param requestsPerSecond requests per second over the duration
+    */
+   record Provisioning(int requests, double durationMillis, double requestsPerSecond) {
+   }
+}
@@ -0,0 +1,87 @@
+package net.catenax.traceability.admission;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.catenax.traceability.validator.ValidationMetrics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests that the {@link AdmissionControl} releases a notification at the sender it was charged to.
+ * <br/><br/>
+ * <small>
+ * Copyright (c) 2025, doubleSlash Net-Business GmbH, http://www.doubleslash.de
+ * <br/><br/>
+ * </small>
+ *
+ * @author emanuel.schaeffer@doubleslash.de
+ */
+class AdmissionControlTest {
+   private final MeterRegistry registry = new SimpleMeterRegistry();
+   private AdmissionControl admissionControl;
+
+   @AfterEach
+   void stop() {
+      if (admissionControl != null) {
+         admissionControl.stop();
+      }
+   }
+
+   @Test
+   void releasesSharedSenderAfterTrackedSendersChanged() throws InterruptedException {
+      admissionControl = new AdmissionControl(properties(), new ValidationMetrics(registry), registry);
+
+      admissionControl.release(admissionControl.admit("BPNL000000000001"));
+      // only one sender is tracked, so the second one is charged to the shared sender
+      final AdmissionControl.Admission shared = admissionControl.admit("BPNL000000000002");
+      assertThat(shared.isAdmitted()).isTrue();
+      awaitTrackedSenders(0);
+
+      admissionControl.release(shared);
+
+      assertThat(trackedSenders()).isZero();
+      assertThat(registry.get("traceability.admission.in.flight").gauge().value()).isZero();
+      // the whole limit is available again to a single sender
+      assertThat(admissionControl.admit("BPNL000000000003").isAdmitted()).isTrue();
+      assertThat(admissionControl.admit("BPNL000000000003").isAdmitted()).isTrue();
+   }
+
+   @Test
+   void rejectedAdmissionIsNotReleased() {
+      admissionControl = new AdmissionControl(properties(), new ValidationMetrics(registry), registry);
+      final AdmissionControl.Admission first = admissionControl.admit("BPNL000000000001");
+      final AdmissionControl.Admission second = admissionControl.admit("BPNL000000000001");
+      final AdmissionControl.Admission third = admissionControl.admit("BPNL000000000001");
+      assertThat(third.isAdmitted()).isFalse();
+
+      admissionControl.release(third);
+
+      assertThat(registry.get("traceability.admission.in.flight").gauge().value()).isEqualTo(2);
+      admissionControl.release(first);
+      admissionControl.release(second);
+      assertThat(registry.get("traceability.admission.in.flight").gauge().value()).isZero();
+   }
+
+   private static AdmissionProperties properties() {
+      return new AdmissionProperties(true, Map.of(), 1000, Duration.ofSeconds(1), 2, 2, 2,
+            Duration.ofSeconds(1), Duration.ofMillis(10), 1, Duration.ofMillis(20));
+   }
+
+   private void awaitTrackedSenders(final int expected) throws InterruptedException {
+      final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+      while (trackedSenders() != expected && System.nanoTime() < deadline) {
+         Thread.sleep(10);
+      }
+      assertThat(trackedSenders()).isEqualTo(expected);
+   }
+
+   private int trackedSenders() {
+      return (int) registry.get("traceability.admission.senders").gauge().value();
+   }
+}
@@ -0,0 +1,90 @@
+package net.catenax.traceability.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests the rate and burst of the {@link TokenBucket}, with explicit times instead of waiting.
+ * <br/><br/>
+ * <small>
+ * Copyright (c) 2025, doubleSlash Net-Business GmbH, http://www.doubleslash.de
+ * <br/><br/>
+ * </small>
+ *
+ * @author emanuel.schaeffer@doubleslash.de
+ */
+class TokenBucketTest {
+   private static final long INTERVAL = TimeUnit.MILLISECONDS.toNanos(100);
+
+   @Test
+   void grantsBurstThenReportsWaitingTime() {
+      final TokenBucket bucket = new TokenBucket(10, 3 * INTERVAL);
+      final long now = System.nanoTime();
+
+      assertThat(bucket.tryAcquire(now)).isZero();
+      assertThat(bucket.tryAcquire(now)).isZero();
+      assertThat(bucket.tryAcquire(now)).isZero();
+      assertThat(bucket.tryAcquire(now)).isEqualTo(INTERVAL);
+   }
+
+   @Test
+   void refillsAtRate() {
+      final TokenBucket bucket = new TokenBucket(10, INTERVAL);
+      final long now = System.nanoTime();
+
+      assertThat(bucket.tryAcquire(now)).isZero();
+      assertThat(bucket.tryAcquire(now + INTERVAL / 2)).isEqualTo(INTERVAL / 2);
+      assertThat(bucket.tryAcquire(now + INTERVAL)).isZero();
+      assertThat(bucket.tryAcquire(now + INTERVAL)).isEqualTo(INTERVAL);
+   }
+
+   @Test
+   void idleTimeDoesNotExceedBurst() {
+      final TokenBucket bucket = new TokenBucket(10, 2 * INTERVAL);
+      final long later = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+
+      assertThat(bucket.tryAcquire(later)).isZero();
+      assertThat(bucket.tryAcquire(later)).isZero();
+      assertThat(bucket.tryAcquire(later)).isPositive();
+   }
+
+   @Test
+   void concurrentCallersTakeEachPermitOnce() throws Exception {
+      final int burst = 1000;
+      final TokenBucket bucket = new TokenBucket(10, burst * INTERVAL);
+      final long now = System.nanoTime();
+      final AtomicInteger granted = new AtomicInteger();
+      final CountDownLatch start = new CountDownLatch(1);
+      final ExecutorService executor = Executors.newFixedThreadPool(8);
+      try {
+         final Future<?>[] callers = new Future<?>[8];
+         for (int i = 0; i < callers.length; i++) {
+            callers[i] = executor.submit(() -> {
+               start.await();
+               for (int j = 0; j < burst; j++) {
+                  if (bucket.tryAcquire(now) == 0) {
+                     granted.incrementAndGet();
+                  }
+               }
+               return null;
+            });
+         }
+         start.countDown();
+         for (final Future<?> caller : callers) {
+            caller.get(10, TimeUnit.SECONDS);
+         }
+      } finally {
+         executor.shutdownNow();
+      }
+
+      assertThat(granted).hasValue(burst);
+   }
+}
@@ -0,0 +1,77 @@
+package net.catenax.traceability.cluster;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests the key distribution of the {@link HashRing}.
+ * <br/><br/>
+ * <small>
+ * Copyright (c) 2025, doubleSlash Net-Business GmbH, http://www.doubleslash.de
+ * <br/><br/>
+ * </small>
+ *
+ * @author emanuel.schaeffer@doubleslash.de
+ */
+class HashRingTest {
+   private static final List<String> MEMBERS = List.of("http://a:8080", "http://b:8080", "http://c:8080");
+   private static final int KEYS = 30_000;
+
+   @Test
+   void emptyRingHasNoOwner() {
+      assertThat(new HashRing(List.of(), 64).ownerOf("n1")).isNull();
+   }
+
+   @Test
+   void ownerDoesNotDependOnMemberOrder() {
+      final HashRing ring = new HashRing(MEMBERS, 64);
+      final HashRing reversed = new HashRing(List.of("http://c:8080", "http://b:8080", "http://a:8080",
+            "http://a:8080"), 64);
+
+      assertThat(reversed.members()).isEqualTo(MEMBERS);
+      for (int i = 0; i < 1000; i++) {
+         assertThat(reversed.ownerOf(key(i))).isEqualTo(ring.ownerOf(key(i)));
+      }
+   }
+
+   @Test
+   void spreadsKeysEvenly() {
+      final HashRing ring = new HashRing(MEMBERS, 128);
+      final Map<String, Integer> counts = new HashMap<>();
+      for (int i = 0; i < KEYS; i++) {
+         counts.merge(ring.ownerOf(key(i)), 1, Integer::sum);
+      }
+
+      assertThat(counts).containsOnlyKeys(MEMBERS);
+      assertThat(counts.values()).allSatisfy(count -> assertThat(count).isBetween(KEYS / 4, KEYS / 2));
+   }
+
+   @Test
+   void addingMemberOnlyMovesKeysToIt() {
+      final HashRing ring = new HashRing(MEMBERS, 128);
+      final HashRing grown = new HashRing(List.of("http://a:8080", "http://b:8080", "http://c:8080",
+            "http://d:8080"), 128);
+      int moved = 0;
+      for (int i = 0; i < KEYS; i++) {
+         final String before = ring.ownerOf(key(i));
+         final String after = grown.ownerOf(key(i));
+         if (!before.equals(after)) {
+            assertThat(after).isEqualTo("http://d:8080");
+            moved++;
+         }
+      }
+
+      // about a quarter of the keys belong to the new member
+      assertThat(moved).isBetween(KEYS / 8, KEYS * 3 / 8);
+   }
+
+   private static String key(final int i) {
+      return "urn:uuid:" + new UUID(i, i * 31L);
+   }
+}
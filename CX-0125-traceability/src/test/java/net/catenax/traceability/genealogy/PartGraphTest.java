@@ -0,0 +1,94 @@
+package net.catenax.traceability.genealogy;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests the traversal of the {@link PartGraph}, sequential and split across the fork-join pool.
+ * <br/><br/>
+ * <small>
+ * Copyright (c) 2025, doubleSlash Net-Business GmbH, http://www.doubleslash.de
+ * <br/><br/>
+ * </small>
+ *
+ * @author emanuel.schaeffer@doubleslash.de
+ */
+class PartGraphTest {
+   private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+   /**
+    * a is built into b, b into c, c back into a, d into c; e is not built into anything.
+    */
+   private static final PartGraph GRAPH = new PartGraph(new String[] {"a", "b", "c", "d", "e"},
+         new int[] {0, 1, 1, -1, 0}, new String[] {"BPNL1", "BPNL2"}, new int[] {0, 1, 2, 3, 4, 4},
+         new int[] {1, 2, 0, 2});
+
+   @AfterAll
+   static void shutdown() {
+      POOL.shutdown();
+   }
+
+   @Test
+   void findsAssembliesLevelByLevel() {
+      final PartGraph.Traversal traversal = GRAPH.traverse(new int[] {GRAPH.ordinalOf("d")}, POOL);
+
+      assertThat(Arrays.stream(traversal.parts()).mapToObj(GRAPH::catenaXId)).containsExactly("c", "a", "b");
+      assertThat(traversal.bpns()).containsExactly("BPNL1", "BPNL2");
+   }
+
+   @Test
+   void excludesAffectedPartsAndStopsAtCycles() {
+      final PartGraph.Traversal traversal = GRAPH.traverse(new int[] {GRAPH.ordinalOf("a"), GRAPH.ordinalOf("a")},
+            POOL);
+
+      assertThat(Arrays.stream(traversal.parts()).mapToObj(GRAPH::catenaXId)).containsExactly("b", "c");
+      assertThat(traversal.bpns()).containsExactly("BPNL2");
+   }
+
+   @Test
+   void findsNothingForUnusedPart() {
+      final PartGraph.Traversal traversal = GRAPH.traverse(new int[] {GRAPH.ordinalOf("e")}, POOL);
+
+      assertThat(traversal.parts()).isEmpty();
+      assertThat(traversal.bpns()).isEmpty();
+      assertThat(GRAPH.ordinalOf("unknown")).isEqualTo(-1);
+   }
+
+   @Test
+   void expandsLargeLevelsInPoolVisitingEveryPartOnce() {
+      // parts 0..n-1 are each built into the assembly n + i % 100, and every assembly into the vehicle n + 100
+      final int count = 10_000;
+      final int parts = count + 101;
+      final String[] catenaXIds = new String[parts];
+      final int[] usedInOffsets = new int[parts + 1];
+      final int[] usedIn = new int[count + 100];
+      for (int i = 0; i < parts; i++) {
+         catenaXIds[i] = String.format("part-%06d", i);
+         usedInOffsets[i + 1] = usedInOffsets[i] + (i < count + 100 ? 1 : 0);
+         if (i < count + 100) {
+            usedIn[i] = i < count ? count + i % 100 : count + 100;
+         }
+      }
+      final int[] holders = new int[parts];
+      Arrays.fill(holders, -1);
+      holders[count + 100] = 0;
+      final PartGraph graph = new PartGraph(catenaXIds, holders, new String[] {"BPNL1"}, usedInOffsets, usedIn);
+      final int[] start = new int[count];
+      Arrays.setAll(start, i -> i);
+
+      final PartGraph.Traversal traversal = graph.traverse(start, POOL);
+
+      assertThat(traversal.parts()).hasSize(101).doesNotHaveDuplicates();
+      final int[] assemblies = Arrays.copyOf(traversal.parts(), 100);
+      Arrays.sort(assemblies);
+      assertThat(assemblies).isEqualTo(IntStream.range(count, count + 100).toArray());
+      assertThat(traversal.parts()[100]).isEqualTo(count + 100);
+      assertThat(traversal.bpns()).containsExactly("BPNL1");
+   }
+}
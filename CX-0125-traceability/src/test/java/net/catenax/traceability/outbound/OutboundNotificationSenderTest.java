@@ -0,0 +1,225 @@
+package net.catenax.traceability.outbound;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests the {@link OutboundNotificationSender} against a local stub receiver.
+ * <br/><br/>
+ * <small>
+ * Copyright (c) 2025, doubleSlash Net-Business GmbH, http://www.doubleslash.de
+ * <br/><br/>
+ * </small>
+ *
+ * @author emanuel.schaeffer@doubleslash.de
+ */
+class OutboundNotificationSenderTest {
+   private static final String PARTNER = "BPNL000000000001";
+   private static final long TIMEOUT_MILLIS = 10_000;
+
+   @TempDir
+   Path outboxDirectory;
+
+   private final List<StubReceiver> receivers = new ArrayList<>();
+   private final List<OutboundNotificationSender> senders = new ArrayList<>();
+
+   @AfterEach
+   void tearDown() {
+      senders.forEach(OutboundNotificationSender::stop);
+      receivers.forEach(StubReceiver::close);
+   }
+
+   @Test
+   void deliversNotificationAndRemovesItFromOutbox() throws Exception {
+      final StubReceiver receiver = receiver(200);
+      final OutboundNotificationSender sender = sender(receiver, 10);
+
+      assertThat(sender.send(PARTNER, body("n1"))).isTrue();
+
+      assertThat(receiver.received.poll(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)).isEqualTo("n1");
+      awaitTrue(() -> outboxFiles().isEmpty());
+   }
+
+   @Test
+   void writesNotificationToOutboxBeforeItIsSent() throws Exception {
+      final StubReceiver receiver = receiver(200);
+      receiver.block();
+      final OutboundNotificationSender sender = sender(receiver, 10);
+
+      assertThat(sender.send(PARTNER, body("n1"))).isTrue();
+
+      final List<Path> files = outboxFiles();
+      assertThat(files).hasSize(1);
+      assertThat(Files.readString(files.get(0))).isEqualTo("n1");
+      receiver.unblock();
+      awaitTrue(() -> outboxFiles().isEmpty());
+   }
+
+   @Test
+   void refusesNotificationsBeyondPendingLimit() throws Exception {
+      final StubReceiver receiver = receiver(200);
+      receiver.block();
+      final OutboundNotificationSender sender = sender(receiver, 1);
+
+      // the first is in flight, the second waits and takes the only place
+      assertThat(sender.send(PARTNER, body("n1"))).isTrue();
+      assertThat(sender.send(PARTNER, body("n2"))).isTrue();
+      assertThat(sender.send(PARTNER, body("n3"))).isFalse();
+      assertThat(outboxFiles()).hasSize(2);
+
+      receiver.unblock();
+      awaitTrue(() -> outboxFiles().isEmpty());
+      assertThat(sender.send(PARTNER, body("n4"))).isTrue();
+   }
+
+   @Test
+   void retriesNotificationAfterServerError() throws Exception {
+      final StubReceiver receiver = receiver(200);
+      receiver.firstStatuses.add(503);
+      final OutboundNotificationSender sender = sender(receiver, 10);
+
+      assertThat(sender.send(PARTNER, body("n1"))).isTrue();
+
+      assertThat(receiver.received.poll(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)).isEqualTo("n1");
+      assertThat(receiver.received.poll(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)).isEqualTo("n1");
+      awaitTrue(() -> outboxFiles().isEmpty());
+   }
+
+   @Test
+   void sendsAcceptedNotificationAfterRestart() throws Exception {
+      final StubReceiver unresponsive = receiver(200);
+      unresponsive.block();
+      final OutboundNotificationSender crashed = sender(unresponsive, 10);
+      assertThat(crashed.send(PARTNER, body("n1"))).isTrue();
+
+      // a new sender on the same outbox, as after a crash of the first one
+      final StubReceiver receiver = receiver(200);
+      sender(receiver, 10);
+
+      assertThat(receiver.received.poll(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)).isEqualTo("n1");
+      unresponsive.unblock();
+   }
+
+   private OutboundNotificationSender sender(final StubReceiver receiver, final int maxPendingPerPartner)
+         throws IOException {
+      final OutboundProperties properties = new OutboundProperties(
+            Map.of(PARTNER, new OutboundProperties.Partner(receiver.url(), null, null, 1)), 1, 50,
+            maxPendingPerPartner, outboxDirectory.toString(), 5, Duration.ofMillis(10), Duration.ofMillis(100));
+      final OutboundNotificationSender sender = new OutboundNotificationSender(properties, new StandardEnvironment(),
+            new SimpleMeterRegistry());
+      senders.add(sender);
+      return sender;
+   }
+
+   private StubReceiver receiver(final int status) throws IOException {
+      final StubReceiver receiver = new StubReceiver(status);
+      receivers.add(receiver);
+      return receiver;
+   }
+
+   private List<Path> outboxFiles() {
+      final Path partnerDirectory = outboxDirectory.resolve(PARTNER);
+      if (!Files.isDirectory(partnerDirectory)) {
+         return List.of();
+      }
+      try (final Stream<Path> files = Files.list(partnerDirectory)) {
+         return files.filter(file -> file.getFileName().toString().endsWith(".json")).toList();
+      } catch (final IOException e) {
+         throw new IllegalStateException(e);
+      }
+   }
+
+   private static byte[] body(final String text) {
+      return text.getBytes(StandardCharsets.UTF_8);
+   }
+
+   private static void awaitTrue(final BooleanSupplier condition) throws InterruptedException {
+      final long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+      while (!condition.getAsBoolean()) {
+         assertThat(System.currentTimeMillis()).as("condition met in time").isLessThan(deadline);
+         Thread.sleep(10);
+      }
+   }
+
+   /**
+    * Receiver answering notifications with the queued first statuses, then with a fixed status, optionally holding
+    * the responses back.
+    */
+   private static final class StubReceiver {
+      private final HttpServer server;
+      private final ExecutorService executor = Executors.newCachedThreadPool();
+      private final BlockingQueue<String> received = new LinkedBlockingQueue<>();
+      private final Queue<Integer> firstStatuses = new ConcurrentLinkedQueue<>();
+      private final int status;
+      private volatile CountDownLatch gate = new CountDownLatch(0);
+
+      StubReceiver(final int status) throws IOException {
+         this.status = status;
+         this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+         server.createContext("/receive", this::handle);
+         server.setExecutor(executor);
+         server.start();
+      }
+
+      String url() {
+         return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + "/receive";
+      }
+
+      void block() {
+         gate = new CountDownLatch(1);
+      }
+
+      void unblock() {
+         gate.countDown();
+      }
+
+      void close() {
+         unblock();
+         server.stop(0);
+         executor.shutdownNow();
+      }
+
+      private void handle(final HttpExchange exchange) throws IOException {
+         try (exchange) {
+            final String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            try {
+               gate.await();
+            } catch (final InterruptedException e) {
+               Thread.currentThread().interrupt();
+               return;
+            }
+            final Integer first = firstStatuses.poll();
+            received.add(body);
+            exchange.sendResponseHeaders(first != null ? first : status, -1);
+         }
+      }
+   }
+}
@@ -0,0 +1,96 @@
+package net.catenax.traceability.store;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests that the {@link NotificationCodec} gives back the encoded JSON, including the original text of numbers.
+ * <br/><br/>
+ * <small>
+ * Copyright (c) 2025, doubleSlash Net-Business GmbH, http://www.doubleslash.de
+ * <br/><br/>
+ * </small>
+ *
+ * @author emanuel.schaeffer@doubleslash.de
+ */
+class NotificationCodecTest {
+   private static final String NOTIFICATION = """
+         {"header":{"messageId":"urn:uuid:4f1b7a6e-2c3d-4e5f-8a9b-0c1d2e3f4a5b",\
+         "context":"IndustryCore-Traceability-QualityNotification:2.0.0",\
+         "senderBpn":"BPNL000000000001","receiverBpn":"BPNL000000000002",\
+         "sentDateTime":"2024-05-01T10:15:30.123Z","version":"3.0.0"},\
+         "content":{"notificationId":"6a1f8f2e-0b7c-4d3e-9f10-1a2b3c4d5e6f","status":"SENT",\
+         "severity":"CRITICAL","information":"Brake pads ~ wear/tear","listOfAffectedItems":[\
+         {"catenaXId":"urn:uuid:0733946c-59c6-41ae-9570-cb43a6e4c79e","partId":"P-1",\
+         "quantity":1.50,"weight":1e3,"offset":-0,"count":-42,"serial":123456789012345678901234567890},\
+         {"catenaXId":"not-a-uuid","partId":"P-1","quantity":0.1,"flags":[true,false,null]}],\
+         "targetDate":"2024-05-01","empty":{},"none":[]}}""";
+
+   @TempDir
+   Path directory;
+
+   @Test
+   void decodesTheEncodedJson() throws IOException {
+      try (final StringDictionary dictionary = StringDictionary.open(directory.resolve("dictionary.dat"), 1024)) {
+         final NotificationCodec codec = new NotificationCodec(dictionary);
+
+         assertThat(decode(codec, codec.encode(json(NOTIFICATION)))).isEqualTo(NOTIFICATION);
+      }
+   }
+
+   @Test
+   void decodesWithReopenedDictionary() throws IOException {
+      final byte[] encoded;
+      try (final StringDictionary dictionary = StringDictionary.open(directory.resolve("dictionary.dat"), 1024)) {
+         encoded = new NotificationCodec(dictionary).encode(json(NOTIFICATION));
+         dictionary.sync();
+      }
+
+      try (final StringDictionary dictionary = StringDictionary.open(directory.resolve("dictionary.dat"), 1024)) {
+         assertThat(decode(new NotificationCodec(dictionary), encoded)).isEqualTo(NOTIFICATION);
+      }
+   }
+
+   @Test
+   void storesStringsInlineWhenDictionaryIsFull() throws IOException {
+      try (final StringDictionary dictionary = StringDictionary.open(directory.resolve("dictionary.dat"), 2)) {
+         final NotificationCodec codec = new NotificationCodec(dictionary);
+
+         assertThat(decode(codec, codec.encode(json(NOTIFICATION)))).isEqualTo(NOTIFICATION);
+         assertThat(dictionary.size()).isEqualTo(2);
+      }
+   }
+
+   @Test
+   void readsSingleValuesWithoutDecoding() throws IOException {
+      try (final StringDictionary dictionary = StringDictionary.open(directory.resolve("dictionary.dat"), 1024)) {
+         final NotificationCodec codec = new NotificationCodec(dictionary);
+         final ByteBuffer encoded = ByteBuffer.wrap(codec.encode(json(NOTIFICATION)));
+
+         assertThat(codec.text(encoded, "/content/status")).isEqualTo("SENT");
+         assertThat(codec.text(encoded, "/header/sentDateTime")).isEqualTo("2024-05-01T10:15:30.123Z");
+         assertThat(codec.text(encoded, "/header/messageId"))
+               .isEqualTo("urn:uuid:4f1b7a6e-2c3d-4e5f-8a9b-0c1d2e3f4a5b");
+         assertThat(codec.text(encoded, "/content/listOfAffectedItems/0/quantity")).isEqualTo("1.50");
+         assertThat(codec.text(encoded, "/content/listOfAffectedItems/0/count")).isEqualTo("-42");
+         assertThat(codec.text(encoded, "/content/listOfAffectedItems/1/catenaXId")).isEqualTo("not-a-uuid");
+         assertThat(codec.text(encoded, "/content/listOfAffectedItems")).isNull();
+         assertThat(codec.text(encoded, "/content/missing")).isNull();
+      }
+   }
+
+   private static byte[] json(final String text) {
+      return text.getBytes(StandardCharsets.UTF_8);
+   }
+
+   private static String decode(final NotificationCodec codec, final byte[] encoded) {
+      return new String(codec.decode(ByteBuffer.wrap(encoded)), StandardCharsets.UTF_8);
+   }
+}
@@ -0,0 +1,144 @@
+package net.catenax.traceability.store;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests appending to the {@link SegmentLog} and recovering it, including a torn tail.
+ * <br/><br/>
+ * <small>
+ * Copyright (c) 2025, doubleSlash Net-Business GmbH, http://www.doubleslash.de
+ * <br/><br/>
+ * </small>
+ *
+ * @author emanuel.schaeffer@doubleslash.de
+ */
+class SegmentLogTest {
+   private static final int SEGMENT_SIZE = 1024;
+
+   @TempDir
+   Path directory;
+
+   @Test
+   void recoversAppendedEntriesInOrder() throws IOException {
+      final List<Long> locations = new ArrayList<>();
+      try (final SegmentLog log = open(new ArrayList<>())) {
+         for (int i = 0; i < 100; i++) {
+            locations.add(log.append(body("entry-" + i)));
+         }
+         log.sync(locations.get(locations.size() - 1));
+         assertThat(text(log.read(locations.get(42)))).isEqualTo("entry-42");
+      }
+
+      final List<String> recovered = new ArrayList<>();
+      final List<Long> recoveredLocations = new ArrayList<>();
+      try (final SegmentLog log = SegmentLog.open(directory, SEGMENT_SIZE, (location, body) -> {
+         recoveredLocations.add(location);
+         recovered.add(text(body));
+      })) {
+         assertThat(recovered).hasSize(100).startsWith("entry-0").endsWith("entry-99");
+         assertThat(recoveredLocations).isEqualTo(locations).isSorted();
+         // 100 entries of at least 15 bytes do not fit into one segment
+         assertThat(locations.get(99) >>> 32).isPositive();
+         assertThat(text(log.read(locations.get(99)))).isEqualTo("entry-99");
+      }
+   }
+
+   @Test
+   void discardsTornTailAndAppendsInItsPlace() throws IOException {
+      final long torn;
+      try (final SegmentLog log = open(new ArrayList<>())) {
+         log.append(body("first"));
+         log.append(body("second"));
+         torn = log.append(body("third"));
+         log.sync(torn);
+      }
+      // a crash while writing the last entry leaves a body not matching its checksum
+      try (final FileChannel segment = FileChannel.open(directory.resolve("segment-00000000.log"),
+            StandardOpenOption.WRITE)) {
+         segment.write(ByteBuffer.wrap(body("X")), (int) torn + SegmentLog.ENTRY_HEADER_SIZE);
+      }
+
+      final List<String> recovered = new ArrayList<>();
+      try (final SegmentLog log = open(recovered)) {
+         assertThat(recovered).containsExactly("first", "second");
+         assertThat(log.append(body("fourth"))).isEqualTo(torn);
+         log.sync(torn);
+      }
+
+      final List<String> reopened = new ArrayList<>();
+      try (final SegmentLog ignored = open(reopened)) {
+         assertThat(reopened).containsExactly("first", "second", "fourth");
+      }
+   }
+
+   @Test
+   void discardsTailWithImpossibleLength() throws IOException {
+      final long torn;
+      try (final SegmentLog log = open(new ArrayList<>())) {
+         log.append(body("first"));
+         torn = log.append(body("second"));
+         log.sync(torn);
+      }
+      try (final FileChannel segment = FileChannel.open(directory.resolve("segment-00000000.log"),
+            StandardOpenOption.WRITE)) {
+         segment.write(ByteBuffer.allocate(4).putInt(0, SEGMENT_SIZE), (int) torn);
+      }
+
+      final List<String> recovered = new ArrayList<>();
+      try (final SegmentLog log = open(recovered)) {
+         assertThat(recovered).containsExactly("first");
+         assertThat(log.append(body("third"))).isEqualTo(torn);
+      }
+   }
+
+   @Test
+   void discardsBatchThatCannotBeAppendedCompletely() throws IOException {
+      final long first;
+      try (final SegmentLog log = open(new ArrayList<>())) {
+         log.sync(log.append(body("before")));
+         // the batch fills the first segment, continues in a second one and then fails
+         final List<byte[]> batch = new ArrayList<>();
+         for (int i = 0; i < 60; i++) {
+            batch.add(body("batch-" + i));
+         }
+         batch.add(new byte[SEGMENT_SIZE]);
+         assertThatThrownBy(() -> log.appendAll(batch)).isInstanceOf(IllegalArgumentException.class);
+
+         first = log.append(body("after"));
+         log.sync(first);
+         assertThat(first >>> 32).isPositive();
+      }
+
+      final List<String> recovered = new ArrayList<>();
+      try (final SegmentLog ignored = open(recovered)) {
+         assertThat(recovered).containsExactly("before", "after");
+      }
+   }
+
+   private SegmentLog open(final List<String> recovered) throws IOException {
+      return SegmentLog.open(directory, SEGMENT_SIZE, (location, body) -> recovered.add(text(body)));
+   }
+
+   private static byte[] body(final String text) {
+      return text.getBytes(StandardCharsets.UTF_8);
+   }
+
+   private static String text(final ByteBuffer body) {
+      final byte[] bytes = new byte[body.remaining()];
+      body.duplicate().get(bytes);
+      return new String(bytes, StandardCharsets.UTF_8);
+   }
+}
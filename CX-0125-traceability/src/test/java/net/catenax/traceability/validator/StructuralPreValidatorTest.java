@@ -0,0 +1,150 @@
+package net.catenax.traceability.validator;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests the checks the {@link StructuralPreValidator} derives from a request body schema.
+ * <br/><br/>
+ * <small>
+ * Copyright (c) 2025, doubleSlash Net-Business GmbH, http://www.doubleslash.de
+ * <br/><br/>
+ * </small>
+ *
+ * @author emanuel.schaeffer@doubleslash.de
+ */
+class StructuralPreValidatorTest {
+   private static final String DOCUMENT = """
+         {
+           "paths": {
+             "/receive": {
+               "post": {
+                 "requestBody": {
+                   "content": {"application/json": {"schema": {"$ref": "#/components/schemas/Notification"}}}
+                 }
+               }
+             },
+             "/untyped": {"post": {}}
+           },
+           "components": {
+             "schemas": {
+               "Notification": {
+                 "type": "object",
+                 "required": ["header", "content"],
+                 "properties": {
+                   "header": {"$ref": "#/components/schemas/Header"},
+                   "content": {
+                     "allOf": [{"$ref": "#/components/schemas/Status"}],
+                     "type": "object",
+                     "properties": {
+                       "items": {"type": "array", "items": {"type": "integer"}},
+                       "note": {"type": "string", "nullable": true},
+                       "either": {"oneOf": [{"type": "string"}, {"type": "integer"}]}
+                     }
+                   }
+                 }
+               },
+               "Header": {
+                 "type": "object",
+                 "required": ["messageId", "id"],
+                 "properties": {
+                   "messageId": {"type": "string"},
+                   "id": {"type": "string", "readOnly": true}
+                 }
+               },
+               "Status": {
+                 "type": "object",
+                 "required": ["status"],
+                 "properties": {"status": {"type": "string", "enum": ["SENT", "CLOSED"]}}
+               }
+             }
+           }
+         }""";
+
+   private static StructuralPreValidator validator;
+
+   @BeforeAll
+   static void compile() throws IOException {
+      final JsonNode document = new ObjectMapper().readTree(DOCUMENT);
+      validator = StructuralPreValidator.forOperation(document, "/receive", "post");
+      assertThat(StructuralPreValidator.forOperation(document, "/untyped", "post")).isNull();
+   }
+
+   @Test
+   void acceptsMatchingBody() {
+      assertThat(check("""
+            {"header":{"messageId":"m1","extra":[1,{"a":2}]},\
+            "content":{"status":"SENT","items":[1,2],"note":null,"either":true}}""").isValid()).isTrue();
+   }
+
+   @Test
+   void rejectsWrongType() {
+      assertFailure(check("""
+            {"header":{"messageId":"m1"},"content":{"status":"SENT","items":[1,"two"]}}"""),
+            "#/content/items/1", "#/components/schemas/Notification/properties/content/properties/items/items/type");
+   }
+
+   @Test
+   void acceptsIntegerWrittenAsNumberWithoutFraction() {
+      assertThat(check("""
+            {"header":{"messageId":"m1"},"content":{"status":"SENT","items":[1,2.0,-3.00,1e2,0.0]}}""")
+            .isValid()).isTrue();
+      assertFailure(check("""
+            {"header":{"messageId":"m1"},"content":{"status":"SENT","items":[1.0,1.5]}}"""),
+            "#/content/items/1", "#/components/schemas/Notification/properties/content/properties/items/items/type");
+   }
+
+   @Test
+   void rejectsMissingRequiredPropertyOfReferencedSchema() {
+      assertFailure(check("""
+            {"header":{"id":"x"},"content":{"status":"SENT"}}"""),
+            "#/header", "#/components/schemas/Header/required");
+   }
+
+   @Test
+   void rejectsValueOutsideEnumOfAllOfPart() {
+      assertFailure(check("""
+            {"header":{"messageId":"m1"},"content":{"status":"OPEN"}}"""),
+            "#/content/status", "#/components/schemas/Status/properties/status/enum");
+   }
+
+   @Test
+   void checksParsedTreeLikeRawBody() throws IOException {
+      final ObjectMapper mapper = new ObjectMapper();
+      assertThat(validator.check(mapper.readTree("""
+            {"header":{"messageId":"m1"},"content":{"status":"SENT","items":[1,2.0]}}""")).isValid()).isTrue();
+      assertFailure(validator.check(mapper.readTree("""
+            {"header":{"messageId":"m1"},"content":{"status":"OPEN"}}""")),
+            "#/content/status", "#/components/schemas/Status/properties/status/enum");
+   }
+
+   @Test
+   void rejectsMalformedJson() {
+      assertThat(firstError(check("{\"header\":")).message()).startsWith("body is not well-formed JSON");
+      assertThat(firstError(check("{\"header\":{\"messageId\":\"m1\"},\"content\":{\"status\":\"SENT\"}} {}"))
+            .message()).isEqualTo("unexpected content after the JSON document");
+      assertThat(firstError(check("")).message()).isEqualTo("body is empty");
+   }
+
+   private static ValidationResult check(final String body) {
+      return validator.check(body.getBytes(StandardCharsets.UTF_8));
+   }
+
+   private static void assertFailure(final ValidationResult result, final String path, final String schemaLocation) {
+      assertThat(result.isValid()).isFalse();
+      assertThat(firstError(result).path()).isEqualTo(path);
+      assertThat(firstError(result).schemaLocation()).isEqualTo(schemaLocation);
+   }
+
+   private static ValidationResult.ValidationError firstError(final ValidationResult result) {
+      assertThat(result.getErrors()).isNotEmpty();
+      return result.getErrors().get(0);
+   }
+}